@@ -0,0 +1,518 @@
+package com.minecolonies.coremod.colony;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Places of some kind around a colony, found by scanning its chunks, which citizens can claim.
+ * <p>
+ * The chunks of the colony area are scanned a few at a time during the colony maintenance, chunks where a relevant
+ * block changed are scanned again. A chunk is only scanned once the chunks around it are loaded as well, so a scan
+ * which looks a few blocks past the edge of its chunk never loads or generates another one.
+ * The index isn't saved, it is built again from the loaded chunks after the colony is loaded. Citizens claim the place they work at, a claimed place isn't handed out to others.
+ * Claims have to be renewed while the place is used and expire otherwise, so a citizen who was fired or died doesn't
+ * block a place forever. Expired claims are dropped from a queue ordered by expiry, without walking all claims.
+ * Only used on the server thread.
+ *
+ * @param <T> the type of the entries, stored by their position.
+ */
+public abstract class AbstractChunkIndex<T>
+{
+    /**
+     * Chunks scanned per update.
+     */
+    private static final int CHUNKS_PER_UPDATE = 2;
+
+    /**
+     * Ticks a claim lasts without being renewed, 5 minutes.
+     */
+    private static final long CLAIM_DURATION = 20L * 60 * 5;
+
+    /**
+     * The entries by the chunk they are in, and their position.
+     */
+    @NotNull
+    private final Map<Long, Map<BlockPos, T>> entriesByChunk = new HashMap<>();
+
+    /**
+     * The claims by the position of the entry.
+     */
+    @NotNull
+    private final Map<BlockPos, Claim> claims = new HashMap<>();
+
+    /**
+     * The claims in the order they are due to expire, renewed claims are queued again when they are due.
+     */
+    @NotNull
+    private final Deque<Claim> claimQueue = new ArrayDeque<>();
+
+    /**
+     * Chunks which have to be scanned.
+     */
+    @NotNull
+    private final Set<Long> dirtyChunks = new LinkedHashSet<>();
+
+    /**
+     * The chunks of the colony area.
+     */
+    private int     minChunkX;
+    private int     minChunkZ;
+    private int     maxChunkX;
+    private int     maxChunkZ;
+    private boolean hasArea;
+
+    /**
+     * Whether every chunk of the area which can be scanned has been scanned since the area was set.
+     */
+    private boolean scanComplete;
+
+    /**
+     * Finds the entries of a chunk.
+     *
+     * @param world the world.
+     * @param chunk the chunk.
+     * @return the entries by their position.
+     */
+    @NotNull
+    protected abstract Map<BlockPos, T> scanChunk(@NotNull World world, @NotNull Chunk chunk);
+
+    /**
+     * Sets the area covered by the index, entries outside are dropped and new chunks queued.
+     *
+     * @param center the center of the colony.
+     * @param range  the distance from the center to cover.
+     */
+    public void setArea(@NotNull final BlockPos center, final int range)
+    {
+        final int newMinX = (center.getX() - range) >> 4;
+        final int newMinZ = (center.getZ() - range) >> 4;
+        final int newMaxX = (center.getX() + range) >> 4;
+        final int newMaxZ = (center.getZ() + range) >> 4;
+        if (hasArea && newMinX == minChunkX && newMinZ == minChunkZ && newMaxX == maxChunkX && newMaxZ == maxChunkZ)
+        {
+            return;
+        }
+
+        minChunkX = newMinX;
+        minChunkZ = newMinZ;
+        maxChunkX = newMaxX;
+        maxChunkZ = newMaxZ;
+        hasArea = true;
+        scanComplete = false;
+
+        entriesByChunk.keySet().removeIf(key -> !isInArea((int) (long) key, (int) (key >> 32)));
+        dirtyChunks.removeIf(key -> !isInArea((int) (long) key, (int) (key >> 32)));
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++)
+        {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++)
+            {
+                final long key = ChunkPos.chunkXZ2Int(chunkX, chunkZ);
+                if (!entriesByChunk.containsKey(key))
+                {
+                    dirtyChunks.add(key);
+                }
+            }
+        }
+    }
+
+    private boolean isInArea(final int chunkX, final int chunkZ)
+    {
+        return chunkX >= minChunkX && chunkX <= maxChunkX && chunkZ >= minChunkZ && chunkZ <= maxChunkZ;
+    }
+
+    /**
+     * Checks if a position is within the area covered by the index.
+     *
+     * @param pos the position.
+     * @return true if so.
+     */
+    protected boolean covers(@NotNull final BlockPos pos)
+    {
+        return hasArea && isInArea(pos.getX() >> 4, pos.getZ() >> 4);
+    }
+
+    /**
+     * Queues the chunk of a position for a scan.
+     *
+     * @param pos the position.
+     */
+    protected void markDirty(@NotNull final BlockPos pos)
+    {
+        if (covers(pos))
+        {
+            dirtyChunks.add(ChunkPos.chunkXZ2Int(pos.getX() >> 4, pos.getZ() >> 4));
+        }
+    }
+
+    /**
+     * Drops the entries of an unloaded chunk, it is scanned again once it is loaded.
+     *
+     * @param chunkX the x coordinate of the chunk.
+     * @param chunkZ the z coordinate of the chunk.
+     */
+    public void onChunkUnload(final int chunkX, final int chunkZ)
+    {
+        if (hasArea && isInArea(chunkX, chunkZ))
+        {
+            final long key = ChunkPos.chunkXZ2Int(chunkX, chunkZ);
+            entriesByChunk.remove(key);
+            dirtyChunks.add(key);
+        }
+    }
+
+    /**
+     * Scans some dirty chunks. Chunks which aren't loaded or whose neighbours aren't stay dirty until they are.
+     *
+     * @param world the world of the colony.
+     */
+    public void update(@NotNull final World world)
+    {
+        expireClaims(world.getTotalWorldTime());
+
+        int scanned = 0;
+        boolean scannableLeft = false;
+        for (final Iterator<Long> it = dirtyChunks.iterator(); it.hasNext(); )
+        {
+            final long key = it.next();
+            final int chunkX = (int) key;
+            final int chunkZ = (int) (key >> 32);
+            @Nullable final Chunk chunk = world.getChunkProvider().getLoadedChunk(chunkX, chunkZ);
+            if (chunk == null || !areNeighboursLoaded(world, chunkX, chunkZ))
+            {
+                continue;
+            }
+
+            if (scanned >= CHUNKS_PER_UPDATE)
+            {
+                scannableLeft = true;
+                break;
+            }
+
+            it.remove();
+            entriesByChunk.put(key, scanChunk(world, chunk));
+            scanned++;
+        }
+
+        if (hasArea && !scannableLeft)
+        {
+            scanComplete = true;
+        }
+    }
+
+    private static boolean areNeighboursLoaded(@NotNull final World world, final int chunkX, final int chunkZ)
+    {
+        for (int x = chunkX - 1; x <= chunkX + 1; x++)
+        {
+            for (int z = chunkZ - 1; z <= chunkZ + 1; z++)
+            {
+                if ((x != chunkX || z != chunkZ) && world.getChunkProvider().getLoadedChunk(x, z) == null)
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the first scan of the area is done, every chunk which could be scanned was.
+     * Until then a search which finds nothing may just not have reached the right chunk yet.
+     *
+     * @return true if so.
+     */
+    public boolean isScanComplete()
+    {
+        return scanComplete;
+    }
+
+    /**
+     * Get the entries within a horizontal distance of a position which aren't claimed by another citizen.
+     *
+     * @param from      the position to measure the distance from.
+     * @param range     the horizontal distance within which to look.
+     * @param citizenId the id of the citizen who asks.
+     * @param now       the total world time.
+     * @return the positions of the entries, nearest first.
+     */
+    @NotNull
+    protected List<BlockPos> getAvailable(@NotNull final BlockPos from, final int range, final int citizenId, final long now)
+    {
+        return getAvailable(from, range, citizenId, now, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Get the nearest entries within a horizontal distance of a position which aren't claimed by another citizen.
+     * Looks at the chunks in rings around the chunk of the position, until no chunk further out can hold an entry
+     * nearer than the ones found.
+     *
+     * @param from      the position to measure the distance from.
+     * @param range     the horizontal distance within which to look.
+     * @param citizenId the id of the citizen who asks.
+     * @param now       the total world time.
+     * @param limit     the amount of entries wanted at most.
+     * @return the positions of the entries, nearest first.
+     */
+    @NotNull
+    protected List<BlockPos> getAvailable(@NotNull final BlockPos from, final int range, final int citizenId, final long now, final int limit)
+    {
+        final double maxDistance = (double) range * range;
+        final int centerX = from.getX() >> 4;
+        final int centerZ = from.getZ() >> 4;
+        @NotNull final List<BlockPos> available = new ArrayList<>();
+        for (int ring = 0; ; ring++)
+        {
+            //  The entries of this ring and further out are at least this far away
+            final double ringDistance = ring == 0 ? 0 : ((ring - 1) * 16.0 + 1);
+            if (ringDistance * ringDistance > maxDistance)
+            {
+                break;
+            }
+
+            //  The entries nearer than that can't be beaten by the chunks left
+            int settled = 0;
+            for (@NotNull final BlockPos pos : available)
+            {
+                if (horizontalDistanceSq(pos, from) < ringDistance * ringDistance)
+                {
+                    settled++;
+                }
+            }
+            if (settled >= limit)
+            {
+                break;
+            }
+
+            for (int chunkX = centerX - ring; chunkX <= centerX + ring; chunkX++)
+            {
+                //  Only the border of the ring, the inner chunks were done before
+                final int step = chunkX == centerX - ring || chunkX == centerX + ring ? 1 : Math.max(1, ring * 2);
+                for (int chunkZ = centerZ - ring; chunkZ <= centerZ + ring; chunkZ += step)
+                {
+                    @Nullable final Map<BlockPos, T> entries = entriesByChunk.get(ChunkPos.chunkXZ2Int(chunkX, chunkZ));
+                    if (entries == null)
+                    {
+                        continue;
+                    }
+
+                    for (@NotNull final BlockPos pos : entries.keySet())
+                    {
+                        if (horizontalDistanceSq(pos, from) <= maxDistance && isAvailable(pos, citizenId, now))
+                        {
+                            available.add(pos);
+                        }
+                    }
+                }
+            }
+        }
+
+        available.sort(Comparator.comparingDouble(pos -> horizontalDistanceSq(pos, from)));
+        return available.size() > limit ? new ArrayList<>(available.subList(0, limit)) : available;
+    }
+
+    private static double horizontalDistanceSq(@NotNull final BlockPos pos, @NotNull final BlockPos from)
+    {
+        final double dx = pos.getX() - from.getX();
+        final double dz = pos.getZ() - from.getZ();
+        return dx * dx + dz * dz;
+    }
+
+    /**
+     * Checks if an entry isn't claimed by another citizen.
+     *
+     * @param pos       the position of the entry.
+     * @param citizenId the id of the citizen who asks.
+     * @param now       the total world time.
+     * @return true if so.
+     */
+    protected boolean isAvailable(@NotNull final BlockPos pos, final int citizenId, final long now)
+    {
+        @Nullable final Claim claim = claims.get(pos);
+        return claim == null || claim.citizenId == citizenId || claim.expires < now;
+    }
+
+    /**
+     * Claims an entry or renews the claim.
+     *
+     * @param pos       the position of the entry.
+     * @param citizenId the id of the citizen who claims the entry.
+     * @param now       the total world time.
+     */
+    public void claim(@NotNull final BlockPos pos, final int citizenId, final long now)
+    {
+        expireClaims(now);
+
+        @Nullable final Claim claim = claims.get(pos);
+        if (claim != null && claim.citizenId == citizenId)
+        {
+            claim.expires = now + CLAIM_DURATION;
+            return;
+        }
+
+        @NotNull final Claim newClaim = new Claim(pos, citizenId, now + CLAIM_DURATION);
+        claims.put(pos, newClaim);
+        claimQueue.add(newClaim);
+    }
+
+    /**
+     * Drops the claims which expired, only looks at the ones which are due.
+     *
+     * @param now the total world time.
+     */
+    private void expireClaims(final long now)
+    {
+        @Nullable Claim claim;
+        while ((claim = claimQueue.peek()) != null && claim.due < now)
+        {
+            claimQueue.poll();
+            if (claims.get(claim.pos) != claim)
+            {
+                //  Released or claimed again by someone else
+                continue;
+            }
+
+            if (claim.expires < now)
+            {
+                claims.remove(claim.pos);
+            }
+            else
+            {
+                claim.due = claim.expires;
+                claimQueue.add(claim);
+            }
+        }
+    }
+
+    /**
+     * Get the entries claimed by other citizens.
+     *
+     * @param citizenId the id of the citizen who asks.
+     * @param now       the total world time.
+     * @return the positions of the entries.
+     */
+    @NotNull
+    public Set<BlockPos> getClaimedByOthers(final int citizenId, final long now)
+    {
+        @NotNull final Set<BlockPos> claimed = new HashSet<>();
+        for (@NotNull final Claim claim : claims.values())
+        {
+            if (claim.citizenId != citizenId && claim.expires >= now)
+            {
+                claimed.add(claim.pos);
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Releases the claim of a citizen on an entry.
+     *
+     * @param pos       the position of the entry.
+     * @param citizenId the id of the citizen.
+     */
+    public void release(@NotNull final BlockPos pos, final int citizenId)
+    {
+        @Nullable final Claim claim = claims.get(pos);
+        if (claim != null && claim.citizenId == citizenId)
+        {
+            claims.remove(pos);
+        }
+    }
+
+    /**
+     * Get an entry.
+     *
+     * @param pos the position of the entry.
+     * @return the entry or null if there is none.
+     */
+    @Nullable
+    public T get(@NotNull final BlockPos pos)
+    {
+        @Nullable final Map<BlockPos, T> entries = entriesByChunk.get(ChunkPos.chunkXZ2Int(pos.getX() >> 4, pos.getZ() >> 4));
+        return entries == null ? null : entries.get(pos);
+    }
+
+    /**
+     * Get the entries of the chunks next to the chunk of a position which were scanned already.
+     *
+     * @param pos the position.
+     * @return the entries of the 8 neighbours of the chunk.
+     */
+    @NotNull
+    protected List<Map<BlockPos, T>> getNeighbourEntries(@NotNull final BlockPos pos)
+    {
+        final int centerX = pos.getX() >> 4;
+        final int centerZ = pos.getZ() >> 4;
+        @NotNull final List<Map<BlockPos, T>> nearby = new ArrayList<>();
+        for (int chunkX = centerX - 1; chunkX <= centerX + 1; chunkX++)
+        {
+            for (int chunkZ = centerZ - 1; chunkZ <= centerZ + 1; chunkZ++)
+            {
+                @Nullable final Map<BlockPos, T> entries = entriesByChunk.get(ChunkPos.chunkXZ2Int(chunkX, chunkZ));
+                if (entries != null && (chunkX != centerX || chunkZ != centerZ))
+                {
+                    nearby.add(entries);
+                }
+            }
+        }
+        return nearby;
+    }
+
+    /**
+     * Drops an entry which turned out to be wrong, it comes back if a scan finds it again.
+     *
+     * @param pos the position of the entry.
+     */
+    public void remove(@NotNull final BlockPos pos)
+    {
+        @Nullable final Map<BlockPos, T> entries = entriesByChunk.get(ChunkPos.chunkXZ2Int(pos.getX() >> 4, pos.getZ() >> 4));
+        if (entries != null)
+        {
+            entries.remove(pos);
+        }
+        claims.remove(pos);
+    }
+
+    /**
+     * Get the amount of entries.
+     *
+     * @return the amount.
+     */
+    public int size()
+    {
+        int count = 0;
+        for (@NotNull final Map<BlockPos, T> entries : entriesByChunk.values())
+        {
+            count += entries.size();
+        }
+        return count;
+    }
+
+    /**
+     * The claim of a citizen on an entry.
+     */
+    private static final class Claim
+    {
+        @NotNull
+        private final BlockPos pos;
+        private final int      citizenId;
+        private       long     expires;
+        /**
+         * When the claim is looked at in the queue next, the expiry it had when it was queued.
+         */
+        private       long     due;
+
+        private Claim(@NotNull final BlockPos pos, final int citizenId, final long expires)
+        {
+            this.pos = pos;
+            this.citizenId = citizenId;
+            this.expires = expires;
+            this.due = expires;
+        }
+    }
+}
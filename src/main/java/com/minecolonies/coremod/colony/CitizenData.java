@@ -334,6 +334,7 @@ public class CitizenData
     public void addExperience(final double xp)
     {
         this.experience += xp;
+        colony.markSaveDirty();
     }
 
     /**
@@ -342,6 +343,7 @@ public class CitizenData
     public void increaseLevel()
     {
         this.level += 1;
+        colony.markSaveDirty();
     }
 
     /**
@@ -620,6 +622,7 @@ public class CitizenData
     public void setLevel(final int lvl)
     {
         this.level = lvl;
+        colony.markSaveDirty();
     }
 
     /**
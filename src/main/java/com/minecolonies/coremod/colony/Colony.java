@@ -4,19 +4,30 @@ import com.minecolonies.coremod.MineColonies;
 import com.minecolonies.coremod.achievements.ModAchievements;
 import com.minecolonies.coremod.colony.buildings.AbstractBuilding;
 import com.minecolonies.coremod.colony.buildings.BuildingFarmer;
+import com.minecolonies.coremod.colony.buildings.BuildingFisherman;
 import com.minecolonies.coremod.colony.buildings.BuildingHome;
+import com.minecolonies.coremod.colony.buildings.BuildingLumberjack;
 import com.minecolonies.coremod.colony.buildings.BuildingTownHall;
+import com.minecolonies.coremod.colony.jobs.AbstractJob;
 import com.minecolonies.coremod.colony.materials.MaterialSystem;
 import com.minecolonies.coremod.colony.permissions.Permissions;
 import com.minecolonies.coremod.colony.workorders.AbstractWorkOrder;
 import com.minecolonies.coremod.configuration.Configurations;
 import com.minecolonies.coremod.entity.EntityCitizen;
 import com.minecolonies.coremod.entity.ai.citizen.farmer.Field;
+import com.minecolonies.coremod.entity.ai.citizen.fisherman.EntityAIWorkFisherman;
+import com.minecolonies.coremod.entity.ai.citizen.fisherman.PondIndex;
+import com.minecolonies.coremod.entity.ai.citizen.lumberjack.EntityAIWorkLumberjack;
+import com.minecolonies.coremod.entity.ai.citizen.lumberjack.TreeIndex;
+import com.minecolonies.coremod.entity.ai.util.AIWakeEvent;
+import com.minecolonies.coremod.entity.pathfinding.PathCache;
+import com.minecolonies.coremod.entity.pathfinding.RegionGraph;
 import com.minecolonies.coremod.network.messages.*;
-import com.minecolonies.coremod.permissions.ColonyPermissionEventHandler;
 import com.minecolonies.coremod.tileentities.ScarecrowTileEntity;
 import com.minecolonies.coremod.tileentities.TileEntityColonyBuilding;
 import com.minecolonies.coremod.util.*;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
@@ -29,10 +40,11 @@ import net.minecraft.stats.Achievement;
 import net.minecraft.stats.StatBase;
 import net.minecraft.stats.StatList;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
-import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.common.util.Constants.NBT;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -46,6 +58,10 @@ public class Colony implements IColony
 {
     //  Settings
     private static final int    CITIZEN_CLEANUP_TICK_INCREMENT = 5 * 20;
+    //  Distance from the center within which all chunks have to be loaded before citizens count as AWOL
+    private static final int    CHUNK_AREA_DISTANCE            = 48 /* 3 chunks */ + 15 /* round up a chunk */;
+    //  Material stores whose index is checked against their inventory in a maintenance run
+    private static final int    MATERIAL_STORES_CHECKED        = 2;
     private static final String TAG_ID                         = "id";
     private static final String TAG_NAME                       = "name";
     private static final String TAG_DIMENSION                  = "dimension";
@@ -68,7 +84,6 @@ public class Colony implements IColony
     private static final int    NUM_MOBS_ACHIEVEMENT_THIRD  = 100;
     private static final int    NUM_MOBS_ACHIEVEMENT_FOURTH = 500;
     private static final int    NUM_MOBS_ACHIEVEMENT_FIFTH  = 1000;
-    private static final int    CHECK_WAYPOINT_EVERY        = 100;
     private final int id;
     //  General Attributes
     private final int dimensionId;
@@ -82,17 +97,61 @@ public class Colony implements IColony
     //  Workload and Jobs
     private final WorkManager         workManager      = new WorkManager(this);
     private final MaterialSystem      materialSystem   = new MaterialSystem();
+    private final PathCache           pathCache        = new PathCache();
+    private final RegionGraph         regionGraph      = new RegionGraph();
+    private final TreeIndex           treeIndex        = new TreeIndex();
+    private final PondIndex           pondIndex        = new PondIndex();
     //  Runtime Data
     @Nullable
     private       World               world            = null;
     //  Updates and Subscriptions
     @NotNull
-    private       Set<EntityPlayerMP> subscribers      = new HashSet<>();
+    private final Set<EntityPlayerMP> subscribers      = new HashSet<>();
+    //  Subscribers added since the last update, they get the full views
+    @NotNull
+    private final Set<EntityPlayerMP> newSubscribers   = new HashSet<>();
+    //  View payloads sent to each subscriber, the base of the next view updates
+    @NotNull
+    private final ViewDeltaTracker<Integer>  citizenViews   = new ViewDeltaTracker<>();
+    @NotNull
+    private final ViewDeltaTracker<BlockPos> buildingViews  = new ViewDeltaTracker<>();
+    @NotNull
+    private final ViewDeltaTracker<Integer>  workOrderViews = new ViewDeltaTracker<>();
+    //  View updates of the current tick, sent as one packet per subscriber
+    @NotNull
+    private final Map<EntityPlayerMP, ColonyViewBatchMessage> pendingViewUpdates = new HashMap<>();
+    //  Views serialized and view messages queued in the current update, for the statistics
+    private       int                 viewEncodes      = 0;
+    private       int                 viewMessages     = 0;
     private       boolean             isDirty          = false;
     private       boolean             isCitizensDirty  = false;
     private       boolean             isBuildingsDirty = false;
     private       boolean             manualHiring     = false;
     private       boolean             isFieldsDirty    = false;
+    private       boolean             isSaveDirty      = true;
+    //  World time of the last check for citizens which went AWOL
+    private       long                lastCitizenCleanup = 0;
+    @NotNull
+    private final Random              random           = new Random();
+    //  Chunks around the colony which are loaded, kept up to date by the chunk events
+    @NotNull
+    private final Set<Long>           loadedChunks     = new HashSet<>();
+    //  Chunks which loaded since the buildings and fields were last validated
+    @NotNull
+    private final Set<Long>           changedChunks    = new HashSet<>();
+    //  Whether all buildings and fields have to be validated, after the world was set
+    private       boolean             validateAllBuildings = true;
+    //  Buildings and fields whose block changed since the last validation
+    @NotNull
+    private final Set<BlockPos>       changedBuildingBlocks = new HashSet<>();
+    //  Structures being built, told about the block changes in their area, dropped with the job which builds them
+    @NotNull
+    private final Set<StructureWrapper> activeStructures = Collections.newSetFromMap(new WeakHashMap<>());
+    //  Jobs whose ai sleeps until a block in the colony changes, all woken and dropped by the next change
+    @NotNull
+    private final Set<AbstractJob>    blockChangeSleepers = Collections.newSetFromMap(new WeakHashMap<>());
+    //  Position of the building and of the field validated in turn on every maintenance, whatever changed
+    private       int                 validationTurn;
     private       String              name             = "ERROR(Wasn't placed by player)";
     private BlockPos         center;
     //  Administration/permissions
@@ -122,6 +181,7 @@ public class Colony implements IColony
         center = c;
         world = w;
         this.permissions = new Permissions(this);
+        initLoadedChunks();
     }
 
     /**
@@ -136,9 +196,6 @@ public class Colony implements IColony
         this.dimensionId = dim;
         this.permissions = new Permissions(this);
         this.colonyAchievements = new ArrayList<>();
-
-        // Register a new event handler
-        MinecraftForge.EVENT_BUS.register(new ColonyPermissionEventHandler(this));
     }
 
     /**
@@ -154,6 +211,7 @@ public class Colony implements IColony
         final int dimensionId = compound.getInteger(TAG_DIMENSION);
         @NotNull final Colony c = new Colony(id, dimensionId);
         c.readFromNBT(compound);
+        c.isSaveDirty = false;
         return c;
     }
 
@@ -500,6 +558,32 @@ public class Colony implements IColony
         AchievementUtils.syncAchievements(this);
     }
 
+    /**
+     * Marks the colony to be written on the next save.
+     */
+    public void markSaveDirty()
+    {
+        isSaveDirty = true;
+    }
+
+    /**
+     * Checks if the colony changed since it was last saved.
+     *
+     * @return true if it has to be saved.
+     */
+    public boolean isSaveDirty()
+    {
+        return isSaveDirty;
+    }
+
+    /**
+     * Clears the save dirty flag, after the colony has been snapshotted for saving.
+     */
+    public void clearSaveDirty()
+    {
+        isSaveDirty = false;
+    }
+
     /**
      * Marks citizen data dirty.
      */
@@ -526,6 +610,10 @@ public class Colony implements IColony
         if (w.provider.getDimension() == dimensionId)
         {
             world = w;
+            initLoadedChunks();
+
+            //  From now on the subscribers are kept up to date by the player events.
+            reconcileSubscribers();
         }
     }
 
@@ -567,76 +655,55 @@ public class Colony implements IColony
      */
     public void updateSubscribers()
     {
-        //  Recompute subscribers every frame (for now)
-        //  Subscribers = Owners + Players within (double working town hall range)
-        @NotNull final Set<EntityPlayerMP> oldSubscribers = subscribers;
-        subscribers = new HashSet<>();
-
-        // Add owners
-        subscribers.addAll(
-          this.getWorld().getMinecraftServer().getPlayerList().getPlayerList()
-            .stream()
-            .filter(permissions::isSubscriber)
-            .collect(Collectors.toList()));
-
-        //  Add nearby players
-        if (world != null)
+        //  Everything the views are updated for is saved data as well.
+        if (isDirty || isCitizensDirty || isBuildingsDirty || isFieldsDirty || permissions.isDirty() || workManager.isDirty())
         {
-            for (final EntityPlayer o : world.playerEntities)
-            {
-                if (o instanceof EntityPlayerMP)
-                {
-                    @NotNull final EntityPlayerMP player = (EntityPlayerMP) o;
-
-                    if (subscribers.contains(player))
-                    {
-                        //  Already a subscriber
-                        continue;
-                    }
+            isSaveDirty = true;
+        }
 
-                    final double distance = player.getDistanceSq(center);
-                    if (distance < MathUtils.square(Configurations.workingRangeTownHall + 16D)
-                          || (oldSubscribers.contains(player) && distance < MathUtils.square(Configurations.workingRangeTownHall * 2D)))
-                    {
-                        // Players become subscribers if they come within 16 blocks of the edge of the colony
-                        // Players remain subscribers while they remain within double the colony's radius
-                        subscribers.add(player);
-                    }
-                }
-            }
+        //  Permission changes can change who is subscribed
+        if (permissions.isDirty())
+        {
+            reconcileSubscribers();
         }
 
         if (!subscribers.isEmpty())
         {
-            //  Determine if any new subscribers were added this pass
-            final boolean hasNewSubscribers = ColonyUtils.hasNewSubscribers(oldSubscribers, subscribers);
+            //  Determine if any new subscribers were added since the last update
+            final boolean hasNewSubscribers = !newSubscribers.isEmpty();
 
             //  Send each type of update packet as appropriate:
             //      - To Subscribers if the data changes
             //      - To New Subscribers even if it hasn't changed
 
             //ColonyView
-            sendColonyViewPackets(oldSubscribers, hasNewSubscribers);
+            sendColonyViewPackets(newSubscribers, hasNewSubscribers);
 
             //Permissions
-            sendPermissionsPackets(oldSubscribers, hasNewSubscribers);
+            sendPermissionsPackets(newSubscribers, hasNewSubscribers);
 
             //WorkOrders
-            sendWorkOrderPackets(oldSubscribers, hasNewSubscribers);
+            sendWorkOrderPackets(newSubscribers, hasNewSubscribers);
 
             //Citizens
-            sendCitizenPackets(oldSubscribers, hasNewSubscribers);
+            sendCitizenPackets(newSubscribers, hasNewSubscribers);
 
             //Buildings
-            sendBuildingPackets(oldSubscribers, hasNewSubscribers);
+            sendBuildingPackets(newSubscribers, hasNewSubscribers);
 
             //Fields
             if (!isBuildingsDirty)
             {
-                sendFieldPackets(oldSubscribers, hasNewSubscribers);
+                sendFieldPackets(newSubscribers, hasNewSubscribers);
             }
         }
 
+        flushViewUpdates();
+        newSubscribers.clear();
+        ColonyManager.onViewsSerialized(viewEncodes, viewMessages);
+        viewEncodes = 0;
+        viewMessages = 0;
+
         isFieldsDirty = false;
         isDirty = false;
         isCitizensDirty = false;
@@ -647,55 +714,105 @@ public class Colony implements IColony
         citizens.values().forEach(CitizenData::clearDirty);
     }
 
-    private void sendColonyViewPackets(@NotNull final Set<EntityPlayerMP> oldSubscribers, final boolean hasNewSubscribers)
+    /**
+     * Sends packages to update the colony view.
+     * The view is serialized once for the new and once for the other subscribers.
+     *
+     * @param newSubscribers    the subscribers added since the last update.
+     * @param hasNewSubscribers whether there are new subscribers.
+     */
+    private void sendColonyViewPackets(@NotNull final Set<EntityPlayerMP> newSubscribers, final boolean hasNewSubscribers)
     {
         if (isDirty || hasNewSubscribers)
         {
+            @Nullable ByteBuf fullView = null;
+            @Nullable ByteBuf updateView = null;
             for (final EntityPlayerMP player : subscribers)
             {
-                final boolean isNewSubscriber = !oldSubscribers.contains(player);
-                if (isDirty || isNewSubscriber)
+                final boolean isNewSubscriber = newSubscribers.contains(player);
+                if (isNewSubscriber)
                 {
-                    MineColonies.getNetwork().sendTo(new ColonyViewMessage(this, isNewSubscriber), player);
+                    if (fullView == null)
+                    {
+                        fullView = serializeColonyView(true);
+                    }
+                    sendViewUpdate(player, new ColonyViewMessage(this, true, share(fullView)));
+                }
+                else if (isDirty)
+                {
+                    if (updateView == null)
+                    {
+                        updateView = serializeColonyView(false);
+                    }
+                    sendViewUpdate(player, new ColonyViewMessage(this, false, share(updateView)));
                 }
             }
         }
     }
 
+    @NotNull
+    private ByteBuf serializeColonyView(final boolean isNewSubscription)
+    {
+        final ByteBuf buf = Unpooled.buffer();
+        ColonyView.serializeNetworkData(this, buf, isNewSubscription);
+        viewEncodes++;
+        return buf;
+    }
+
     /**
      * Sends packages to update the permissions.
      *
-     * @param oldSubscribers    the existing subscribers.
-     * @param hasNewSubscribers the new subscribers.
+     * @param newSubscribers    the subscribers added since the last update.
+     * @param hasNewSubscribers whether there are new subscribers.
      */
-    private void sendPermissionsPackets(@NotNull final Set<EntityPlayerMP> oldSubscribers, final boolean hasNewSubscribers)
+    private void sendPermissionsPackets(@NotNull final Set<EntityPlayerMP> newSubscribers, final boolean hasNewSubscribers)
     {
         if (permissions.isDirty() || hasNewSubscribers)
         {
+            //  The view depends on the rank of the viewer, it is serialized once per rank
+            final Map<Permissions.Rank, ByteBuf> viewsByRank = new EnumMap<>(Permissions.Rank.class);
             subscribers
               .stream()
-              .filter(player -> permissions.isDirty() || !oldSubscribers.contains(player)).forEach(player ->
+              .filter(player -> permissions.isDirty() || newSubscribers.contains(player)).forEach(player ->
             {
-                final Permissions.Rank rank = getPermissions().getRank(player);
-                MineColonies.getNetwork().sendTo(new PermissionsMessage.View(this, rank), player);
+                final ByteBuf view = viewsByRank.computeIfAbsent(getPermissions().getRank(player), rank ->
+                {
+                    final ByteBuf buf = Unpooled.buffer();
+                    permissions.serializeViewNetworkData(buf, rank);
+                    viewEncodes++;
+                    return buf;
+                });
+                sendViewUpdate(player, new PermissionsMessage.View(this, share(view)));
             });
         }
     }
 
     /**
      * Sends packages to update the workOrders.
+     * Only workOrders whose view changed are sent, and only the changed part of them.
      *
-     * @param oldSubscribers    the existing subscribers.
-     * @param hasNewSubscribers the new subscribers.
+     * @param newSubscribers    the subscribers added since the last update.
+     * @param hasNewSubscribers whether there are new subscribers.
      */
-    private void sendWorkOrderPackets(@NotNull final Set<EntityPlayerMP> oldSubscribers, final boolean hasNewSubscribers)
+    private void sendWorkOrderPackets(@NotNull final Set<EntityPlayerMP> newSubscribers, final boolean hasNewSubscribers)
     {
         if (getWorkManager().isDirty() || hasNewSubscribers)
         {
             for (final AbstractWorkOrder workOrder : getWorkManager().getWorkOrders().values())
             {
-                subscribers.stream().filter(player -> workManager.isDirty() || !oldSubscribers.contains(player))
-                  .forEach(player -> MineColonies.getNetwork().sendTo(new ColonyViewWorkOrderMessage(this, workOrder), player));
+                final ByteBuf buf = Unpooled.buffer();
+                workOrder.serializeViewNetworkData(buf);
+                final byte[] payload = toPayload(buf);
+                viewEncodes++;
+
+                subscribers.stream().filter(player -> workManager.isDirty() || newSubscribers.contains(player)).forEach(player ->
+                {
+                    @Nullable final ViewDelta delta = workOrderViews.update(player, workOrder.getID(), payload);
+                    if (delta != null)
+                    {
+                        sendViewUpdate(player, new ColonyViewWorkOrderMessage(this, workOrder.getID(), delta));
+                    }
+                });
             }
 
             getWorkManager().setDirty(false);
@@ -705,10 +822,10 @@ public class Colony implements IColony
     /**
      * Sends packages to update the citizens.
      *
-     * @param oldSubscribers    the existing subscribers.
-     * @param hasNewSubscribers the new subscribers.
+     * @param newSubscribers    the subscribers added since the last update.
+     * @param hasNewSubscribers whether there are new subscribers.
      */
-    private void sendCitizenPackets(@NotNull final Set<EntityPlayerMP> oldSubscribers, final boolean hasNewSubscribers)
+    private void sendCitizenPackets(@NotNull final Set<EntityPlayerMP> newSubscribers, final boolean hasNewSubscribers)
     {
         if (isCitizensDirty || hasNewSubscribers)
         {
@@ -716,9 +833,21 @@ public class Colony implements IColony
             {
                 if (citizen.isDirty() || hasNewSubscribers)
                 {
+                    final ByteBuf buf = Unpooled.buffer();
+                    citizen.serializeViewNetworkData(buf);
+                    final byte[] payload = toPayload(buf);
+                    viewEncodes++;
+
                     subscribers.stream()
-                      .filter(player -> citizen.isDirty() || !oldSubscribers.contains(player))
-                      .forEach(player -> MineColonies.getNetwork().sendTo(new ColonyViewCitizenViewMessage(this, citizen), player));
+                      .filter(player -> citizen.isDirty() || newSubscribers.contains(player))
+                      .forEach(player ->
+                      {
+                          @Nullable final ViewDelta delta = citizenViews.update(player, citizen.getId(), payload);
+                          if (delta != null)
+                          {
+                              sendViewUpdate(player, new ColonyViewCitizenViewMessage(this, citizen.getId(), delta));
+                          }
+                      });
                 }
             }
         }
@@ -727,10 +856,10 @@ public class Colony implements IColony
     /**
      * Sends packages to update the buildings.
      *
-     * @param oldSubscribers    the existing subscribers.
-     * @param hasNewSubscribers the new subscribers.
+     * @param newSubscribers    the subscribers added since the last update.
+     * @param hasNewSubscribers whether there are new subscribers.
      */
-    private void sendBuildingPackets(@NotNull final Set<EntityPlayerMP> oldSubscribers, final boolean hasNewSubscribers)
+    private void sendBuildingPackets(@NotNull final Set<EntityPlayerMP> newSubscribers, final boolean hasNewSubscribers)
     {
         if (isBuildingsDirty || hasNewSubscribers)
         {
@@ -738,9 +867,10 @@ public class Colony implements IColony
             {
                 if (building.isDirty() || hasNewSubscribers)
                 {
+                    final byte[] payload = serializeBuildingView(building);
                     subscribers.stream()
-                      .filter(player -> building.isDirty() || !oldSubscribers.contains(player))
-                      .forEach(player -> MineColonies.getNetwork().sendTo(new ColonyViewBuildingViewMessage(building), player));
+                      .filter(player -> building.isDirty() || newSubscribers.contains(player))
+                      .forEach(player -> sendBuildingView(player, building, payload));
                 }
             }
         }
@@ -748,11 +878,12 @@ public class Colony implements IColony
 
     /**
      * Sends packages to update the fields.
+     * The fields are part of the farmer views, farmers whose fields did not change are skipped.
      *
-     * @param oldSubscribers    the existing subscribers.
-     * @param hasNewSubscribers the new subscribers.
+     * @param newSubscribers    the subscribers added since the last update.
+     * @param hasNewSubscribers whether there are new subscribers.
      */
-    private void sendFieldPackets(final Set<EntityPlayerMP> oldSubscribers, final boolean hasNewSubscribers)
+    private void sendFieldPackets(@NotNull final Set<EntityPlayerMP> newSubscribers, final boolean hasNewSubscribers)
     {
         if ((isFieldsDirty && !isBuildingsDirty) || hasNewSubscribers)
         {
@@ -760,12 +891,250 @@ public class Colony implements IColony
             {
                 if (building instanceof BuildingFarmer)
                 {
-                    subscribers.forEach(player -> MineColonies.getNetwork().sendTo(new ColonyViewBuildingViewMessage(building), player));
+                    final byte[] payload = serializeBuildingView(building);
+                    subscribers.forEach(player -> sendBuildingView(player, building, payload));
                 }
             }
         }
     }
 
+    /**
+     * Serializes the view of a building once for all subscribers.
+     *
+     * @param building the building.
+     * @return the serialized view.
+     */
+    @NotNull
+    private byte[] serializeBuildingView(@NotNull final AbstractBuilding building)
+    {
+        final ByteBuf buf = Unpooled.buffer();
+        building.serializeToView(buf);
+        viewEncodes++;
+        return toPayload(buf);
+    }
+
+    /**
+     * Sends the changes of a building view to a subscriber, if there are any.
+     *
+     * @param player   the subscriber.
+     * @param building the building.
+     * @param payload  the serialized view of the building.
+     */
+    private void sendBuildingView(@NotNull final EntityPlayerMP player, @NotNull final AbstractBuilding building, @NotNull final byte[] payload)
+    {
+        @Nullable final ViewDelta delta = buildingViews.update(player, building.getID(), payload);
+        if (delta != null)
+        {
+            sendViewUpdate(player, new ColonyViewBuildingViewMessage(building, delta));
+        }
+    }
+
+    /**
+     * Queues a view update for a subscriber, it is sent with all other updates of the tick.
+     *
+     * @param player  the subscriber.
+     * @param message the view update.
+     */
+    private void sendViewUpdate(@NotNull final EntityPlayerMP player, @NotNull final IMessage message)
+    {
+        viewMessages++;
+        pendingViewUpdates.computeIfAbsent(player, p -> new ColonyViewBatchMessage()).add(message);
+    }
+
+    /**
+     * Sends the queued view updates, a single packet per subscriber.
+     */
+    private void flushViewUpdates()
+    {
+        for (@NotNull final Map.Entry<EntityPlayerMP, ColonyViewBatchMessage> entry : pendingViewUpdates.entrySet())
+        {
+            if (subscribers.contains(entry.getKey()))
+            {
+                final List<IMessage> messages = entry.getValue().getMessages();
+                MineColonies.getNetwork().sendTo(messages.size() == 1 ? messages.get(0) : entry.getValue(), entry.getKey());
+            }
+        }
+        pendingViewUpdates.clear();
+    }
+
+    /**
+     * Shares a serialized view with a message: a read only slice which has its own reader index,
+     * so every message reads the same bytes.
+     *
+     * @param view the buffer the view was serialized to.
+     * @return the slice.
+     */
+    @NotNull
+    private static ByteBuf share(@NotNull final ByteBuf view)
+    {
+        return Unpooled.unmodifiableBuffer(view.slice());
+    }
+
+    /**
+     * Copies the written bytes of a view buffer.
+     *
+     * @param buf the buffer the view was serialized to.
+     * @return the serialized view.
+     */
+    @NotNull
+    private static byte[] toPayload(@NotNull final ByteBuf buf)
+    {
+        final byte[] payload = new byte[buf.readableBytes()];
+        buf.readBytes(payload);
+        return payload;
+    }
+
+    /**
+     * Forgets the views sent to a player, so the next updates carry the full views.
+     *
+     * @param player the player.
+     */
+    private void forgetSentViews(@NotNull final EntityPlayerMP player)
+    {
+        citizenViews.removeSubscriber(player);
+        buildingViews.removeSubscriber(player);
+        workOrderViews.removeSubscriber(player);
+    }
+
+    /**
+     * Sends all views to a subscriber again on the next update, when its views got out of sync.
+     *
+     * @param player the subscriber.
+     */
+    public void resyncSubscriber(@NotNull final EntityPlayerMP player)
+    {
+        if (subscribers.contains(player))
+        {
+            newSubscribers.add(player);
+            forgetSentViews(player);
+        }
+    }
+
+    /**
+     * Checks if a player should be subscribed to the colony.
+     * Subscribers = Owners + Players within (double working town hall range).
+     *
+     * @param player the player.
+     * @return true if so.
+     */
+    private boolean shouldSubscribe(@NotNull final EntityPlayerMP player)
+    {
+        if (permissions.isSubscriber(player))
+        {
+            return true;
+        }
+
+        if (world == null || player.worldObj != world)
+        {
+            return false;
+        }
+
+        // Players become subscribers if they come within 16 blocks of the edge of the colony
+        // Players remain subscribers while they remain within double the colony's radius
+        final double distance = player.getDistanceSq(center);
+        return distance < MathUtils.square(Configurations.workingRangeTownHall + 16D)
+                 || (subscribers.contains(player) && distance < MathUtils.square(Configurations.workingRangeTownHall * 2D));
+    }
+
+    /**
+     * Re-evaluates the subscription of a player, called when the player logs in, changes dimension or moves to another chunk.
+     *
+     * @param player the player.
+     * @return true if the subscription changed.
+     */
+    public boolean updateSubscriber(@NotNull final EntityPlayerMP player)
+    {
+        if (shouldSubscribe(player))
+        {
+            return addSubscriber(player);
+        }
+        return removeSubscriber(player);
+    }
+
+    /**
+     * Subscribes a player to the colony, the next update sends the full views.
+     *
+     * @param player the player.
+     * @return true if the player was not subscribed before.
+     */
+    private boolean addSubscriber(@NotNull final EntityPlayerMP player)
+    {
+        if (!subscribers.add(player))
+        {
+            return false;
+        }
+
+        //  A respawned player is a new entity, drop the old one.
+        for (@NotNull final EntityPlayerMP subscriber : new ArrayList<>(subscribers))
+        {
+            if (subscriber != player && subscriber.getUniqueID().equals(player.getUniqueID()))
+            {
+                removeSubscriber(subscriber);
+            }
+        }
+
+        newSubscribers.add(player);
+        forgetSentViews(player);
+        ColonyManager.onSubscriberChanged();
+        return true;
+    }
+
+    /**
+     * Unsubscribes a player from the colony, for example when the player logs out.
+     *
+     * @param player the player.
+     * @return true if the player was subscribed.
+     */
+    public boolean removeSubscriber(@NotNull final EntityPlayerMP player)
+    {
+        if (!subscribers.remove(player))
+        {
+            return false;
+        }
+
+        newSubscribers.remove(player);
+        forgetSentViews(player);
+        ColonyManager.onSubscriberChanged();
+        return true;
+    }
+
+    /**
+     * Recomputes the subscribers from all online players.
+     * Runs when the permissions change and periodically, to correct anything the player events missed.
+     *
+     * @return the amount of subscriptions which changed.
+     */
+    public int reconcileSubscribers()
+    {
+        if (world == null)
+        {
+            return 0;
+        }
+
+        int changes = 0;
+        final Set<EntityPlayerMP> players = new HashSet<>(world.getMinecraftServer().getPlayerList().getPlayerList());
+        for (@NotNull final EntityPlayerMP player : players)
+        {
+            if (updateSubscriber(player))
+            {
+                changes++;
+            }
+        }
+
+        for (@NotNull final EntityPlayerMP subscriber : new ArrayList<>(subscribers))
+        {
+            if (!players.contains(subscriber) && removeSubscriber(subscriber))
+            {
+                changes++;
+            }
+        }
+
+        citizenViews.retainSubscribers(subscribers);
+        buildingViews.retainSubscribers(subscribers);
+        workOrderViews.retainSubscribers(subscribers);
+        return changes;
+    }
+
     /**
      * Get the Work Manager for the Colony.
      *
@@ -777,10 +1146,55 @@ public class Colony implements IColony
         return workManager;
     }
 
+    /**
+     * Get the cache of the paths of the citizens.
+     *
+     * @return the path cache.
+     */
+    @NotNull
+    public PathCache getPathCache()
+    {
+        return pathCache;
+    }
+
+    /**
+     * Get the region graph, which plans long routes through the colony.
+     *
+     * @return the region graph.
+     */
+    @NotNull
+    public RegionGraph getRegionGraph()
+    {
+        return regionGraph;
+    }
+
+    /**
+     * Get the tree index, which knows the trees around the colony for the lumberjacks.
+     *
+     * @return the tree index.
+     */
+    @NotNull
+    public TreeIndex getTreeIndex()
+    {
+        return treeIndex;
+    }
+
+    /**
+     * Get the pond index, which knows the fishing spots around the colony for the fishermen.
+     *
+     * @return the pond index.
+     */
+    @NotNull
+    public PondIndex getPondIndex()
+    {
+        return pondIndex;
+    }
+
     /**
      * Any per-world-tick logic should be performed here.
      * NOTE: If the Colony's world isn't loaded, it won't have a world tick.
      * Use onServerTick for logic that should _always_ run.
+     * Maintenance which does not have to run every tick belongs in {@link #onMaintenanceTick(TickEvent.WorldTickEvent)}.
      *
      * @param event {@link TickEvent.WorldTickEvent}
      */
@@ -791,100 +1205,344 @@ public class Colony implements IColony
             throw new IllegalStateException("Colony's world does not match the event.");
         }
 
-        if (event.phase == TickEvent.Phase.START)
+        //  Spawn Citizens
+        if (event.phase == TickEvent.Phase.START && townHall != null && citizens.size() < maxCitizens)
         {
-            //  Detect CitizenData whose EntityCitizen no longer exist in world, and clear the mapping
-            //  Consider handing this in an ChunkUnload Event instead?
-            citizens.values()
-              .stream()
-              .filter(ColonyUtils::isCitizenMissingFromWorld)
-              .forEach(CitizenData::clearCitizenEntity);
+            int respawnInterval = Configurations.citizenRespawnInterval * 20;
+            respawnInterval -= (60 * townHall.getBuildingLevel());
 
-            //  Cleanup disappeared citizens
-            //  It would be really nice if we didn't have to do this... but Citizens can disappear without dying!
-            //  Every CITIZEN_CLEANUP_TICK_INCREMENT, cleanup any 'lost' citizens
-            if ((event.world.getWorldTime() % CITIZEN_CLEANUP_TICK_INCREMENT) == 0 && areAllColonyChunksLoaded(event))
+            if (event.world.getWorldTime() % respawnInterval == 0)
             {
-                //  All chunks within a good range of the colony should be loaded, so all citizens should be loaded
-                //  If we don't have any references to them, destroy the citizen
-                citizens.values().stream().filter(citizen -> citizen.getCitizenEntity() == null)
-                  .forEach(citizen ->
-                  {
-                      Log.getLogger().warn(String.format("Citizen #%d:%d has gone AWOL, respawning them!", getID(), citizen.getId()));
-                      spawnCitizen(citizen);
-                  });
+                spawnCitizen();
             }
+        }
 
-            //  Cleanup Buildings whose Blocks have gone AWOL
-            cleanUpBuildings(event);
+        //  Tick Buildings
+        for (@NotNull final AbstractBuilding building : buildings.values())
+        {
+            building.onWorldTick(event);
+        }
+    }
 
-            //  Spawn Citizens
-            if (townHall != null && citizens.size() < maxCitizens)
-            {
-                int respawnInterval = Configurations.citizenRespawnInterval * 20;
-                respawnInterval -= (60 * townHall.getBuildingLevel());
+    /**
+     * Periodic maintenance of the colony, run by the {@link ColonyTickScheduler} at the end of a world tick.
+     * The interval between two runs depends on the load of the server.
+     *
+     * @param event {@link TickEvent.WorldTickEvent}
+     */
+    public void onMaintenanceTick(@NotNull final TickEvent.WorldTickEvent event)
+    {
+        //  Detect CitizenData whose EntityCitizen no longer exist in world, and clear the mapping
+        //  Consider handing this in an ChunkUnload Event instead?
+        citizens.values()
+          .stream()
+          .filter(ColonyUtils::isCitizenMissingFromWorld)
+          .forEach(CitizenData::clearCitizenEntity);
+
+        //  Cleanup disappeared citizens
+        //  It would be really nice if we didn't have to do this... but Citizens can disappear without dying!
+        //  Every CITIZEN_CLEANUP_TICK_INCREMENT, cleanup any 'lost' citizens
+        final long worldTime = event.world.getTotalWorldTime();
+        if (worldTime - lastCitizenCleanup >= CITIZEN_CLEANUP_TICK_INCREMENT && areAllColonyChunksLoaded())
+        {
+            lastCitizenCleanup = worldTime;
+
+            //  All chunks within a good range of the colony should be loaded, so all citizens should be loaded
+            //  If we don't have any references to them, destroy the citizen
+            citizens.values().stream().filter(citizen -> citizen.getCitizenEntity() == null)
+              .forEach(citizen ->
+              {
+                  Log.getLogger().warn(String.format("Citizen #%d:%d has gone AWOL, respawning them!", getID(), citizen.getId()));
+                  spawnCitizen(citizen);
+              });
+        }
+
+        //  Cleanup Buildings whose Blocks have gone AWOL
+        cleanUpBuildings(event);
+
+        checkRandomWayPoint();
+
+        pathCache.setArea(center, getWatchedDistance());
+
+        regionGraph.setArea(center, Configurations.workingRangeTownHall);
+        regionGraph.update(event.world);
 
-                if (event.world.getWorldTime() % respawnInterval == 0)
+        treeIndex.setArea(center, getWorkAreaDistance(BuildingLumberjack.class, EntityAIWorkLumberjack.SEARCH_LIMIT));
+        treeIndex.update(event.world);
+
+        pondIndex.setArea(center, getWorkAreaDistance(BuildingFisherman.class, EntityAIWorkFisherman.SEARCH_RANGE));
+        pondIndex.update(event.world);
+
+        materialSystem.checkConsistency(MATERIAL_STORES_CHECKED);
+
+        workManager.onWorldTick(event);
+    }
+
+    /**
+     * Removes a random waypoint if its block changed.
+     */
+    private void checkRandomWayPoint()
+    {
+        if (wayPoints.isEmpty() || world == null)
+        {
+            return;
+        }
+
+        final Iterator<Map.Entry<BlockPos, IBlockState>> iterator = wayPoints.entrySet().iterator();
+        for (int skip = random.nextInt(wayPoints.size()); skip > 0; skip--)
+        {
+            iterator.next();
+        }
+
+        final Map.Entry<BlockPos, IBlockState> entry = iterator.next();
+        if (world.getBlockState(entry.getKey()).getBlock() != entry.getValue().getBlock())
+        {
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Collects the chunks around the colony which are already loaded when the colony gets its world.
+     * Afterwards the chunk events keep the set up to date.
+     */
+    private void initLoadedChunks()
+    {
+        loadedChunks.clear();
+        changedChunks.clear();
+        validateAllBuildings = true;
+
+        final int distanceFromCenter = getChunkAreaDistance();
+        for (int chunkX = (center.getX() - distanceFromCenter) >> 4; chunkX <= (center.getX() + distanceFromCenter) >> 4; chunkX++)
+        {
+            for (int chunkZ = (center.getZ() - distanceFromCenter) >> 4; chunkZ <= (center.getZ() + distanceFromCenter) >> 4; chunkZ++)
+            {
+                if (world.getChunkProvider().getLoadedChunk(chunkX, chunkZ) != null)
                 {
-                    spawnCitizen();
+                    loadedChunks.add(ChunkPos.chunkXZ2Int(chunkX, chunkZ));
                 }
             }
         }
+    }
 
-        //  Tick Buildings
-        for (@NotNull final AbstractBuilding building : buildings.values())
+    /**
+     * Called when a chunk of the world of the colony loaded.
+     * Buildings and fields in the chunk are validated on the next maintenance.
+     *
+     * @param chunkX the x coordinate of the chunk.
+     * @param chunkZ the z coordinate of the chunk.
+     */
+    public void onChunkLoad(final int chunkX, final int chunkZ)
+    {
+        if (isChunkInArea(chunkX, chunkZ))
         {
-            building.onWorldTick(event);
+            final long chunk = ChunkPos.chunkXZ2Int(chunkX, chunkZ);
+            loadedChunks.add(chunk);
+            changedChunks.add(chunk);
         }
+    }
 
-        final Random rand = new Random();
-        if (rand.nextInt(CHECK_WAYPOINT_EVERY) <= 1 && wayPoints.size() > 0)
+    /**
+     * Called when a chunk of the world of the colony unloaded.
+     *
+     * @param chunkX the x coordinate of the chunk.
+     * @param chunkZ the z coordinate of the chunk.
+     */
+    public void onChunkUnload(final int chunkX, final int chunkZ)
+    {
+        if (isChunkInArea(chunkX, chunkZ))
         {
-            final Object[] entries = wayPoints.entrySet().toArray();
-            final int stopAt = rand.nextInt(entries.length);
-            final Object obj = entries[stopAt];
+            final long chunk = ChunkPos.chunkXZ2Int(chunkX, chunkZ);
+            loadedChunks.remove(chunk);
+            changedChunks.remove(chunk);
+            treeIndex.onChunkUnload(chunkX, chunkZ);
+            pondIndex.onChunkUnload(chunkX, chunkZ);
+        }
+    }
 
-            if (obj instanceof Map.Entry && ((Map.Entry) obj).getKey() instanceof BlockPos && ((Map.Entry) obj).getValue() instanceof IBlockState)
+    /**
+     * Called when a block within the watched area of the colony changed, see {@link #getWatchedDistance()}.
+     * Drops the cached paths the block lies on, marks its region dirty in the region graph and its chunk in the tree
+     * and pond indexes, and tells the structures being built. A building or field at the position is validated on the
+     * next maintenance, its chunk may stay loaded. A block within the colony wakes the ais which sleep until a block
+     * changes.
+     *
+     * @param world    the world of the block.
+     * @param pos      the position of the block.
+     * @param oldState the state before the change.
+     * @param newState the state after the change.
+     */
+    public void onBlockChanged(
+                                @NotNull final World world,
+                                @NotNull final BlockPos pos,
+                                @NotNull final IBlockState oldState,
+                                @NotNull final IBlockState newState)
+    {
+        pathCache.onBlockChanged(pos);
+        regionGraph.onBlockChanged(pos);
+        treeIndex.onBlockChanged(world, pos, oldState, newState);
+        pondIndex.onBlockChanged(pos, oldState, newState);
+        for (@NotNull final StructureWrapper structure : activeStructures)
+        {
+            structure.onBlockChanged(pos);
+        }
+        if (buildings.containsKey(pos) || fields.containsKey(pos))
+        {
+            changedBuildingBlocks.add(pos);
+        }
+        if (!blockChangeSleepers.isEmpty() && isCoordInColony(world, pos))
+        {
+            for (@NotNull final AbstractJob job : blockChangeSleepers)
             {
-                @NotNull final BlockPos key = (BlockPos) ((Map.Entry) obj).getKey();
-                @NotNull final IBlockState value = (IBlockState) ((Map.Entry) obj).getValue();
-                if (world != null && world.getBlockState(key).getBlock() != (value.getBlock()))
-                {
-                    wayPoints.remove(key);
-                }
+                job.onWakeEvent(AIWakeEvent.BLOCK_CHANGED);
             }
+            blockChangeSleepers.clear();
         }
+    }
 
-        workManager.onWorldTick(event);
+    /**
+     * Wakes the ai of a job on the next block change within the colony, only the jobs added here are woken by one.
+     * Waking an ai which meanwhile woke up or sleeps until something else does nothing.
+     *
+     * @param job the job whose ai sleeps until a block changes.
+     */
+    public void addBlockChangeSleeper(@NotNull final AbstractJob job)
+    {
+        blockChangeSleepers.add(job);
     }
 
-    private boolean areAllColonyChunksLoaded(@NotNull final TickEvent.WorldTickEvent event)
+    /**
+     * Tracks the built blocks of a structure a citizen builds, its blocks are compared with the world only once and
+     * again when they change.
+     *
+     * @param structure the structure.
+     */
+    public void addActiveStructure(@NotNull final StructureWrapper structure)
+    {
+        structure.trackBuiltBlocks();
+        activeStructures.add(structure);
+    }
+
+    /**
+     * Stops passing the block changes on to a structure which isn't built anymore.
+     *
+     * @param structure the structure.
+     */
+    public void removeActiveStructure(@NotNull final StructureWrapper structure)
     {
-        final int distanceFromCenter = Configurations.workingRangeTownHall + 48 /* 3 chunks */ + 15 /* round up a chunk */;
-        for (int x = -distanceFromCenter; x <= distanceFromCenter; x += 16)
+        activeStructures.remove(structure);
+    }
+
+    /**
+     * Distance from the center within which block changes matter to the colony, for its path cache and indexes.
+     * It covers the ranges around the huts whose workers look for work in an index. Buildings outside of it are
+     * watched as well.
+     *
+     * @return the distance in blocks.
+     */
+    public int getWatchedDistance()
+    {
+        return Math.max(getWorkAreaDistance(BuildingLumberjack.class, EntityAIWorkLumberjack.SEARCH_LIMIT),
+          getWorkAreaDistance(BuildingFisherman.class, EntityAIWorkFisherman.SEARCH_RANGE));
+    }
+
+    /**
+     * Distance from the center which covers the range around every hut of a type in which its workers look for work,
+     * at least the distance within which chunks are tracked.
+     *
+     * @param type  the type of the huts.
+     * @param range the range around a hut.
+     * @return the distance in blocks.
+     */
+    private int getWorkAreaDistance(@NotNull final Class<? extends AbstractBuilding> type, final int range)
+    {
+        int distance = getChunkAreaDistance();
+        for (@NotNull final AbstractBuilding building : buildings.values())
         {
-            for (int z = -distanceFromCenter; z <= distanceFromCenter; z += 16)
+            if (type.isInstance(building))
             {
-                if (!event.world.isBlockLoaded(new BlockPos(getCenter().getX() + x, 128, getCenter().getZ() + z)))
-                {
-                    return false;
-                }
+                final BlockPos location = building.getLocation();
+                final int hutDistance = Math.max(Math.abs(location.getX() - center.getX()), Math.abs(location.getZ() - center.getZ()));
+                distance = Math.max(distance, hutDistance + range);
             }
         }
-        return true;
+        return distance;
+    }
+
+    /**
+     * Checks if a chunk is within the area around the colony whose chunks are tracked.
+     *
+     * @param chunkX the x coordinate of the chunk.
+     * @param chunkZ the z coordinate of the chunk.
+     * @return true if so.
+     */
+    private boolean isChunkInArea(final int chunkX, final int chunkZ)
+    {
+        final int distanceFromCenter = getChunkAreaDistance();
+        return chunkX >= (center.getX() - distanceFromCenter) >> 4 && chunkX <= (center.getX() + distanceFromCenter) >> 4
+                 && chunkZ >= (center.getZ() - distanceFromCenter) >> 4 && chunkZ <= (center.getZ() + distanceFromCenter) >> 4;
+    }
+
+    /**
+     * Distance from the center within which chunks are tracked.
+     *
+     * @return the distance in blocks.
+     */
+    private static int getChunkAreaDistance()
+    {
+        return Configurations.workingRangeTownHall + CHUNK_AREA_DISTANCE;
     }
 
+    /**
+     * Checks if all chunks in the area around the colony are loaded.
+     *
+     * @return true if so.
+     */
+    private boolean areAllColonyChunksLoaded()
+    {
+        final int chunksPerSide = ((center.getX() + getChunkAreaDistance()) >> 4) - ((center.getX() - getChunkAreaDistance()) >> 4) + 1;
+        final int chunksPerOtherSide = ((center.getZ() + getChunkAreaDistance()) >> 4) - ((center.getZ() - getChunkAreaDistance()) >> 4) + 1;
+        return loadedChunks.size() == chunksPerSide * chunksPerOtherSide;
+    }
+
+    /**
+     * Checks if a building or field has to be validated.
+     * Positions outside of the tracked area are validated on every maintenance.
+     *
+     * @param pos  the position of the building or field.
+     * @param turn whether it is the turn of the building or field in the rotation.
+     * @return true if so.
+     */
+    private boolean needsValidation(@NotNull final BlockPos pos, final boolean turn)
+    {
+        final int chunkX = pos.getX() >> 4;
+        final int chunkZ = pos.getZ() >> 4;
+        return turn
+                 || validateAllBuildings
+                 || changedBuildingBlocks.contains(pos)
+                 || !isChunkInArea(chunkX, chunkZ)
+                 || changedChunks.contains(ChunkPos.chunkXZ2Int(chunkX, chunkZ));
+    }
+
+    /**
+     * Removes buildings and fields whose blocks are gone.
+     * Only looks at buildings and fields in chunks which loaded since the last run or whose block changed,
+     * and at one building and one field in turn, in case a change was missed.
+     *
+     * @param event the world tick event.
+     */
     private void cleanUpBuildings(@NotNull final TickEvent.WorldTickEvent event)
     {
         @Nullable final List<AbstractBuilding> removedBuildings = new ArrayList<>();
 
         //Need this list, we may enter he while we add a building in the real world.
         final List<AbstractBuilding> tempBuildings = new ArrayList<>(buildings.values());
+        validationTurn = (validationTurn + 1) & Integer.MAX_VALUE;
 
-        for (@NotNull final AbstractBuilding building : tempBuildings)
+        for (int i = 0; i < tempBuildings.size(); i++)
         {
+            final AbstractBuilding building = tempBuildings.get(i);
             final BlockPos loc = building.getLocation();
-            if (event.world.isBlockLoaded(loc) && !building.isMatchingBlock(event.world.getBlockState(loc).getBlock()))
+            if (needsValidation(loc, i == validationTurn % tempBuildings.size()) && event.world.isBlockLoaded(loc) && !building.isMatchingBlock(event.world.getBlockState(loc).getBlock()))
             {
                 //  Sanity cleanup
                 removedBuildings.add(building);
@@ -895,23 +1553,28 @@ public class Colony implements IColony
 
         @NotNull final ArrayList<Field> tempFields = new ArrayList<>(fields.values());
 
-        for (@NotNull final Field field : tempFields)
+        for (int i = 0; i < tempFields.size(); i++)
         {
-            if (event.world.isBlockLoaded(field.getLocation()))
+            final Field field = tempFields.get(i);
+            if (needsValidation(field.getLocation(), i == validationTurn % tempFields.size()) && event.world.isBlockLoaded(field.getLocation()))
             {
                 final ScarecrowTileEntity scarecrow = (ScarecrowTileEntity) event.world.getTileEntity(field.getID());
                 if (scarecrow == null)
                 {
                     fields.remove(field.getID());
+                    markFieldsDirty();
                 }
-                else
+                else if (field.getInventoryField() != scarecrow.getInventoryField())
                 {
                     field.setInventoryField(scarecrow.getInventoryField());
+                    markFieldsDirty();
                 }
             }
         }
 
-        markFieldsDirty();
+        changedChunks.clear();
+        changedBuildingBlocks.clear();
+        validateAllBuildings = false;
     }
 
     /**
@@ -1128,6 +1791,7 @@ public class Colony implements IColony
         {
             addBuilding(building);
             tileEntity.setBuilding(building);
+            ColonyManager.onBuildingAdded(this, building.getID());
 
             Log.getLogger().info(String.format("Colony %d - new AbstractBuilding for %s at %s",
               getID(),
@@ -1143,7 +1807,7 @@ public class Colony implements IColony
         }
 
         calculateMaxCitizens();
-        ColonyManager.markDirty();
+        ColonyManager.markDirty(this);
 
         return building;
     }
@@ -1180,9 +1844,10 @@ public class Colony implements IColony
     {
         if (buildings.remove(building.getID()) != null)
         {
+            buildingViews.remove(building.getID());
             for (final EntityPlayerMP player : subscribers)
             {
-                MineColonies.getNetwork().sendTo(new ColonyViewRemoveBuildingMessage(this, building.getID()), player);
+                sendViewUpdate(player, new ColonyViewRemoveBuildingMessage(this, building.getID()));
             }
 
             Log.getLogger().info(String.format("Colony %d - removed AbstractBuilding %s of type %s",
@@ -1204,7 +1869,7 @@ public class Colony implements IColony
 
         calculateMaxCitizens();
 
-        ColonyManager.markDirty();
+        ColonyManager.markDirty(this);
     }
 
     /**
@@ -1259,6 +1924,7 @@ public class Colony implements IColony
     {
         //Remove the Citizen
         citizens.remove(citizen.getId());
+        citizenViews.remove(citizen.getId());
 
         for (@NotNull final AbstractBuilding building : buildings.values())
         {
@@ -1266,11 +1932,12 @@ public class Colony implements IColony
         }
 
         workManager.clearWorkForCitizen(citizen);
+        materialSystem.removeCitizenStore(citizen.getId());
 
         //  Inform Subscribers of removed citizen
         for (final EntityPlayerMP player : subscribers)
         {
-            MineColonies.getNetwork().sendTo(new ColonyViewRemoveCitizenMessage(this, citizen.getId()), player);
+            sendViewUpdate(player, new ColonyViewRemoveCitizenMessage(this, citizen.getId()));
         }
     }
 
@@ -1281,10 +1948,12 @@ public class Colony implements IColony
      */
     public void removeWorkOrder(final int orderId)
     {
+        workOrderViews.remove(orderId);
+
         //  Inform Subscribers of removed workOrder
         for (final EntityPlayerMP player : subscribers)
         {
-            MineColonies.getNetwork().sendTo(new ColonyViewRemoveWorkOrderMessage(this, orderId), player);
+            sendViewUpdate(player, new ColonyViewRemoveWorkOrderMessage(this, orderId));
         }
     }
 
@@ -5,12 +5,20 @@ import com.minecolonies.coremod.blocks.AbstractBlockHut;
 import com.minecolonies.coremod.colony.buildings.AbstractBuilding;
 import com.minecolonies.coremod.colony.permissions.Permissions;
 import com.minecolonies.coremod.configuration.Configurations;
+import com.minecolonies.coremod.entity.ai.util.AIState;
+import com.minecolonies.coremod.entity.ai.util.AITickStatistics;
+import com.minecolonies.coremod.entity.pathfinding.PassabilityCache;
+import com.minecolonies.coremod.entity.pathfinding.PathCache;
+import com.minecolonies.coremod.entity.pathfinding.PathJobRecording;
 import com.minecolonies.coremod.util.AchievementUtils;
 import com.minecolonies.coremod.util.LanguageHandler;
 import com.minecolonies.coremod.util.Log;
+import com.minecolonies.structures.helpers.StructureCache;
 import io.netty.buffer.ByteBuf;
+import net.minecraft.block.state.IBlockState;
 import net.minecraft.client.Minecraft;
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
@@ -21,12 +29,15 @@ import net.minecraftforge.common.DimensionManager;
 import net.minecraftforge.common.util.Constants.NBT;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Singleton class that links colonies to minecraft.
@@ -38,11 +49,72 @@ public final class ColonyManager
      */
     private static final String FILENAME_MINECOLONIES_PATH = "minecolonies";
 
+    /**
+     * The directory of recorded path jobs within the minecolonies path.
+     */
+    private static final String FILENAME_PATH_JOBS_PATH = "pathjobs";
+
     /**
      * The file name of the minecolonies.
      */
     private static final String FILENAME_MINECOLONIES = "colonies.dat";
 
+    /**
+     * The suffix the legacy save file gets once the colonies have been moved to their own files.
+     */
+    private static final String FILENAME_LEGACY_SUFFIX = ".bak";
+
+    /**
+     * The directory name of the per colony save files.
+     */
+    private static final String FILENAME_COLONIES_PATH = "colonies";
+
+    /**
+     * The file name pattern of a per colony save file.
+     */
+    private static final String FILENAME_COLONY = "colony%d.dat";
+
+    /**
+     * The file name prefix of the per colony save files.
+     */
+    private static final String FILENAME_COLONY_PREFIX = "colony";
+
+    /**
+     * The extension of the per colony save files.
+     */
+    private static final String FILE_EXTENSION_DAT = ".dat";
+
+    /**
+     * The file name of the resident colony index.
+     */
+    private static final String FILENAME_INDEX = "index.dat";
+
+    /**
+     * Every this many server ticks colonies without a loaded world are saved and unloaded.
+     */
+    private static final int IDLE_CHECK_INTERVAL = 60 * 20;
+
+    /**
+     * On every world save the colonies of one of this many slots are saved even if they are not dirty.
+     * Catches changes which did not mark their colony dirty.
+     */
+    private static final int SAVE_SWEEP_SLOTS = 10;
+
+    /**
+     * Every colony recomputes its subscribers once in this many server ticks, catching anything the player events missed.
+     */
+    private static final int SUBSCRIBER_RECONCILE_INTERVAL = 30 * 20;
+
+    /**
+     * Length of the window of the subscriber statistics in server ticks, one minute.
+     */
+    private static final int SUBSCRIBER_STATS_INTERVAL = 60 * 20;
+
+    /**
+     * Length of the window of the path cache statistics in server ticks, one minute.
+     */
+    private static final int PATH_CACHE_STATS_INTERVAL = 60 * 20;
+
     /**
      * The tag of the colonies.
      */
@@ -61,6 +133,26 @@ public final class ColonyManager
      */
     @NotNull
     private static Map<Integer, List<Colony>> coloniesByWorld = new HashMap<>();
+    /**
+     * The spatial index of all colonies by world.
+     */
+    @NotNull
+    private static Map<Integer, ColonySpatialIndex<Colony>> colonyIndexByWorld = new HashMap<>();
+    /**
+     * The spatial index of the areas in which block changes matter to the colonies, by world.
+     */
+    @NotNull
+    private static Map<Integer, ColonySpatialIndex<Colony>> watchIndexByWorld = new HashMap<>();
+    /**
+     * The maintenance scheduler of every world.
+     */
+    @NotNull
+    private static Map<Integer, ColonyTickScheduler> schedulerByWorld = new HashMap<>();
+    /**
+     * Id, dimension, center and owner of every colony, including the ones which are not loaded.
+     */
+    @NotNull
+    private static final ColonySaveIndex saveIndex = new ColonySaveIndex();
     /**
      * The last colony id.
      */
@@ -78,6 +170,69 @@ public final class ColonyManager
      * Whether the colonyManager should persist data.
      */
     private static boolean saveNeeded;
+    /**
+     * The minecolonies directory of the current save.
+     */
+    @Nullable
+    private static File saveDirectory;
+    /**
+     * Background writer for the colony save files.
+     */
+    @Nullable
+    private static ColonySaveWriter saveWriter;
+    /**
+     * Ids of the colonies being read by the save writer.
+     */
+    @NotNull
+    private static final Set<Integer> requestedLoads = new HashSet<>();
+
+    /**
+     * Ids of the colonies whose save file could not be read in the background, they are not requested again.
+     */
+    @NotNull
+    private static final Set<Integer> failedLoads = new HashSet<>();
+    /**
+     * Colonies read by the save writer, registered on the next server tick. The data is null if the read failed.
+     */
+    @NotNull
+    private static final Queue<AbstractMap.SimpleImmutableEntry<Integer, NBTTagCompound>> readColonies = new ConcurrentLinkedQueue<>();
+    /**
+     * Whether the colonies have been loaded from the legacy single save file and still have to be moved.
+     */
+    private static boolean legacyFileLoaded;
+    /**
+     * Counts world saves, selects the colonies of the save sweep.
+     */
+    private static int worldSaveCount;
+    /**
+     * Counts server ticks, for the idle colony check.
+     */
+    private static int serverTickCount;
+    /**
+     * Subscriptions changed and corrected by the reconcile in the current minute.
+     */
+    private static int subscriberChanges;
+    private static int subscriberCorrections;
+    /**
+     * Subscriptions changed and corrected by the reconcile in the last full minute.
+     */
+    private static int subscriberChangesLastMinute;
+    private static int subscriberCorrectionsLastMinute;
+    /**
+     * Views serialized and view messages sent by all colonies in the current minute.
+     */
+    private static int viewEncodes;
+    private static int viewMessages;
+    /**
+     * Views serialized and view messages sent by all colonies in the last full minute.
+     */
+    private static int viewEncodesLastMinute;
+    private static int viewMessagesLastMinute;
+    /**
+     * Paths served from and missing in the path caches of all colonies in the last full minute.
+     */
+    private static int pathCacheHitsLastMinute;
+    private static int pathCacheMissesLastMinute;
 
     private ColonyManager()
     {
@@ -97,23 +252,17 @@ public final class ColonyManager
     {
         ++topColonyId;
         @NotNull final Colony colony = new Colony(topColonyId, w, pos);
-        colonies.put(colony.getID(), colony);
-
-        if (!coloniesByWorld.containsKey(colony.getDimension()))
-        {
-            coloniesByWorld.put(colony.getDimension(), new ArrayList<>());
-        }
-
-        coloniesByWorld.get(colony.getDimension()).add(colony);
+        addColony(colony);
 
         final String colonyName = LanguageHandler.format("com.minecolonies.coremod.gui.townHall.defaultName", player.getDisplayNameString());
         colony.setName(colonyName);
         colony.getPermissions().setPlayerRank(player.getGameProfile().getId(), Permissions.Rank.OWNER, w);
+        saveIndex.update(colony);
 
         colony.triggerAchievement(ModAchievements.achievementGetSupply);
         colony.triggerAchievement(ModAchievements.achievementTownhall);
 
-        markDirty();
+        markDirty(colony);
 
         Log.getLogger().info(String.format("New Colony Id: %d by %s", colony.getID(), player.getName()));
 
@@ -121,11 +270,96 @@ public final class ColonyManager
     }
 
     /**
-     * Specify that colonies should be saved.
+     * Registers a colony in the colony map, the world list and the spatial index.
+     *
+     * @param colony the colony to add.
+     */
+    private static void addColony(@NotNull final Colony colony)
+    {
+        colonies.put(colony.getID(), colony);
+        saveIndex.update(colony);
+        coloniesByWorld.computeIfAbsent(colony.getDimension(), dim -> new ArrayList<>()).add(colony);
+
+        final ColonySpatialIndex<Colony> index = colonyIndexByWorld.computeIfAbsent(colony.getDimension(), dim -> new ColonySpatialIndex<>());
+        index.add(colony, Configurations.workingRangeTownHall);
+        for (final BlockPos buildingPos : colony.getBuildings().keySet())
+        {
+            index.expand(colony, buildingPos);
+        }
+        addWatchedArea(watchIndexByWorld.computeIfAbsent(colony.getDimension(), dim -> new ColonySpatialIndex<>()), colony);
+    }
+
+    /**
+     * Registers the area within which a colony watches block changes, see {@link Colony#getWatchedDistance()}.
+     * Registers it again if it is registered already, the area grows with some huts.
+     *
+     * @param watchIndex the watch index of the dimension of the colony.
+     * @param colony     the colony.
+     */
+    private static void addWatchedArea(@NotNull final ColonySpatialIndex<Colony> watchIndex, @NotNull final Colony colony)
+    {
+        watchIndex.add(colony, colony.getWatchedDistance());
+        for (final BlockPos buildingPos : colony.getBuildings().keySet())
+        {
+            watchIndex.expand(colony, buildingPos);
+        }
+    }
+
+    /**
+     * Removes a loaded colony from the colony map, the world list and the spatial index.
+     * The colony stays in the save index.
+     *
+     * @param colony the colony to remove.
+     */
+    private static void removeColony(@NotNull final Colony colony)
+    {
+        colonies.remove(colony.getID());
+        coloniesByWorld.get(colony.getDimension()).remove(colony);
+        colonyIndexByWorld.get(colony.getDimension()).remove(colony);
+        watchIndexByWorld.get(colony.getDimension()).remove(colony);
+    }
+
+    /**
+     * Saves a colony and removes it from memory, it will be loaded again when it is needed.
+     *
+     * @param colony the colony to unload.
+     */
+    private static void unloadColony(@NotNull final Colony colony)
+    {
+        saveColony(colony);
+        removeColony(colony);
+    }
+
+    /**
+     * Called when a building has been added to a colony, buildings may lie outside of the colony radius and some
+     * huts grow the area the colony watches.
+     *
+     * @param colony the colony of the building.
+     * @param pos    the location of the building.
+     */
+    static void onBuildingAdded(@NotNull final Colony colony, @NotNull final BlockPos pos)
+    {
+        final ColonySpatialIndex<Colony> index = colonyIndexByWorld.get(colony.getDimension());
+        if (index != null)
+        {
+            index.expand(colony, pos);
+        }
+        final ColonySpatialIndex<Colony> watchIndex = watchIndexByWorld.get(colony.getDimension());
+        if (watchIndex != null)
+        {
+            addWatchedArea(watchIndex, colony);
+        }
+    }
+
+    /**
+     * Specify that a colony should be saved with the next tick, only the marked colonies are written.
+     *
+     * @param colony the changed colony.
      */
-    public static void markDirty()
+    public static void markDirty(@NotNull final Colony colony)
     {
         saveNeeded = true;
+        colony.markSaveDirty();
     }
 
     /**
@@ -137,10 +371,20 @@ public final class ColonyManager
     {
         try
         {
-            final Colony colony = getColony(id);
+            @Nullable final Colony colony = colonies.containsKey(id) ? colonies.get(id) : loadColonyFromFile(id);
             Log.getLogger().info("Deleting colony " + id);
-            colonies.remove(id);
-            coloniesByWorld.get(colony.getDimension()).remove(colony);
+            saveIndex.remove(id);
+            saveNeeded = true;
+            if (saveWriter != null && saveDirectory != null)
+            {
+                saveWriter.delete(getColonySaveLocation(saveDirectory, id));
+            }
+            if (colony == null)
+            {
+                Log.getLogger().warn(String.format("Colony %d could not be loaded, only its save file was deleted", id));
+                return;
+            }
+            removeColony(colony);
             final Set<World> colonyWorlds = new HashSet<>();
             Log.getLogger().info("Removing citizens for " + id);
             for (final CitizenData citizenData : new ArrayList<>(colony.getCitizens().values()))
@@ -177,13 +421,97 @@ public final class ColonyManager
 
     /**
      * Get Colony by UUID.
+     * A colony which is not loaded yet is read from its save file right away, on the calling thread.
+     * Callers which can wait a few ticks should use {@link #requestColony(int)} instead.
      *
      * @param id ID of colony.
-     * @return Colony with given ID.
+     * @return Colony with given ID or null if there is none.
      */
     public static Colony getColony(final int id)
     {
-        return colonies.get(id);
+        final Colony colony = colonies.get(id);
+        if (colony == null && saveIndex.contains(id))
+        {
+            return loadColonyFromFile(id);
+        }
+        return colony;
+    }
+
+    /**
+     * Get Colony by UUID without reading its save file on the calling thread.
+     * A colony which is not loaded yet is read in the background and returned once it is loaded, a tick later at
+     * the earliest, use {@link #isColonyLoading(int)} to tell a colony on its way from a missing one.
+     *
+     * @param id ID of colony.
+     * @return Colony with given ID or null if it isn't loaded.
+     */
+    @Nullable
+    public static Colony requestColony(final int id)
+    {
+        final Colony colony = colonies.get(id);
+        if (colony == null && saveIndex.contains(id))
+        {
+            return requestColonyLoad(id);
+        }
+        return colony;
+    }
+
+    /**
+     * Check if a colony is being read from its save file after {@link #requestColony(int)}.
+     *
+     * @param id ID of colony.
+     * @return true if the colony will be loaded within the next ticks.
+     */
+    public static boolean isColonyLoading(final int id)
+    {
+        return requestedLoads.contains(id);
+    }
+
+    /**
+     * Loads a colony which is not loaded yet without reading its file on the server thread.
+     * A snapshot still waiting to be written is loaded right away, else the file is read by the save writer and the
+     * colony is registered by {@link #registerReadColonies()}.
+     *
+     * @param id the id of the colony.
+     * @return the colony if it could be loaded right away, else null.
+     */
+    @Nullable
+    private static Colony requestColonyLoad(final int id)
+    {
+        if (saveDirectory == null || saveWriter == null || requestedLoads.contains(id) || failedLoads.contains(id))
+        {
+            return null;
+        }
+
+        final File file = getColonySaveLocation(saveDirectory, id);
+        @Nullable final NBTTagCompound pending = saveWriter.getPending(file);
+        if (pending != null)
+        {
+            return registerColony(id, (NBTTagCompound) pending.copy());
+        }
+
+        requestedLoads.add(id);
+        saveWriter.read(file, data -> readColonies.add(new AbstractMap.SimpleImmutableEntry<>(id, data)));
+        return null;
+    }
+
+    /**
+     * Registers the colonies read by the save writer since the last tick.
+     * Colonies which were loaded or deleted in the meantime are dropped.
+     */
+    private static void registerReadColonies()
+    {
+        AbstractMap.SimpleImmutableEntry<Integer, NBTTagCompound> read = readColonies.poll();
+        while (read != null)
+        {
+            final int id = read.getKey();
+            requestedLoads.remove(id);
+            if (!colonies.containsKey(id) && saveIndex.contains(id) && registerColony(id, read.getValue()) == null)
+            {
+                failedLoads.add(id);
+            }
+            read = readColonies.poll();
+        }
     }
 
     /**
@@ -214,9 +542,10 @@ public final class ColonyManager
         }
 
         //  Fallback - there might be a AbstractBuilding for this block, but it's outside of it's owning colony's radius.
-        if (coloniesByWorld.containsKey(w.provider.getDimension()))
+        final ColonySpatialIndex<Colony> index = colonyIndexByWorld.get(w.provider.getDimension());
+        if (index != null)
         {
-            for (@NotNull final Colony otherColony : coloniesByWorld.get(w.provider.getDimension()))
+            for (@NotNull final Colony otherColony : index.getCandidates(pos))
             {
                 final AbstractBuilding building = otherColony.getBuilding(pos);
                 if (building != null)
@@ -238,13 +567,13 @@ public final class ColonyManager
      */
     public static Colony getColony(@NotNull final World w, @NotNull final BlockPos pos)
     {
-        final List<Colony> coloniesInWorld = coloniesByWorld.get(w.provider.getDimension());
-        if (coloniesInWorld == null)
+        final ColonySpatialIndex<Colony> index = colonyIndexByWorld.get(w.provider.getDimension());
+        if (index == null)
         {
             return null;
         }
 
-        for (@NotNull final Colony c : coloniesInWorld)
+        for (@NotNull final Colony c : index.getCandidates(pos))
         {
             if (c.isCoordInColony(w, pos))
             {
@@ -273,7 +602,8 @@ public final class ColonyManager
     }
 
     /**
-     * Get all colonies in all worlds.
+     * Get all loaded colonies in all worlds.
+     * Colonies of dimensions which are not loaded are only in the save index.
      *
      * @return a list of colonies.
      */
@@ -384,6 +714,25 @@ public final class ColonyManager
         return closestColony;
     }
 
+    /**
+     * Get the colonies which may contain a given coordinate, from the spatial index.
+     * Callers still have to check {@link Colony#isCoordInColony(World, BlockPos)}.
+     *
+     * @param w   World.
+     * @param pos coordinates.
+     * @return the candidate colonies, never null.
+     */
+    @NotNull
+    public static List<Colony> getColonyCandidates(@NotNull final World w, @NotNull final BlockPos pos)
+    {
+        final ColonySpatialIndex<Colony> index = colonyIndexByWorld.get(w.provider.getDimension());
+        if (index == null)
+        {
+            return Collections.emptyList();
+        }
+        return index.getCandidates(pos);
+    }
+
     /**
      * Get closest colony by x,y,z.
      *
@@ -393,29 +742,13 @@ public final class ColonyManager
      */
     public static Colony getClosestColony(@NotNull final World w, @NotNull final BlockPos pos)
     {
-        final List<Colony> coloniesInWorld = coloniesByWorld.get(w.provider.getDimension());
-        if (coloniesInWorld == null)
+        final ColonySpatialIndex<Colony> index = colonyIndexByWorld.get(w.provider.getDimension());
+        if (index == null)
         {
             return null;
         }
 
-        @Nullable Colony closestColony = null;
-        long closestDist = Long.MAX_VALUE;
-
-        for (@NotNull final Colony c : coloniesInWorld)
-        {
-            if (c.getDimension() == w.provider.getDimension())
-            {
-                final long dist = c.getDistanceSquared(pos);
-                if (dist < closestDist)
-                {
-                    closestColony = c;
-                    closestDist = dist;
-                }
-            }
-        }
-
-        return closestColony;
+        return index.getClosest(pos);
     }
 
     /**
@@ -486,11 +819,23 @@ public final class ColonyManager
             return null;
         }
 
-        return colonies.values()
-                 .stream()
-                 .filter(c -> owner.equals(c.getPermissions().getOwner()))
-                 .findFirst()
-                 .orElse(null);
+        //  The index only learns about changed owners when a colony is saved, the loaded colonies know better.
+        for (@NotNull final Colony colony : colonies.values())
+        {
+            if (owner.equals(colony.getPermissions().getOwner()))
+            {
+                return colony;
+            }
+        }
+
+        final ColonySaveIndex.Entry entry = saveIndex.getByOwner(owner);
+        if (entry == null || colonies.containsKey(entry.getId()))
+        {
+            return null;
+        }
+
+        //  Rare, placing a town hall or an admin command, so the colony is loaded right away.
+        return loadColonyFromFile(entry.getId());
     }
 
     /**
@@ -514,78 +859,491 @@ public final class ColonyManager
     {
         for (@NotNull final Colony c : colonies.values())
         {
-            c.onServerTick(event);
+            if (c.getWorld() != null)
+            {
+                c.onServerTick(event);
+            }
+        }
+
+        if (event.phase == TickEvent.Phase.END)
+        {
+            registerReadColonies();
+
+            serverTickCount++;
+            if (serverTickCount % IDLE_CHECK_INTERVAL == 0)
+            {
+                unloadIdleColonies();
+            }
+
+            reconcileSubscribers();
+
+            if (serverTickCount % PATH_CACHE_STATS_INTERVAL == 0)
+            {
+                rollPathCacheStatistics();
+                rollStructureCacheStatistics();
+                rollPassabilityCacheStatistics();
+                rollAIStatistics();
+                rollMaterialStatistics();
+            }
         }
 
         if (saveNeeded)
         {
-            saveColonies();
+            saveColonies(false);
         }
     }
 
     /**
-     * Save all the Colonies.
+     * Recomputes the subscribers of the colonies whose turn it is, spread over {@link #SUBSCRIBER_RECONCILE_INTERVAL}.
+     * Also rolls the subscriber and view statistics over every minute.
      */
-    private static void saveColonies()
+    private static void reconcileSubscribers()
     {
-        @NotNull final NBTTagCompound compound = new NBTTagCompound();
-        writeToNBT(compound);
-
-        @NotNull final File file = getSaveLocation();
-        saveNBTToPath(file, compound);
+        for (@NotNull final Colony colony : colonies.values())
+        {
+            if (colony.getWorld() != null && (colony.getID() + serverTickCount) % SUBSCRIBER_RECONCILE_INTERVAL == 0)
+            {
+                subscriberCorrections += colony.reconcileSubscribers();
+            }
+        }
 
-        saveNeeded = false;
+        if (serverTickCount % SUBSCRIBER_STATS_INTERVAL == 0)
+        {
+            subscriberChangesLastMinute = subscriberChanges;
+            subscriberCorrectionsLastMinute = subscriberCorrections;
+            subscriberChanges = 0;
+            subscriberCorrections = 0;
+            Log.getLogger().debug(String.format("Colony subscribers: %d changes, %d corrected by reconcile in the last minute",
+              subscriberChangesLastMinute, subscriberCorrectionsLastMinute));
+
+            viewEncodesLastMinute = viewEncodes;
+            viewMessagesLastMinute = viewMessages;
+            viewEncodes = 0;
+            viewMessages = 0;
+            Log.getLogger().debug(String.format("Colony views: %d serialized for %d messages in the last minute",
+              viewEncodesLastMinute, viewMessagesLastMinute));
+        }
     }
 
     /**
-     * Write colonies to NBT data for saving.
-     *
-     * @param compound NBT-Tag.
+     * Collects the path cache statistics of the last minute from all colonies.
      */
-    public static void writeToNBT(@NotNull final NBTTagCompound compound)
+    private static void rollPathCacheStatistics()
     {
-        @NotNull final NBTTagList colonyTagList = new NBTTagList();
+        pathCacheHitsLastMinute = 0;
+        pathCacheMissesLastMinute = 0;
         for (@NotNull final Colony colony : colonies.values())
         {
-            @NotNull final NBTTagCompound colonyTagCompound = new NBTTagCompound();
-            colony.writeToNBT(colonyTagCompound);
-            colonyTagList.appendTag(colonyTagCompound);
+            final PathCache pathCache = colony.getPathCache();
+            pathCacheHitsLastMinute += pathCache.getHits();
+            pathCacheMissesLastMinute += pathCache.getMisses();
+            pathCache.resetStatistics();
+        }
+
+        if (pathCacheHitsLastMinute + pathCacheMissesLastMinute > 0)
+        {
+            Log.getLogger().debug(String.format("Path cache: %d hits, %d misses in the last minute, hit rate %.1f%%",
+              pathCacheHitsLastMinute, pathCacheMissesLastMinute, getPathCacheHitRateLastMinute() * 100));
         }
-        compound.setTag(TAG_COLONIES, colonyTagList);
     }
 
     /**
-     * Get save location for Minecolonies data, from the world/save directory.
-     *
-     * @return Save file for minecolonies.
+     * Logs the structure cache statistics of the last minute.
      */
-    @NotNull
-    private static File getSaveLocation()
+    private static void rollStructureCacheStatistics()
     {
-        @NotNull final File saveDir = new File(DimensionManager.getWorld(0).getSaveHandler().getWorldDirectory(), FILENAME_MINECOLONIES_PATH);
-        return new File(saveDir, FILENAME_MINECOLONIES);
+        final int hits = StructureCache.getHits();
+        final int misses = StructureCache.getMisses();
+        StructureCache.resetStatistics();
+        if (hits + misses > 0)
+        {
+            Log.getLogger().debug(String.format("Structure cache: %d hits, %d misses in the last minute", hits, misses));
+        }
     }
 
     /**
-     * Save an NBTTagCompound to a file.  Does so in a safe manner using an intermediate tmp file.
-     *
-     * @param file     The destination file to write the data to.
-     * @param compound The NBTTagCompound to write to the file.
+     * Logs the statistics of the copied and classified sections for path job snapshots of the last minute.
      */
-    private static void saveNBTToPath(@Nullable final File file, @NotNull final NBTTagCompound compound)
+    private static void rollPassabilityCacheStatistics()
     {
-        try
+        final int hits = PassabilityCache.getHits();
+        final int misses = PassabilityCache.getMisses();
+        final long copyNanos = PassabilityCache.getCopyNanos();
+        final long classifyNanos = PassabilityCache.getClassifyNanos();
+        PassabilityCache.resetStatistics();
+        if (hits + misses > 0)
         {
-            if (file != null)
+            Log.getLogger().debug(String.format("Passability cache: %d hits, %d misses in the last minute, hit rate %.1f%%, %.1f ms copying, %.1f ms classifying off thread",
+              hits, misses, hits * 100.0 / (hits + misses), copyNanos / 1.0E6, classifyNanos / 1.0E6));
+        }
+    }
+
+    /**
+     * Logs the tick statistics of the worker ais of the last minute, the time taken in each state and the ticks slept.
+     */
+    private static void rollAIStatistics()
+    {
+        for (@NotNull final AIState state : AIState.values())
+        {
+            final int ticks = AITickStatistics.getTicks(state);
+            if (ticks > 0)
             {
-                file.getParentFile().mkdir();
-                CompressedStreamTools.safeWrite(compound, file);
+                Log.getLogger().debug(String.format("AI state %s: %d ticks, %.1f ms, %.1f us per tick in the last minute",
+                  state, ticks, AITickStatistics.getNanos(state) / 1.0E6, AITickStatistics.getNanos(state) / 1.0E3 / ticks));
             }
         }
-        catch (final IOException exception)
+        if (AITickStatistics.getSleptTicks() > 0)
         {
-            Log.getLogger().error("Exception when saving ColonyManager", exception);
+            Log.getLogger().debug(String.format("AI: %d ticks slept in the last minute", AITickStatistics.getSleptTicks()));
         }
+        AITickStatistics.resetStatistics();
+    }
+
+    /**
+     * Logs how many material stores were checked against their inventories in the last minute and how many slots of
+     * their indices had to be repaired.
+     */
+    private static void rollMaterialStatistics()
+    {
+        int checked = 0;
+        int repaired = 0;
+        for (@NotNull final Colony colony : colonies.values())
+        {
+            checked += colony.getMaterialSystem().getCheckedStores();
+            repaired += colony.getMaterialSystem().getRepairedSlots();
+            colony.getMaterialSystem().resetStatistics();
+        }
+        if (repaired > 0)
+        {
+            Log.getLogger().warn(String.format("Material index: %d slots repaired in %d stores checked in the last minute", repaired, checked));
+        }
+        else if (checked > 0)
+        {
+            Log.getLogger().debug(String.format("Material index: %d stores checked in the last minute", checked));
+        }
+    }
+
+    /**
+     * Share of the citizen paths in the last full minute which were served from the path caches, without a search.
+     *
+     * @return the hit rate between 0 and 1.
+     */
+    public static double getPathCacheHitRateLastMinute()
+    {
+        final int lookups = pathCacheHitsLastMinute + pathCacheMissesLastMinute;
+        return lookups == 0 ? 0 : ((double) pathCacheHitsLastMinute / lookups);
+    }
+
+    /**
+     * Passes a changed block on to the colonies whose watched area covers it, see
+     * {@link Colony#onBlockChanged(World, BlockPos, IBlockState, IBlockState)}.
+     * Also drops the classified section of the block for the snapshots of path jobs.
+     *
+     * @param world    the world of the block.
+     * @param pos      the position of the block.
+     * @param oldState the state before the change.
+     * @param newState the state after the change.
+     */
+    public static void onBlockChanged(
+                                       @NotNull final World world,
+                                       @NotNull final BlockPos pos,
+                                       @NotNull final IBlockState oldState,
+                                       @NotNull final IBlockState newState)
+    {
+        PassabilityCache.onBlockChanged(world, pos);
+
+        //  Only the colonies whose watched area covers the cell of the block, not every colony of the dimension.
+        final ColonySpatialIndex<Colony> watchIndex = watchIndexByWorld.get(world.provider.getDimension());
+        if (watchIndex != null)
+        {
+            for (@NotNull final Colony colony : watchIndex.getCandidates(pos))
+            {
+                colony.onBlockChanged(world, pos, oldState, newState);
+            }
+        }
+    }
+
+    /**
+     * Counts a changed subscription for the statistics.
+     */
+    static void onSubscriberChanged()
+    {
+        subscriberChanges++;
+    }
+
+    /**
+     * Counts the views a colony serialized and the view messages it sent in an update, for the statistics.
+     *
+     * @param encodes  the amount of views serialized.
+     * @param messages the amount of view messages.
+     */
+    static void onViewsSerialized(final int encodes, final int messages)
+    {
+        viewEncodes += encodes;
+        viewMessages += messages;
+    }
+
+    /**
+     * Amount of views the colonies serialized in the last full minute.
+     * Every view is serialized once per update and shared by all subscribers it is sent to.
+     *
+     * @return the amount of views.
+     */
+    public static int getViewEncodesLastMinute()
+    {
+        return viewEncodesLastMinute;
+    }
+
+    /**
+     * Amount of view messages the colonies sent in the last full minute, each carries a serialized view or its changes.
+     *
+     * @return the amount of messages.
+     */
+    public static int getViewMessagesLastMinute()
+    {
+        return viewMessagesLastMinute;
+    }
+
+    /**
+     * Amount of subscriptions which changed in the last full minute, including the corrections.
+     *
+     * @return the amount of changes.
+     */
+    public static int getSubscriberChangesLastMinute()
+    {
+        return subscriberChangesLastMinute;
+    }
+
+    /**
+     * Amount of subscriptions the reconcile had to correct in the last full minute.
+     * Anything above zero are player events which were missed.
+     *
+     * @return the amount of corrections.
+     */
+    public static int getSubscriberCorrectionsLastMinute()
+    {
+        return subscriberCorrectionsLastMinute;
+    }
+
+    /**
+     * Subscribes a player which logged in to the colonies it belongs to.
+     *
+     * @param player the player.
+     */
+    public static void onPlayerLoggedIn(@NotNull final EntityPlayerMP player)
+    {
+        updateSubscriber(player, colonies.values());
+    }
+
+    /**
+     * Unsubscribes a player which logged out from all colonies.
+     *
+     * @param player the player.
+     */
+    public static void onPlayerLoggedOut(@NotNull final EntityPlayerMP player)
+    {
+        for (@NotNull final Colony colony : colonies.values())
+        {
+            colony.removeSubscriber(player);
+        }
+    }
+
+    /**
+     * Updates the subscriptions of a player which changed dimension or respawned.
+     *
+     * @param player the player.
+     */
+    public static void onPlayerChangedDimension(@NotNull final EntityPlayerMP player)
+    {
+        updateSubscriber(player, colonies.values());
+    }
+
+    /**
+     * Updates the subscriptions of a player which moved to another chunk.
+     * Only the colonies in the dimension of the player can change, as the subscriptions of owners don't depend on the position.
+     *
+     * @param player the player.
+     */
+    public static void onPlayerEnteringChunk(@NotNull final EntityPlayerMP player)
+    {
+        final List<Colony> coloniesInWorld = coloniesByWorld.get(player.dimension);
+        if (coloniesInWorld != null)
+        {
+            updateSubscriber(player, coloniesInWorld);
+        }
+    }
+
+    /**
+     * Notifies the colonies of a dimension about a loaded chunk.
+     *
+     * @param world  the world of the chunk.
+     * @param chunkX the x coordinate of the chunk.
+     * @param chunkZ the z coordinate of the chunk.
+     */
+    public static void onChunkLoad(@NotNull final World world, final int chunkX, final int chunkZ)
+    {
+        if (!world.isRemote)
+        {
+            final List<Colony> coloniesInWorld = coloniesByWorld.get(world.provider.getDimension());
+            if (coloniesInWorld != null)
+            {
+                for (@NotNull final Colony colony : coloniesInWorld)
+                {
+                    colony.onChunkLoad(chunkX, chunkZ);
+                }
+            }
+        }
+    }
+
+    /**
+     * Notifies the colonies of a dimension about an unloaded chunk.
+     *
+     * @param world  the world of the chunk.
+     * @param chunkX the x coordinate of the chunk.
+     * @param chunkZ the z coordinate of the chunk.
+     */
+    public static void onChunkUnload(@NotNull final World world, final int chunkX, final int chunkZ)
+    {
+        if (!world.isRemote)
+        {
+            PassabilityCache.onChunkUnload(world, chunkX, chunkZ);
+
+            final List<Colony> coloniesInWorld = coloniesByWorld.get(world.provider.getDimension());
+            if (coloniesInWorld != null)
+            {
+                for (@NotNull final Colony colony : coloniesInWorld)
+                {
+                    colony.onChunkUnload(chunkX, chunkZ);
+                }
+            }
+        }
+    }
+
+    /**
+     * Re-evaluates the subscription of a player to some colonies.
+     *
+     * @param player           the player.
+     * @param coloniesToUpdate the colonies.
+     */
+    private static void updateSubscriber(@NotNull final EntityPlayerMP player, @NotNull final Collection<Colony> coloniesToUpdate)
+    {
+        for (@NotNull final Colony colony : coloniesToUpdate)
+        {
+            if (colony.getWorld() != null)
+            {
+                colony.updateSubscriber(player);
+            }
+        }
+    }
+
+    /**
+     * Unloads the colonies whose world is not loaded, they were only loaded on demand.
+     */
+    private static void unloadIdleColonies()
+    {
+        for (@NotNull final Colony colony : new ArrayList<>(colonies.values()))
+        {
+            if (colony.getWorld() == null)
+            {
+                unloadColony(colony);
+            }
+        }
+    }
+
+    /**
+     * Save the dirty Colonies.
+     * The colonies are snapshotted on the server thread, compression and disk I/O happen on the save writer thread.
+     *
+     * @param sweep whether the colonies of the current sweep slot are saved as well.
+     */
+    private static void saveColonies(final boolean sweep)
+    {
+        saveNeeded = false;
+        if (saveWriter == null || saveDirectory == null)
+        {
+            return;
+        }
+
+        final int sweepSlot = worldSaveCount % SAVE_SWEEP_SLOTS;
+        for (@NotNull final Colony colony : colonies.values())
+        {
+            if (colony.isSaveDirty() || (sweep && colony.getID() % SAVE_SWEEP_SLOTS == sweepSlot))
+            {
+                saveColony(colony);
+            }
+        }
+
+        if (legacyFileLoaded)
+        {
+            //  Queued behind the colony files, so the legacy file only goes away once they are written.
+            final File legacyFile = new File(saveDirectory, FILENAME_MINECOLONIES);
+            saveWriter.rename(legacyFile, new File(saveDirectory, FILENAME_MINECOLONIES + FILENAME_LEGACY_SUFFIX));
+            legacyFileLoaded = false;
+        }
+
+        if (saveIndex.isDirty())
+        {
+            @NotNull final NBTTagCompound indexCompound = new NBTTagCompound();
+            saveIndex.writeToNBT(indexCompound);
+            saveWriter.write(getIndexSaveLocation(saveDirectory), indexCompound);
+        }
+    }
+
+    /**
+     * Snapshots a colony and queues the snapshot to be written to its own file.
+     *
+     * @param colony the colony to save.
+     */
+    private static void saveColony(@NotNull final Colony colony)
+    {
+        if (saveWriter == null || saveDirectory == null)
+        {
+            return;
+        }
+
+        @NotNull final NBTTagCompound compound = new NBTTagCompound();
+        colony.writeToNBT(compound);
+        colony.clearSaveDirty();
+        saveIndex.update(colony);
+
+        //  Copy, because some tags (item stack tags for example) are shared with the live objects.
+        saveWriter.write(getColonySaveLocation(saveDirectory, colony.getID()), (NBTTagCompound) compound.copy());
+    }
+
+    /**
+     * Get save location for Minecolonies data, from the world/save directory.
+     *
+     * @return Save directory for minecolonies.
+     */
+    @NotNull
+    private static File getSaveDirectory()
+    {
+        return new File(DimensionManager.getWorld(0).getSaveHandler().getWorldDirectory(), FILENAME_MINECOLONIES_PATH);
+    }
+
+    /**
+     * Get the save file of the colony index.
+     *
+     * @param directory the minecolonies save directory.
+     * @return the index file.
+     */
+    @NotNull
+    private static File getIndexSaveLocation(@NotNull final File directory)
+    {
+        return new File(new File(directory, FILENAME_COLONIES_PATH), FILENAME_INDEX);
+    }
+
+    /**
+     * Get the save file of a single colony.
+     *
+     * @param directory the minecolonies save directory.
+     * @param id        the id of the colony.
+     * @return the save file of the colony.
+     */
+    @NotNull
+    private static File getColonySaveLocation(@NotNull final File directory, final int id)
+    {
+        return new File(new File(directory, FILENAME_COLONIES_PATH), String.format(FILENAME_COLONY, id));
     }
 
     /**
@@ -604,23 +1362,35 @@ public final class ColonyManager
 
     /**
      * On world tick, tick every Colony in that world.
-     * NOTE: Review this for performance.
+     * At the end of the tick the scheduler of the world runs the maintenance of the colonies which are due.
      *
      * @param event {@link net.minecraftforge.fml.common.gameevent.TickEvent.WorldTickEvent}.
      */
     public static void onWorldTick(
                                     @NotNull final TickEvent.WorldTickEvent event)
     {
-        final Map<Integer, Colony> coloniesCopy = new HashMap<>(colonies);
+        final int dimension = event.world.provider.getDimension();
+        final List<Colony> worldColonies = coloniesByWorld.get(dimension);
+        if (worldColonies == null || worldColonies.isEmpty())
+        {
+            return;
+        }
+
+        //  By index, a colony can be created while the world ticks.
+        for (int i = 0; i < worldColonies.size(); i++)
+        {
+            worldColonies.get(i).onWorldTick(event);
+        }
 
-        coloniesCopy.values().stream()
-          .filter(c -> c.getDimension() == event.world.provider.getDimension())
-          .forEach(c -> c.onWorldTick(event));
+        if (event.phase == TickEvent.Phase.END)
+        {
+            schedulerByWorld.computeIfAbsent(dimension, ColonyTickScheduler::new).tick(worldColonies, event);
+        }
     }
 
     /**
-     * When a world is loaded, Colonies in that world need to grab the reference to the World.
-     * Additionally, when loading the first world, load all colonies.
+     * When a world is loaded, the Colonies in that world are loaded and grab the reference to the World.
+     * Additionally, when loading the first world, load the colony index.
      *
      * @param world World.
      */
@@ -630,15 +1400,15 @@ public final class ColonyManager
         {
             if (numWorldsLoaded == 0)
             {
-                @NotNull final File file = getSaveLocation();
-                @Nullable final NBTTagCompound data = loadNBTFromPath(file);
-                if (data != null)
-                {
-                    readFromNBT(data);
-                }
+                saveDirectory = getSaveDirectory();
+                saveWriter = new ColonySaveWriter();
+                PathJobRecording.setDirectory(new File(saveDirectory, FILENAME_PATH_JOBS_PATH));
+                loadColonies(saveDirectory);
             }
             ++numWorldsLoaded;
 
+            loadColoniesInDimension(world.provider.getDimension());
+
             final List<Colony> worldColonies = coloniesByWorld.get(world.provider.getDimension());
             if (worldColonies != null)
             {
@@ -652,6 +1422,116 @@ public final class ColonyManager
         }
     }
 
+    /**
+     * Loads the colony index. Colonies themselves are loaded per dimension or on demand.
+     * Without an index, or with a legacy single save file, every colony is loaded once to build it.
+     * Colonies in their own file replace the ones of the legacy file.
+     *
+     * @param directory the minecolonies save directory.
+     */
+    private static void loadColonies(@NotNull final File directory)
+    {
+        @Nullable final NBTTagCompound legacyData = loadNBTFromPath(new File(directory, FILENAME_MINECOLONIES));
+        if (legacyData != null)
+        {
+            readFromNBT(legacyData);
+            legacyFileLoaded = true;
+        }
+
+        @Nullable final NBTTagCompound indexData = loadNBTFromPath(getIndexSaveLocation(directory));
+        if (indexData != null && !legacyFileLoaded)
+        {
+            saveIndex.readFromNBT(indexData);
+        }
+        else
+        {
+            final File[] colonyFiles = new File(directory, FILENAME_COLONIES_PATH)
+                                         .listFiles((dir, name) -> name.startsWith(FILENAME_COLONY_PREFIX) && name.endsWith(FILE_EXTENSION_DAT));
+            if (colonyFiles != null)
+            {
+                for (@NotNull final File colonyFile : colonyFiles)
+                {
+                    @Nullable final NBTTagCompound colonyData = loadNBTFromPath(colonyFile);
+                    if (colonyData != null)
+                    {
+                        loadColony(colonyData);
+                    }
+                }
+            }
+        }
+
+        if (legacyFileLoaded)
+        {
+            //  Move every colony into its own file on the next save.
+            colonies.values().forEach(Colony::markSaveDirty);
+        }
+
+        topColonyId = Math.max(topColonyId, saveIndex.getTopId());
+        Log.getLogger().info(String.format("Indexed %d colonies, %d loaded", saveIndex.size(), colonies.size()));
+    }
+
+    /**
+     * Loads all indexed colonies of a dimension which are not loaded yet.
+     *
+     * @param dimension the dimension.
+     */
+    private static void loadColoniesInDimension(final int dimension)
+    {
+        for (final int id : saveIndex.getIdsInDimension(dimension))
+        {
+            if (!colonies.containsKey(id))
+            {
+                loadColonyFromFile(id);
+            }
+        }
+    }
+
+    /**
+     * Loads a single colony from its save file, or from its pending snapshot if it has not been written yet.
+     * Reads the file on the calling thread, only used when a world is loaded and for rare lookups.
+     *
+     * @param id the id of the colony.
+     * @return the loaded colony or null if it could not be loaded.
+     */
+    @Nullable
+    private static Colony loadColonyFromFile(final int id)
+    {
+        if (saveDirectory == null || saveWriter == null)
+        {
+            return null;
+        }
+
+        final File file = getColonySaveLocation(saveDirectory, id);
+        @Nullable final NBTTagCompound pending = saveWriter.getPending(file);
+        //  Copy, the writer thread may still be serializing the snapshot.
+        return registerColony(id, pending == null ? ColonySaveWriter.readFile(file) : (NBTTagCompound) pending.copy());
+    }
+
+    /**
+     * Registers a colony read from its save data and hands it its world if that is loaded.
+     *
+     * @param id         the id of the colony.
+     * @param colonyData the save data, null if it could not be read.
+     * @return the colony or null if there was no data.
+     */
+    @Nullable
+    private static Colony registerColony(final int id, @Nullable final NBTTagCompound colonyData)
+    {
+        if (colonyData == null)
+        {
+            Log.getLogger().error(String.format("Colony %d is indexed but its save file could not be read", id));
+            return null;
+        }
+
+        @NotNull final Colony colony = loadColony(colonyData);
+        final World world = DimensionManager.getWorld(colony.getDimension());
+        if (world != null)
+        {
+            colony.onWorldLoad(world);
+        }
+        return colony;
+    }
+
     /**
      * Load a file and return the data as an NBTTagCompound.
      *
@@ -676,7 +1556,7 @@ public final class ColonyManager
     }
 
     /**
-     * Read Colonies from saved NBT data.
+     * Read Colonies from the legacy saved NBT data.
      *
      * @param compound NBT Tag.
      */
@@ -685,19 +1565,29 @@ public final class ColonyManager
         final NBTTagList colonyTags = compound.getTagList(TAG_COLONIES, NBT.TAG_COMPOUND);
         for (int i = 0; i < colonyTags.tagCount(); ++i)
         {
-            @NotNull final Colony colony = Colony.loadColony(colonyTags.getCompoundTagAt(i));
-            colonies.put(colony.getID(), colony);
-
-            if (!coloniesByWorld.containsKey(colony.getDimension()))
-            {
-                coloniesByWorld.put(colony.getDimension(), new ArrayList<>());
-            }
-            coloniesByWorld.get(colony.getDimension()).add(colony);
+            loadColony(colonyTags.getCompoundTagAt(i));
+        }
+    }
 
-            topColonyId = Math.max(topColonyId, colony.getID());
+    /**
+     * Loads a single colony and registers it, replacing an already loaded colony with the same id.
+     *
+     * @param compound the NBT data of the colony.
+     * @return the loaded colony.
+     */
+    @NotNull
+    private static Colony loadColony(@NotNull final NBTTagCompound compound)
+    {
+        @NotNull final Colony colony = Colony.loadColony(compound);
+        final Colony oldColony = colonies.get(colony.getID());
+        if (oldColony != null)
+        {
+            removeColony(oldColony);
         }
+        addColony(colony);
 
-        Log.getLogger().info(String.format("Loaded %d colonies", colonies.size()));
+        topColonyId = Math.max(topColonyId, colony.getID());
+        return colony;
     }
 
     /**
@@ -710,12 +1600,13 @@ public final class ColonyManager
         //We save when the first dimension is saved.
         if (!world.isRemote && world.provider.getDimension() == 0)
         {
-            saveColonies();
+            saveColonies(true);
+            worldSaveCount++;
         }
     }
 
     /**
-     * When a world unloads, all colonies in that world are informed.
+     * When a world unloads, all colonies in that world are informed and unloaded.
      * Additionally, when the last world is unloaded, delete all colonies.
      *
      * @param world World.
@@ -724,20 +1615,46 @@ public final class ColonyManager
     {
         if (!world.isRemote)
         {
+            PassabilityCache.onWorldUnload(world);
+
             final List<Colony> worldColonies = coloniesByWorld.get(world.provider.getDimension());
             if (worldColonies != null)
             {
-                for (@NotNull final Colony c : worldColonies)
+                for (@NotNull final Colony c : new ArrayList<>(worldColonies))
                 {
                     c.onWorldUnload(world);
+                    if (numWorldsLoaded > 1)
+                    {
+                        unloadColony(c);
+                    }
                 }
             }
 
             --numWorldsLoaded;
             if (numWorldsLoaded == 0)
             {
+                //  Last chance to save, write every colony and wait for the writer to finish.
+                colonies.values().forEach(ColonyManager::saveColony);
+                saveColonies(false);
+                if (saveWriter != null)
+                {
+                    saveWriter.shutdown();
+                    saveWriter = null;
+                }
+                saveDirectory = null;
+                PathJobRecording.setDirectory(null);
+                legacyFileLoaded = false;
+
                 colonies.clear();
                 coloniesByWorld.clear();
+                colonyIndexByWorld.clear();
+                watchIndexByWorld.clear();
+                schedulerByWorld.clear();
+                saveIndex.clear();
+                requestedLoads.clear();
+                failedLoads.clear();
+                readColonies.clear();
+                topColonyId = 0;
             }
         }
     }
@@ -763,6 +1680,25 @@ public final class ColonyManager
         return view.handleColonyViewMessage(colonyData, isNewSubscription);
     }
 
+    /**
+     * Applies the batched colony view updates of a tick in the order they were sent.
+     *
+     * @param messages the batched view messages.
+     * @param ctx      the context of the batch message.
+     * @return null == no response.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public static IMessage handleColonyViewBatchMessage(@NotNull final List<IMessage> messages, final MessageContext ctx)
+    {
+        for (@NotNull final IMessage message : messages)
+        {
+            //  Every batched message handles itself.
+            ((IMessageHandler<IMessage, IMessage>) message).onMessage(message, ctx);
+        }
+        return null;
+    }
+
     /**
      * Get ColonyView by ID.
      *
@@ -797,40 +1733,41 @@ public final class ColonyManager
     }
 
     /**
-     * Returns result of {@link ColonyView#handleColonyViewCitizensMessage(int, ByteBuf)} if {@link #getColonyView(int)}
+     * Returns result of {@link ColonyView#handleColonyViewCitizensMessage(int, ViewDelta)} if {@link #getColonyView(int)}
      * gives a not-null result. If {@link #getColonyView(int)} is null, returns null.
      *
      * @param colonyId  ID of the colony.
      * @param citizenId ID of the citizen.
-     * @param buf       {@link ByteBuf} with colony data.
-     * @return result of {@link ColonyView#handleColonyViewCitizensMessage(int, ByteBuf)} or null.
+     * @param delta     {@link ViewDelta} of the citizen view.
+     * @return result of {@link ColonyView#handleColonyViewCitizensMessage(int, ViewDelta)} or null.
      */
-    public static IMessage handleColonyViewCitizensMessage(final int colonyId, final int citizenId, final ByteBuf buf)
+    public static IMessage handleColonyViewCitizensMessage(final int colonyId, final int citizenId, @NotNull final ViewDelta delta)
     {
         final ColonyView view = getColonyView(colonyId);
         if (view == null)
         {
             return null;
         }
-        return view.handleColonyViewCitizensMessage(citizenId, buf);
+        return view.handleColonyViewCitizensMessage(citizenId, delta);
     }
 
     /**
-     * Returns result of {@link ColonyView#handleColonyViewWorkOrderMessage(ByteBuf)} (int, ByteBuf)} if {@link #getColonyView(int)}
+     * Returns result of {@link ColonyView#handleColonyViewWorkOrderMessage(int, ViewDelta)} if {@link #getColonyView(int)}
      * gives a not-null result. If {@link #getColonyView(int)} is null, returns null.
      *
-     * @param colonyId ID of the colony.
-     * @param buf      {@link ByteBuf} with colony data.
-     * @return result of {@link ColonyView#handleColonyViewWorkOrderMessage(ByteBuf)} or null.
+     * @param colonyId    ID of the colony.
+     * @param workOrderId ID of the workOrder.
+     * @param delta       {@link ViewDelta} of the workOrder view.
+     * @return result of {@link ColonyView#handleColonyViewWorkOrderMessage(int, ViewDelta)} or null.
      */
-    public static IMessage handleColonyViewWorkOrderMessage(final int colonyId, final ByteBuf buf)
+    public static IMessage handleColonyViewWorkOrderMessage(final int colonyId, final int workOrderId, @NotNull final ViewDelta delta)
     {
         final ColonyView view = getColonyView(colonyId);
         if (view == null)
         {
             return null;
         }
-        return view.handleColonyViewWorkOrderMessage(buf);
+        return view.handleColonyViewWorkOrderMessage(workOrderId, delta);
     }
 
     /**
@@ -855,20 +1792,20 @@ public final class ColonyManager
     }
 
     /**
-     * Returns result of {@link ColonyView#handleColonyBuildingViewMessage(BlockPos, ByteBuf)} if {@link #getColonyView(int)}
+     * Returns result of {@link ColonyView#handleColonyBuildingViewMessage(BlockPos, ViewDelta)} if {@link #getColonyView(int)}
      * gives a not-null result. If {@link #getColonyView(int)} is null, returns null.
      *
      * @param colonyId   ID of the colony.
      * @param buildingId ID of the building.
-     * @param buf        {@link ByteBuf} with colony data.
-     * @return result of {@link ColonyView#handleColonyBuildingViewMessage(BlockPos, ByteBuf)} or null.
+     * @param delta      {@link ViewDelta} of the building view.
+     * @return result of {@link ColonyView#handleColonyBuildingViewMessage(BlockPos, ViewDelta)} or null.
      */
-    public static IMessage handleColonyBuildingViewMessage(final int colonyId, final BlockPos buildingId, @NotNull final ByteBuf buf)
+    public static IMessage handleColonyBuildingViewMessage(final int colonyId, final BlockPos buildingId, @NotNull final ViewDelta delta)
     {
         final ColonyView view = getColonyView(colonyId);
         if (view != null)
         {
-            return view.handleColonyBuildingViewMessage(buildingId, buf);
+            return view.handleColonyBuildingViewMessage(buildingId, delta);
         }
         else
         {
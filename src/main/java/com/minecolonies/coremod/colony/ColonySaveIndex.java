@@ -0,0 +1,284 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.coremod.util.BlockPosUtil;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.common.util.Constants.NBT;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Resident index of every saved colony, loaded or not.
+ * Keeps id, dimension, center and owner so colonies can be found without loading them.
+ */
+public final class ColonySaveIndex
+{
+    private static final String TAG_ENTRIES   = "colonies";
+    private static final String TAG_ID        = "id";
+    private static final String TAG_DIMENSION = "dimension";
+    private static final String TAG_CENTER    = "center";
+    private static final String TAG_OWNER     = "owner";
+
+    /**
+     * All entries by colony id.
+     */
+    @NotNull
+    private final Map<Integer, Entry> entries = new HashMap<>();
+
+    /**
+     * Whether the index changed since it was last written.
+     */
+    private boolean dirty = false;
+
+    /**
+     * Adds or updates the entry of a colony.
+     *
+     * @param colony the colony.
+     */
+    public void update(@NotNull final Colony colony)
+    {
+        final Entry entry = new Entry(colony.getID(), colony.getDimension(), colony.getCenter(), colony.getPermissions().getOwner());
+        if (!entry.equals(entries.put(entry.getId(), entry)))
+        {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Removes the entry of a colony.
+     *
+     * @param id the id of the colony.
+     */
+    public void remove(final int id)
+    {
+        if (entries.remove(id) != null)
+        {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Checks if a colony is in the index.
+     *
+     * @param id the id of the colony.
+     * @return true if it is known.
+     */
+    public boolean contains(final int id)
+    {
+        return entries.containsKey(id);
+    }
+
+    /**
+     * Get the entry of a colony.
+     *
+     * @param id the id of the colony.
+     * @return the entry or null.
+     */
+    @Nullable
+    public Entry get(final int id)
+    {
+        return entries.get(id);
+    }
+
+    /**
+     * Finds the colony owned by a player.
+     *
+     * @param owner the UUID of the owner.
+     * @return the entry of the colony or null.
+     */
+    @Nullable
+    public Entry getByOwner(@NotNull final UUID owner)
+    {
+        for (@NotNull final Entry entry : entries.values())
+        {
+            if (owner.equals(entry.getOwner()))
+            {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the ids of all colonies in a dimension.
+     *
+     * @param dimension the dimension.
+     * @return a list of colony ids.
+     */
+    @NotNull
+    public List<Integer> getIdsInDimension(final int dimension)
+    {
+        final List<Integer> ids = new ArrayList<>();
+        for (@NotNull final Entry entry : entries.values())
+        {
+            if (entry.getDimension() == dimension)
+            {
+                ids.add(entry.getId());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Get the highest colony id in the index.
+     *
+     * @return the highest id or 0.
+     */
+    public int getTopId()
+    {
+        int topId = 0;
+        for (final int id : entries.keySet())
+        {
+            topId = Math.max(topId, id);
+        }
+        return topId;
+    }
+
+    /**
+     * Amount of colonies in the index.
+     *
+     * @return the size.
+     */
+    public int size()
+    {
+        return entries.size();
+    }
+
+    /**
+     * Whether the index changed since it was last written.
+     *
+     * @return true if so.
+     */
+    public boolean isDirty()
+    {
+        return dirty;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear()
+    {
+        entries.clear();
+        dirty = false;
+    }
+
+    /**
+     * Write the index to NBT and mark it clean.
+     *
+     * @param compound compound to write to.
+     */
+    public void writeToNBT(@NotNull final NBTTagCompound compound)
+    {
+        @NotNull final NBTTagList entryTagList = new NBTTagList();
+        for (@NotNull final Entry entry : entries.values())
+        {
+            @NotNull final NBTTagCompound entryCompound = new NBTTagCompound();
+            entryCompound.setInteger(TAG_ID, entry.getId());
+            entryCompound.setInteger(TAG_DIMENSION, entry.getDimension());
+            BlockPosUtil.writeToNBT(entryCompound, TAG_CENTER, entry.getCenter());
+            if (entry.getOwner() != null)
+            {
+                entryCompound.setUniqueId(TAG_OWNER, entry.getOwner());
+            }
+            entryTagList.appendTag(entryCompound);
+        }
+        compound.setTag(TAG_ENTRIES, entryTagList);
+        dirty = false;
+    }
+
+    /**
+     * Read the index from NBT.
+     *
+     * @param compound compound to read from.
+     */
+    public void readFromNBT(@NotNull final NBTTagCompound compound)
+    {
+        final NBTTagList entryTagList = compound.getTagList(TAG_ENTRIES, NBT.TAG_COMPOUND);
+        for (int i = 0; i < entryTagList.tagCount(); ++i)
+        {
+            final NBTTagCompound entryCompound = entryTagList.getCompoundTagAt(i);
+            final UUID owner = entryCompound.hasUniqueId(TAG_OWNER) ? entryCompound.getUniqueId(TAG_OWNER) : null;
+            final Entry entry = new Entry(entryCompound.getInteger(TAG_ID),
+                                           entryCompound.getInteger(TAG_DIMENSION),
+                                           BlockPosUtil.readFromNBT(entryCompound, TAG_CENTER),
+                                           owner);
+            entries.put(entry.getId(), entry);
+        }
+        dirty = false;
+    }
+
+    /**
+     * The resident data of a single colony.
+     */
+    public static final class Entry
+    {
+        private final int      id;
+        private final int      dimension;
+        private final BlockPos center;
+        @Nullable
+        private final UUID     owner;
+
+        /**
+         * Creates an entry.
+         *
+         * @param id        the id of the colony.
+         * @param dimension the dimension of the colony.
+         * @param center    the center of the colony.
+         * @param owner     the owner of the colony, if any.
+         */
+        public Entry(final int id, final int dimension, final BlockPos center, @Nullable final UUID owner)
+        {
+            this.id = id;
+            this.dimension = dimension;
+            this.center = center;
+            this.owner = owner;
+        }
+
+        public int getId()
+        {
+            return id;
+        }
+
+        public int getDimension()
+        {
+            return dimension;
+        }
+
+        public BlockPos getCenter()
+        {
+            return center;
+        }
+
+        @Nullable
+        public UUID getOwner()
+        {
+            return owner;
+        }
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass())
+            {
+                return false;
+            }
+
+            final Entry entry = (Entry) o;
+            return id == entry.id && dimension == entry.dimension && Objects.equals(center, entry.center) && Objects.equals(owner, entry.owner);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(id, dimension, center, owner);
+        }
+    }
+}
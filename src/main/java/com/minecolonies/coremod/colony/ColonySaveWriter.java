@@ -0,0 +1,207 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.coremod.util.Log;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Writes colony save data on a background thread, and reads colonies which are loaded on demand.
+ * The data has to be snapshotted on the server thread, this class only serializes and writes it.
+ * All operations are executed in the order they were submitted, so a read sees every write queued before it.
+ */
+public final class ColonySaveWriter
+{
+    /**
+     * Suffix of the temporary file written before it is moved over the real file.
+     */
+    private static final String TMP_SUFFIX = ".tmp";
+
+    /**
+     * Max time to wait for pending writes on shutdown, in seconds.
+     */
+    private static final int SHUTDOWN_TIMEOUT = 60;
+
+    /**
+     * The single thread writing the files, a single thread keeps the writes ordered.
+     */
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable ->
+    {
+        final Thread thread = new Thread(runnable, "Minecolonies Colony Writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The latest snapshot of every file which has not been written yet.
+     */
+    private final Map<File, NBTTagCompound> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Queues a compound to be written to a file.
+     * The compound must not be modified after it has been passed in.
+     *
+     * @param file     the file to write to.
+     * @param compound the snapshot to write.
+     */
+    public void write(@NotNull final File file, @NotNull final NBTTagCompound compound)
+    {
+        pending.put(file, compound);
+        executor.execute(() ->
+        {
+            writeAtomically(file, compound);
+            pending.remove(file, compound);
+        });
+    }
+
+    /**
+     * Get the data queued for a file which has not been written yet.
+     * Has to be used when reading a file back which might still be in the queue.
+     *
+     * @param file the file.
+     * @return the pending snapshot or null if the file is up to date.
+     */
+    @Nullable
+    public NBTTagCompound getPending(@NotNull final File file)
+    {
+        return pending.get(file);
+    }
+
+    /**
+     * Queues reading a file, after all writes queued before.
+     * The callback runs on the writer thread and gets null if the file could not be read.
+     *
+     * @param file     the file to read.
+     * @param callback receives the data.
+     */
+    public void read(@NotNull final File file, @NotNull final Consumer<NBTTagCompound> callback)
+    {
+        executor.execute(() -> callback.accept(readFile(file)));
+    }
+
+    /**
+     * Reads a colony save file.
+     *
+     * @param file the file.
+     * @return the data or null if the file doesn't exist or could not be read.
+     */
+    @Nullable
+    public static NBTTagCompound readFile(@NotNull final File file)
+    {
+        try
+        {
+            if (file.exists())
+            {
+                return CompressedStreamTools.read(file);
+            }
+        }
+        catch (final IOException exception)
+        {
+            Log.getLogger().error("Exception when loading " + file, exception);
+        }
+        return null;
+    }
+
+    /**
+     * Queues the deletion of a file, after all writes queued before.
+     *
+     * @param file the file to delete.
+     */
+    public void delete(@NotNull final File file)
+    {
+        pending.remove(file);
+        executor.execute(() ->
+        {
+            if (file.exists() && !file.delete())
+            {
+                Log.getLogger().warn("Unable to delete " + file);
+            }
+        });
+    }
+
+    /**
+     * Queues renaming a file, after all writes queued before.
+     *
+     * @param file   the file to rename.
+     * @param target the new name of the file.
+     */
+    public void rename(@NotNull final File file, @NotNull final File target)
+    {
+        executor.execute(() ->
+        {
+            if (file.exists() && !file.renameTo(target))
+            {
+                Log.getLogger().warn("Unable to rename " + file + " to " + target);
+            }
+        });
+    }
+
+    /**
+     * Writes all queued data and stops the writer thread. Blocks until done.
+     */
+    public void shutdown()
+    {
+        executor.shutdown();
+        try
+        {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.SECONDS))
+            {
+                Log.getLogger().error("Timed out while writing the colony save files");
+            }
+        }
+        catch (final InterruptedException e)
+        {
+            Log.getLogger().error("Interrupted while writing the colony save files", e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes the compound to a temporary file and moves it over the real file afterwards,
+     * so a crash never leaves a half written save behind.
+     *
+     * @param file     the file to write to.
+     * @param compound the data to write.
+     */
+    private static void writeAtomically(@NotNull final File file, @NotNull final NBTTagCompound compound)
+    {
+        final File tmpFile = new File(file.getParentFile(), file.getName() + TMP_SUFFIX);
+        try
+        {
+            file.getParentFile().mkdirs();
+            //  Uncompressed, as the files have always been written and as CompressedStreamTools.read expects them.
+            try (DataOutputStream stream = new DataOutputStream(new FileOutputStream(tmpFile)))
+            {
+                CompressedStreamTools.write(compound, stream);
+            }
+
+            try
+            {
+                Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (final AtomicMoveNotSupportedException e)
+            {
+                Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        catch (final IOException exception)
+        {
+            Log.getLogger().error("Exception when saving " + file, exception);
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.minecolonies.coremod.colony;
+
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Grid based spatial index of the colonies of one dimension.
+ * <p>
+ * Every colony is registered in all grid cells its extent (town hall radius plus any building outside of it) overlaps,
+ * so lookups by position only have to look at the colonies of a single cell instead of every colony in the world.
+ *
+ * @param <T> the colony type, {@link Colony} on the server.
+ */
+public final class ColonySpatialIndex<T extends IColony>
+{
+    /**
+     * Size of a grid cell as a power of two, 64 blocks (4 chunks).
+     */
+    private static final int CELL_SHIFT = 6;
+
+    /**
+     * Size of a grid cell in blocks.
+     */
+    private static final int CELL_SIZE = 1 << CELL_SHIFT;
+
+    /**
+     * The colonies registered in each cell, keyed by the packed cell coordinates.
+     */
+    @NotNull
+    private final Map<Long, List<T>> cells = new HashMap<>();
+
+    /**
+     * All indexed colonies by id.
+     */
+    @NotNull
+    private final Map<Integer, T> members = new HashMap<>();
+
+    /**
+     * The cell bounds (minX, minZ, maxX, maxZ) of every indexed colony by id.
+     */
+    @NotNull
+    private final Map<Integer, int[]> bounds = new HashMap<>();
+
+    /**
+     * Adds a colony to the index, covering the square of the given radius around its center.
+     * If the colony is already indexed it is re-registered.
+     *
+     * @param colony the colony to add.
+     * @param radius the radius of the colony in blocks.
+     */
+    public void add(@NotNull final T colony, final int radius)
+    {
+        remove(colony);
+
+        final BlockPos center = colony.getCenter();
+        final int[] colonyBounds = new int[] {
+          toCell(center.getX() - radius),
+          toCell(center.getZ() - radius),
+          toCell(center.getX() + radius),
+          toCell(center.getZ() + radius)};
+
+        members.put(colony.getID(), colony);
+        register(colony, colonyBounds);
+    }
+
+    /**
+     * Grows the extent of an indexed colony to cover a position, for example a building outside of the colony radius.
+     *
+     * @param colony the indexed colony.
+     * @param pos    the position which has to be found through the colony.
+     */
+    public void expand(@NotNull final T colony, @NotNull final BlockPos pos)
+    {
+        final int[] oldBounds = bounds.get(colony.getID());
+        if (oldBounds == null)
+        {
+            return;
+        }
+
+        final int cellX = toCell(pos.getX());
+        final int cellZ = toCell(pos.getZ());
+        if (cellX >= oldBounds[0] && cellZ >= oldBounds[1] && cellX <= oldBounds[2] && cellZ <= oldBounds[3])
+        {
+            return;
+        }
+
+        final int[] newBounds = new int[] {
+          Math.min(oldBounds[0], cellX),
+          Math.min(oldBounds[1], cellZ),
+          Math.max(oldBounds[2], cellX),
+          Math.max(oldBounds[3], cellZ)};
+
+        unregister(colony, oldBounds);
+        register(colony, newBounds);
+    }
+
+    /**
+     * Removes a colony from the index.
+     *
+     * @param colony the colony to remove.
+     */
+    public void remove(@NotNull final T colony)
+    {
+        final T indexed = members.remove(colony.getID());
+        if (indexed != null)
+        {
+            unregister(indexed, bounds.get(colony.getID()));
+        }
+    }
+
+    /**
+     * Removes all colonies from the index.
+     */
+    public void clear()
+    {
+        cells.clear();
+        members.clear();
+        bounds.clear();
+    }
+
+    /**
+     * Amount of colonies in the index.
+     *
+     * @return the size.
+     */
+    public int size()
+    {
+        return members.size();
+    }
+
+    /**
+     * Returns the colonies whose extent covers the cell of the position.
+     * Callers still have to check the exact colony bounds.
+     *
+     * @param pos the position to look up.
+     * @return the candidate colonies, never null.
+     */
+    @NotNull
+    public List<T> getCandidates(@NotNull final BlockPos pos)
+    {
+        final List<T> cell = cells.get(toKey(toCell(pos.getX()), toCell(pos.getZ())));
+        if (cell == null)
+        {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(cell);
+    }
+
+    /**
+     * Finds the colony with the center closest to a position, searching the grid in rings around the position.
+     * Falls back to a scan over all colonies when the search would visit more cells than there are colonies.
+     *
+     * @param pos the position.
+     * @return the closest colony or null if the index is empty.
+     */
+    @Nullable
+    public T getClosest(@NotNull final BlockPos pos)
+    {
+        if (members.isEmpty())
+        {
+            return null;
+        }
+
+        final int cellX = toCell(pos.getX());
+        final int cellZ = toCell(pos.getZ());
+
+        @Nullable T closestColony = null;
+        long closestDist = Long.MAX_VALUE;
+        int visitedCells = 0;
+
+        for (int ring = 0; ; ring++)
+        {
+            for (int x = cellX - ring; x <= cellX + ring; x++)
+            {
+                final boolean isEdgeColumn = x == cellX - ring || x == cellX + ring;
+                for (int z = cellZ - ring; z <= cellZ + ring; z += isEdgeColumn ? 1 : (2 * ring))
+                {
+                    visitedCells++;
+                    final List<T> cell = cells.get(toKey(x, z));
+                    if (cell != null)
+                    {
+                        for (@NotNull final T colony : cell)
+                        {
+                            final long dist = colony.getDistanceSquared(pos);
+                            if (dist < closestDist)
+                            {
+                                closestColony = colony;
+                                closestDist = dist;
+                            }
+                        }
+                    }
+                }
+            }
+
+            //  Every colony not seen yet has its center at least ring cells away.
+            final long minUnseenDist = (long) ring * CELL_SIZE;
+            if (closestColony != null && closestDist <= minUnseenDist * minUnseenDist)
+            {
+                return closestColony;
+            }
+
+            if (visitedCells > members.size())
+            {
+                return getClosestByScan(pos);
+            }
+        }
+    }
+
+    /**
+     * Finds the closest colony by checking every colony in the index.
+     *
+     * @param pos the position.
+     * @return the closest colony or null if the index is empty.
+     */
+    @Nullable
+    private T getClosestByScan(@NotNull final BlockPos pos)
+    {
+        @Nullable T closestColony = null;
+        long closestDist = Long.MAX_VALUE;
+
+        for (@NotNull final T colony : members.values())
+        {
+            final long dist = colony.getDistanceSquared(pos);
+            if (dist < closestDist)
+            {
+                closestColony = colony;
+                closestDist = dist;
+            }
+        }
+
+        return closestColony;
+    }
+
+    /**
+     * Registers a colony in all cells within its bounds.
+     *
+     * @param colony       the colony.
+     * @param colonyBounds the bounds in cell coordinates.
+     */
+    private void register(@NotNull final T colony, @NotNull final int[] colonyBounds)
+    {
+        bounds.put(colony.getID(), colonyBounds);
+        for (int x = colonyBounds[0]; x <= colonyBounds[2]; x++)
+        {
+            for (int z = colonyBounds[1]; z <= colonyBounds[3]; z++)
+            {
+                cells.computeIfAbsent(toKey(x, z), key -> new ArrayList<>(1)).add(colony);
+            }
+        }
+    }
+
+    /**
+     * Removes a colony from all cells within its bounds.
+     *
+     * @param colony       the colony.
+     * @param colonyBounds the bounds in cell coordinates.
+     */
+    private void unregister(@NotNull final T colony, @NotNull final int[] colonyBounds)
+    {
+        for (int x = colonyBounds[0]; x <= colonyBounds[2]; x++)
+        {
+            for (int z = colonyBounds[1]; z <= colonyBounds[3]; z++)
+            {
+                final Long key = toKey(x, z);
+                final List<T> cell = cells.get(key);
+                if (cell != null)
+                {
+                    cell.remove(colony);
+                    if (cell.isEmpty())
+                    {
+                        cells.remove(key);
+                    }
+                }
+            }
+        }
+        bounds.remove(colony.getID());
+    }
+
+    /**
+     * Converts a block coordinate to a cell coordinate.
+     *
+     * @param blockCoord the block coordinate.
+     * @return the cell coordinate.
+     */
+    private static int toCell(final int blockCoord)
+    {
+        return blockCoord >> CELL_SHIFT;
+    }
+
+    /**
+     * Packs two cell coordinates into a single key.
+     *
+     * @param cellX the x cell coordinate.
+     * @param cellZ the z cell coordinate.
+     * @return the key.
+     */
+    private static long toKey(final int cellX, final int cellZ)
+    {
+        return ((long) cellX << Integer.SIZE) | (cellZ & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,170 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.coremod.configuration.Configurations;
+import com.minecolonies.coremod.util.Log;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spreads the maintenance of the colonies of one dimension over the world ticks.
+ * <p>
+ * Every colony is due for maintenance once every {@link #MAINTENANCE_INTERVAL} ticks.
+ * Each tick runs the due colonies in round-robin order until the budget of {@link Configurations#colonyMaintenanceBudget}
+ * milliseconds is used up, the remaining colonies run on the next ticks.
+ * At least one colony runs every tick, so the maintenance always makes progress.
+ */
+public final class ColonyTickScheduler
+{
+    /**
+     * Every this many ticks a colony is due for maintenance.
+     */
+    private static final int MAINTENANCE_INTERVAL = 20;
+
+    /**
+     * Every this many ticks the overruns are reported, one minute.
+     */
+    private static final int REPORT_INTERVAL = 60 * 20;
+
+    /**
+     * The dimension of the colonies, for the report.
+     */
+    private final int dimension;
+
+    /**
+     * The tick of the last maintenance of every colony by id.
+     */
+    @NotNull
+    private final Map<Integer, Long> lastMaintenance = new HashMap<>();
+
+    /**
+     * Index of the colony to look at first on the next tick.
+     */
+    private int  cursor;
+    /**
+     * Ticks run by the scheduler.
+     */
+    private long tickCount;
+
+    /**
+     * Statistics since the last report.
+     */
+    private int  overrunTicks;
+    private int  deferredRuns;
+    private long maxDelay;
+
+    /**
+     * Creates the scheduler of a dimension.
+     *
+     * @param dimension the dimension.
+     */
+    public ColonyTickScheduler(final int dimension)
+    {
+        this.dimension = dimension;
+    }
+
+    /**
+     * Runs the maintenance of the due colonies within the budget.
+     *
+     * @param colonies the colonies of the dimension.
+     * @param event    the world tick event.
+     */
+    public void tick(@NotNull final List<Colony> colonies, @NotNull final TickEvent.WorldTickEvent event)
+    {
+        tickCount++;
+
+        final long budget = TimeUnit.MILLISECONDS.toNanos(Configurations.colonyMaintenanceBudget);
+        final long start = System.nanoTime();
+        boolean hasRun = false;
+
+        for (int checked = 0; checked < colonies.size(); checked++)
+        {
+            if (cursor >= colonies.size())
+            {
+                cursor = 0;
+            }
+
+            final Colony colony = colonies.get(cursor);
+            final long delay = tickCount - getLastMaintenance(colony) - MAINTENANCE_INTERVAL;
+            if (delay >= 0)
+            {
+                if (hasRun && System.nanoTime() - start >= budget)
+                {
+                    overrunTicks++;
+                    deferredRuns += countDue(colonies);
+                    break;
+                }
+
+                colony.onMaintenanceTick(event);
+                lastMaintenance.put(colony.getID(), tickCount);
+                maxDelay = Math.max(maxDelay, delay);
+                hasRun = true;
+            }
+            cursor++;
+        }
+
+        if (tickCount % REPORT_INTERVAL == 0)
+        {
+            report(colonies);
+        }
+    }
+
+    /**
+     * Get the tick of the last maintenance of a colony.
+     * New colonies are staggered by their id, so they don't all become due on the same tick.
+     *
+     * @param colony the colony.
+     * @return the tick.
+     */
+    private long getLastMaintenance(@NotNull final Colony colony)
+    {
+        return lastMaintenance.computeIfAbsent(colony.getID(), id -> tickCount - (id % MAINTENANCE_INTERVAL));
+    }
+
+    /**
+     * Counts the colonies which are due for maintenance.
+     *
+     * @param colonies the colonies of the dimension.
+     * @return the amount of due colonies.
+     */
+    private int countDue(@NotNull final List<Colony> colonies)
+    {
+        int due = 0;
+        for (@NotNull final Colony colony : colonies)
+        {
+            if (tickCount - getLastMaintenance(colony) >= MAINTENANCE_INTERVAL)
+            {
+                due++;
+            }
+        }
+        return due;
+    }
+
+    /**
+     * Logs the overruns since the last report and forgets colonies which are gone.
+     *
+     * @param colonies the colonies of the dimension.
+     */
+    private void report(@NotNull final List<Colony> colonies)
+    {
+        if (overrunTicks > 0)
+        {
+            Log.getLogger().warn(String.format(
+              "Colony maintenance in dimension %d exceeded the %d ms budget in %d ticks of the last minute, %d colony runs deferred, max delay %d ticks",
+              dimension, Configurations.colonyMaintenanceBudget, overrunTicks, deferredRuns, maxDelay));
+        }
+
+        overrunTicks = 0;
+        deferredRuns = 0;
+        maxDelay = 0;
+
+        if (lastMaintenance.size() > colonies.size())
+        {
+            lastMaintenance.keySet().removeIf(id -> colonies.stream().noneMatch(colony -> colony.getID() == id));
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.minecolonies.coremod.colony.buildings.BuildingTownHall;
 import com.minecolonies.coremod.colony.permissions.Permissions;
 import com.minecolonies.coremod.colony.workorders.AbstractWorkOrder;
 import com.minecolonies.coremod.configuration.Configurations;
+import com.minecolonies.coremod.network.messages.ColonyViewResyncMessage;
 import com.minecolonies.coremod.network.messages.PermissionsMessage;
 import com.minecolonies.coremod.network.messages.TownHallRenameMessage;
 import com.minecolonies.coremod.util.BlockPosUtil;
@@ -48,6 +49,18 @@ public final class ColonyView implements IColony
     private BuildingTownHall.View townHall;
     private       int                                  maxCitizens = 0;
 
+    //  Last view payloads received, the base of the next view updates
+    @NotNull
+    private final Map<Integer, ViewDelta.ViewPayload>  citizenPayloads   = new HashMap<>();
+    @NotNull
+    private final Map<BlockPos, ViewDelta.ViewPayload> buildingPayloads  = new HashMap<>();
+    @NotNull
+    private final Map<Integer, ViewDelta.ViewPayload>  workOrderPayloads = new HashMap<>();
+    /**
+     * Whether the full views have been requested since the last new subscription.
+     */
+    private       boolean                              isResyncRequested = false;
+
     /**
      * Base constructor for a colony.
      *
@@ -269,6 +282,11 @@ public final class ColonyView implements IColony
             citizens.clear();
             townHall = null;
             buildings.clear();
+
+            citizenPayloads.clear();
+            buildingPayloads.clear();
+            workOrderPayloads.clear();
+            isResyncRequested = false;
         }
 
         return null;
@@ -288,30 +306,46 @@ public final class ColonyView implements IColony
 
     /**
      * Update a ColonyView's workOrders given a network data ColonyView update packet.
-     * This uses a full-replacement - workOrders do not get updated and are instead overwritten.
+     * The update is applied to the last payload received and the workOrder is recreated from the result.
      *
-     * @param buf Network data.
+     * @param workOrderId ID of the workOrder.
+     * @param delta       update of the workOrder view.
      * @return null == no response.
      */
-    public IMessage handleColonyViewWorkOrderMessage(final ByteBuf buf)
+    public IMessage handleColonyViewWorkOrderMessage(final int workOrderId, @NotNull final ViewDelta delta)
     {
-        @Nullable final WorkOrderView workOrder = AbstractWorkOrder.createWorkOrderView(buf);
-        workOrders.put(workOrder.getId(), workOrder);
+        @Nullable final ViewDelta.ViewPayload payload = applyDelta(workOrderPayloads, workOrderId, delta);
+        if (payload == null)
+        {
+            return null;
+        }
+
+        @Nullable final WorkOrderView workOrder = AbstractWorkOrder.createWorkOrderView(payload.toByteBuf());
+        if (workOrder != null)
+        {
+            workOrders.put(workOrder.getId(), workOrder);
+        }
 
         return null;
     }
 
     /**
      * Update a ColonyView's citizens given a network data ColonyView update packet.
-     * This uses a full-replacement - citizens do not get updated and are instead overwritten.
+     * The update is applied to the last payload received and the citizen is recreated from the result.
      *
-     * @param id  ID of the citizen.
-     * @param buf Network data.
+     * @param id    ID of the citizen.
+     * @param delta update of the citizen view.
      * @return null == no response.
      */
-    public IMessage handleColonyViewCitizensMessage(final int id, final ByteBuf buf)
+    public IMessage handleColonyViewCitizensMessage(final int id, @NotNull final ViewDelta delta)
     {
-        final CitizenDataView citizen = CitizenData.createCitizenDataView(id, buf);
+        @Nullable final ViewDelta.ViewPayload payload = applyDelta(citizenPayloads, id, delta);
+        if (payload == null)
+        {
+            return null;
+        }
+
+        final CitizenDataView citizen = CitizenData.createCitizenDataView(id, payload.toByteBuf());
         if (citizen != null)
         {
             citizens.put(citizen.getID(), citizen);
@@ -329,6 +363,7 @@ public final class ColonyView implements IColony
     public IMessage handleColonyViewRemoveCitizenMessage(final int citizen)
     {
         citizens.remove(citizen);
+        citizenPayloads.remove(citizen);
         return null;
     }
 
@@ -341,6 +376,7 @@ public final class ColonyView implements IColony
     public IMessage handleColonyViewRemoveBuildingMessage(final BlockPos buildingId)
     {
         final AbstractBuilding.View building = buildings.remove(buildingId);
+        buildingPayloads.remove(buildingId);
         if (townHall == building)
         {
             townHall = null;
@@ -357,21 +393,28 @@ public final class ColonyView implements IColony
     public IMessage handleColonyViewRemoveWorkOrderMessage(final int workOrderId)
     {
         workOrders.remove(workOrderId);
+        workOrderPayloads.remove(workOrderId);
 
         return null;
     }
 
     /**
      * Update a ColonyView's buildings given a network data ColonyView update packet.
-     * This uses a full-replacement - buildings do not get updated and are instead overwritten.
+     * The update is applied to the last payload received and the building is recreated from the result.
      *
      * @param buildingId location of the building.
-     * @param buf        buffer containing ColonyBuilding information.
+     * @param delta      update of the building view.
      * @return null == no response.
      */
-    public IMessage handleColonyBuildingViewMessage(final BlockPos buildingId, @NotNull final ByteBuf buf)
+    public IMessage handleColonyBuildingViewMessage(final BlockPos buildingId, @NotNull final ViewDelta delta)
     {
-        @Nullable final AbstractBuilding.View building = AbstractBuilding.createBuildingView(this, buildingId, buf);
+        @Nullable final ViewDelta.ViewPayload payload = applyDelta(buildingPayloads, buildingId, delta);
+        if (payload == null)
+        {
+            return null;
+        }
+
+        @Nullable final AbstractBuilding.View building = AbstractBuilding.createBuildingView(this, buildingId, payload.toByteBuf());
         if (building != null)
         {
             buildings.put(building.getID(), building);
@@ -385,6 +428,34 @@ public final class ColonyView implements IColony
         return null;
     }
 
+    /**
+     * Applies a view update to the last payload received for the view.
+     * Requests the full views from the server if the update does not apply.
+     *
+     * @param payloads the last payloads received by view key.
+     * @param key      the key of the view.
+     * @param delta    the update.
+     * @param <K>      the type of the key.
+     * @return the new payload or null if the update did not apply.
+     */
+    @Nullable
+    private <K> ViewDelta.ViewPayload applyDelta(@NotNull final Map<K, ViewDelta.ViewPayload> payloads, @NotNull final K key, @NotNull final ViewDelta delta)
+    {
+        @Nullable final ViewDelta.ViewPayload payload = delta.apply(payloads.get(key));
+        if (payload == null)
+        {
+            if (!isResyncRequested)
+            {
+                isResyncRequested = true;
+                MineColonies.getNetwork().sendToServer(new ColonyViewResyncMessage(this));
+            }
+            return null;
+        }
+
+        payloads.put(key, payload);
+        return payload;
+    }
+
     /**
      * Update a players permissions.
      *
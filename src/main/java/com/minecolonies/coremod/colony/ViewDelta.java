@@ -0,0 +1,274 @@
+package com.minecolonies.coremod.colony;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Update of a single serialized view (citizen, building or workOrder), either the full payload or a patch against
+ * the payload the client received before.
+ * <p>
+ * The view serializers write their fields in a fixed order, so the bytes of unchanged fields stay in place and the
+ * patch only carries the byte runs of the fields which changed.
+ * Every payload sent to a player gets a version, a patch names the version it applies to so the client can detect
+ * when it is out of sync and request the full views again.
+ */
+public final class ViewDelta
+{
+    /**
+     * Base version of an update which carries the full payload.
+     */
+    private static final int FULL_PAYLOAD = 0;
+
+    /**
+     * Equal bytes between two changed runs below which the runs are merged, a run header costs 8 bytes.
+     */
+    private static final int MIN_RUN_GAP = 8;
+
+    /**
+     * Size of the header of a single run (offset and length).
+     */
+    private static final int RUN_HEADER_SIZE = 8;
+
+    /**
+     * Size of the header of a patch (new length and run count).
+     */
+    private static final int PATCH_HEADER_SIZE = 8;
+
+    private final int    version;
+    private final int    baseVersion;
+    private final byte[] data;
+
+    /**
+     * Creates an update.
+     *
+     * @param version     the version of the payload after applying the update.
+     * @param baseVersion the version the patch applies to or {@link #FULL_PAYLOAD}.
+     * @param data        the full payload or the encoded patch.
+     */
+    private ViewDelta(final int version, final int baseVersion, @NotNull final byte[] data)
+    {
+        this.version = version;
+        this.baseVersion = baseVersion;
+        this.data = data;
+    }
+
+    /**
+     * Creates the update from the payload the client has to a new payload.
+     * Falls back to the full payload if the patch would not be smaller.
+     *
+     * @param base    the payload the client has, or null if it has none.
+     * @param version the version of the new payload.
+     * @param payload the new payload.
+     * @return the update.
+     */
+    @NotNull
+    public static ViewDelta create(@Nullable final ViewPayload base, final int version, @NotNull final byte[] payload)
+    {
+        if (base != null)
+        {
+            @Nullable final byte[] patch = createPatch(base.getData(), payload);
+            if (patch != null)
+            {
+                return new ViewDelta(version, base.getVersion(), patch);
+            }
+        }
+        return new ViewDelta(version, FULL_PAYLOAD, payload);
+    }
+
+    /**
+     * Encodes the runs of bytes which differ between base and payload.
+     *
+     * @param base    the old payload.
+     * @param payload the new payload.
+     * @return the patch or null if it would not be smaller than the payload.
+     */
+    @Nullable
+    private static byte[] createPatch(@NotNull final byte[] base, @NotNull final byte[] payload)
+    {
+        final List<int[]> runs = new ArrayList<>();
+        final int commonLength = Math.min(base.length, payload.length);
+        int patchSize = PATCH_HEADER_SIZE;
+
+        int i = 0;
+        while (i < commonLength)
+        {
+            if (base[i] == payload[i])
+            {
+                i++;
+                continue;
+            }
+
+            final int start = i;
+            int end = i + 1;
+            int equalBytes = 0;
+            for (i = end; i < commonLength && equalBytes < MIN_RUN_GAP; i++)
+            {
+                if (base[i] == payload[i])
+                {
+                    equalBytes++;
+                }
+                else
+                {
+                    equalBytes = 0;
+                    end = i + 1;
+                }
+            }
+            i = end;
+
+            runs.add(new int[] {start, end - start});
+            patchSize += RUN_HEADER_SIZE + end - start;
+        }
+
+        if (payload.length > commonLength)
+        {
+            runs.add(new int[] {commonLength, payload.length - commonLength});
+            patchSize += RUN_HEADER_SIZE + payload.length - commonLength;
+        }
+
+        if (patchSize >= payload.length)
+        {
+            return null;
+        }
+
+        final ByteBuf patch = Unpooled.buffer(patchSize);
+        patch.writeInt(payload.length);
+        patch.writeInt(runs.size());
+        for (@NotNull final int[] run : runs)
+        {
+            patch.writeInt(run[0]);
+            patch.writeInt(run[1]);
+            patch.writeBytes(payload, run[0], run[1]);
+        }
+        return patch.array();
+    }
+
+    /**
+     * Applies the update to the payload the client has.
+     *
+     * @param base the current payload, or null if there is none.
+     * @return the new payload or null if the update does not apply to the base, the views have to be resent then.
+     */
+    @Nullable
+    public ViewPayload apply(@Nullable final ViewPayload base)
+    {
+        if (baseVersion == FULL_PAYLOAD)
+        {
+            return new ViewPayload(version, data);
+        }
+
+        if (base == null || base.getVersion() != baseVersion)
+        {
+            return null;
+        }
+
+        final ByteBuf patch = Unpooled.wrappedBuffer(data);
+        final byte[] payload = new byte[patch.readInt()];
+        System.arraycopy(base.getData(), 0, payload, 0, Math.min(base.getData().length, payload.length));
+
+        final int runCount = patch.readInt();
+        for (int run = 0; run < runCount; run++)
+        {
+            final int offset = patch.readInt();
+            final int length = patch.readInt();
+            patch.readBytes(payload, offset, length);
+        }
+        return new ViewPayload(version, payload);
+    }
+
+    /**
+     * Write the update to a buffer.
+     *
+     * @param buf the buffer to write to.
+     */
+    public void writeToByteBuf(@NotNull final ByteBuf buf)
+    {
+        buf.writeInt(version);
+        buf.writeInt(baseVersion);
+        buf.writeInt(data.length);
+        buf.writeBytes(data);
+    }
+
+    /**
+     * Read an update from a buffer.
+     *
+     * @param buf the buffer to read from.
+     * @return the update.
+     */
+    @NotNull
+    public static ViewDelta readFromByteBuf(@NotNull final ByteBuf buf)
+    {
+        final int version = buf.readInt();
+        final int baseVersion = buf.readInt();
+        final byte[] data = new byte[buf.readInt()];
+        buf.readBytes(data);
+        return new ViewDelta(version, baseVersion, data);
+    }
+
+    /**
+     * Whether this update carries the full payload.
+     *
+     * @return true if so.
+     */
+    public boolean isFullPayload()
+    {
+        return baseVersion == FULL_PAYLOAD;
+    }
+
+    /**
+     * Size of the data of the update in bytes.
+     *
+     * @return the size.
+     */
+    public int getSize()
+    {
+        return data.length;
+    }
+
+    /**
+     * A serialized view and its version.
+     */
+    public static final class ViewPayload
+    {
+        private final int    version;
+        private final byte[] data;
+
+        /**
+         * Creates a payload.
+         *
+         * @param version the version of the payload.
+         * @param data    the serialized view.
+         */
+        public ViewPayload(final int version, @NotNull final byte[] data)
+        {
+            this.version = version;
+            this.data = data;
+        }
+
+        public int getVersion()
+        {
+            return version;
+        }
+
+        @NotNull
+        public byte[] getData()
+        {
+            return data;
+        }
+
+        /**
+         * Get the view data as a buffer to deserialize it.
+         *
+         * @return a new buffer reading the data.
+         */
+        @NotNull
+        public ByteBuf toByteBuf()
+        {
+            return Unpooled.wrappedBuffer(data);
+        }
+    }
+}
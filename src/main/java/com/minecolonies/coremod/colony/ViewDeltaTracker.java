@@ -0,0 +1,79 @@
+package com.minecolonies.coremod.colony;
+
+import net.minecraft.entity.player.EntityPlayerMP;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Server side record of the view payloads each subscriber of a colony has received.
+ * The network channel is reliable and ordered, so every payload sent counts as acknowledged unless the client
+ * asks for a resync.
+ *
+ * @param <K> the key of the views, for example the citizen id.
+ */
+public final class ViewDeltaTracker<K>
+{
+    /**
+     * The last payload sent to each subscriber by view key.
+     */
+    @NotNull
+    private final Map<EntityPlayerMP, Map<K, ViewDelta.ViewPayload>> sentViews = new HashMap<>();
+
+    /**
+     * Creates the update of a view for a subscriber and records it as sent.
+     *
+     * @param player  the subscriber.
+     * @param key     the key of the view.
+     * @param payload the serialized view.
+     * @return the update to send or null if the subscriber is up to date.
+     */
+    @Nullable
+    public ViewDelta update(@NotNull final EntityPlayerMP player, @NotNull final K key, @NotNull final byte[] payload)
+    {
+        final Map<K, ViewDelta.ViewPayload> playerViews = sentViews.computeIfAbsent(player, p -> new HashMap<>());
+        @Nullable final ViewDelta.ViewPayload sent = playerViews.get(key);
+        if (sent != null && Arrays.equals(sent.getData(), payload))
+        {
+            return null;
+        }
+
+        final int version = sent == null ? 1 : (sent.getVersion() + 1);
+        playerViews.put(key, new ViewDelta.ViewPayload(version, payload));
+        return ViewDelta.create(sent, version, payload);
+    }
+
+    /**
+     * Forgets a removed view for all subscribers.
+     *
+     * @param key the key of the view.
+     */
+    public void remove(@NotNull final K key)
+    {
+        for (@NotNull final Map<K, ViewDelta.ViewPayload> playerViews : sentViews.values())
+        {
+            playerViews.remove(key);
+        }
+    }
+
+    /**
+     * Forgets everything sent to a subscriber, the next updates will carry full payloads.
+     *
+     * @param player the subscriber.
+     */
+    public void removeSubscriber(@NotNull final EntityPlayerMP player)
+    {
+        sentViews.remove(player);
+    }
+
+    /**
+     * Forgets everything sent to players which are no subscribers anymore.
+     *
+     * @param subscribers the current subscribers.
+     */
+    public void retainSubscribers(@NotNull final Set<EntityPlayerMP> subscribers)
+    {
+        sentViews.keySet().retainAll(subscribers);
+    }
+}
@@ -34,6 +34,10 @@ public class WorkManager
      * Checks if there has been changes.
      */
     private boolean                         dirty          = false;
+    /**
+     * World time of the last attempt to fulfill the work orders.
+     */
+    private long                            lastFulfill    = 0;
 
     /**
      * Constructor, saves reference to the colony.
@@ -222,7 +226,7 @@ public class WorkManager
     }
 
     /**
-     * Process updates on the World Tick.
+     * Process updates on the colony maintenance tick, at the end of a world tick.
      * Currently, does periodic Work Order cleanup.
      *
      * @param event {@link net.minecraftforge.fml.common.gameevent.TickEvent.WorldTickEvent}.
@@ -247,8 +251,10 @@ public class WorkManager
                 }
             }
 
-            if ((event.world.getWorldTime() % WORK_ORDER_FULFILL_INCREMENT) == 0)
+            final long worldTime = event.world.getTotalWorldTime();
+            if (worldTime - lastFulfill >= WORK_ORDER_FULFILL_INCREMENT)
             {
+                lastFulfill = worldTime;
                 workOrders.values().stream().filter(o -> !o.isClaimed())
                   .sorted((first, second) -> second.getPriority() > first.getPriority() ? 1 : (second.getPriority() < first.getPriority() ? -1 : 0))
                   .forEach(o -> o.attemptToFulfill(colony));
@@ -155,6 +155,7 @@ public abstract class AbstractBuilding
         location = pos;
         this.colony = colony;
         materialStore = new MaterialStore(MaterialStore.Type.CHEST, colony.getMaterialSystem());
+        materialStore.setLocation(pos);
     }
 
     /**
@@ -469,10 +470,7 @@ public abstract class AbstractBuilding
         InventoryHelper.dropInventoryItems(world, this.location, (IInventory) tileEntityNew);
         world.updateComparatorOutputLevel(this.location, block);
 
-        if (MaterialSystem.isEnabled)
-        {
-            materialStore.destroy();
-        }
+        materialStore.destroy();
     }
 
     /**
@@ -493,6 +491,7 @@ public abstract class AbstractBuilding
                     tileEntity.setColony(colony);
                     tileEntity.setBuilding(this);
                 }
+                setTileEntity(tileEntity);
             }
         }
 
@@ -507,6 +506,10 @@ public abstract class AbstractBuilding
     public void setTileEntity(final TileEntityColonyBuilding te)
     {
         tileEntity = te;
+        if (materialStore.getInventory() != te)
+        {
+            materialStore.attach(te);
+        }
     }
 
     /**
@@ -709,7 +712,7 @@ public abstract class AbstractBuilding
 
         buildingLevel = level;
         markDirty();
-        ColonyManager.markDirty();
+        ColonyManager.markDirty(colony);
     }
 
     /**
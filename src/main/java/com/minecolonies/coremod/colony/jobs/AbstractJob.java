@@ -4,6 +4,7 @@ import com.minecolonies.coremod.client.render.RenderBipedCitizen;
 import com.minecolonies.coremod.colony.CitizenData;
 import com.minecolonies.coremod.colony.Colony;
 import com.minecolonies.coremod.entity.ai.basic.AbstractAISkeleton;
+import com.minecolonies.coremod.entity.ai.util.AIWakeEvent;
 import com.minecolonies.coremod.util.Log;
 import net.minecraft.entity.ai.EntityAITasks;
 import net.minecraft.item.ItemStack;
@@ -61,6 +62,11 @@ public abstract class AbstractJob
     @NotNull
     private List<ItemStack> itemsNeeded = new ArrayList<>();
     private String          nameTag     = "";
+    /**
+     * The ai of the worker, if it was generated.
+     */
+    @Nullable
+    private AbstractAISkeleton<? extends AbstractJob> workerAI;
 
     /**
      * Initialize citizen data.
@@ -255,6 +261,7 @@ public abstract class AbstractJob
     public void clearItemsNeeded()
     {
         itemsNeeded.clear();
+        markDirty();
     }
 
     /**
@@ -270,11 +277,13 @@ public abstract class AbstractJob
             if ((stack.getItem().isDamageable() && stack.getItem() == neededItem.getItem()) || stack.isItemEqual(neededItem))
             {
                 neededItem.stackSize += stack.stackSize;
+                markDirty();
                 return;
             }
         }
 
         itemsNeeded.add(stack);
+        markDirty();
     }
 
     /**
@@ -301,6 +310,7 @@ public abstract class AbstractJob
                     itemsNeeded.remove(neededItem);
                 }
 
+                markDirty();
                 break;
             }
         }
@@ -308,6 +318,15 @@ public abstract class AbstractJob
         return stackCopy.stackSize == 0 ? null : stackCopy;
     }
 
+    /**
+     * Marks the colony of the job to be saved, call whenever state written by {@link #writeToNBT(NBTTagCompound)}
+     * changes.
+     */
+    public void markDirty()
+    {
+        getColony().markSaveDirty();
+    }
+
     /**
      * Override to add Job-specific AI tasks to the given EntityAITask list.
      *
@@ -320,6 +339,20 @@ public abstract class AbstractJob
         {
             tasks.addTask(TASK_PRIORITY, aiTask);
         }
+        workerAI = aiTask;
+    }
+
+    /**
+     * Passes an event on to the ai of the worker, which wakes up if it sleeps until it.
+     *
+     * @param event the event.
+     */
+    public void onWakeEvent(@NotNull final AIWakeEvent event)
+    {
+        if (workerAI != null)
+        {
+            workerAI.wakeUp(event);
+        }
     }
 
     /**
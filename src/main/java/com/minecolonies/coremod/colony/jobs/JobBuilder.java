@@ -148,7 +148,16 @@ public class JobBuilder extends AbstractJob
      */
     public void setStructure(final StructureWrapper schematic)
     {
+        if (this.schematic != null)
+        {
+            getColony().removeActiveStructure(this.schematic);
+        }
         this.schematic = schematic;
+        if (schematic != null)
+        {
+            getColony().addActiveStructure(schematic);
+        }
+        markDirty();
     }
 
     /**
@@ -220,5 +229,6 @@ public class JobBuilder extends AbstractJob
         {
             workOrderId = order.getID();
         }
+        markDirty();
     }
 }
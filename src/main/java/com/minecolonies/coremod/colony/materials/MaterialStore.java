@@ -1,19 +1,27 @@
 package com.minecolonies.coremod.colony.materials;
 
+import com.minecolonies.coremod.util.Utils;
 import net.minecraft.block.Block;
+import net.minecraft.inventory.IInventory;
 import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.common.util.Constants;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.function.Predicate;
 
 /**
  * A material store is a node in the material network, keeping track of materials in a specific inventory.
+ * <p>
+ * It indexes the slots each item is in and the slots of tools and weapons, updated by the inventory on every change
+ * of a slot, so the stores holding an item are known to the {@link MaterialSystem} without scanning. Amounts are read
+ * from the inventory when asked for, because stacks are changed in place. The mining level of a tool depends on its
+ * item only, so the levels are indexed with the slots.
  * Created: December 14, 2015
  *
  * @author Colton
@@ -26,6 +34,24 @@ public class MaterialStore
     private static final String                 TAG_NEED           = "NeedDontHave";
     private static final String                 TAG_ID             = "ID";
     private static final String                 TAG_QUANTITY       = "quantity";
+    /**
+     * Category of the stacks which serve as weapon.
+     */
+    public static final  String                 WEAPON             = "weapon";
+    /**
+     * The indexed categories of stacks, tool types and weapons, and what belongs to them.
+     */
+    private static final Map<String, Predicate<ItemStack>> CATEGORIES = new LinkedHashMap<>();
+
+    static
+    {
+        for (@NotNull final String tool : new String[] {Utils.AXE, Utils.SHOVEL, Utils.PICKAXE, Utils.HOE})
+        {
+            CATEGORIES.put(tool, stack -> Utils.isTool(stack, tool));
+        }
+        CATEGORIES.put(WEAPON, Utils::doesItemServeAsWeapon);
+    }
+
     /**
      * These are Materials we have that we don't need right now. So they could be used for something else.
      */
@@ -44,6 +70,37 @@ public class MaterialStore
     private final Type           type;
     private final MaterialSystem system;
 
+    /**
+     * The item each slot is indexed under, null for empty slots.
+     */
+    @NotNull
+    private       Item[]               slotItems     = new Item[0];
+    /**
+     * The slots of each item in the store.
+     */
+    @NotNull
+    private final Map<Item, BitSet>    itemSlots     = new HashMap<>();
+    /**
+     * The slots of each category in the store.
+     */
+    @NotNull
+    private final Map<String, BitSet>  categorySlots = new HashMap<>();
+    /**
+     * The mining level of the stack in each slot for each tool type, only valid for the slots of the category.
+     */
+    @NotNull
+    private final Map<String, int[]>   toolLevels    = new HashMap<>();
+    /**
+     * The inventory of the store, null while it isn't loaded.
+     */
+    @Nullable
+    private       IInventory           inventory;
+    /**
+     * Where the store is, null for stores which move around.
+     */
+    @Nullable
+    private       BlockPos             location;
+
     /**
      * Constructor for MaterialStore.
      *
@@ -66,6 +123,313 @@ public class MaterialStore
         return type;
     }
 
+    /**
+     * Checks if a category of stacks is indexed.
+     *
+     * @param category the category, a tool type or {@link #WEAPON}.
+     * @return true if so.
+     */
+    public static boolean isIndexedCategory(@Nullable final String category)
+    {
+        return CATEGORIES.containsKey(category);
+    }
+
+    /**
+     * Sets the inventory of the store and indexes it again, or detaches it while it isn't loaded.
+     * The index of a detached store is kept, but it isn't used for lookups.
+     *
+     * @param newInventory the inventory or null.
+     */
+    public void attach(@Nullable final IInventory newInventory)
+    {
+        this.inventory = newInventory;
+        if (newInventory != null)
+        {
+            verify();
+        }
+    }
+
+    /**
+     * Get the inventory of the store.
+     *
+     * @return the inventory or null if it isn't loaded.
+     */
+    @Nullable
+    public IInventory getInventory()
+    {
+        return inventory;
+    }
+
+    /**
+     * Sets where the store is.
+     *
+     * @param location the position of the inventory.
+     */
+    public void setLocation(@Nullable final BlockPos location)
+    {
+        this.location = location;
+    }
+
+    /**
+     * Get where the store is.
+     *
+     * @return the position or null for stores which move around.
+     */
+    @Nullable
+    public BlockPos getLocation()
+    {
+        return location;
+    }
+
+    /**
+     * Updates the index for a slot, the inventory calls this whenever a slot gets another stack.
+     *
+     * @param slot  the slot.
+     * @param stack the stack in the slot now, or null.
+     */
+    public void onSlotChanged(final int slot, @Nullable final ItemStack stack)
+    {
+        if (slot >= slotItems.length)
+        {
+            slotItems = Arrays.copyOf(slotItems, slot + 1);
+        }
+
+        final Item oldItem = slotItems[slot];
+        final Item newItem = stack == null ? null : stack.getItem();
+        if (oldItem != newItem)
+        {
+            if (oldItem != null && clearSlot(itemSlots, oldItem, slot))
+            {
+                system.onItemRemoved(oldItem, this);
+            }
+            slotItems[slot] = newItem;
+            if (newItem != null && setSlot(itemSlots, newItem, slot))
+            {
+                system.onItemAdded(newItem, this);
+            }
+        }
+
+        for (@NotNull final Map.Entry<String, Predicate<ItemStack>> category : CATEGORIES.entrySet())
+        {
+            if (stack != null && category.getValue().test(stack))
+            {
+                if (setSlot(categorySlots, category.getKey(), slot))
+                {
+                    system.onCategoryAdded(category.getKey(), this);
+                }
+                if (!WEAPON.equals(category.getKey()))
+                {
+                    setToolLevel(category.getKey(), slot, Utils.getMiningLevel(stack, category.getKey()));
+                }
+            }
+            else if (clearSlot(categorySlots, category.getKey(), slot))
+            {
+                system.onCategoryRemoved(category.getKey(), this);
+            }
+        }
+    }
+
+    private void setToolLevel(@NotNull final String tool, final int slot, final int level)
+    {
+        int[] levels = toolLevels.get(tool);
+        if (levels == null || slot >= levels.length)
+        {
+            levels = levels == null ? new int[slot + 1] : Arrays.copyOf(levels, slot + 1);
+            toolLevels.put(tool, levels);
+        }
+        levels[slot] = level;
+    }
+
+    private static <K> boolean setSlot(@NotNull final Map<K, BitSet> index, @NotNull final K key, final int slot)
+    {
+        BitSet slots = index.get(key);
+        final boolean added = slots == null;
+        if (added)
+        {
+            slots = new BitSet();
+            index.put(key, slots);
+        }
+        slots.set(slot);
+        return added;
+    }
+
+    private static <K> boolean clearSlot(@NotNull final Map<K, BitSet> index, @NotNull final K key, final int slot)
+    {
+        final BitSet slots = index.get(key);
+        if (slots == null)
+        {
+            return false;
+        }
+        slots.clear(slot);
+        if (slots.isEmpty())
+        {
+            index.remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Compares the index with the inventory and repairs the slots which differ.
+     *
+     * @return the amount of slots which had to be repaired, 0 if the store isn't attached.
+     */
+    public int verify()
+    {
+        if (inventory == null)
+        {
+            return 0;
+        }
+
+        int repaired = 0;
+        final int size = inventory.getSizeInventory();
+        for (int slot = 0; slot < Math.max(size, slotItems.length); slot++)
+        {
+            final ItemStack stack = slot < size ? inventory.getStackInSlot(slot) : null;
+            if (!isIndexed(slot, stack))
+            {
+                onSlotChanged(slot, stack);
+                repaired++;
+            }
+        }
+        return repaired;
+    }
+
+    private boolean isIndexed(final int slot, @Nullable final ItemStack stack)
+    {
+        final Item item = slot < slotItems.length ? slotItems[slot] : null;
+        if (item != (stack == null ? null : stack.getItem()))
+        {
+            return false;
+        }
+
+        for (@NotNull final Map.Entry<String, Predicate<ItemStack>> category : CATEGORIES.entrySet())
+        {
+            final BitSet slots = categorySlots.get(category.getKey());
+            final boolean indexed = slots != null && slots.get(slot);
+            if (indexed != (stack != null && category.getValue().test(stack)))
+            {
+                return false;
+            }
+            if (indexed && !WEAPON.equals(category.getKey())
+                  && toolLevels.get(category.getKey())[slot] != Utils.getMiningLevel(stack, category.getKey()))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the first stack of an item matching a predicate, looking only at the slots of the item.
+     *
+     * @param item   the item.
+     * @param tester the predicate.
+     * @return the slot or -1 if there is none or the store isn't attached.
+     */
+    public int findSlot(@NotNull final Item item, @NotNull final Predicate<ItemStack> tester)
+    {
+        return findSlot(itemSlots.get(item), tester);
+    }
+
+    /**
+     * Finds the first stack of a category matching a predicate, looking only at the slots of the category.
+     *
+     * @param category the category, a tool type or {@link #WEAPON}.
+     * @param tester   the predicate.
+     * @return the slot or -1 if there is none or the store isn't attached.
+     */
+    public int findSlotInCategory(@NotNull final String category, @NotNull final Predicate<ItemStack> tester)
+    {
+        return findSlot(categorySlots.get(category), tester);
+    }
+
+    private int findSlot(@Nullable final BitSet slots, @NotNull final Predicate<ItemStack> tester)
+    {
+        if (slots == null || inventory == null)
+        {
+            return -1;
+        }
+
+        for (int slot = slots.nextSetBit(0); slot >= 0 && slot < inventory.getSizeInventory(); slot = slots.nextSetBit(slot + 1))
+        {
+            final ItemStack stack = inventory.getStackInSlot(slot);
+            if (stack != null && tester.test(stack))
+            {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the highest mining level of the tools of a type in the store, read from the index.
+     *
+     * @param tool the tool type.
+     * @return the level or -1 if there is no such tool or the store isn't attached.
+     */
+    public int getMaxToolLevel(@NotNull final String tool)
+    {
+        final BitSet slots = categorySlots.get(tool);
+        final int[] levels = toolLevels.get(tool);
+        if (slots == null || levels == null || inventory == null)
+        {
+            return -1;
+        }
+
+        int max = -1;
+        for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1))
+        {
+            max = Math.max(max, levels[slot]);
+        }
+        return max;
+    }
+
+    /**
+     * Get the amount of an item in the store.
+     *
+     * @param item the item.
+     * @return the sum of the stack sizes of the item, 0 if the store isn't attached.
+     */
+    public int getItemCount(@NotNull final Item item)
+    {
+        final BitSet slots = itemSlots.get(item);
+        if (slots == null || inventory == null)
+        {
+            return 0;
+        }
+
+        int count = 0;
+        for (int slot = slots.nextSetBit(0); slot >= 0 && slot < inventory.getSizeInventory(); slot = slots.nextSetBit(slot + 1))
+        {
+            final ItemStack stack = inventory.getStackInSlot(slot);
+            if (stack != null && stack.getItem() == item)
+            {
+                count += stack.stackSize;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Drops the whole index, for example when the store is destroyed.
+     */
+    private void clearIndex()
+    {
+        for (final Item item : itemSlots.keySet())
+        {
+            system.onItemRemoved(item, this);
+        }
+        for (final String category : categorySlots.keySet())
+        {
+            system.onCategoryRemoved(category, this);
+        }
+        itemSlots.clear();
+        categorySlots.clear();
+        toolLevels.clear();
+        slotItems = new Item[0];
+    }
+
     /**
      * These are the Materials that we need, this function will provide a list and quantity for someone like the deliveryman..
      *
@@ -405,6 +769,8 @@ public class MaterialStore
     public void destroy()
     {
         this.clear();
+        clearIndex();
+        inventory = null;
 
         system.removeStore(this);
     }
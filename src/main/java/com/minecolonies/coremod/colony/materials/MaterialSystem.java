@@ -1,14 +1,21 @@
 package com.minecolonies.coremod.colony.materials;
 
+import com.minecolonies.coremod.util.BlockPosUtil;
 import net.minecraft.block.Block;
 import net.minecraft.item.Item;
+import net.minecraft.util.math.BlockPos;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 /**
  * Controller class for the whole material system.
+ * <p>
+ * Besides the count of unneeded materials, which is only kept while {@link #isEnabled}, it always knows which
+ * stores hold an item or a tool of a type, so workers ask it instead of searching every inventory.
+ * The indices of the stores are checked against their inventories a few at a time, see {@link #checkConsistency(int)}.
  * Created: December 14, 2015
  *
  * @author Colton
@@ -27,10 +34,11 @@ public class MaterialSystem
     private Map<Material, Integer> materials = new HashMap<>();
 
     /**
-     * Set of MaterialStores inside this MaterialSystem(Colony).
+     * MaterialStores inside this MaterialSystem(Colony), in the order they were created.
+     * The consistency check walks this list, so the order has to stay stable between calls.
      */
     @NotNull
-    private Set<MaterialStore> stores = new HashSet<>();
+    private final List<MaterialStore> stores = new ArrayList<>();
 
     /**
      * So that we only have one Material reference per material inside of the system.
@@ -38,6 +46,35 @@ public class MaterialSystem
     @NotNull
     private Map<Integer, Material> materialCache = new HashMap<>();
 
+    /**
+     * The stores which hold each item.
+     */
+    @NotNull
+    private final Map<Item, Set<MaterialStore>> storesByItem = new HashMap<>();
+
+    /**
+     * The stores which hold stacks of each category, see {@link MaterialStore#isIndexedCategory(String)}.
+     */
+    @NotNull
+    private final Map<String, Set<MaterialStore>> storesByCategory = new HashMap<>();
+
+    /**
+     * The inventory stores of the citizens by citizen id.
+     */
+    @NotNull
+    private final Map<Integer, MaterialStore> citizenStores = new HashMap<>();
+
+    /**
+     * Position of the store checked last for consistency, the next check continues after it.
+     */
+    private int nextCheck;
+
+    /**
+     * Stores checked and slots repaired since the last reset.
+     */
+    private int checkedStores;
+    private int repairedSlots;
+
     /**
      * @return An unmodifiable version of the materials map.
      */
@@ -48,12 +85,12 @@ public class MaterialSystem
     }
 
     /**
-     * @return An unmodifiable version of the stores set.
+     * @return An unmodifiable version of the stores list.
      */
     @NotNull
-    public Set<MaterialStore> getStores()
+    public List<MaterialStore> getStores()
     {
-        return Collections.unmodifiableSet(stores);
+        return Collections.unmodifiableList(stores);
     }
 
     /**
@@ -191,6 +228,268 @@ public class MaterialSystem
      */
     void removeStore(final MaterialStore store)
     {
-        stores.remove(store);
+        final int index = stores.indexOf(store);
+        if (index < 0)
+        {
+            return;
+        }
+
+        stores.remove(index);
+        //  Keeps the consistency check on the store it would have checked next.
+        if (index <= nextCheck)
+        {
+            nextCheck--;
+        }
+    }
+
+    /**
+     * Sets the inventory store of a citizen, destroying the store the citizen had before.
+     *
+     * @param citizenId the id of the citizen.
+     * @param store     the store of the inventory.
+     */
+    public void setCitizenStore(final int citizenId, @NotNull final MaterialStore store)
+    {
+        @Nullable final MaterialStore previous = citizenStores.put(citizenId, store);
+        if (previous != null && previous != store)
+        {
+            previous.destroy();
+        }
+    }
+
+    /**
+     * Destroys the inventory store of a citizen, when the citizen is removed from the colony.
+     *
+     * @param citizenId the id of the citizen.
+     */
+    public void removeCitizenStore(final int citizenId)
+    {
+        @Nullable final MaterialStore store = citizenStores.remove(citizenId);
+        if (store != null)
+        {
+            store.destroy();
+        }
+    }
+
+    /**
+     * Called by a store when it gets the first stack of an item.
+     */
+    void onItemAdded(@NotNull final Item item, @NotNull final MaterialStore store)
+    {
+        addToIndex(storesByItem, item, store);
+    }
+
+    /**
+     * Called by a store when its last stack of an item is gone.
+     */
+    void onItemRemoved(@NotNull final Item item, @NotNull final MaterialStore store)
+    {
+        removeFromIndex(storesByItem, item, store);
+    }
+
+    /**
+     * Called by a store when it gets the first stack of a category.
+     */
+    void onCategoryAdded(@NotNull final String category, @NotNull final MaterialStore store)
+    {
+        addToIndex(storesByCategory, category, store);
+    }
+
+    /**
+     * Called by a store when its last stack of a category is gone.
+     */
+    void onCategoryRemoved(@NotNull final String category, @NotNull final MaterialStore store)
+    {
+        removeFromIndex(storesByCategory, category, store);
+    }
+
+    private static <K> void addToIndex(@NotNull final Map<K, Set<MaterialStore>> index, @NotNull final K key, @NotNull final MaterialStore store)
+    {
+        Set<MaterialStore> holders = index.get(key);
+        if (holders == null)
+        {
+            holders = new HashSet<>();
+            index.put(key, holders);
+        }
+        holders.add(store);
+    }
+
+    private static <K> void removeFromIndex(@NotNull final Map<K, Set<MaterialStore>> index, @NotNull final K key, @NotNull final MaterialStore store)
+    {
+        final Set<MaterialStore> holders = index.get(key);
+        if (holders != null && holders.remove(store) && holders.isEmpty())
+        {
+            index.remove(key);
+        }
+    }
+
+    /**
+     * Get the stores which hold an item.
+     *
+     * @param item the item.
+     * @return an unmodifiable set of the stores, loaded or not.
+     */
+    @NotNull
+    public Set<MaterialStore> getStoresWith(@NotNull final Item item)
+    {
+        final Set<MaterialStore> holders = storesByItem.get(item);
+        return holders == null ? Collections.emptySet() : Collections.unmodifiableSet(holders);
+    }
+
+    /**
+     * Get the stores which hold stacks of a category.
+     *
+     * @param category the category, a tool type or {@link MaterialStore#WEAPON}.
+     * @return an unmodifiable set of the stores, loaded or not.
+     */
+    @NotNull
+    public Set<MaterialStore> getStoresWithCategory(@NotNull final String category)
+    {
+        final Set<MaterialStore> holders = storesByCategory.get(category);
+        return holders == null ? Collections.emptySet() : Collections.unmodifiableSet(holders);
+    }
+
+    /**
+     * Get the amount of an item in all loaded stores of the colony, citizen inventories included.
+     *
+     * @param item the item.
+     * @return the amount.
+     */
+    public int getItemCount(@NotNull final Item item)
+    {
+        int count = 0;
+        for (@NotNull final MaterialStore store : getStoresWith(item))
+        {
+            count += store.getItemCount(item);
+        }
+        return count;
+    }
+
+    /**
+     * Finds the loaded store with a position closest to a position which holds an item.
+     *
+     * @param item the item.
+     * @param pos  the position to search from.
+     * @return the store or null if no store with a position has it.
+     */
+    @Nullable
+    public MaterialStore getNearestStoreWith(@NotNull final Item item, @NotNull final BlockPos pos)
+    {
+        return getNearest(getStoresWith(item), pos, store -> true);
+    }
+
+    /**
+     * Finds the loaded store with a position closest to a position which holds stacks of a category.
+     *
+     * @param category the category, a tool type or {@link MaterialStore#WEAPON}.
+     * @param pos      the position to search from.
+     * @return the store or null if no store with a position has some.
+     */
+    @Nullable
+    public MaterialStore getNearestStoreWithCategory(@NotNull final String category, @NotNull final BlockPos pos)
+    {
+        return getNearest(getStoresWithCategory(category), pos, store -> true);
+    }
+
+    /**
+     * Finds the loaded store with a position closest to a position which holds a tool of at least a mining level.
+     * Only the index is read, the levels are kept per slot by the stores.
+     *
+     * @param tool     the tool type.
+     * @param minLevel the lowest mining level which will do, below 0 for any tool of the type.
+     * @param pos      the position to search from.
+     * @param exclude  a store which is not returned, for example the one already searched, or null.
+     * @return the store or null if no store with a position has such a tool.
+     */
+    @Nullable
+    public MaterialStore getNearestStoreWithTool(
+                                                  @NotNull final String tool,
+                                                  final int minLevel,
+                                                  @NotNull final BlockPos pos,
+                                                  @Nullable final MaterialStore exclude)
+    {
+        return getNearest(getStoresWithCategory(tool), pos, store -> store != exclude && store.getMaxToolLevel(tool) >= Math.max(0, minLevel));
+    }
+
+    @Nullable
+    private static MaterialStore getNearest(
+                                             @NotNull final Set<MaterialStore> holders,
+                                             @NotNull final BlockPos pos,
+                                             @NotNull final Predicate<MaterialStore> filter)
+    {
+        MaterialStore nearest = null;
+        long nearestDistance = Long.MAX_VALUE;
+        for (@NotNull final MaterialStore store : holders)
+        {
+            final BlockPos location = store.getLocation();
+            if (location == null || store.getInventory() == null || !filter.test(store))
+            {
+                continue;
+            }
+
+            final long distance = BlockPosUtil.getDistanceSquared(location, pos);
+            if (distance < nearestDistance)
+            {
+                nearest = store;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Checks the indices of some stores against their inventories and repairs them, continuing with the next stores
+     * on the next call.
+     *
+     * @param maxStores the most stores to check.
+     * @return the amount of slots which had to be repaired.
+     */
+    public int checkConsistency(final int maxStores)
+    {
+        if (stores.isEmpty())
+        {
+            return 0;
+        }
+
+        final int count = Math.min(maxStores, stores.size());
+        int repaired = 0;
+        for (int i = 0; i < count; i++)
+        {
+            nextCheck = (nextCheck + 1) % stores.size();
+            repaired += stores.get(nextCheck).verify();
+        }
+
+        checkedStores += count;
+        repairedSlots += repaired;
+        return repaired;
+    }
+
+    /**
+     * Get the amount of stores checked for consistency since the last reset.
+     *
+     * @return the amount.
+     */
+    public int getCheckedStores()
+    {
+        return checkedStores;
+    }
+
+    /**
+     * Get the amount of slots whose index had to be repaired since the last reset.
+     *
+     * @return the amount.
+     */
+    public int getRepairedSlots()
+    {
+        return repairedSlots;
+    }
+
+    /**
+     * Resets the consistency counters.
+     */
+    public void resetStatistics()
+    {
+        checkedStores = 0;
+        repairedSlots = 0;
     }
 }
@@ -16,6 +16,7 @@ public final class ConfigurationHandler
     private static final String CATEGORY_GAMEPLAY    = "gameplay";
     private static final String CATEGORY_PATHFINDING = "pathfinding";
     private static final String CATEGORY_NAMES       = "names";
+    private static final String CATEGORY_NETWORK     = "network";
 
     private static final String FORMAT_RANGE = "%s (range: %s ~ %s, default: %s)";
 
@@ -53,6 +54,10 @@ public final class ConfigurationHandler
             maxBlocksCheckedByBuilder =
               config.get(CATEGORY_GAMEPLAY, "maxBlocksCheckedByBuilder", maxBlocksCheckedByBuilder, "Limits the number of checked blocks per builder update").getInt();
             chatFrequency = config.get(CATEGORY_GAMEPLAY, "chatFrequency", chatFrequency, "Chat Frequency (seconds)").getInt();
+            colonyMaintenanceBudget = getClampedInt(config, CATEGORY_GAMEPLAY, "colonyMaintenanceBudget", colonyMaintenanceBudget,
+              COLONY_MAINTENANCE_BUDGET_MIN, COLONY_MAINTENANCE_BUDGET_MAX, "Milliseconds per tick the colony maintenance may use before colonies are deferred");
+            materialIndexLookups = config.get(CATEGORY_GAMEPLAY, "materialIndexLookups", materialIndexLookups,
+              "Workers look items up in the material index of the colony instead of searching their hut chest").getBoolean();
 
             enableInDevelopmentFeatures = config.get(CATEGORY_GAMEPLAY, "development", enableInDevelopmentFeatures,
               "Don't hide in-development features which do not work and may break your game").getBoolean();
@@ -61,6 +66,17 @@ public final class ConfigurationHandler
             pathfindingDebugVerbosity = config.get(CATEGORY_PATHFINDING, "debugVerbosity", pathfindingDebugVerbosity,
               "Debug output verbosity of pathfinding (0=none, 1=results, 2=live work)").getInt();
             pathfindingMaxThreadCount = config.get(CATEGORY_PATHFINDING, "maxThreads", pathfindingMaxThreadCount, "Maximum number of threads to use for pathfinding.").getInt();
+            pathfindingMaxQueuedJobs = config.get(CATEGORY_PATHFINDING, "maxQueuedJobs", pathfindingMaxQueuedJobs,
+              "Maximum number of waiting pathfinding jobs, the lowest priority jobs are dropped beyond").getInt();
+            pathfindingMaxNodes = config.get(CATEGORY_PATHFINDING, "maxNodes", pathfindingMaxNodes,
+              "Maximum number of nodes a single path search visits before it returns the best path found").getInt();
+            pathfindingMaxTime = config.get(CATEGORY_PATHFINDING, "maxTime", pathfindingMaxTime,
+              "Maximum milliseconds a single path search runs before it returns the best path found").getInt();
+            pathfindingRecordJobs = config.get(CATEGORY_PATHFINDING, "recordJobs", pathfindingRecordJobs,
+              "Write the path searches to minecolonies/pathjobs in the world folder, to replay them with PathJobReplay").getBoolean();
+
+            viewBatchCompressionThreshold = config.get(CATEGORY_NETWORK, "viewBatchCompressionThreshold", viewBatchCompressionThreshold,
+              "Colony view updates larger than this (in bytes) are compressed, 0 disables compression").getInt();
 
             maleFirstNames = config.get(CATEGORY_NAMES, "maleFirstNames", maleFirstNames, "Male First Names").getStringList();
             femaleFirstNames = config.get(CATEGORY_NAMES, "femaleFirstNames", femaleFirstNames, "Female First Names").getStringList();
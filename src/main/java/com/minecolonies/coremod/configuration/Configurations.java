@@ -11,6 +11,9 @@ public class Configurations
     public static       int     citizenRespawnInterval       = 30;
     public static       boolean builderInfiniteResources     = false;
 
+    public static final int COLONY_MAINTENANCE_BUDGET_MIN = 1;
+    public static final int COLONY_MAINTENANCE_BUDGET_MAX = 50;
+
     //TODO change to false when material handling is implemented
     public static boolean deliverymanInfiniteResources = true;
 
@@ -27,6 +30,14 @@ public class Configurations
     public static boolean pathfindingDebugDraw      = false;
     public static int     pathfindingDebugVerbosity = 0;
     public static int     pathfindingMaxThreadCount = 2;
+    public static int     pathfindingMaxQueuedJobs  = 256;
+    public static int     pathfindingMaxNodes       = 20000;
+    public static int     pathfindingMaxTime        = 250;
+    public static boolean pathfindingRecordJobs     = false;
+
+    public static int viewBatchCompressionThreshold = 1024;
+    public static int colonyMaintenanceBudget       = 2;
+    public static boolean materialIndexLookups      = true;
 
     public static String[] maleFirstNames = new String[]
                                               {
@@ -10,6 +10,7 @@ import com.minecolonies.coremod.colony.jobs.AbstractJob;
 import com.minecolonies.coremod.colony.jobs.JobGuard;
 import com.minecolonies.coremod.configuration.Configurations;
 import com.minecolonies.coremod.entity.ai.basic.AbstractEntityAIInteract;
+import com.minecolonies.coremod.entity.ai.util.AIWakeEvent;
 import com.minecolonies.coremod.entity.ai.minimal.*;
 import com.minecolonies.coremod.entity.pathfinding.PathNavigate;
 import com.minecolonies.coremod.entity.pathfinding.WalkToProxy;
@@ -269,6 +270,20 @@ public class EntityCitizen extends EntityAgeable implements INpc
         return citizenData == null ? null : citizenData.getJob();
     }
 
+    /**
+     * Wakes the ai of the job if it sleeps until this event.
+     *
+     * @param event the event which happened.
+     */
+    public void onWakeEvent(@NotNull final AIWakeEvent event)
+    {
+        final AbstractJob job = getColonyJob();
+        if (job != null)
+        {
+            job.onWakeEvent(event);
+        }
+    }
+
     /**
      * Defines job changes and state changes of the citizen.
      *
@@ -930,10 +945,16 @@ public class EntityCitizen extends EntityAgeable implements INpc
      */
     private void handleNullColony()
     {
-        final Colony c = ColonyManager.getColony(colonyId);
+        final Colony c = ColonyManager.requestColony(colonyId);
 
         if (c == null)
         {
+            if (ColonyManager.isColonyLoading(colonyId))
+            {
+                //  The colony is still being read, try again next tick
+                return;
+            }
+
             Log.getLogger().warn(String.format("EntityCitizen '%s' unable to find Colony #%d", getUniqueID(), colonyId));
             setDead();
             return;
@@ -1017,7 +1038,7 @@ public class EntityCitizen extends EntityAgeable implements INpc
 
         onJobChanged(getColonyJob());
 
-        inventory.createMaterialStore(c.getMaterialSystem());
+        inventory.createMaterialStore(c.getMaterialSystem(), citizenId);
     }
 
     /**
@@ -1,17 +1,20 @@
 package com.minecolonies.coremod.entity.ai.basic;
 
+import com.minecolonies.coremod.colony.Colony;
 import com.minecolonies.coremod.colony.jobs.AbstractJob;
 import com.minecolonies.coremod.entity.EntityCitizen;
 import com.minecolonies.coremod.entity.ai.util.AIState;
 import com.minecolonies.coremod.entity.ai.util.AITarget;
+import com.minecolonies.coremod.entity.ai.util.AITickStatistics;
+import com.minecolonies.coremod.entity.ai.util.AIWakeEvent;
 import com.minecolonies.coremod.entity.ai.util.ChatSpamFilter;
 import com.minecolonies.coremod.util.Log;
 import net.minecraft.entity.ai.EntityAIBase;
 import net.minecraft.world.World;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.*;
 
 import static com.minecolonies.coremod.entity.EntityCitizen.Status.IDLE;
 
@@ -20,6 +23,11 @@ import static com.minecolonies.coremod.entity.EntityCitizen.Status.IDLE;
  * Here general target execution will be handled.
  * No utility on this level!
  * That's what {@link AbstractEntityAIInteract} is for.
+ * <p>
+ * The targets are sorted by the state they match on once. A tick first checks the global targets which are due, a
+ * global target is checked every {@link AITarget#getTickRate()} ticks, then the targets of the current state.
+ * An ai can sleep for a number of ticks, optionally until an {@link AIWakeEvent} happens, and costs nothing while it
+ * sleeps.
  *
  * @param <J> the job this ai will have.
  */
@@ -36,11 +44,35 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
     protected final ChatSpamFilter      chatSpamFilter;
     @NotNull
     private final   ArrayList<AITarget> targetList;
+    /**
+     * The targets to check in each state, in the order of registration.
+     * Compiled from the target list on first use.
+     */
+    @NotNull
+    private final Map<AIState, AITarget[]> targetsByState = new EnumMap<>(AIState.class);
+    /**
+     * The global targets, in the order of registration, null until compiled from the target list.
+     */
+    @Nullable
+    private AITarget[] globalTargets;
+    /**
+     * The events which end the current sleep early.
+     */
+    @NotNull
+    private final Set<AIWakeEvent>         wakeEvents     = EnumSet.noneOf(AIWakeEvent.class);
     /**
      * The current state the ai is in.
      * Used to compare to state matching targets.
      */
     private         AIState             state;
+    /**
+     * The ticks the ai still sleeps.
+     */
+    private         int                 sleepTicks;
+    /**
+     * The ticks the ai was awake, the global targets are due when it is a multiple of their tick rate.
+     */
+    private         int                 awakeTicks;
 
     /**
      * Sets up some important skeleton stuff for every ai.
@@ -67,6 +99,8 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
     private void registerTarget(final AITarget target)
     {
         targetList.add(target);
+        targetsByState.clear();
+        globalTargets = null;
     }
 
     /**
@@ -126,7 +160,109 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
     @Override
     public final void updateTask()
     {
-        targetList.stream().anyMatch(this::checkOnTarget);
+        if (sleepTicks > 0)
+        {
+            sleepTicks--;
+            AITickStatistics.onSleptTick();
+            return;
+        }
+
+        final AIState currentState = state;
+        final long start = System.nanoTime();
+        if (!checkGlobalTargets())
+        {
+            for (@NotNull final AITarget target : getTargets(currentState))
+            {
+                if (checkOnTarget(target))
+                {
+                    break;
+                }
+            }
+        }
+        awakeTicks++;
+        AITickStatistics.onTick(currentState, System.nanoTime() - start);
+    }
+
+    /**
+     * Checks the global targets which are due this tick.
+     *
+     * @return true if one of them worked and no more targets should be checked this tick.
+     */
+    private boolean checkGlobalTargets()
+    {
+        if (globalTargets == null)
+        {
+            globalTargets = targetList.stream().filter(target -> target.getState() == null).toArray(AITarget[]::new);
+        }
+        for (@NotNull final AITarget target : globalTargets)
+        {
+            if (awakeTicks % target.getTickRate() == 0 && checkOnTarget(target))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the targets to check in a state.
+     *
+     * @param currentState the state.
+     * @return the targets of the state, in the order of registration.
+     */
+    @NotNull
+    private AITarget[] getTargets(@NotNull final AIState currentState)
+    {
+        return targetsByState.computeIfAbsent(currentState,
+          key -> targetList.stream()
+                   .filter(target -> target.getState() == key)
+                   .toArray(AITarget[]::new));
+    }
+
+    /**
+     * Lets the ai sleep, it doesn't check any targets until the time is over or one of the events happens.
+     * A new sleep replaces the current one.
+     * An ai which sleeps until a block changes is woken by its colony, see {@link Colony#addBlockChangeSleeper(AbstractJob)}.
+     *
+     * @param ticks  the ticks to sleep.
+     * @param wakeOn the events which wake the ai early.
+     */
+    protected final void sleep(final int ticks, @NotNull final AIWakeEvent... wakeOn)
+    {
+        sleepTicks = Math.max(0, ticks);
+        wakeEvents.clear();
+        wakeEvents.addAll(Arrays.asList(wakeOn));
+        if (sleepTicks > 0 && wakeEvents.contains(AIWakeEvent.BLOCK_CHANGED))
+        {
+            @Nullable final Colony colony = job.getColony();
+            if (colony != null)
+            {
+                colony.addBlockChangeSleeper(job);
+            }
+        }
+    }
+
+    /**
+     * Wakes the ai if it sleeps until this event.
+     *
+     * @param event the event which happened.
+     */
+    public final void wakeUp(@NotNull final AIWakeEvent event)
+    {
+        if (sleepTicks > 0 && wakeEvents.contains(event))
+        {
+            sleepTicks = 0;
+        }
+    }
+
+    /**
+     * Check if the ai sleeps.
+     *
+     * @return true if it does.
+     */
+    public final boolean isAsleep()
+    {
+        return sleepTicks > 0;
     }
 
     /**
@@ -144,8 +280,8 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
 
     /**
      * Checks on one target to see if it has to be executed.
-     * It first checks for the state of the ai.
-     * If that matches it tests the predicate if the ai
+     * The state of the target already matches the one of the ai.
+     * It tests the predicate if the ai
      * wants to run the target.
      * And if that's a yes, runs the target.
      * Tester and target are both error-checked
@@ -156,10 +292,6 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
      */
     private boolean checkOnTarget(@NotNull final AITarget target)
     {
-        if (state != target.getState() && target.getState() != null)
-        {
-            return false;
-        }
         try
         {
             if (!target.test())
@@ -2,13 +2,18 @@ package com.minecolonies.coremod.entity.ai.basic;
 
 import com.minecolonies.coremod.colony.buildings.AbstractBuildingWorker;
 import com.minecolonies.coremod.colony.jobs.AbstractJob;
+import com.minecolonies.coremod.colony.materials.MaterialStore;
+import com.minecolonies.coremod.configuration.Configurations;
 import com.minecolonies.coremod.entity.ai.item.handling.ItemStorage;
 import com.minecolonies.coremod.entity.ai.util.AIState;
 import com.minecolonies.coremod.entity.ai.util.AITarget;
+import com.minecolonies.coremod.entity.ai.util.AIWakeEvent;
 import com.minecolonies.coremod.entity.pathfinding.WalkToProxy;
 import com.minecolonies.coremod.inventory.InventoryCitizen;
+import com.minecolonies.coremod.tileentities.TileEntityColonyBuilding;
 import com.minecolonies.coremod.util.*;
 import net.minecraft.block.Block;
+import net.minecraft.inventory.IInventory;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.math.BlockPos;
 import org.jetbrains.annotations.NotNull;
@@ -16,6 +21,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 import static com.minecolonies.coremod.entity.ai.util.AIState.*;
 
@@ -40,10 +46,19 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
      * The number of actions done before item dump.
      */
     private static final int ACTIONS_UNTIL_DUMP = 32;
+    /**
+     * Ticks between the checks of the global targets which don't have to stop the ai at once.
+     */
+    private static final int GUARD_TICK_RATE = 20;
     /**
      * Hit a block every x ticks when mining.
      */
     private static final int             HIT_EVERY_X_TICKS       = 5;
+    /**
+     * The states in which the ai waits for items or tools, an inventory change ends the wait.
+     */
+    private static final Set<AIState>    WAITING_FOR_ITEMS       =
+      EnumSet.of(NEEDS_ITEM, NEEDS_SHOVEL, NEEDS_AXE, NEEDS_HOE, NEEDS_PICKAXE, NEEDS_WEAPON);
     /**
      * The list of all items and their quantity that were requested by the worker.
      * Warning: This list does not change, if you need to see what is currently missing,
@@ -107,6 +122,11 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
      * The minimum pickaxe level we need to fulfill the tool request.
      */
     private int needsPickaxeLevel = -1;
+    /**
+     * Another store of the colony with a pickaxe of the needed level, the worker fetches it from there.
+     */
+    @Nullable
+    private MaterialStore pickaxeStore = null;
 
     /**
      * If we have waited one delay.
@@ -138,10 +158,10 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
           new AITarget(INIT, this::initSafetyChecks),
                 /*
                  * Update chestbelt and nametag
-                 * Will be executed every time
+                 * Will be executed every second
                  * and does not stop execution
                  */
-          new AITarget(this::updateVisualState),
+          new AITarget(this::updateVisualState, GUARD_TICK_RATE),
                 /*
                  * If waitingForSomething returns true
                  * stop execution to wait for it.
@@ -172,8 +192,9 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
           new AITarget(INVENTORY_FULL, this::dumpInventory),
                 /*
                  * Check if inventory has to be dumped.
+                 * Checked every second.
                  */
-          new AITarget(this::inventoryNeedsDump, INVENTORY_FULL)
+          new AITarget(this::inventoryNeedsDump, INVENTORY_FULL, GUARD_TICK_RATE)
         );
     }
 
@@ -205,6 +226,11 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
      */
     private boolean inventoryNeedsDump()
     {
+        //  Global targets go before the ones of the state, not before the safety checks or while dumping
+        if (getState() == INIT || getState() == INVENTORY_FULL)
+        {
+            return false;
+        }
         return worker.isInventoryFull()
                  || actionsDone >= getActionsDoneUntilDumping()
                  || wantInventoryDumped();
@@ -291,6 +317,8 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
      * In that case, don't execute any more AI code, until it returns false.
      * Call this exactly once per tick to get the delay right.
      * The worker will move and animate correctly while he waits.
+     * If there is nothing to walk to or hit, the ai sleeps through the rest of the wait,
+     * waiting for items or tools ends early when the inventory changes.
      *
      * @return true if we have to wait for something
      *
@@ -312,6 +340,18 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
                 worker.hitBlockWithToolInHand(currentWorkingLocation);
             }
             delay--;
+            if (currentStandingLocation == null && currentWorkingLocation == null && delay > 0)
+            {
+                if (WAITING_FOR_ITEMS.contains(getState()))
+                {
+                    sleep(delay, AIWakeEvent.INVENTORY_CHANGED);
+                }
+                else
+                {
+                    sleep(delay);
+                }
+                delay = 0;
+            }
             return true;
         }
         clearWorkTarget();
@@ -407,14 +447,44 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
     public boolean isInHut(@Nullable final ItemStack is)
     {
         @Nullable final AbstractBuildingWorker buildingMiner = getOwnBuilding();
-        return buildingMiner != null
-                 && is != null
-                 && InventoryFunctions
-                      .matchFirstInInventory(
-                        buildingMiner.getTileEntity(),
-                        stack -> stack != null && is.isItemEqual(stack),
-                        this::takeItemStackFromChest
-                      );
+        if (buildingMiner == null || is == null)
+        {
+            return false;
+        }
+
+        final Predicate<ItemStack> tester = stack -> stack != null && is.isItemEqual(stack);
+        return takeFirstFromHut(buildingMiner, store -> store.findSlot(is.getItem(), tester), tester);
+    }
+
+    /**
+     * Takes the first stack from the chest of the hut which passes a tester.
+     * The slot comes from the material store of the building while it is attached to the chest, else the chest is
+     * searched.
+     *
+     * @param building the building of the worker.
+     * @param lookup   finds the slot in the material store, null if the store can't tell.
+     * @param tester   the tester for the stacks.
+     * @return true if a stack was found.
+     */
+    private boolean takeFirstFromHut(
+                                      @NotNull final AbstractBuildingWorker building,
+                                      @Nullable final ToIntFunction<MaterialStore> lookup,
+                                      @NotNull final Predicate<ItemStack> tester)
+    {
+        final TileEntityColonyBuilding chest = building.getTileEntity();
+        final MaterialStore store = building.getMaterialStore();
+        if (lookup != null && Configurations.materialIndexLookups && chest != null && store.getInventory() == chest)
+        {
+            final int slot = lookup.applyAsInt(store);
+            if (slot < 0)
+            {
+                return false;
+            }
+            takeItemStackFromChest(slot);
+            return true;
+        }
+
+        return InventoryFunctions.matchFirstInInventory(chest, tester, this::takeItemStackFromChest);
     }
 
     /**
@@ -521,13 +591,7 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
 
     private boolean checkForTool(@NotNull final String tool)
     {
-        final boolean needsTool = !InventoryFunctions
-                                     .matchFirstInInventory(
-                                       worker.getInventoryCitizen(),
-                                       stack -> Utils.isTool(stack, tool),
-                                       InventoryFunctions::doNothing
-                                     );
-        if (!needsTool)
+        if (hasInInventory(stack -> Utils.isTool(stack, tool)))
         {
             return false;
         }
@@ -544,15 +608,38 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
         return true;
     }
 
+    /**
+     * Checks if the worker has a stack matching a predicate, looking only at the slots which aren't empty.
+     *
+     * @param tester the predicate, never given null.
+     * @return true if a stack matches.
+     */
+    private boolean hasInInventory(@NotNull final Predicate<ItemStack> tester)
+    {
+        @NotNull final InventoryCitizen inventory = worker.getInventoryCitizen();
+        for (int slot = inventory.getNextOccupiedSlot(0); slot >= 0; slot = inventory.getNextOccupiedSlot(slot + 1))
+        {
+            if (tester.test(inventory.getStackInSlot(slot)))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private boolean isToolInHut(final String tool)
     {
         @Nullable final AbstractBuildingWorker buildingWorker = getOwnBuilding();
-        return buildingWorker != null
-                 && InventoryFunctions.matchFirstInInventory(
-          buildingWorker.getTileEntity(),
-          stack -> Utils.isTool(stack, tool),
-          this::takeItemStackFromChest
-        );
+        if (buildingWorker == null)
+        {
+            return false;
+        }
+
+        final Predicate<ItemStack> tester = stack -> Utils.isTool(stack, tool);
+        return takeFirstFromHut(
+          buildingWorker,
+          MaterialStore.isIndexedCategory(tool) ? store -> store.findSlotInCategory(tool, tester) : null,
+          tester);
     }
 
     /**
@@ -650,6 +737,10 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
         if (needsPickaxe)
         {
             needsPickaxeLevel = minlevel;
+            if (pickaxeStore != null)
+            {
+                return takePickaxeFromStore(minlevel);
+            }
             if (walkToBuilding())
             {
                 return false;
@@ -658,11 +749,72 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
             {
                 return true;
             }
+            if (findPickaxeInColony(minlevel))
+            {
+                return true;
+            }
             requestWithoutSpam("Pickaxe at least level " + minlevel);
         }
+        else
+        {
+            pickaxeStore = null;
+        }
         return needsPickaxe;
     }
 
+    /**
+     * Looks up the nearest other store of the colony which holds a pickaxe of {@code minLevel} in the material index.
+     * The worker then fetches it from there, see {@link #takePickaxeFromStore(int)}.
+     *
+     * @param minlevel the needed pickaxe level
+     * @return true if a store was found
+     */
+    private boolean findPickaxeInColony(final int minlevel)
+    {
+        @Nullable final AbstractBuildingWorker buildingWorker = getOwnBuilding();
+        if (buildingWorker == null || !Configurations.materialIndexLookups)
+        {
+            return false;
+        }
+
+        pickaxeStore = buildingWorker.getColony().getMaterialSystem()
+                         .getNearestStoreWithTool(Utils.PICKAXE, minlevel, buildingWorker.getLocation(), buildingWorker.getMaterialStore());
+        return pickaxeStore != null;
+    }
+
+    /**
+     * Walks to the store found by {@link #findPickaxeInColony(int)} and takes the pickaxe.
+     * If the pickaxe is gone by then, the worker looks again the next time.
+     *
+     * @param minlevel the needed pickaxe level
+     * @return true if the pickaxe was taken or is gone, false while walking
+     */
+    private boolean takePickaxeFromStore(final int minlevel)
+    {
+        final MaterialStore store = pickaxeStore;
+        final BlockPos location = store.getLocation();
+        if (location != null && walkToBlock(location))
+        {
+            return false;
+        }
+
+        pickaxeStore = null;
+        final IInventory inventory = store.getInventory();
+        if (location == null || inventory == null)
+        {
+            return true;
+        }
+
+        final int slot = store.findSlotInCategory(
+          Utils.PICKAXE,
+          stack -> Utils.checkIfPickaxeQualifies(minlevel, Utils.getMiningLevel(stack, Utils.PICKAXE)));
+        if (slot >= 0)
+        {
+            InventoryUtils.takeStackInSlot(inventory, worker.getInventoryCitizen(), slot);
+        }
+        return true;
+    }
+
     /**
      * Looks for a pickaxe to mine a block of {@code minLevel}.
      * The pickaxe will be taken from the chest.
@@ -675,15 +827,20 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
     private boolean isPickaxeInHut(final int minlevel)
     {
         @Nullable final AbstractBuildingWorker buildingWorker = getOwnBuilding();
-        return buildingWorker != null
-                 && InventoryFunctions.matchFirstInInventory(
-          buildingWorker.getTileEntity(),
-          stack -> Utils.checkIfPickaxeQualifies(
-            minlevel,
-            Utils.getMiningLevel(stack, Utils.PICKAXE)
-          ),
-          this::takeItemStackFromChest
+        if (buildingWorker == null)
+        {
+            return false;
+        }
+
+        final Predicate<ItemStack> tester = stack -> Utils.checkIfPickaxeQualifies(
+          minlevel,
+          Utils.getMiningLevel(stack, Utils.PICKAXE)
         );
+        //Without a minimum level any slot qualifies, even one without a pickaxe.
+        return takeFirstFromHut(
+          buildingWorker,
+          minlevel >= 0 ? store -> store.findSlotInCategory(Utils.PICKAXE, tester) : null,
+          tester);
     }
 
     /**
@@ -711,12 +868,7 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
     public boolean checkForWeapon()
     {
         //Check for a pickaxe
-        needsWeapon = !InventoryFunctions
-                         .matchFirstInInventory(
-                           worker.getInventoryCitizen(),
-                           stack -> stack != null && Utils.doesItemServeAsWeapon(stack),
-                           InventoryFunctions::doNothing
-                         );
+        needsWeapon = !hasInInventory(Utils::doesItemServeAsWeapon);
 
         delay += DELAY_RECHECK;
 
@@ -746,12 +898,13 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
     private boolean isWeaponInHut()
     {
         @Nullable final AbstractBuildingWorker buildingWorker = getOwnBuilding();
-        return buildingWorker != null
-                 && InventoryFunctions.matchFirstInInventory(
-          buildingWorker.getTileEntity(),
-          stack -> stack != null && (Utils.doesItemServeAsWeapon(stack)),
-          this::takeItemStackFromChest
-        );
+        if (buildingWorker == null)
+        {
+            return false;
+        }
+
+        final Predicate<ItemStack> tester = stack -> stack != null && (Utils.doesItemServeAsWeapon(stack));
+        return takeFirstFromHut(buildingWorker, store -> store.findSlotInCategory(MaterialStore.WEAPON, tester), tester);
     }
 
     /**
@@ -1093,7 +1246,11 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
         int bestSlot = -1;
         int bestLevel = Integer.MAX_VALUE;
         @NotNull final InventoryCitizen inventory = worker.getInventoryCitizen();
-        for (int i = 0; i < inventory.getSizeInventory(); i++)
+        //Without a tool type the empty hand counts as well, else only the stacks can be tools.
+        final boolean skipEmpty = tool != null;
+        for (int i = skipEmpty ? inventory.getNextOccupiedSlot(0) : 0;
+             i >= 0 && i < inventory.getSizeInventory();
+             i = skipEmpty ? inventory.getNextOccupiedSlot(i + 1) : (i + 1))
         {
             final ItemStack item = inventory.getStackInSlot(i);
             final int level = Utils.getMiningLevel(item, tool);
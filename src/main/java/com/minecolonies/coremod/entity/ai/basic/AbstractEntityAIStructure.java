@@ -129,6 +129,8 @@ public abstract class AbstractEntityAIStructure<J extends AbstractJob> extends A
                   || evaluationFunction.apply(currentBlock))
             {
                 final Structure.Result result = advanceBlock.get();
+                //  The progress is saved with the job
+                job.markDirty();
                 if (result == Structure.Result.AT_END)
                 {
                     return nextState;
@@ -478,39 +478,22 @@ public class EntityAIStructureBuilder extends AbstractEntityAIStructure<JobBuild
         //We need to deal with materials
         if (!Configurations.builderInfiniteResources && !job.getWorkOrder().isRequested())
         {
-            while (job.getStructure().findNextBlock())
+            //Only the blocks of the material bill which aren't in the world yet
+            job.getStructure().reset();
+            while (job.getStructure().findNextMaterial())
             {
                 if (job.getStructure().doesStructureBlockEqualWorldBlock())
                 {
                     continue;
                 }
 
-                @Nullable final Block block = job.getStructure().getBlock();
-
-                @NotNull final ItemStack itemstack = new ItemStack(block, 1);
-
                 final Block worldBlock = BlockPosUtil.getBlock(world, job.getStructure().getBlockPosition());
-
-                if (block != null
-                      && block != Blocks.AIR
-                      && worldBlock != Blocks.BEDROCK
-                      && !(worldBlock instanceof AbstractBlockHut)
-                      && !isBlockFree(block, 0))
+                if (worldBlock != Blocks.BEDROCK && !(worldBlock instanceof AbstractBlockHut))
                 {
-                    @NotNull final IBlockState blockState = job.getStructure().getBlockState();
-                    if (blockState instanceof BlockBed && blockState.getValue(BlockBed.PART).equals(BlockBed.EnumPartType.FOOT))
-                    {
-                        continue;
-                    }
-                    else if (blockState instanceof BlockDoor && blockState.getValue(BlockDoor.HALF).equals(BlockDoor.EnumDoorHalf.LOWER))
-                    {
-                        continue;
-                    }
-
                     final AbstractBuilding building = getOwnBuilding();
                     if (building instanceof BuildingBuilder)
                     {
-                        ((BuildingBuilder) building).addNeededResource(block, 1);
+                        ((BuildingBuilder) building).addNeededResource(job.getStructure().getBlock(), 1);
                     }
                 }
             }
@@ -522,25 +505,6 @@ public class EntityAIStructureBuilder extends AbstractEntityAIStructure<JobBuild
         return AIState.BUILDER_STRUCTURE_STEP;
     }
 
-    /**
-     * Defines blocks that can be built for free.
-     *
-     * @param block    The block to check if it is free.
-     * @param metadata The metadata of the block.
-     * @return true or false.
-     */
-    private static boolean isBlockFree(@Nullable final Block block, final int metadata)
-    {
-        return block == null
-                 || BlockUtils.isWater(block.getDefaultState())
-                 || block.equals(Blocks.LEAVES)
-                 || block.equals(Blocks.LEAVES2)
-                 || (block.equals(Blocks.DOUBLE_PLANT) && Utils.testFlag(metadata, 0x08))
-                 || (block instanceof BlockDoor && Utils.testFlag(metadata, 0x08))
-                 || block.equals(Blocks.GRASS)
-                 || block.equals(Blocks.DIRT);
-    }
-
     private boolean incrementBlock()
     {
         //method returns false if there is no next block (structures finished)
@@ -739,7 +703,7 @@ public class EntityAIStructureBuilder extends AbstractEntityAIStructure<JobBuild
             return true;
         }
 
-        if (isBlockFree(block, block.getMetaFromState(blockState)))
+        if (BlockUtils.isBlockFree(block, block.getMetaFromState(blockState)))
         {
             return true;
         }
@@ -823,7 +787,7 @@ public class EntityAIStructureBuilder extends AbstractEntityAIStructure<JobBuild
         }
 
         //It will crash at blocks like water which is actually free, we don't have to decrease the stacks we have.
-        if (isBlockFree(block, block.getMetaFromState(blockState)))
+        if (BlockUtils.isBlockFree(block, block.getMetaFromState(blockState)))
         {
             return true;
         }
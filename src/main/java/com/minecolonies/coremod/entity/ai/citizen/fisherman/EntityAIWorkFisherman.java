@@ -1,5 +1,6 @@
 package com.minecolonies.coremod.entity.ai.citizen.fisherman;
 
+import com.minecolonies.coremod.colony.Colony;
 import com.minecolonies.coremod.colony.buildings.BuildingFisherman;
 import com.minecolonies.coremod.colony.jobs.JobFisherman;
 import com.minecolonies.coremod.entity.EntityCitizen;
@@ -8,7 +9,7 @@ import com.minecolonies.coremod.entity.ai.basic.AbstractEntityAISkill;
 import com.minecolonies.coremod.entity.ai.item.handling.ItemStorage;
 import com.minecolonies.coremod.entity.ai.util.AIState;
 import com.minecolonies.coremod.entity.ai.util.AITarget;
-import com.minecolonies.coremod.entity.pathfinding.PathJobFindWater;
+import com.minecolonies.coremod.entity.ai.util.AIWakeEvent;
 import com.minecolonies.coremod.sounds.FishermanSounds;
 import com.minecolonies.coremod.util.InventoryUtils;
 import com.minecolonies.coremod.util.SoundUtils;
@@ -21,6 +22,7 @@ import net.minecraft.item.ItemFishingRod;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.SoundCategory;
 import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.BlockPos;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -33,8 +35,8 @@ import static com.minecolonies.coremod.entity.ai.util.AIState.*;
 /**
  * Fisherman AI class.
  * <p>
- * A fisherman has some ponds where
- * he randomly selects one and fishes there.
+ * A fisherman takes a random free spot out of the nearest fishing spots
+ * of the pond index of the colony and fishes there.
  * <p>
  * To keep it immersive he chooses his place at random around the pond.
  */
@@ -56,11 +58,6 @@ public class EntityAIWorkFisherman extends AbstractEntityAISkill<JobFisherman>
      */
     private static final String RENDER_META_ROD = "Rod";
 
-    /**
-     * The maximum number of ponds to remember at one time.
-     */
-    private static final int MAX_PONDS = 20;
-
     /**
      * Variable to calculate the delay the fisherman needs to throw his rod.
      * The delay will be calculated randomly. The FISHING_DELAY defines the upper limit.
@@ -95,9 +92,15 @@ public class EntityAIWorkFisherman extends AbstractEntityAISkill<JobFisherman>
     private static final String TOOL_TYPE_ROD = "rod";
 
     /**
-     * The range in which the fisherman searches water.
+     * The horizontal range around the hut in which the fisherman looks for fishing spots.
+     * The pond index of the colony covers this range around every fisherman hut.
+     */
+    public static final int SEARCH_RANGE = 50;
+
+    /**
+     * Time in ticks to wait before looking for fishing spots again if there were none.
      */
-    private static final int SEARCH_RANGE = 50;
+    private static final int WAIT_BEFORE_SEARCH = 100;
 
     /**
      * The percentage of times where the fisherman will check out a new pond.
@@ -129,18 +132,6 @@ public class EntityAIWorkFisherman extends AbstractEntityAISkill<JobFisherman>
      */
     private int executedRotations = 0;
 
-    /**
-     * The PathResult when the fisherman searches water.
-     */
-    @Nullable
-    private PathJobFindWater.WaterPathResult pathResult;
-
-    /**
-     * The Previous PathResult when the fisherman already found water.
-     */
-    @Nullable
-    private PathJobFindWater.WaterPathResult lastPathResult;
-
     /**
      * The fishingSkill which directly influences the fisherman's chance to throw his rod.
      * May in the future also influence his luck/charisma.
@@ -350,8 +341,7 @@ public class EntityAIWorkFisherman extends AbstractEntityAISkill<JobFisherman>
         }
         if (executedRotations >= MAX_ROTATIONS)
         {
-            job.removeFromPonds(job.getWater());
-            job.setWater(null);
+            discardWater();
             executedRotations = 0;
             return FISHERMAN_SEARCHING_WATER;
         }
@@ -362,8 +352,8 @@ public class EntityAIWorkFisherman extends AbstractEntityAISkill<JobFisherman>
     }
 
     /**
-     * Checks if the fisherman already has found 20 pools, if yes search a water pool out of these 20, else
-     * search a new one.
+     * Claims a fishing spot around the hut from the pond index of the colony.
+     * If there is none, tell that to the player and look again later.
      *
      * @return the next AIState the fisherman should switch to, after executing this method.
      */
@@ -371,71 +361,53 @@ public class EntityAIWorkFisherman extends AbstractEntityAISkill<JobFisherman>
     {
         //Reset executedRotations when fisherman searches a new Pond
         executedRotations = 0;
-        //If he can't find any pond, tell that to the player
-        //If 20 ponds are already stored, take a random stored location
-        if (job.getPonds().size() >= MAX_PONDS)
+
+        @Nullable final Colony colony = worker.getColony();
+        if (colony == null || getOwnBuilding() == null)
         {
-            return setRandomWater();
+            return IDLE;
         }
-        return findNewWater();
-    }
 
-    /**
-     * If the fisherman can't find 20 ponds or already has found 20, the fisherman should randomly choose a fishing spot
-     * from the previously found ones.
-     *
-     * @return the next AIState.
-     */
-    private AIState setRandomWater()
-    {
-        if (job.getPonds().isEmpty())
+        @Nullable final BlockPos water =
+          colony.getPondIndex().claimSpot(world, getOwnBuilding().getLocation(), SEARCH_RANGE, worker.getCitizenData().getId(), random);
+        if (water == null)
         {
-            if (lastPathResult != null && lastPathResult.isEmpty && !lastPathResult.isCancelled())
+            //  Before the first scan is done the water may just not be indexed yet
+            if (colony.getPondIndex().isScanComplete())
             {
                 chatSpamFilter.talkWithoutSpam("entity.fisherman.messageWaterTooFar");
             }
-            pathResult = worker.getNavigator().moveToWater(SEARCH_RANGE, 1.0D, job.getPonds());
+            //  New water comes with a changed block, a spot claimed by another fisherman frees up in time
+            sleep(WAIT_BEFORE_SEARCH, AIWakeEvent.BLOCK_CHANGED);
             return getState();
         }
-        job.setWater(job.getPonds().get(random.nextInt(job.getPonds().size())));
 
+        job.setWater(water);
         return FISHERMAN_CHECK_WATER;
     }
 
     /**
-     * Uses the pathFinding system to search close water spots which possibilitate fishing.
-     * Sets a number of possible water pools and sets the water pool the fisherman should fish now.
-     *
-     * @return the next AIState the fisherman should switch to, after executing this method
+     * Leaves the current fishing spot to other fishermen.
      */
-    private AIState findNewWater()
+    private void releaseWater()
     {
-        if (pathResult == null)
-        {
-            pathResult = worker.getNavigator().moveToWater(SEARCH_RANGE, 1.0D, job.getPonds());
-            return getState();
-        }
-        if (pathResult.failedToReachDestination())
-        {
-            return setRandomWater();
-        }
-        if (pathResult.getPathReachesDestination())
+        if (job.getWater() != null && worker.getColony() != null)
         {
-            if (pathResult.pond != null)
-            {
-                job.setWater(pathResult.pond);
-                job.addToPonds(pathResult.pond);
-            }
-            lastPathResult = pathResult;
-            pathResult = null;
-            return FISHERMAN_CHECK_WATER;
+            worker.getColony().getPondIndex().release(job.getWater(), worker.getCitizenData().getId());
         }
-        if (pathResult.isCancelled())
+        job.setWater(null);
+    }
+
+    /**
+     * Drops the current fishing spot from the pond index since it can't be fished at.
+     */
+    private void discardWater()
+    {
+        if (job.getWater() != null && worker.getColony() != null)
         {
-            pathResult = null;
-            return PREPARING;
+            worker.getColony().getPondIndex().remove(job.getWater());
         }
-        return getState();
+        job.setWater(null);
     }
 
     /**
@@ -450,6 +422,10 @@ public class EntityAIWorkFisherman extends AbstractEntityAISkill<JobFisherman>
     private AIState doFishing()
     {
         worker.gatherXp();
+        if (job.getWater() != null && worker.getColony() != null)
+        {
+            worker.getColony().getPondIndex().claim(job.getWater(), worker.getCitizenData().getId(), world.getTotalWorldTime());
+        }
         @Nullable final AIState notReadyState = isReadyToFish();
         if (notReadyState != null)
         {
@@ -460,7 +436,7 @@ public class EntityAIWorkFisherman extends AbstractEntityAISkill<JobFisherman>
             playCaughtFishSound();
             if (random.nextDouble() < CHANCE_NEW_POND)
             {
-                job.setWater(null);
+                releaseWater();
                 return FISHERMAN_SEARCHING_WATER;
             }
             return FISHERMAN_WALKING_TO_WATER;
@@ -573,8 +549,7 @@ public class EntityAIWorkFisherman extends AbstractEntityAISkill<JobFisherman>
 
         if (world.getBlockState(worker.getPosition()).getBlock() == Blocks.WATER)
         {
-            job.removeFromPonds(job.getWater());
-            job.setWater(null);
+            discardWater();
             return FISHERMAN_SEARCHING_WATER;
         }
         //If there is no close water, try to move closer
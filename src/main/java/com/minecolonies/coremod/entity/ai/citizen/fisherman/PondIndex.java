@@ -0,0 +1,181 @@
+package com.minecolonies.coremod.entity.ai.citizen.fisherman;
+
+import com.minecolonies.coremod.colony.AbstractChunkIndex;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The fishing spots around a colony, shared by all its fishermen.
+ * <p>
+ * A fishing spot is a water block at the surface of a {@link Pond} which is next to a shore block a fisherman can
+ * stand on. Spots keep some distance to each other, so fishermen don't stand on each others feet.
+ * Chunks where water or a shore block changed are scanned again, spots aren't checked again when handed out.
+ * Fishermen claim the spot they fish at, a claimed spot isn't handed out to others.
+ */
+public final class PondIndex extends AbstractChunkIndex<Pond>
+{
+    /**
+     * Square distance two spots keep at least.
+     */
+    private static final int MIN_SPOT_DISTANCE_SQ = 40;
+
+    /**
+     * A spot is picked at random from this many of the nearest free spots.
+     */
+    private static final int SPOTS_TO_CHOOSE_FROM = 20;
+
+    /**
+     * Queues the chunk of a changed block for a scan if water or the shore of a spot changed.
+     *
+     * @param pos      the position of the block.
+     * @param oldState the state before the change.
+     * @param newState the state after the change.
+     */
+    public void onBlockChanged(@NotNull final BlockPos pos, @NotNull final IBlockState oldState, @NotNull final IBlockState newState)
+    {
+        if (!covers(pos))
+        {
+            return;
+        }
+
+        if (oldState.getMaterial() == Material.WATER || newState.getMaterial() == Material.WATER)
+        {
+            markDirty(pos);
+            return;
+        }
+
+        //  The shore block or the block above it
+        for (@NotNull final EnumFacing facing : EnumFacing.HORIZONTALS)
+        {
+            final BlockPos neighbour = pos.offset(facing);
+            if (get(neighbour) != null || get(neighbour.down()) != null)
+            {
+                markDirty(neighbour);
+            }
+        }
+    }
+
+    /**
+     * Finds the spots in a chunk.
+     * Only the top block of every column is looked at, so only water under the open sky counts.
+     * The shore and pond checks look up to a few blocks past the chunk, into neighbours which are loaded already.
+     *
+     * @param world the world.
+     * @param chunk the chunk.
+     * @return the spots by the position of their water block.
+     */
+    @NotNull
+    @Override
+    protected Map<BlockPos, Pond> scanChunk(@NotNull final World world, @NotNull final Chunk chunk)
+    {
+        @NotNull final Map<BlockPos, Pond> spots = new HashMap<>();
+        for (int x = 0; x < 16; x++)
+        {
+            for (int z = 0; z < 16; z++)
+            {
+                @NotNull final BlockPos water = new BlockPos((chunk.xPosition << 4) + x, chunk.getHeightValue(x, z) - 1, (chunk.zPosition << 4) + z);
+                if (chunk.getBlockState(water).getBlock() == Blocks.WATER && hasShore(world, water) && !isNearSpot(water, spots))
+                {
+                    @Nullable final Pond pond = Pond.createWater(world, water);
+                    if (pond != null)
+                    {
+                        spots.put(water, pond);
+                    }
+                }
+            }
+        }
+        return spots;
+    }
+
+    /**
+     * Checks if a fisherman can stand next to a water block.
+     *
+     * @param world the world.
+     * @param water the water block.
+     * @return true if there is a solid block with room above next to it.
+     */
+    private static boolean hasShore(@NotNull final World world, @NotNull final BlockPos water)
+    {
+        for (@NotNull final EnumFacing facing : EnumFacing.HORIZONTALS)
+        {
+            final BlockPos shore = water.offset(facing);
+            if (world.getBlockState(shore).getMaterial().isSolid() && world.isAirBlock(shore.up()) && world.isAirBlock(shore.up(2)))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a spot is already known close to a water block.
+     *
+     * @param water the water block.
+     * @param spots the spots found in its chunk so far.
+     * @return true if so.
+     */
+    private boolean isNearSpot(@NotNull final BlockPos water, @NotNull final Map<BlockPos, Pond> spots)
+    {
+        if (isNear(water, spots))
+        {
+            return true;
+        }
+        for (@NotNull final Map<BlockPos, Pond> neighbourSpots : getNeighbourEntries(water))
+        {
+            if (isNear(water, neighbourSpots))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isNear(@NotNull final BlockPos water, @NotNull final Map<BlockPos, Pond> spots)
+    {
+        for (@NotNull final BlockPos spot : spots.keySet())
+        {
+            if (spot.distanceSq(water) < MIN_SPOT_DISTANCE_SQ)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Claims a spot which isn't claimed by another fisherman, picked at random among the nearest ones.
+     *
+     * @param world     the world of the colony.
+     * @param from      the position to measure the distance from.
+     * @param range     the horizontal distance within which to look.
+     * @param citizenId the id of the citizen who claims the spot.
+     * @param random    the random to pick with.
+     * @return the water block of the spot or null if there is none.
+     */
+    @Nullable
+    public BlockPos claimSpot(@NotNull final World world, @NotNull final BlockPos from, final int range, final int citizenId, @NotNull final Random random)
+    {
+        final long now = world.getTotalWorldTime();
+        @NotNull final List<BlockPos> available = getAvailable(from, range, citizenId, now, SPOTS_TO_CHOOSE_FROM);
+        if (available.isEmpty())
+        {
+            return null;
+        }
+
+        final BlockPos spot = available.get(random.nextInt(available.size()));
+        claim(spot, citizenId, now);
+        return spot;
+    }
+}
@@ -10,6 +10,7 @@ import com.minecolonies.coremod.configuration.Configurations;
 import com.minecolonies.coremod.entity.ai.basic.AbstractEntityAISkill;
 import com.minecolonies.coremod.entity.ai.util.AIState;
 import com.minecolonies.coremod.entity.ai.util.AITarget;
+import com.minecolonies.coremod.entity.pathfinding.PathPriority;
 import com.minecolonies.coremod.tileentities.TileEntityColonyBuilding;
 import com.minecolonies.coremod.util.BlockPosUtil;
 import com.minecolonies.coremod.util.LanguageHandler;
@@ -160,6 +161,9 @@ public abstract class AbstractEntityAIGuard extends AbstractEntityAISkill<JobGua
      */
     private boolean checkIfExecute()
     {
+        //  Chasing a target goes before the paths of the other citizens
+        worker.getNavigator().setPathPriority(getState() == GUARD_HUNT_DOWN_TARGET ? PathPriority.URGENT : PathPriority.NORMAL);
+
         final AbstractBuilding building = getOwnBuilding();
         if (!(building instanceof BuildingGuardTower))
         {
@@ -176,6 +180,7 @@ public abstract class AbstractEntityAIGuard extends AbstractEntityAISkill<JobGua
             return false;
         }
 
+        worker.getNavigator().setPathPriority(PathPriority.URGENT);
         worker.isWorkerAtSiteWithMove(building.getLocation(), PATH_CLOSE);
         return true;
     }
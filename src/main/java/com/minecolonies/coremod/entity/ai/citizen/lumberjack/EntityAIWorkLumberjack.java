@@ -1,10 +1,12 @@
 package com.minecolonies.coremod.entity.ai.citizen.lumberjack;
 
+import com.minecolonies.coremod.colony.Colony;
 import com.minecolonies.coremod.colony.jobs.JobLumberjack;
 import com.minecolonies.coremod.entity.ai.basic.AbstractEntityAIInteract;
 import com.minecolonies.coremod.entity.ai.item.handling.ItemStorage;
 import com.minecolonies.coremod.entity.ai.util.AIState;
 import com.minecolonies.coremod.entity.ai.util.AITarget;
+import com.minecolonies.coremod.entity.ai.util.AIWakeEvent;
 import com.minecolonies.coremod.entity.pathfinding.PathJobFindTree;
 import com.minecolonies.coremod.util.BlockPosUtil;
 import net.minecraft.block.Block;
@@ -37,19 +39,20 @@ public class EntityAIWorkLumberjack extends AbstractEntityAIInteract<JobLumberja
     private static final String RENDER_META_LOGS = "Logs";
 
     /**
-     * The range in which the lumberjack searches for trees.
+     * The range around the hut in which the lumberjack looks for trees.
+     * The tree index of the colony covers this range around every lumberjack hut.
      */
-    private static final int SEARCH_RANGE = 50;
+    public static final int SEARCH_LIMIT = 150;
 
     /**
-     * If no trees are found, increment the range.
+     * The range in which the lumberjack searches for trees while the tree index isn't done with its first scan.
      */
-    private static final int SEARCH_INCREMENT = 5;
+    private static final int SEARCH_RANGE = 50;
 
     /**
-     * If this limit is reached, no trees are found.
+     * If no trees are found, increment the range.
      */
-    private static final int SEARCH_LIMIT = 150;
+    private static final int SEARCH_INCREMENT = 5;
 
     /**
      * Number of ticks to wait before coming to the conclusion of being stuck.
@@ -102,6 +105,10 @@ public class EntityAIWorkLumberjack extends AbstractEntityAIInteract<JobLumberja
      * range of the lumberjack.
      */
     private static final int   WAIT_BEFORE_SEARCH      = 100;
+    /**
+     * Time in ticks to sleep at most while the path of a tree search is searched and walked.
+     */
+    private static final int   WAIT_FOR_PATH           = 100;
     /**
      * Time in ticks before incrementing the search radius.
      */
@@ -219,17 +226,15 @@ public class EntityAIWorkLumberjack extends AbstractEntityAIInteract<JobLumberja
 
     /**
      * If the search radius was exceeded,
-     * we have to wait dome time before
+     * we have to wait some time before
      * searching again.
+     * Sleeps until a block of the colony changed, a tree may have grown.
      *
-     * @return LUMBERJACK_SEARCHING_TREE once waited enough.
+     * @return LUMBERJACK_SEARCHING_TREE to search again once awake.
      */
     private AIState waitBeforeCheckingAgain()
     {
-        if (hasNotDelayed(WAIT_BEFORE_SEARCH))
-        {
-            return getState();
-        }
+        sleep(WAIT_BEFORE_SEARCH, AIWakeEvent.BLOCK_CHANGED);
         return LUMBERJACK_SEARCHING_TREE;
     }
 
@@ -247,46 +252,87 @@ public class EntityAIWorkLumberjack extends AbstractEntityAIInteract<JobLumberja
         return LUMBERJACK_CHOP_TREE;
     }
 
+    /**
+     * Claim the nearest tree of the tree index of the colony which no other lumberjack works on.
+     * Until the index has scanned its area once, search for a tree instead.
+     *
+     * @return LUMBERJACK_NO_TREES_FOUND if there is none.
+     */
+    private AIState findTree()
+    {
+        @Nullable final Colony colony = worker.getColony();
+        if (colony == null || getOwnBuilding() == null)
+        {
+            return IDLE;
+        }
+
+        if (!colony.getTreeIndex().isScanComplete() || pathResult != null)
+        {
+            return searchTree(colony);
+        }
+
+        @Nullable final BlockPos treeLocation =
+          colony.getTreeIndex().claimNearestTree(world, getOwnBuilding().getLocation(), SEARCH_LIMIT, worker.getCitizenData().getId());
+        if (treeLocation == null)
+        {
+            return LUMBERJACK_NO_TREES_FOUND;
+        }
+
+        job.tree = new Tree(world, treeLocation);
+        job.tree.findLogs(world);
+        return LUMBERJACK_CHOP_TREE;
+    }
+
     /**
      * Search for a tree.
+     * Sleeps until the path of the search is walked or given up.
      *
+     * @param colony the colony of the lumberjack.
      * @return LUMBERJACK_GATHERING if job was canceled.
      */
-    private AIState findTree()
+    private AIState searchTree(@NotNull final Colony colony)
     {
         if (pathResult == null || pathResult.treeLocation == null)
         {
             pathResult = worker.getNavigator().moveToTree(SEARCH_RANGE + searchIncrement, 1.0D);
+            sleep(WAIT_FOR_PATH, AIWakeEvent.PATH_FINISHED);
             return getState();
         }
         if (pathResult.getPathReachesDestination())
         {
-            return setNewTree();
+            return setNewTree(colony);
         }
         if (pathResult.isCancelled())
         {
             pathResult = null;
             return LUMBERJACK_GATHERING;
         }
+        sleep(WAIT_FOR_PATH, AIWakeEvent.PATH_FINISHED);
         return getState();
     }
 
-    private AIState setNewTree()
+    private AIState setNewTree(@NotNull final Colony colony)
     {
         if (pathResult.treeLocation == null)
         {
             setDelay(WAIT_BEFORE_INCREMENT);
             if (searchIncrement + SEARCH_RANGE > SEARCH_LIMIT)
             {
+                pathResult = null;
                 return LUMBERJACK_NO_TREES_FOUND;
             }
             searchIncrement += SEARCH_INCREMENT;
         }
-        else
+        else if (colony.getTreeIndex().claimTree(world, pathResult.treeLocation, worker.getCitizenData().getId()))
         {
             job.tree = new Tree(world, pathResult.treeLocation);
             job.tree.findLogs(world);
         }
+        else
+        {
+            //  Claimed meanwhile or no tree after all, search again in a while
+            setDelay(WAIT_BEFORE_INCREMENT);
+        }
         pathResult = null;
 
         return getState();
@@ -309,6 +355,10 @@ public class EntityAIWorkLumberjack extends AbstractEntityAIInteract<JobLumberja
             return LUMBERJACK_SEARCHING_TREE;
         }
 
+        if (worker.getColony() != null)
+        {
+            worker.getColony().getTreeIndex().claim(job.tree.getLocation(), worker.getCitizenData().getId(), world.getTotalWorldTime());
+        }
         return chopTree();
     }
 
@@ -384,6 +434,10 @@ public class EntityAIWorkLumberjack extends AbstractEntityAIInteract<JobLumberja
     {
         if (plantSapling(job.tree.getLocation()))
         {
+            if (worker.getColony() != null)
+            {
+                worker.getColony().getTreeIndex().release(job.tree.getLocation(), worker.getCitizenData().getId());
+            }
             job.tree = null;
         }
     }
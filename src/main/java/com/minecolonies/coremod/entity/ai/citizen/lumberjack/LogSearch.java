@@ -0,0 +1,302 @@
+package com.minecolonies.coremod.entity.ai.citizen.lumberjack;
+
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Breadth first search for the logs connected to a log through all 26 neighbours.
+ * <p>
+ * Positions are packed into ints relative to the first log, the logs found are kept in an int array which doubles as
+ * the queue, and every position looked at goes into an open addressing set of packed positions, so no block is
+ * checked twice and the search neither recurses nor allocates per block.
+ */
+final class LogSearch
+{
+    /**
+     * Bits per coordinate of a packed position.
+     */
+    private static final int OFFSET_BITS = 10;
+
+    /**
+     * Added to the offsets to make them positive, a packed position is never 0 so 0 marks free slots of the set.
+     */
+    private static final int OFFSET_BIAS = 1 << (OFFSET_BITS - 1);
+
+    private static final int OFFSET_MASK = (1 << OFFSET_BITS) - 1;
+
+    /**
+     * Most logs a search can find, logs are at most this many blocks away from the first one.
+     */
+    static final int MAX_LOGS = OFFSET_BIAS - 1;
+
+    /**
+     * Initial capacity of the set of visited positions, must be a power of two.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * The set grows when it is fuller than this.
+     */
+    private static final float LOAD_FACTOR = 0.5F;
+
+    /**
+     * Checks if there is a log at a position.
+     */
+    @FunctionalInterface
+    interface LogCheck
+    {
+        /**
+         * Checks if there is a log at a position.
+         *
+         * @param x the x coordinate.
+         * @param y the y coordinate.
+         * @param z the z coordinate.
+         * @return true if so.
+         */
+        boolean isLog(int x, int y, int z);
+    }
+
+    private final int   startX;
+    private final int   startY;
+    private final int   startZ;
+    /**
+     * The packed positions of the logs in the order they were found.
+     */
+    private final int[] logs;
+    private       int   logCount;
+    /**
+     * The packed positions which were looked at.
+     */
+    private       int[] visited = new int[INITIAL_CAPACITY];
+    private       int   visitedCount;
+
+    /**
+     * Creates a search starting at a log.
+     *
+     * @param start   the position of the log.
+     * @param maxLogs the amount of logs after which the search stops, at most {@link #MAX_LOGS}.
+     */
+    LogSearch(@NotNull final BlockPos start, final int maxLogs)
+    {
+        this.startX = start.getX();
+        this.startY = start.getY();
+        this.startZ = start.getZ();
+        this.logs = new int[Math.min(maxLogs, MAX_LOGS)];
+    }
+
+    /**
+     * Finds the logs connected to the first one.
+     *
+     * @param check checks if there is a log at a position, the first position isn't checked.
+     */
+    void run(@NotNull final LogCheck check)
+    {
+        final int first = pack(0, 0, 0);
+        visit(first);
+        logs[logCount++] = first;
+
+        for (int head = 0; head < logCount; head++)
+        {
+            final int log = logs[head];
+            final int x = unpackX(log);
+            final int y = unpackY(log);
+            final int z = unpackZ(log);
+            for (int dy = -1; dy <= 1; dy++)
+            {
+                for (int dx = -1; dx <= 1; dx++)
+                {
+                    for (int dz = -1; dz <= 1; dz++)
+                    {
+                        final int neighbour = pack(x + dx, y + dy, z + dz);
+                        if (visit(neighbour) && check.isLog(startX + x + dx, startY + y + dy, startZ + z + dz))
+                        {
+                            logs[logCount++] = neighbour;
+                            if (logCount == logs.length)
+                            {
+                                return;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Amount of logs found.
+     *
+     * @return the amount.
+     */
+    int getLogCount()
+    {
+        return logCount;
+    }
+
+    /**
+     * The lowest log, the first one found if several are on the lowest level.
+     *
+     * @return the position.
+     */
+    @NotNull
+    BlockPos getBase()
+    {
+        int base = logs[0];
+        for (int i = 1; i < logCount; i++)
+        {
+            if (unpackY(logs[i]) < unpackY(base))
+            {
+                base = logs[i];
+            }
+        }
+        return toBlockPos(base);
+    }
+
+    /**
+     * The highest log, the first one found if several are on the highest level.
+     *
+     * @return the position.
+     */
+    @NotNull
+    BlockPos getTop()
+    {
+        int top = logs[0];
+        for (int i = 1; i < logCount; i++)
+        {
+            if (unpackY(logs[i]) > unpackY(top))
+            {
+                top = logs[i];
+            }
+        }
+        return toBlockPos(top);
+    }
+
+    /**
+     * The logs ordered by their distance to a position, nearer ones first.
+     * Logs are put into buckets of one block of distance, within a bucket they keep the order they were found in.
+     *
+     * @param from the position.
+     * @return the positions of the logs.
+     */
+    @NotNull
+    BlockPos[] getLogsByDistance(@NotNull final BlockPos from)
+    {
+        final int fromX = from.getX() - startX;
+        final int fromY = from.getY() - startY;
+        final int fromZ = from.getZ() - startZ;
+
+        final int[] buckets = new int[logCount];
+        int maxBucket = 0;
+        for (int i = 0; i < logCount; i++)
+        {
+            final int dx = unpackX(logs[i]) - fromX;
+            final int dy = unpackY(logs[i]) - fromY;
+            final int dz = unpackZ(logs[i]) - fromZ;
+            buckets[i] = (int) Math.sqrt((double) (dx * dx + dy * dy + dz * dz));
+            maxBucket = Math.max(maxBucket, buckets[i]);
+        }
+
+        //  Counting sort, first the start index of every bucket
+        final int[] bucketStarts = new int[maxBucket + 2];
+        for (int i = 0; i < logCount; i++)
+        {
+            bucketStarts[buckets[i] + 1]++;
+        }
+        for (int bucket = 1; bucket < bucketStarts.length; bucket++)
+        {
+            bucketStarts[bucket] += bucketStarts[bucket - 1];
+        }
+
+        final BlockPos[] sorted = new BlockPos[logCount];
+        for (int i = 0; i < logCount; i++)
+        {
+            sorted[bucketStarts[buckets[i]]++] = toBlockPos(logs[i]);
+        }
+        return sorted;
+    }
+
+    /**
+     * Adds a position to the set of visited positions.
+     *
+     * @param key the packed position.
+     * @return true if it wasn't visited before.
+     */
+    private boolean visit(final int key)
+    {
+        if (visitedCount >= visited.length * LOAD_FACTOR)
+        {
+            resize(visited.length * 2);
+        }
+
+        final int mask = visited.length - 1;
+        int slot = hash(key) & mask;
+        while (visited[slot] != 0)
+        {
+            if (visited[slot] == key)
+            {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        visited[slot] = key;
+        visitedCount++;
+        return true;
+    }
+
+    /**
+     * Moves the visited positions into a set of a new capacity.
+     *
+     * @param capacity the new capacity, a power of two.
+     */
+    private void resize(final int capacity)
+    {
+        final int[] oldVisited = visited;
+        visited = new int[capacity];
+        visitedCount = 0;
+        for (final int key : oldVisited)
+        {
+            if (key != 0)
+            {
+                visit(key);
+            }
+        }
+    }
+
+    /**
+     * Spreads the bits of a key, neighbouring positions differ only in a few bits.
+     *
+     * @param key the packed position.
+     * @return the hash.
+     */
+    private static int hash(final int key)
+    {
+        final int mixed = key * 0x9E3779B9;
+        return mixed ^ (mixed >>> 16);
+    }
+
+    @NotNull
+    private BlockPos toBlockPos(final int key)
+    {
+        return new BlockPos(startX + unpackX(key), startY + unpackY(key), startZ + unpackZ(key));
+    }
+
+    private static int pack(final int x, final int y, final int z)
+    {
+        return ((x + OFFSET_BIAS) << (2 * OFFSET_BITS)) | ((y + OFFSET_BIAS) << OFFSET_BITS) | (z + OFFSET_BIAS);
+    }
+
+    private static int unpackX(final int key)
+    {
+        return ((key >> (2 * OFFSET_BITS)) & OFFSET_MASK) - OFFSET_BIAS;
+    }
+
+    private static int unpackY(final int key)
+    {
+        return ((key >> OFFSET_BITS) & OFFSET_MASK) - OFFSET_BIAS;
+    }
+
+    private static int unpackZ(final int key)
+    {
+        return (key & OFFSET_MASK) - OFFSET_BIAS;
+    }
+}
@@ -6,6 +6,7 @@ import net.minecraft.block.BlockNewLog;
 import net.minecraft.block.BlockOldLog;
 import net.minecraft.block.BlockPlanks;
 import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
 import net.minecraft.init.Blocks;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
@@ -17,6 +18,7 @@ import net.minecraftforge.common.util.Constants;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
@@ -70,7 +72,7 @@ public class Tree
     /**
      * All wood blocks connected to the tree.
      */
-    private LinkedList<BlockPos> woodBlocks;
+    private ArrayDeque<BlockPos> woodBlocks;
 
     /**
      * Is the tree a tree?
@@ -108,33 +110,53 @@ public class Tree
         final Block block = BlockPosUtil.getBlock(world, log);
         if (block.isWood(world, log))
         {
-            if (block instanceof BlockOldLog)
-            {
-                variant = world.getBlockState(log).getValue(BlockOldLog.VARIANT);
-            }
-            else if (block instanceof BlockNewLog)
-            {
-                variant = world.getBlockState(log).getValue(BlockNewLog.VARIANT);
-            }
-            else
-            {
-                variant = BlockPlanks.EnumType.OAK;
-            }
-
-            woodBlocks = new LinkedList<>();
-            location = log;
-            topLog = log;
+            variant = getVariant(world.getBlockState(log));
 
-            addAndSearch(world, log);
+            woodBlocks = new ArrayDeque<>();
+            @NotNull final LogSearch search = searchLogs(world, log);
+            location = search.getBase();
+            topLog = search.getTop();
 
             checkTree(world, topLog);
             stumpLocations = new ArrayList<>();
-            woodBlocks.clear();
         }
     }
 
     /**
-     * For use in PathJobFindTree.
+     * Get the wood variant of a log.
+     *
+     * @param log the state of the log.
+     * @return the variant, oak for logs of other mods.
+     */
+    @NotNull
+    public static BlockPlanks.EnumType getVariant(@NotNull final IBlockState log)
+    {
+        if (log.getBlock() instanceof BlockOldLog)
+        {
+            return log.getValue(BlockOldLog.VARIANT);
+        }
+        else if (log.getBlock() instanceof BlockNewLog)
+        {
+            return log.getValue(BlockNewLog.VARIANT);
+        }
+        return BlockPlanks.EnumType.OAK;
+    }
+
+    /**
+     * Get the height of a tree, from its base to its top log.
+     *
+     * @param world the world.
+     * @param pos   a log of the tree.
+     * @return the height in blocks.
+     */
+    public static int getHeight(@NotNull final IBlockAccess world, @NotNull final BlockPos pos)
+    {
+        final Tuple<BlockPos, BlockPos> baseAndTop = getBottomAndTopLog(world, pos, new LinkedList<>(), null, null);
+        return baseAndTop.getSecond().getY() - baseAndTop.getFirst().getY() + 1;
+    }
+
+    /**
+     * For use in the tree index of the colony.
      *
      * @param world the world.
      * @param pos   The coordinates.
@@ -246,7 +268,7 @@ public class Tree
         @NotNull final Tree tree = new Tree();
         tree.location = BlockPosUtil.readFromNBT(compound, TAG_LOCATION);
 
-        tree.woodBlocks = new LinkedList<>();
+        tree.woodBlocks = new ArrayDeque<>();
         final NBTTagList logs = compound.getTagList(TAG_LOGS, Constants.NBT.TAG_COMPOUND);
         for (int i = 0; i < logs.tagCount(); i++)
         {
@@ -305,8 +327,11 @@ public class Tree
      */
     public void findLogs(@NotNull final World world)
     {
-        addAndSearch(world, location);
-        Collections.sort(woodBlocks, (c1, c2) -> (int) (c1.distanceSq(location) - c2.distanceSq(location)));
+        @NotNull final LogSearch search = searchLogs(world, location);
+        location = search.getBase();
+        topLog = search.getTop();
+        woodBlocks.clear();
+        Collections.addAll(woodBlocks, search.getLogsByDistance(location));
         if (getStumpLocations().isEmpty())
         {
             fillTreeStumps(location.getY());
@@ -331,43 +356,19 @@ public class Tree
     }
 
     /**
-     * Adds a log and searches for further logs(Breadth first search).
+     * Searches the logs connected to a log (Breadth first search).
      *
      * @param world The world the log is in.
-     * @param log   the log to add.
+     * @param log   the log to start at.
+     * @return the finished search.
      */
-    private void addAndSearch(@NotNull final World world, @NotNull final BlockPos log)
+    @NotNull
+    private static LogSearch searchLogs(@NotNull final World world, @NotNull final BlockPos log)
     {
-        if (woodBlocks.size() >= MAX_TREE_SIZE)
-        {
-            return;
-        }
-
-        if (log.getY() < location.getY())
-        {
-            location = log;
-        }
-
-        if (log.getY() > topLog.getY())
-        {
-            topLog = log;
-        }
-
-        woodBlocks.add(log);
-        for (int y = -1; y <= 1; y++)
-        {
-            for (int x = -1; x <= 1; x++)
-            {
-                for (int z = -1; z <= 1; z++)
-                {
-                    final BlockPos temp = log.add(x, y, z);
-                    if (BlockPosUtil.getBlock(world, temp).isWood(null, temp) && !woodBlocks.contains(temp))
-                    {
-                        addAndSearch(world, temp);
-                    }
-                }
-            }
-        }
+        @NotNull final LogSearch search = new LogSearch(log, MAX_TREE_SIZE);
+        @NotNull final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        search.run((x, y, z) -> BlockPosUtil.getBlock(world, pos.setPos(x, y, z)).isWood(null, pos));
+        return search;
     }
 
     /**
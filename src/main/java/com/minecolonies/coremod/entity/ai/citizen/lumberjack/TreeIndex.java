@@ -0,0 +1,204 @@
+package com.minecolonies.coremod.entity.ai.citizen.lumberjack;
+
+import com.minecolonies.coremod.colony.AbstractChunkIndex;
+import net.minecraft.block.BlockPlanks;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The trees around a colony, so lumberjacks can pick the nearest one without searching the world.
+ * <p>
+ * Chunks where a log was placed or removed are scanned again. A tree is known by the position of its base log.
+ * Lumberjacks claim the tree they work on, so two lumberjacks never work on the same tree.
+ */
+public final class TreeIndex extends AbstractChunkIndex<TreeIndex.IndexedTree>
+{
+    /**
+     * Blocks below the top of a column which are scanned for logs at most.
+     */
+    private static final int MAX_SCAN_DEPTH = 64;
+
+    /**
+     * Queues the chunk of a changed block for a scan if a log was placed or removed.
+     *
+     * @param world    the world of the block.
+     * @param pos      the position of the block.
+     * @param oldState the state before the change.
+     * @param newState the state after the change.
+     */
+    public void onBlockChanged(
+                                @NotNull final World world,
+                                @NotNull final BlockPos pos,
+                                @NotNull final IBlockState oldState,
+                                @NotNull final IBlockState newState)
+    {
+        if (oldState.getBlock().isWood(world, pos) || newState.getBlock().isWood(world, pos))
+        {
+            markDirty(pos);
+        }
+    }
+
+    /**
+     * Finds the trees whose base is in a chunk.
+     * Walks down every column from its top to the ground, a log on something else than wood is the base of a tree.
+     * The tree checks look past the chunk into its neighbours, which are loaded already.
+     *
+     * @param world the world.
+     * @param chunk the chunk.
+     * @return the trees by the position of their base.
+     */
+    @NotNull
+    @Override
+    protected Map<BlockPos, IndexedTree> scanChunk(@NotNull final World world, @NotNull final Chunk chunk)
+    {
+        @NotNull final Map<BlockPos, IndexedTree> trees = new HashMap<>();
+        @NotNull final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int x = 0; x < 16; x++)
+        {
+            for (int z = 0; z < 16; z++)
+            {
+                final int top = chunk.getHeightValue(x, z);
+                final int bottom = Math.max(0, top - MAX_SCAN_DEPTH);
+                boolean aboveLog = false;
+                for (int y = top; y >= bottom; y--)
+                {
+                    pos.setPos((chunk.xPosition << 4) + x, y, (chunk.zPosition << 4) + z);
+                    final IBlockState state = chunk.getBlockState(pos);
+                    final boolean isLog = state.getBlock().isWood(world, pos);
+                    if (aboveLog && !isLog)
+                    {
+                        addTree(world, pos.up(), trees);
+                    }
+
+                    if (!isLog && state.getMaterial().isSolid() && !state.getMaterial().isReplaceable() && !state.getBlock().isLeaves(state, world, pos))
+                    {
+                        //  Reached the ground
+                        break;
+                    }
+                    aboveLog = isLog;
+                }
+            }
+        }
+        return trees;
+    }
+
+    private static void addTree(@NotNull final World world, @NotNull final BlockPos base, @NotNull final Map<BlockPos, IndexedTree> trees)
+    {
+        if (Tree.checkTree(world, base))
+        {
+            trees.put(base, new IndexedTree(base, Tree.getVariant(world.getBlockState(base)), Tree.getHeight(world, base)));
+        }
+    }
+
+    /**
+     * Claims the nearest tree which isn't claimed by another citizen.
+     * Checks the tree before handing it out, trees which are gone are dropped.
+     *
+     * @param world     the world of the colony.
+     * @param from      the position to measure the distance from.
+     * @param range     the horizontal distance within which to look.
+     * @param citizenId the id of the citizen who claims the tree.
+     * @return the base of the tree or null if there is none.
+     */
+    @Nullable
+    public BlockPos claimNearestTree(@NotNull final World world, @NotNull final BlockPos from, final int range, final int citizenId)
+    {
+        final long now = world.getTotalWorldTime();
+        while (true)
+        {
+            @NotNull final List<BlockPos> nearest = getAvailable(from, range, citizenId, now, 1);
+            if (nearest.isEmpty())
+            {
+                return null;
+            }
+
+            final BlockPos base = nearest.get(0);
+            if (claimTree(world, base, citizenId))
+            {
+                return base;
+            }
+
+            //  Chopped or grown in a way the scan didn't see yet
+            remove(base);
+        }
+    }
+
+    /**
+     * Claims a tree which was found another way, if it is a tree and no other citizen claimed it.
+     *
+     * @param world     the world of the colony.
+     * @param base      the base of the tree.
+     * @param citizenId the id of the citizen who claims the tree.
+     * @return true if the tree was claimed.
+     */
+    public boolean claimTree(@NotNull final World world, @NotNull final BlockPos base, final int citizenId)
+    {
+        final long now = world.getTotalWorldTime();
+        if (!isAvailable(base, citizenId, now) || !Tree.checkTree(world, base))
+        {
+            return false;
+        }
+
+        claim(base, citizenId, now);
+        return true;
+    }
+
+    /**
+     * A tree found by the scan.
+     */
+    public static final class IndexedTree
+    {
+        @NotNull
+        private final BlockPos             base;
+        @NotNull
+        private final BlockPlanks.EnumType variant;
+        private final int                  height;
+
+        private IndexedTree(@NotNull final BlockPos base, @NotNull final BlockPlanks.EnumType variant, final int height)
+        {
+            this.base = base.toImmutable();
+            this.variant = variant;
+            this.height = height;
+        }
+
+        /**
+         * Get the position of the base log.
+         *
+         * @return the position.
+         */
+        @NotNull
+        public BlockPos getBase()
+        {
+            return base;
+        }
+
+        /**
+         * Get the wood variant.
+         *
+         * @return the variant.
+         */
+        @NotNull
+        public BlockPlanks.EnumType getVariant()
+        {
+            return variant;
+        }
+
+        /**
+         * Get the height from the base to the top log.
+         *
+         * @return the height in blocks.
+         */
+        public int getHeight()
+        {
+            return height;
+        }
+    }
+}
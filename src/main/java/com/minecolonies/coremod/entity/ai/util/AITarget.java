@@ -23,6 +23,10 @@ public class AITarget
     private final BooleanSupplier   predicate;
     @NotNull
     private final Supplier<AIState> action;
+    /**
+     * The ticks between two checks of a global target.
+     */
+    private final int               tickRate;
 
     /**
      * Construct a target.
@@ -53,10 +57,52 @@ public class AITarget
      * @param action    the action to apply
      */
     public AITarget(@Nullable final AIState state, @NotNull final BooleanSupplier predicate, @NotNull final Supplier<AIState> action)
+    {
+        this(state, predicate, action, 1);
+    }
+
+    /**
+     * Construct a target.
+     * Only global targets are checked on a cadence, the ones of a state are checked on every tick in that state.
+     *
+     * @param state     the state it needs to be | null
+     * @param predicate the predicate for execution
+     * @param action    the action to apply
+     * @param tickRate  the ticks between two checks of a global target
+     */
+    public AITarget(
+                     @Nullable final AIState state,
+                     @NotNull final BooleanSupplier predicate,
+                     @NotNull final Supplier<AIState> action,
+                     final int tickRate)
     {
         this.state = state;
         this.predicate = predicate;
         this.action = action;
+        this.tickRate = Math.max(1, tickRate);
+    }
+
+    /**
+     * Construct a global target which is checked on a cadence.
+     *
+     * @param action   the action to apply
+     * @param tickRate the ticks between two checks
+     */
+    public AITarget(@NotNull final Supplier<AIState> action, final int tickRate)
+    {
+        this(null, () -> true, action, tickRate);
+    }
+
+    /**
+     * Construct a global target which is checked on a cadence.
+     *
+     * @param predicate the predicate for execution
+     * @param state     the state to switch to
+     * @param tickRate  the ticks between two checks
+     */
+    public AITarget(@NotNull final BooleanSupplier predicate, @Nullable final AIState state, final int tickRate)
+    {
+        this(null, predicate, () -> state, tickRate);
     }
 
     /**
@@ -104,6 +150,16 @@ public class AITarget
         return state;
     }
 
+    /**
+     * The ticks between two checks of this target if it is global.
+     *
+     * @return the tick rate, 1 to check it on every tick.
+     */
+    public int getTickRate()
+    {
+        return tickRate;
+    }
+
     /**
      * Return whether the ai wants this target to be executed.
      *
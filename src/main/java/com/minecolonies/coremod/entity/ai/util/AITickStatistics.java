@@ -0,0 +1,84 @@
+package com.minecolonies.coremod.entity.ai.util;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Counts the ticks the worker ais run in each state and the time they take, and the ticks they sleep through.
+ * Only used by the server thread.
+ */
+public final class AITickStatistics
+{
+    private static final long[] nanosByState = new long[AIState.values().length];
+    private static final int[]  ticksByState = new int[AIState.values().length];
+    private static       int    sleptTicks;
+
+    private AITickStatistics()
+    {
+        //Hides default constructor.
+    }
+
+    /**
+     * Counts a tick an ai ran its targets.
+     *
+     * @param state the state the ai was in.
+     * @param nanos the time the tick took.
+     */
+    public static void onTick(@NotNull final AIState state, final long nanos)
+    {
+        nanosByState[state.ordinal()] += nanos;
+        ticksByState[state.ordinal()]++;
+    }
+
+    /**
+     * Counts a tick an ai slept through.
+     */
+    public static void onSleptTick()
+    {
+        sleptTicks++;
+    }
+
+    /**
+     * Get the time the ais took in a state since the last reset.
+     *
+     * @param state the state.
+     * @return the time in nanoseconds.
+     */
+    public static long getNanos(@NotNull final AIState state)
+    {
+        return nanosByState[state.ordinal()];
+    }
+
+    /**
+     * Get the ticks the ais ran in a state since the last reset.
+     *
+     * @param state the state.
+     * @return the amount of ticks.
+     */
+    public static int getTicks(@NotNull final AIState state)
+    {
+        return ticksByState[state.ordinal()];
+    }
+
+    /**
+     * Get the ticks the ais slept through since the last reset.
+     *
+     * @return the amount of ticks.
+     */
+    public static int getSleptTicks()
+    {
+        return sleptTicks;
+    }
+
+    /**
+     * Resets all counters.
+     */
+    public static void resetStatistics()
+    {
+        for (int i = 0; i < ticksByState.length; i++)
+        {
+            nanosByState[i] = 0;
+            ticksByState[i] = 0;
+        }
+        sleptTicks = 0;
+    }
+}
@@ -0,0 +1,21 @@
+package com.minecolonies.coremod.entity.ai.util;
+
+/**
+ * Events which wake a sleeping ai before its sleep is over.
+ * An ai chooses the events it wants to be woken by when it goes to sleep.
+ */
+public enum AIWakeEvent
+{
+    /**
+     * The inventory of the worker changed.
+     */
+    INVENTORY_CHANGED,
+    /**
+     * The worker reached the end of its path or gave up walking it.
+     */
+    PATH_FINISHED,
+    /**
+     * A block in the colony of the worker changed.
+     */
+    BLOCK_CHANGED
+}
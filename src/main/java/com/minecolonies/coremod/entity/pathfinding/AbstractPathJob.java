@@ -2,10 +2,8 @@ package com.minecolonies.coremod.entity.pathfinding;
 
 import com.minecolonies.coremod.blocks.BlockHutField;
 import com.minecolonies.coremod.configuration.Configurations;
-import com.minecolonies.coremod.util.BlockUtils;
 import com.minecolonies.coremod.util.Log;
 import net.minecraft.block.*;
-import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.pathfinding.Path;
@@ -13,14 +11,13 @@ import net.minecraft.pathfinding.PathPoint;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
-import net.minecraft.world.ChunkCache;
-import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.World;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Abstract class for Jobs that run in the multithreaded path finder.
@@ -32,10 +29,6 @@ public abstract class AbstractPathJob implements Callable<Path>
     protected static final int      DEBUG_VERBOSITY_BASIC = 1;
     protected static final int      DEBUG_VERBOSITY_FULL  = 2;
     protected static final Object   debugNodeMonitor      = new Object();
-    private static final   int      SHIFT_SOUTH           = 1;
-    private static final   int      SHIFT_WEST            = 2;
-    private static final   int      SHIFT_NORTH           = 3;
-    private static final   int      SHIFT_EAST            = 4;
     private static final   BlockPos BLOCKPOS_IDENTITY     = new BlockPos(0, 0, 0);
     private static final   BlockPos BLOCKPOS_UP           = new BlockPos(0, 1, 0);
     private static final   BlockPos BLOCKPOS_DOWN         = new BlockPos(0, -1, 0);
@@ -43,8 +36,6 @@ public abstract class AbstractPathJob implements Callable<Path>
     private static final   BlockPos BLOCKPOS_SOUTH        = new BlockPos(0, 0, 1);
     private static final   BlockPos BLOCKPOS_EAST         = new BlockPos(1, 0, 0);
     private static final   BlockPos BLOCKPOS_WEST         = new BlockPos(-1, 0, 0);
-    private static final   int      MAX_Y                 = 256;
-    private static final   int      MIN_Y                 = 0;
     @Nullable
     protected static Set<Node>    lastDebugNodesVisited;
     @Nullable
@@ -54,11 +45,16 @@ public abstract class AbstractPathJob implements Callable<Path>
     @NotNull
     protected final  BlockPos     start;
     @NotNull
-    protected final  IBlockAccess world;
+    private final    BlockPos     end;
+    //  The blocks of the search area as they were when the job was created, read by the search
+    @NotNull
+    protected final  PassabilitySnapshot snapshot;
     protected final  PathResult   result;
     private final    int          maxRange;
-    private final Queue<Node>        nodesOpen                    = new PriorityQueue<>(500);
-    private final Map<Integer, Node> nodesVisited                 = new HashMap<>();
+    //  Search structures, borrowed from the pool of the worker thread while the job runs
+    private       NodePool           nodePool;
+    private       NodeHeap           nodesOpen;
+    private       NodeMap            nodesVisited;
     //  Debug Rendering
     protected     boolean            debugDrawEnabled             = false;
     protected     int                debugSleepMs                 = 0;
@@ -74,6 +70,14 @@ public abstract class AbstractPathJob implements Callable<Path>
     private       boolean            allowJumpPointSearchTypeWalk = false;
     private       int                totalNodesAdded              = 0;
     private       int                totalNodesVisited            = 0;
+    //  Outcome of the search, for the statistics
+    private       boolean            outOfBudget                  = false;
+    private       int                pathLength                   = -1;
+    //  Scheduling and budget of the job
+    @NotNull
+    private       PathPriority       priority                     = PathPriority.NORMAL;
+    private       int                maxNodes                     = Configurations.pathfindingMaxNodes;
+    private       long               maxTimeNanos                 = TimeUnit.MILLISECONDS.toNanos(Configurations.pathfindingMaxTime);
 
     /**
      * AbstractPathJob constructor.
@@ -89,7 +93,7 @@ public abstract class AbstractPathJob implements Callable<Path>
     }
 
     /**
-     * AbstractPathJob constructor.
+     * AbstractPathJob constructor, has to be called on the server thread.
      *
      * @param world  the world within which to path.
      * @param start  the start position from which to path from.
@@ -100,14 +104,29 @@ public abstract class AbstractPathJob implements Callable<Path>
      */
     public AbstractPathJob(final World world, @NotNull final BlockPos start, @NotNull final BlockPos end, final int range, final PathResult result)
     {
-        final int minX = Math.min(start.getX(), end.getX()) - (range / 2);
-        final int minZ = Math.min(start.getZ(), end.getZ()) - (range / 2);
-        final int maxX = Math.max(start.getX(), end.getX()) + (range / 2);
-        final int maxZ = Math.max(start.getZ(), end.getZ()) + (range / 2);
+        this(createSnapshot(world, start, range), start, end, range, result);
+    }
 
-        this.world = new ChunkCache(world, new BlockPos(minX, MIN_Y, minZ), new BlockPos(maxX, MAX_Y, maxZ), range);
+    /**
+     * AbstractPathJob constructor for a job on a snapshot which was taken before, like the one of a recorded job.
+     *
+     * @param snapshot the blocks of the search area.
+     * @param start    the start position from which to path from.
+     * @param end      the end position to path to
+     * @param range    maximum path range.
+     * @param result   path result.
+     */
+    protected AbstractPathJob(
+                               @NotNull final PassabilitySnapshot snapshot,
+                               @NotNull final BlockPos start,
+                               @NotNull final BlockPos end,
+                               final int range,
+                               final PathResult result)
+    {
+        this.snapshot = snapshot;
 
         this.start = new BlockPos(start);
+        this.end = new BlockPos(end);
         this.maxRange = range;
 
         this.result = result;
@@ -124,6 +143,20 @@ public abstract class AbstractPathJob implements Callable<Path>
         }
     }
 
+    @NotNull
+    private static PassabilitySnapshot createSnapshot(@NotNull final World world, @NotNull final BlockPos start, final int range)
+    {
+        //  Nodes are expanded up to range steps away from start, so the box holds every block the search can look at
+        final int margin = range + 1;
+        return PassabilityCache.createSnapshot(world,
+          start.getX() - margin,
+          start.getY() - margin,
+          start.getZ() - margin,
+          start.getX() + margin,
+          start.getY() + margin,
+          start.getZ() + margin);
+    }
+
     private static boolean onLadderGoingUp(@NotNull final Node currentNode, @NotNull final BlockPos dPos)
     {
         return currentNode.isLadder && (dPos.getY() >= 0 || dPos.getX() != 0 || dPos.getZ() != 0);
@@ -182,42 +215,6 @@ public abstract class AbstractPathJob implements Callable<Path>
         return pos.toImmutable();
     }
 
-    /**
-     * Sets the direction where the ladder is facing.
-     *
-     * @param world the world in.
-     * @param pos   the position.
-     * @param p     the path.
-     */
-    private static void setLadderFacing(@NotNull final IBlockAccess world, final BlockPos pos, @NotNull final PathPointExtended p)
-    {
-        if (world.getBlockState(pos).getBlock() instanceof BlockVine)
-        {
-            final int meta = world.getBlockState(pos).getBlock().getMetaFromState(world.getBlockState(pos));
-
-            if (((meta >>> SHIFT_SOUTH) & 1) != 0)
-            {
-                p.ladderFacing = EnumFacing.SOUTH;
-            }
-            else if (((meta >>> SHIFT_WEST) & 1) != 0)
-            {
-                p.ladderFacing = EnumFacing.WEST;
-            }
-            else if (((meta >>> SHIFT_NORTH) & 1) != 0)
-            {
-                p.ladderFacing = EnumFacing.NORTH;
-            }
-            else if (((meta >>> SHIFT_EAST) & 1) != 0)
-            {
-                p.ladderFacing = EnumFacing.EAST;
-            }
-        }
-        else
-        {
-            p.ladderFacing = world.getBlockState(pos).getValue(BlockLadder.FACING);
-        }
-    }
-
     /**
      * Checks if entity is on a ladder.
      *
@@ -234,20 +231,15 @@ public abstract class AbstractPathJob implements Callable<Path>
     }
 
     /**
-     * Generate a pseudo-unique key for identifying a given node by it's coordinates
-     * Encodes the lowest 12 bits of x,z and all useful bits of y.
-     * This creates unique keys for all blocks within a 4096x256x4096 cube, which is FAR
-     * bigger volume than one should attempt to pathfind within
-     * This version takes a BlockPos
+     * Generate a unique key for identifying a given node by it's coordinates.
+     * Packs the coordinates the same way as {@link BlockPos#toLong()}, so all positions of a world get distinct keys.
      *
      * @param pos BlockPos to generate key from
      * @return key for node in map
      */
-    private static int computeNodeKey(@NotNull final BlockPos pos)
+    private static long computeNodeKey(@NotNull final BlockPos pos)
     {
-        return ((pos.getX() & 0xFFF) << 20)
-                 | ((pos.getY() & 0xFF) << 12)
-                 | (pos.getZ() & 0xFFF);
+        return pos.toLong();
     }
 
     /**
@@ -298,9 +290,9 @@ public abstract class AbstractPathJob implements Callable<Path>
         return node != null && node.closed;
     }
 
-    private static boolean calculateSwimming(@NotNull final IBlockAccess world, @NotNull final BlockPos pos, @Nullable final Node node)
+    private boolean calculateSwimming(@NotNull final BlockPos pos, @Nullable final Node node)
     {
-        return (node == null) ? world.getBlockState(pos.down()).getMaterial().isLiquid() : node.isSwimming;
+        return (node == null) ? snapshot.isLiquid(pos.down()) : node.isSwimming;
     }
 
     public PathResult getResult()
@@ -308,6 +300,101 @@ public abstract class AbstractPathJob implements Callable<Path>
         return result;
     }
 
+    /**
+     * Get the end position the job was created with.
+     *
+     * @return the end position.
+     */
+    @NotNull
+    BlockPos getEnd()
+    {
+        return end;
+    }
+
+    /**
+     * Get the maximum path range.
+     *
+     * @return the range.
+     */
+    int getMaxRange()
+    {
+        return maxRange;
+    }
+
+    /**
+     * Get the snapshot of the blocks the job searches.
+     *
+     * @return the snapshot.
+     */
+    @NotNull
+    PassabilitySnapshot getSnapshot()
+    {
+        return snapshot;
+    }
+
+    /**
+     * Get the amount of nodes the search visited.
+     *
+     * @return the amount.
+     */
+    public int getTotalNodesVisited()
+    {
+        return totalNodesVisited;
+    }
+
+    /**
+     * Check if the search stopped because it ran out of nodes or time.
+     *
+     * @return true if so.
+     */
+    public boolean isOutOfBudget()
+    {
+        return outOfBudget;
+    }
+
+    /**
+     * Get the length of the path the search returned.
+     *
+     * @return the amount of points or -1 if it returned none.
+     */
+    public int getPathLength()
+    {
+        return pathLength;
+    }
+
+    /**
+     * Get the priority of the job in the pathfinding queue.
+     *
+     * @return the priority.
+     */
+    @NotNull
+    public PathPriority getPriority()
+    {
+        return priority;
+    }
+
+    /**
+     * Set the priority of the job in the pathfinding queue, has to be set before the job is enqueued.
+     *
+     * @param priority the priority.
+     */
+    public void setPriority(@NotNull final PathPriority priority)
+    {
+        this.priority = priority;
+    }
+
+    /**
+     * Limits the search, when either limit is reached the best path found so far is returned.
+     *
+     * @param maxNodes  the maximum amount of nodes to visit.
+     * @param maxTimeMs the maximum time to search in milliseconds.
+     */
+    public void setBudget(final int maxNodes, final int maxTimeMs)
+    {
+        this.maxNodes = maxNodes;
+        this.maxTimeNanos = TimeUnit.MILLISECONDS.toNanos(maxTimeMs);
+    }
+
     /**
      * Callable method for initiating asynchronous task.
      *
@@ -316,14 +403,26 @@ public abstract class AbstractPathJob implements Callable<Path>
     @Override
     public final Path call()
     {
+        nodePool = NodePool.acquire();
+        nodesOpen = nodePool.getOpen();
+        nodesVisited = nodePool.getVisited();
         try
         {
-            return search();
+            @Nullable final Path path = search();
+            pathLength = path == null ? -1 : path.getCurrentPathLength();
+            return path;
         }
         catch (final RuntimeException e)
         {
             Log.getLogger().debug(e);
         }
+        finally
+        {
+            nodePool.release();
+            nodePool = null;
+            nodesOpen = null;
+            nodesVisited = null;
+        }
 
         return null;
     }
@@ -339,6 +438,7 @@ public abstract class AbstractPathJob implements Callable<Path>
         Node bestNode = getAndSetupStartNode();
 
         double bestNodeResultScore = getNodeResultScore(bestNode);
+        final long deadline = System.nanoTime() + maxTimeNanos;
 
         while (!nodesOpen.isEmpty())
         {
@@ -347,6 +447,13 @@ public abstract class AbstractPathJob implements Callable<Path>
                 return null;
             }
 
+            if (totalNodesVisited >= maxNodes || System.nanoTime() > deadline)
+            {
+                //  Out of budget, go with the best node found so far
+                outOfBudget = true;
+                break;
+            }
+
             final Node currentNode = nodesOpen.poll();
 
             totalNodesVisited++;
@@ -497,14 +604,14 @@ public abstract class AbstractPathJob implements Callable<Path>
     @NotNull
     private Node getAndSetupStartNode()
     {
-        @NotNull final Node startNode = new Node(start,
-                                                  computeHeuristic(start));
+        final double heuristic = computeHeuristic(start);
+        @NotNull final Node startNode = new Node(start, heuristic);
 
         if (isLadder(start))
         {
             startNode.isLadder = true;
         }
-        else if (world.getBlockState(start).getMaterial().isLiquid())
+        else if (snapshot.isLiquid(start))
         {
             startNode.isSwimming = true;
         }
@@ -567,8 +674,11 @@ public abstract class AbstractPathJob implements Callable<Path>
                 if (nextInPath.pos.getY() > pos.getY())
                 {
                     //  We only care about facing if going up
-                    //In the case of BlockVines (Which does not have EnumFacing) we have to check the metadata of the vines... bitwise...
-                    setLadderFacing(world, pos, p);
+                    @Nullable final EnumFacing facing = snapshot.getLadderFacing(pos);
+                    if (facing != null)
+                    {
+                        p.ladderFacing = facing;
+                    }
                 }
             }
             else if (onALadder(node.parent, node.parent, pos))
@@ -654,7 +764,7 @@ public abstract class AbstractPathJob implements Callable<Path>
 
         //  Cheap test to perform before doing a 'y' test
         //  Has this node been visited?
-        int nodeKey = computeNodeKey(pos);
+        long nodeKey = computeNodeKey(pos);
         Node node = nodesVisited.get(nodeKey);
 
         //  Can we traverse into this node?  Fix the y up
@@ -679,8 +789,8 @@ public abstract class AbstractPathJob implements Callable<Path>
         }
 
 
-        final boolean isSwimming = calculateSwimming(world, pos, node);
-        final boolean onRoad = BlockUtils.isPathBlock(world.getBlockState(pos).getBlock());
+        final boolean isSwimming = calculateSwimming(pos, node);
+        final boolean onRoad = snapshot.isPathBlock(pos);
         //  Cost may have changed due to a jump up or drop
         final double stepCost = computeCost(parent, dPos, isSwimming, onRoad);
         final double heuristic = computeHeuristic(pos);
@@ -690,15 +800,13 @@ public abstract class AbstractPathJob implements Callable<Path>
         if (node == null)
         {
             node = createNode(parent, pos, nodeKey, isSwimming, heuristic, cost, score);
+            nodesOpen.offer(node);
         }
         else if (updateCurrentNode(parent, node, heuristic, cost, score))
         {
-
             return false;
         }
 
-        nodesOpen.offer(node);
-
         //  Jump Point Search-ish optimization:
         // If this node was a (heuristic-based) improvement on our parent,
         // lets go another step in the same direction...
@@ -717,11 +825,10 @@ public abstract class AbstractPathJob implements Callable<Path>
 
     @NotNull
     private Node createNode(
-                             final Node parent, @NotNull final BlockPos pos, final int nodeKey,
+                             final Node parent, @NotNull final BlockPos pos, final long nodeKey,
                              final boolean isSwimming, final double heuristic, final double cost, final double score)
     {
-        final Node node;
-        node = new Node(parent, pos, cost, heuristic, score);
+        final Node node = new Node(parent, pos, cost, heuristic, score);
         nodesVisited.put(nodeKey, node);
         if (debugDrawEnabled)
         {
@@ -750,7 +857,7 @@ public abstract class AbstractPathJob implements Callable<Path>
             return true;
         }
 
-        if (!nodesOpen.remove(node))
+        if (!nodesOpen.contains(node))
         {
             return true;
         }
@@ -760,6 +867,7 @@ public abstract class AbstractPathJob implements Callable<Path>
         node.cost = cost;
         node.heuristic = heuristic;
         node.score = score;
+        nodesOpen.decreaseKey(node);
         return false;
     }
 
@@ -780,38 +888,36 @@ public abstract class AbstractPathJob implements Callable<Path>
         }
 
         //  Now check the block we want to move to
-        final IBlockState target = world.getBlockState(pos);
-        if (!isPassable(target))
+        if (!isPassable(pos))
         {
-            return handleTargeNotPassable(parent, pos, target);
+            return handleTargeNotPassable(parent, pos);
         }
 
         //  Do we have something to stand on in the target space?
-        final IBlockState below = world.getBlockState(pos.down());
-        final SurfaceType walkability = isWalkableSurface(below);
-        if (walkability == SurfaceType.WALKABLE)
+        final PassabilitySnapshot.SurfaceType walkability = snapshot.getSurfaceType(pos.down());
+        if (walkability == PassabilitySnapshot.SurfaceType.WALKABLE)
         {
             //  Level path
             return pos.getY();
         }
-        else if (walkability == SurfaceType.NOT_PASSABLE)
+        else if (walkability == PassabilitySnapshot.SurfaceType.NOT_PASSABLE)
         {
             return -1;
         }
 
-        return handleNotStanding(parent, pos, below);
+        return handleNotStanding(parent, pos);
     }
 
-    private int handleNotStanding(@Nullable final Node parent, @NotNull final BlockPos pos, @NotNull final IBlockState below)
+    private int handleNotStanding(@Nullable final Node parent, @NotNull final BlockPos pos)
     {
         final boolean isSwimming = parent != null && parent.isSwimming;
 
-        if (below.getMaterial().isLiquid())
+        if (snapshot.isLiquid(pos.down()))
         {
-            return handleInLiquid(pos, below, isSwimming);
+            return handleInLiquid(pos, isSwimming);
         }
 
-        if (isLadder(below.getBlock(), pos.down()))
+        if (isLadder(pos.down()))
         {
             return pos.getY();
         }
@@ -828,9 +934,7 @@ public abstract class AbstractPathJob implements Callable<Path>
             return -1;
         }
 
-        final BlockPos down = pos.down(2);
-        final IBlockState below = world.getBlockState(down);
-        if (isWalkableSurface(below) == SurfaceType.WALKABLE)
+        if (snapshot.getSurfaceType(pos.down(2)) == PassabilitySnapshot.SurfaceType.WALKABLE)
         {
             //  Level path
             return pos.getY() - 1;
@@ -839,7 +943,7 @@ public abstract class AbstractPathJob implements Callable<Path>
         return -1;
     }
 
-    private int handleInLiquid(@NotNull final BlockPos pos, @NotNull final IBlockState below, final boolean isSwimming)
+    private int handleInLiquid(@NotNull final BlockPos pos, final boolean isSwimming)
     {
         if (isSwimming)
         {
@@ -847,7 +951,7 @@ public abstract class AbstractPathJob implements Callable<Path>
             return pos.getY();
         }
 
-        if (allowSwimming && below.getMaterial() == Material.WATER)
+        if (allowSwimming && snapshot.isWater(pos.down()))
         {
             //  This is water, and we are allowed to swim
             return pos.getY();
@@ -857,11 +961,11 @@ public abstract class AbstractPathJob implements Callable<Path>
         return -1;
     }
 
-    private int handleTargeNotPassable(@Nullable final Node parent, @NotNull final BlockPos pos, @NotNull final IBlockState target)
+    private int handleTargeNotPassable(@Nullable final Node parent, @NotNull final BlockPos pos)
     {
         final boolean canJump = parent != null && !parent.isLadder && !parent.isSwimming;
         //  Need to try jumping up one, if we can
-        if (!canJump || isWalkableSurface(target) != SurfaceType.WALKABLE)
+        if (!canJump || snapshot.getSurfaceType(pos) != PassabilitySnapshot.SurfaceType.WALKABLE)
         {
             return -1;
         }
@@ -891,8 +995,7 @@ public abstract class AbstractPathJob implements Callable<Path>
 
         if (parent != null)
         {
-            final IBlockState hereState = world.getBlockState(parent.pos.down());
-            if (hereState.getMaterial().isLiquid() && !isPassable(pos))
+            if (snapshot.isLiquid(parent.pos.down()) && !isPassable(pos))
             {
                 return true;
             }
@@ -903,72 +1006,23 @@ public abstract class AbstractPathJob implements Callable<Path>
     /**
      * Is the space passable.
      *
-     * @param block the block we are checking.
+     * @param pos the position.
      * @return true if the block does not block movement.
      */
-    protected boolean isPassable(@NotNull final IBlockState block)
-    {
-        if (block.getMaterial() != Material.AIR)
-        {
-            if (block.getMaterial().blocksMovement())
-            {
-                return block.getBlock() instanceof BlockDoor || block.getBlock() instanceof BlockFenceGate;
-            }
-            else if (block.getMaterial().isLiquid())
-            {
-                return false;
-            }
-        }
-
-        return true;
-    }
-
-    protected boolean isPassable(final BlockPos pos)
-    {
-        return isPassable(world.getBlockState(pos));
-    }
-
-    /**
-     * Is the block solid and can be stood upon.
-     *
-     * @param blockState Block to check.
-     * @return true if the block at that location can be walked on.
-     */
-    @NotNull
-    protected SurfaceType isWalkableSurface(@NotNull final IBlockState blockState)
+    protected boolean isPassable(@NotNull final BlockPos pos)
     {
-        final Block block = blockState.getBlock();
-        if (block instanceof BlockFence
-              || block instanceof BlockFenceGate
-              || block instanceof BlockWall
-              || block instanceof BlockHutField)
-        {
-            return SurfaceType.NOT_PASSABLE;
-        }
-
-        if (blockState.getMaterial().isSolid())
-        {
-            return SurfaceType.WALKABLE;
-        }
-
-        return SurfaceType.DROPABLE;
+        return snapshot.isPassable(pos);
     }
 
     /**
      * Is the block a ladder.
      *
-     * @param block block to check.
-     * @param pos   location of the block.
+     * @param pos location of the block.
      * @return true if the block is a ladder.
      */
-    protected boolean isLadder(@NotNull final Block block, final BlockPos pos)
+    protected boolean isLadder(@NotNull final BlockPos pos)
     {
-        return block.isLadder(this.world.getBlockState(pos), world, pos, null);
-    }
-
-    protected boolean isLadder(final BlockPos pos)
-    {
-        return isLadder(world.getBlockState(pos).getBlock(), pos);
+        return snapshot.isLadder(pos);
     }
 
     /**
@@ -990,14 +1044,4 @@ public abstract class AbstractPathJob implements Callable<Path>
     {
         this.allowSwimming = allowSwimming;
     }
-
-    /**
-     * Check if we can walk on a surface, drop into, or neither.
-     */
-    private enum SurfaceType
-    {
-        WALKABLE,
-        DROPABLE,
-        NOT_PASSABLE
-    }
 }
@@ -18,6 +18,9 @@ public class Node implements Comparable<Node>
     public        int      counterVisited;
     public        int      steps;
 
+    //  Index in the open heap of the path job
+    int heapIndex = NodeHeap.NOT_IN_HEAP;
+
     // A* g value
     public double cost;
 
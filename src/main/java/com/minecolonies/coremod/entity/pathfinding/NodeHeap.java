@@ -0,0 +1,157 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of the open nodes of a path job, ordered by {@link Node#compareTo(Node)}.
+ * Every node knows its index in the heap, so a node whose score improved is moved up in place instead of being
+ * removed and added again.
+ */
+class NodeHeap
+{
+    /**
+     * Index of a node which is not in the heap.
+     */
+    static final int NOT_IN_HEAP = -1;
+
+    private static final int INITIAL_CAPACITY = 512;
+
+    private Node[] heap = new Node[INITIAL_CAPACITY];
+    private int    size;
+
+    /**
+     * Adds a node to the heap.
+     *
+     * @param node the node, must not be in the heap.
+     */
+    public void offer(@NotNull final Node node)
+    {
+        if (size == heap.length)
+        {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+
+        heap[size] = node;
+        node.heapIndex = size;
+        size++;
+        siftUp(node.heapIndex);
+    }
+
+    /**
+     * Removes the node with the lowest score.
+     *
+     * @return the node or null if the heap is empty.
+     */
+    @Nullable
+    public Node poll()
+    {
+        if (size == 0)
+        {
+            return null;
+        }
+
+        final Node first = heap[0];
+        first.heapIndex = NOT_IN_HEAP;
+        size--;
+
+        if (size > 0)
+        {
+            heap[0] = heap[size];
+            heap[0].heapIndex = 0;
+            siftDown(0);
+        }
+        heap[size] = null;
+        return first;
+    }
+
+    /**
+     * Restores the order after the score of a node in the heap was lowered.
+     *
+     * @param node the node.
+     */
+    public void decreaseKey(@NotNull final Node node)
+    {
+        siftUp(node.heapIndex);
+    }
+
+    /**
+     * Checks if a node is in the heap.
+     *
+     * @param node the node.
+     * @return true if so.
+     */
+    public boolean contains(@NotNull final Node node)
+    {
+        return node.heapIndex != NOT_IN_HEAP && node.heapIndex < size && heap[node.heapIndex] == node;
+    }
+
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Removes all nodes, keeps the capacity.
+     */
+    public void clear()
+    {
+        for (int i = 0; i < size; i++)
+        {
+            heap[i].heapIndex = NOT_IN_HEAP;
+            heap[i] = null;
+        }
+        size = 0;
+    }
+
+    private void siftUp(final int index)
+    {
+        final Node node = heap[index];
+        int current = index;
+        while (current > 0)
+        {
+            final int parent = (current - 1) >>> 1;
+            if (node.compareTo(heap[parent]) >= 0)
+            {
+                break;
+            }
+            heap[current] = heap[parent];
+            heap[current].heapIndex = current;
+            current = parent;
+        }
+        heap[current] = node;
+        node.heapIndex = current;
+    }
+
+    private void siftDown(final int index)
+    {
+        final Node node = heap[index];
+        int current = index;
+        final int half = size >>> 1;
+        while (current < half)
+        {
+            int child = (current << 1) + 1;
+            final int right = child + 1;
+            if (right < size && heap[right].compareTo(heap[child]) < 0)
+            {
+                child = right;
+            }
+            if (node.compareTo(heap[child]) <= 0)
+            {
+                break;
+            }
+            heap[current] = heap[child];
+            heap[current].heapIndex = current;
+            current = child;
+        }
+        heap[current] = node;
+        node.heapIndex = current;
+    }
+}
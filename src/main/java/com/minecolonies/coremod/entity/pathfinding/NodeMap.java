@@ -0,0 +1,135 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Map of the visited nodes of a path job by their packed coordinates.
+ * Uses open addressing with linear probing on primitive long keys, so lookups neither box keys nor allocate entries.
+ * The arrays are kept when the map is cleared, so a map reused by the jobs of a thread stops allocating once it is big enough.
+ */
+class NodeMap
+{
+    /**
+     * Initial capacity, must be a power of two.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * The map grows when it is fuller than this.
+     */
+    private static final float LOAD_FACTOR = 0.5F;
+
+    private long[] keys   = new long[INITIAL_CAPACITY];
+    private Node[] values = new Node[INITIAL_CAPACITY];
+    private int    size;
+
+    /**
+     * Get the node stored for a key.
+     *
+     * @param key the packed coordinates.
+     * @return the node or null if there is none.
+     */
+    @Nullable
+    public Node get(final long key)
+    {
+        final int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; values[slot] != null; slot = (slot + 1) & mask)
+        {
+            if (keys[slot] == key)
+            {
+                return values[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stores a node for a key, replacing the node stored before.
+     *
+     * @param key  the packed coordinates.
+     * @param node the node.
+     */
+    public void put(final long key, @NotNull final Node node)
+    {
+        if (size >= keys.length * LOAD_FACTOR)
+        {
+            resize(keys.length * 2);
+        }
+
+        final int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (values[slot] != null)
+        {
+            if (keys[slot] == key)
+            {
+                values[slot] = node;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = node;
+        size++;
+    }
+
+    /**
+     * Amount of nodes in the map.
+     *
+     * @return the size.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Removes all nodes, keeps the capacity.
+     */
+    public void clear()
+    {
+        if (size > 0)
+        {
+            Arrays.fill(values, null);
+            size = 0;
+        }
+    }
+
+    /**
+     * Moves the nodes into arrays of a new capacity.
+     *
+     * @param capacity the new capacity, a power of two.
+     */
+    private void resize(final int capacity)
+    {
+        final long[] oldKeys = keys;
+        final Node[] oldValues = values;
+
+        keys = new long[capacity];
+        values = new Node[capacity];
+        size = 0;
+
+        for (int slot = 0; slot < oldKeys.length; slot++)
+        {
+            if (oldValues[slot] != null)
+            {
+                put(oldKeys[slot], oldValues[slot]);
+            }
+        }
+    }
+
+    /**
+     * Spreads the bits of a key, neighbouring coordinates differ only in a few bits.
+     *
+     * @param key the packed coordinates.
+     * @return the hash.
+     */
+    private static int hash(final long key)
+    {
+        final long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+}
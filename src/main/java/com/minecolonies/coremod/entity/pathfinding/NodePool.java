@@ -0,0 +1,86 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Search structures of the path jobs of one thread.
+ * The visited map and the open heap are reused by every job run on the thread, so a warmed up worker does not grow
+ * them again. The nodes themselves are created per job.
+ */
+final class NodePool
+{
+    private static final ThreadLocal<NodePool> POOLS = ThreadLocal.withInitial(NodePool::new);
+
+    private final NodeMap  visited;
+    private final NodeHeap open;
+    private       boolean  inUse;
+
+    private NodePool()
+    {
+        this(new NodeMap(), new NodeHeap());
+    }
+
+    /**
+     * Create a pool with the given search structures.
+     *
+     * @param visited the map of the visited nodes.
+     * @param open    the heap of the open nodes.
+     */
+    NodePool(@NotNull final NodeMap visited, @NotNull final NodeHeap open)
+    {
+        this.visited = visited;
+        this.open = open;
+    }
+
+    /**
+     * Replaces the pool of the current thread, lets a benchmark watch the search structures of the jobs it runs.
+     *
+     * @param pool the new pool of the thread.
+     */
+    static void setThreadPool(@NotNull final NodePool pool)
+    {
+        POOLS.set(pool);
+    }
+
+    /**
+     * Get the pool of the current thread, or a new one if a job of the thread is still using it.
+     *
+     * @return the pool, has to be released when the job is done.
+     */
+    @NotNull
+    static NodePool acquire()
+    {
+        final NodePool pool = POOLS.get();
+        if (pool.inUse)
+        {
+            //  A job started from within another job, happens only when jobs are run directly.
+            final NodePool nested = new NodePool();
+            nested.inUse = true;
+            return nested;
+        }
+        pool.inUse = true;
+        return pool;
+    }
+
+    @NotNull
+    NodeMap getVisited()
+    {
+        return visited;
+    }
+
+    @NotNull
+    NodeHeap getOpen()
+    {
+        return open;
+    }
+
+    /**
+     * Releases the pool after a job.
+     */
+    void release()
+    {
+        open.clear();
+        visited.clear();
+        inUse = false;
+    }
+}
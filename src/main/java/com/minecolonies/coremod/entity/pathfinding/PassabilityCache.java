@@ -0,0 +1,279 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Copied chunk sections of a world, the building blocks of {@link PassabilitySnapshot}s.
+ * <p>
+ * A section is copied the first time a snapshot needs it and kept until a block in it changes or its chunk unloads,
+ * so a snapshot mostly only collects sections which are already there. The copy is classified by the first job which
+ * reads it, on its pathfinding thread, and the later snapshots get the classified section.
+ * Copied sections are never modified, a changed section is copied again, snapshots which still use the old one keep
+ * seeing the world as it was when they were taken.
+ * Only used on the server thread.
+ */
+public final class PassabilityCache
+{
+    /**
+     * Sections kept per world, the least recently used one is dropped first.
+     * A path job of range 100 covers about 14 by 14 chunks, of which mostly the 6 or so sections around the ground
+     * aren't air, some 1200 sections, so this keeps the areas of a few jobs, enough for the workers of a colony which
+     * mostly walk around the same spot. A copy takes 6 KB, 4 KB once it is classified (16 to 24 MB).
+     */
+    private static final int MAX_SECTIONS = 4096;
+
+    /**
+     * Sections taken from the cache and sections copied since the last reset, and the time spent copying.
+     */
+    private static int  hits;
+    private static int  misses;
+    private static long copyNanos;
+
+    /**
+     * The caches by dimension.
+     */
+    @NotNull
+    private static final Map<Integer, PassabilityCache> caches = new HashMap<>();
+
+    @NotNull
+    private final Map<Long, PassabilitySection> sections = new LinkedHashMap<Long, PassabilitySection>(MAX_SECTIONS, 0.75F, true)
+    {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Long, PassabilitySection> eldest)
+        {
+            return size() > MAX_SECTIONS;
+        }
+    };
+
+    private PassabilityCache()
+    {
+        //  Created per world by createSnapshot
+    }
+
+    /**
+     * Takes a snapshot of an area, has to be called on the server thread.
+     * The sections above and below the area are left out and read as unloaded, so the search can't enter them.
+     *
+     * @param world the world.
+     * @param minX  the lowest x coordinate of the area.
+     * @param minY  the lowest y coordinate of the area.
+     * @param minZ  the lowest z coordinate of the area.
+     * @param maxX  the highest x coordinate of the area.
+     * @param maxY  the highest y coordinate of the area.
+     * @param maxZ  the highest z coordinate of the area.
+     * @return the snapshot.
+     */
+    @NotNull
+    public static PassabilitySnapshot createSnapshot(
+                                                      @NotNull final World world,
+                                                      final int minX,
+                                                      final int minY,
+                                                      final int minZ,
+                                                      final int maxX,
+                                                      final int maxY,
+                                                      final int maxZ)
+    {
+        //  Client worlds don't report their block changes, their sections are never kept
+        @Nullable final PassabilityCache cache = world.isRemote ? null : caches.computeIfAbsent(world.provider.getDimension(), dimension -> new PassabilityCache());
+
+        final int minChunkX = minX >> 4;
+        final int minChunkZ = minZ >> 4;
+        final int chunksX = (maxX >> 4) - minChunkX + 1;
+        final int chunksZ = (maxZ >> 4) - minChunkZ + 1;
+        final int minSection = Math.max(0, minY >> 4);
+        final int maxSection = Math.min(PassabilitySnapshot.SECTIONS - 1, maxY >> 4);
+        @NotNull final byte[][] snapshotSections = new byte[chunksX * chunksZ * PassabilitySnapshot.SECTIONS][];
+        @Nullable PassabilitySection[] pending = null;
+
+        for (int x = 0; x < chunksX; x++)
+        {
+            for (int z = 0; z < chunksZ; z++)
+            {
+                final int index = (x * chunksZ + z) * PassabilitySnapshot.SECTIONS;
+                @Nullable final Chunk chunk = world.getChunkProvider().getLoadedChunk(minChunkX + x, minChunkZ + z);
+                for (int y = 0; y < PassabilitySnapshot.SECTIONS; y++)
+                {
+                    if (y < minSection || y > maxSection || chunk == null)
+                    {
+                        snapshotSections[index + y] = PassabilitySnapshot.UNLOADED_SECTION;
+                        continue;
+                    }
+
+                    @Nullable final ExtendedBlockStorage storage = chunk.getBlockStorageArray()[y];
+                    if (storage == Chunk.NULL_BLOCK_STORAGE || storage.isEmpty())
+                    {
+                        snapshotSections[index + y] = PassabilitySnapshot.AIR_SECTION;
+                        continue;
+                    }
+
+                    @NotNull final PassabilitySection section = getSection(cache, chunk, storage, y);
+                    @Nullable final byte[] cells = section.getClassifiedCells();
+                    if (cells == null)
+                    {
+                        if (pending == null)
+                        {
+                            pending = new PassabilitySection[snapshotSections.length];
+                        }
+                        pending[index + y] = section;
+                    }
+                    snapshotSections[index + y] = cells;
+                }
+            }
+        }
+
+        return new PassabilitySnapshot(minChunkX, minChunkZ, chunksX, chunksZ, snapshotSections, pending);
+    }
+
+    /**
+     * Get the copy of a section, copies it if the cache doesn't have it.
+     *
+     * @param cache    the cache of the world, or null if the section shouldn't be kept.
+     * @param chunk    the chunk.
+     * @param storage  the blocks of the section.
+     * @param sectionY the index of the section in the chunk.
+     * @return the section, classified or not.
+     */
+    @NotNull
+    private static PassabilitySection getSection(
+                                                  @Nullable final PassabilityCache cache,
+                                                  @NotNull final Chunk chunk,
+                                                  @NotNull final ExtendedBlockStorage storage,
+                                                  final int sectionY)
+    {
+        final long key = sectionKey(chunk.xPosition, sectionY, chunk.zPosition);
+        @Nullable PassabilitySection section = cache == null ? null : cache.sections.get(key);
+        if (section == null)
+        {
+            final long startTime = System.nanoTime();
+            section = new PassabilitySection(storage, chunk.xPosition, sectionY, chunk.zPosition);
+            copyNanos += System.nanoTime() - startTime;
+            misses++;
+            if (cache != null)
+            {
+                cache.sections.put(key, section);
+            }
+        }
+        else
+        {
+            hits++;
+        }
+        return section;
+    }
+
+    /**
+     * Key of a section, packed like {@link BlockPos#toLong()}.
+     *
+     * @param chunkX   the x coordinate of the chunk.
+     * @param sectionY the index of the section in the chunk.
+     * @param chunkZ   the z coordinate of the chunk.
+     * @return the key.
+     */
+    private static long sectionKey(final int chunkX, final int sectionY, final int chunkZ)
+    {
+        return new BlockPos(chunkX, sectionY, chunkZ).toLong();
+    }
+
+    /**
+     * Drops the section of a changed block.
+     *
+     * @param world the world of the block.
+     * @param pos   the position of the block.
+     */
+    public static void onBlockChanged(@NotNull final World world, @NotNull final BlockPos pos)
+    {
+        @Nullable final PassabilityCache cache = caches.get(world.provider.getDimension());
+        if (cache != null && pos.getY() >= 0 && pos.getY() < PassabilitySnapshot.SECTIONS * PassabilitySnapshot.SECTION_SIZE)
+        {
+            cache.sections.remove(sectionKey(pos.getX() >> 4, pos.getY() >> 4, pos.getZ() >> 4));
+        }
+    }
+
+    /**
+     * Drops the sections of an unloaded chunk, block changes of unloaded chunks aren't seen.
+     *
+     * @param world  the world of the chunk.
+     * @param chunkX the x coordinate of the chunk.
+     * @param chunkZ the z coordinate of the chunk.
+     */
+    public static void onChunkUnload(@NotNull final World world, final int chunkX, final int chunkZ)
+    {
+        @Nullable final PassabilityCache cache = caches.get(world.provider.getDimension());
+        if (cache != null)
+        {
+            for (int y = 0; y < PassabilitySnapshot.SECTIONS; y++)
+            {
+                cache.sections.remove(sectionKey(chunkX, y, chunkZ));
+            }
+        }
+    }
+
+    /**
+     * Get the amount of sections taken from the cache since the last reset.
+     *
+     * @return the amount.
+     */
+    public static int getHits()
+    {
+        return hits;
+    }
+
+    /**
+     * Get the amount of sections which had to be copied since the last reset.
+     *
+     * @return the amount.
+     */
+    public static int getMisses()
+    {
+        return misses;
+    }
+
+    /**
+     * Get the time spent copying sections on the server thread since the last reset.
+     *
+     * @return the time in nanoseconds.
+     */
+    public static long getCopyNanos()
+    {
+        return copyNanos;
+    }
+
+    /**
+     * Get the time spent classifying sections on the pathfinding threads since the last reset.
+     *
+     * @return the time in nanoseconds.
+     */
+    public static long getClassifyNanos()
+    {
+        return PassabilitySection.getClassifyNanos();
+    }
+
+    /**
+     * Resets the statistics.
+     */
+    public static void resetStatistics()
+    {
+        hits = 0;
+        misses = 0;
+        copyNanos = 0;
+        PassabilitySection.resetStatistics();
+    }
+
+    /**
+     * Drops the cache of an unloaded world.
+     *
+     * @param world the world.
+     */
+    public static void onWorldUnload(@NotNull final World world)
+    {
+        caches.remove(world.provider.getDimension());
+    }
+}
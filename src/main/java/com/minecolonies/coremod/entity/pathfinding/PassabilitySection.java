@@ -0,0 +1,150 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.chunk.NibbleArray;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A chunk section copied on the server thread, classified by the first path job which needs it.
+ * <p>
+ * The server thread only copies the block state ids of the section, the way a chunk is written to disk, which is
+ * much cheaper than classifying its 4096 blocks. The copy never changes, the pathfinding threads decode and classify
+ * it when a search first reads a block of it, most sections of a search area are never read at all.
+ */
+final class PassabilitySection
+{
+    /**
+     * Time spent classifying sections since the last reset, by all pathfinding threads.
+     */
+    private static final AtomicLong classifyNanos = new AtomicLong();
+
+    private final int baseX;
+    private final int baseY;
+    private final int baseZ;
+
+    /**
+     * The copied block state ids, dropped when the section is classified.
+     */
+    @Nullable
+    private byte[]      blockIds;
+    @Nullable
+    private NibbleArray metadata;
+    @Nullable
+    private NibbleArray extendedIds;
+
+    /**
+     * The classified cells, null until the section is classified.
+     */
+    @Nullable
+    private volatile byte[] cells;
+
+    /**
+     * Copies a section, has to be called on the server thread.
+     *
+     * @param storage  the blocks of the section.
+     * @param chunkX   the x coordinate of the chunk.
+     * @param sectionY the index of the section in the chunk.
+     * @param chunkZ   the z coordinate of the chunk.
+     */
+    PassabilitySection(@NotNull final ExtendedBlockStorage storage, final int chunkX, final int sectionY, final int chunkZ)
+    {
+        this.baseX = chunkX << 4;
+        this.baseY = sectionY << 4;
+        this.baseZ = chunkZ << 4;
+        this.blockIds = new byte[PassabilitySnapshot.SECTION_CELLS];
+        this.metadata = new NibbleArray();
+        this.extendedIds = storage.getData().getDataForNBT(blockIds, metadata);
+    }
+
+    /**
+     * Get the classified cells if the section was classified already.
+     *
+     * @return the cells or null.
+     */
+    @Nullable
+    byte[] getClassifiedCells()
+    {
+        return cells;
+    }
+
+    /**
+     * Get the classified cells, classifies the section if no job did yet.
+     *
+     * @return the cells.
+     */
+    @NotNull
+    byte[] getCells()
+    {
+        @Nullable byte[] classified = cells;
+        if (classified == null)
+        {
+            synchronized (this)
+            {
+                classified = cells;
+                if (classified == null)
+                {
+                    classified = classify();
+                    cells = classified;
+                    blockIds = null;
+                    metadata = null;
+                    extendedIds = null;
+                }
+            }
+        }
+        return classified;
+    }
+
+    /**
+     * Classifies all blocks of the copy.
+     *
+     * @return the classified section.
+     */
+    @NotNull
+    private byte[] classify()
+    {
+        final long startTime = System.nanoTime();
+        @NotNull final byte[] section = new byte[PassabilitySnapshot.SECTION_CELLS];
+        @NotNull final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int index = 0; index < PassabilitySnapshot.SECTION_CELLS; index++)
+        {
+            //  Decoded like AnvilChunkLoader reads the section
+            final int extended = extendedIds == null ? 0 : extendedIds.getFromIndex(index);
+            final int id = (extended << 12) | ((blockIds[index] & 0xFF) << 4) | metadata.getFromIndex(index);
+            @Nullable final IBlockState state = Block.BLOCK_STATE_IDS.getByValue(id);
+            if (state == null)
+            {
+                //  Left 0, like a solid wall
+                continue;
+            }
+
+            pos.setPos(baseX + (index & 15), baseY + (index >> 8), baseZ + ((index >> 4) & 15));
+            section[index] = PassabilitySnapshot.classify(state, null, pos);
+        }
+        classifyNanos.addAndGet(System.nanoTime() - startTime);
+        return section;
+    }
+
+    /**
+     * Get the time spent classifying sections since the last reset.
+     *
+     * @return the time in nanoseconds.
+     */
+    static long getClassifyNanos()
+    {
+        return classifyNanos.get();
+    }
+
+    /**
+     * Resets the statistics.
+     */
+    static void resetStatistics()
+    {
+        classifyNanos.set(0);
+    }
+}
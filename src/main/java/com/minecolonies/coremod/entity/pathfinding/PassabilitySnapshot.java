@@ -0,0 +1,526 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import com.minecolonies.coremod.blocks.BlockHutField;
+import com.minecolonies.coremod.util.BlockUtils;
+import net.minecraft.block.*;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IBlockAccess;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * View of the blocks a path job may visit, reduced to what the search needs to know about them.
+ * <p>
+ * Every block is classified into one byte, the pathfinding threads then only read the byte arrays, without locks and
+ * without decoding block states over and over.
+ * The blocks are kept per chunk section of 16x16x16 blocks, sections which didn't change are shared between
+ * snapshots, see {@link PassabilityCache}. Sections which weren't classified yet when the snapshot was taken are
+ * classified by the job the first time it reads them, see {@link PassabilitySection}, so a snapshot must only be
+ * read by one thread at a time.
+ * <p>
+ * Layout of a cell:
+ * <ul>
+ * <li>bit 0: the block doesn't block movement.</li>
+ * <li>bits 1-2: the {@link SurfaceType} of the block.</li>
+ * <li>bits 3-4: 0 for other blocks, 1 for a liquid but water, 2 for water, 3 for leaves.</li>
+ * <li>bits 5-7: 0 for a regular block, 1 for a path block, 2 for a ladder without facing, 3 to 6 for a ladder facing
+ * south, west, north or east, 7 for a log.</li>
+ * </ul>
+ * Blocks of unloaded chunks are 0, like a solid wall.
+ */
+public final class PassabilitySnapshot
+{
+    static final int SECTION_SIZE  = 16;
+    static final int SECTION_CELLS = SECTION_SIZE * SECTION_SIZE * SECTION_SIZE;
+    static final int SECTIONS      = 16;
+
+    private static final int PASSABLE      = 1;
+    private static final int SURFACE_SHIFT = 1;
+    private static final int SURFACE_MASK  = 3;
+    private static final int FLUID_SHIFT   = 3;
+    private static final int FLUID_MASK    = 3;
+    private static final int FLUID_LIQUID  = 1;
+    private static final int FLUID_WATER   = 2;
+    private static final int FLUID_LEAVES  = 3;
+    private static final int KIND_SHIFT    = 5;
+    private static final int KIND_PATH     = 1;
+    private static final int KIND_LADDER   = 2;
+    private static final int KIND_LOG      = 7;
+
+    //  Bits of the vine metadata which tell the side it is attached to
+    private static final int SHIFT_SOUTH = 1;
+    private static final int SHIFT_WEST  = 2;
+    private static final int SHIFT_NORTH = 3;
+    private static final int SHIFT_EAST  = 4;
+
+    private static final int MASK = SECTION_SIZE - 1;
+
+    //  Tags of the sections in a written snapshot
+    private static final int TAG_AIR      = 0;
+    private static final int TAG_UNLOADED = 1;
+    private static final int TAG_CELLS    = 2;
+
+    /**
+     * Cell of air.
+     */
+    private static final byte AIR = (byte) (PASSABLE | (SurfaceType.DROPABLE.ordinal() << SURFACE_SHIFT));
+
+    /**
+     * Section of air.
+     */
+    static final byte[] AIR_SECTION = createFilledSection(AIR);
+
+    /**
+     * Section of an unloaded chunk, nothing can pass it.
+     */
+    static final byte[] UNLOADED_SECTION = new byte[SECTION_CELLS];
+
+    private final int        minChunkX;
+    private final int        minChunkZ;
+    private final int        chunksX;
+    private final int        chunksZ;
+    @NotNull
+    private final byte[][]   sections;
+    /**
+     * The copied sections which still have to be classified, by the index of the section, null if there are none.
+     */
+    @Nullable
+    private final PassabilitySection[] pending;
+
+    /**
+     * Creates a snapshot from its sections.
+     *
+     * @param minChunkX the x coordinate of the first chunk.
+     * @param minChunkZ the z coordinate of the first chunk.
+     * @param chunksX   the amount of chunks along x.
+     * @param chunksZ   the amount of chunks along z.
+     * @param sections  the sections, indexed by ((chunkX - minChunkX) * chunksZ + chunkZ - minChunkZ) * SECTIONS + sectionY.
+     */
+    PassabilitySnapshot(final int minChunkX, final int minChunkZ, final int chunksX, final int chunksZ, @NotNull final byte[][] sections)
+    {
+        this(minChunkX, minChunkZ, chunksX, chunksZ, sections, null);
+    }
+
+    /**
+     * Creates a snapshot from its sections and the copied sections which aren't classified yet.
+     *
+     * @param minChunkX the x coordinate of the first chunk.
+     * @param minChunkZ the z coordinate of the first chunk.
+     * @param chunksX   the amount of chunks along x.
+     * @param chunksZ   the amount of chunks along z.
+     * @param sections  the sections, null where the section is pending, indexed like {@link #PassabilitySnapshot(int, int, int, int, byte[][])}.
+     * @param pending   the pending sections with the same index, or null if there are none.
+     */
+    PassabilitySnapshot(
+                         final int minChunkX,
+                         final int minChunkZ,
+                         final int chunksX,
+                         final int chunksZ,
+                         @NotNull final byte[][] sections,
+                         @Nullable final PassabilitySection[] pending)
+    {
+        this.minChunkX = minChunkX;
+        this.minChunkZ = minChunkZ;
+        this.chunksX = chunksX;
+        this.chunksZ = chunksZ;
+        this.sections = sections;
+        this.pending = pending;
+    }
+
+    private static byte[] createFilledSection(final byte cell)
+    {
+        final byte[] section = new byte[SECTION_CELLS];
+        Arrays.fill(section, cell);
+        return section;
+    }
+
+    /**
+     * Index of a block in its section.
+     *
+     * @param x the x coordinate.
+     * @param y the y coordinate.
+     * @param z the z coordinate.
+     * @return the index.
+     */
+    static int cellIndex(final int x, final int y, final int z)
+    {
+        return ((y & MASK) << 8) | ((z & MASK) << 4) | (x & MASK);
+    }
+
+    /**
+     * Classifies a block.
+     *
+     * @param state the state of the block.
+     * @param world the world of the block, null off the server thread, blocks which need it to tell if they are a
+     *              ladder are asked without it.
+     * @param pos   the position of the block.
+     * @return the cell of the block.
+     */
+    static byte classify(@NotNull final IBlockState state, @Nullable final IBlockAccess world, @NotNull final BlockPos pos)
+    {
+        final Block block = state.getBlock();
+        final Material material = state.getMaterial();
+
+        int cell = 0;
+        if (isPassable(state))
+        {
+            cell |= PASSABLE;
+        }
+        cell |= getSurfaceType(state).ordinal() << SURFACE_SHIFT;
+
+        if (material == Material.WATER)
+        {
+            cell |= FLUID_WATER << FLUID_SHIFT;
+        }
+        else if (material.isLiquid())
+        {
+            cell |= FLUID_LIQUID << FLUID_SHIFT;
+        }
+        else if (material == Material.LEAVES)
+        {
+            cell |= FLUID_LEAVES << FLUID_SHIFT;
+        }
+
+        if (block.isWood(world, pos))
+        {
+            cell |= KIND_LOG << KIND_SHIFT;
+        }
+        else if (block.isLadder(state, world, pos, null))
+        {
+            @Nullable final EnumFacing facing = getLadderFacing(state);
+            cell |= (facing == null ? KIND_LADDER : (KIND_LADDER + 1 + facing.getHorizontalIndex())) << KIND_SHIFT;
+        }
+        else if (BlockUtils.isPathBlock(block))
+        {
+            cell |= KIND_PATH << KIND_SHIFT;
+        }
+
+        return (byte) cell;
+    }
+
+    /**
+     * Is the space passable.
+     *
+     * @param state the block we are checking.
+     * @return true if the block does not block movement.
+     */
+    private static boolean isPassable(@NotNull final IBlockState state)
+    {
+        if (state.getMaterial() != Material.AIR)
+        {
+            if (state.getMaterial().blocksMovement())
+            {
+                return state.getBlock() instanceof BlockDoor || state.getBlock() instanceof BlockFenceGate;
+            }
+            else if (state.getMaterial().isLiquid())
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Is the block solid and can be stood upon.
+     *
+     * @param state Block to check.
+     * @return if the block can be walked on, dropped into or neither.
+     */
+    @NotNull
+    private static SurfaceType getSurfaceType(@NotNull final IBlockState state)
+    {
+        final Block block = state.getBlock();
+        if (block instanceof BlockFence
+              || block instanceof BlockFenceGate
+              || block instanceof BlockWall
+              || block instanceof BlockHutField)
+        {
+            return SurfaceType.NOT_PASSABLE;
+        }
+
+        if (state.getMaterial().isSolid())
+        {
+            return SurfaceType.WALKABLE;
+        }
+
+        return SurfaceType.DROPABLE;
+    }
+
+    /**
+     * Get the direction where a ladder is facing.
+     * In the case of BlockVines (Which does not have EnumFacing) we have to check the metadata of the vines... bitwise...
+     *
+     * @param state the state of the ladder.
+     * @return the facing or null if it has none.
+     */
+    @Nullable
+    private static EnumFacing getLadderFacing(@NotNull final IBlockState state)
+    {
+        if (state.getBlock() instanceof BlockVine)
+        {
+            final int meta = state.getBlock().getMetaFromState(state);
+
+            if (((meta >>> SHIFT_SOUTH) & 1) != 0)
+            {
+                return EnumFacing.SOUTH;
+            }
+            else if (((meta >>> SHIFT_WEST) & 1) != 0)
+            {
+                return EnumFacing.WEST;
+            }
+            else if (((meta >>> SHIFT_NORTH) & 1) != 0)
+            {
+                return EnumFacing.NORTH;
+            }
+            else if (((meta >>> SHIFT_EAST) & 1) != 0)
+            {
+                return EnumFacing.EAST;
+            }
+            return null;
+        }
+
+        if (state.getPropertyNames().contains(BlockLadder.FACING))
+        {
+            return state.getValue(BlockLadder.FACING);
+        }
+        return null;
+    }
+
+    /**
+     * Get the cell of a block.
+     *
+     * @param pos the position of the block.
+     * @return the cell, air above and below the world, an unloaded block outside of the snapshot.
+     */
+    private int get(@NotNull final BlockPos pos)
+    {
+        final int y = pos.getY();
+        if (y < 0 || y >= SECTIONS * SECTION_SIZE)
+        {
+            return AIR;
+        }
+
+        final int chunkX = (pos.getX() >> 4) - minChunkX;
+        final int chunkZ = (pos.getZ() >> 4) - minChunkZ;
+        if (chunkX < 0 || chunkX >= chunksX || chunkZ < 0 || chunkZ >= chunksZ)
+        {
+            return 0;
+        }
+
+        return getSection((chunkX * chunksZ + chunkZ) * SECTIONS + (y >> 4))[cellIndex(pos.getX(), y, pos.getZ())];
+    }
+
+    /**
+     * Get a section, classifies it if it is still pending.
+     *
+     * @param index the index of the section.
+     * @return the section.
+     */
+    @NotNull
+    private byte[] getSection(final int index)
+    {
+        @Nullable byte[] section = sections[index];
+        if (section == null)
+        {
+            section = pending[index].getCells();
+            sections[index] = section;
+        }
+        return section;
+    }
+
+    /**
+     * Is the space passable.
+     *
+     * @param pos the position.
+     * @return true if the block does not block movement.
+     */
+    public boolean isPassable(@NotNull final BlockPos pos)
+    {
+        return (get(pos) & PASSABLE) != 0;
+    }
+
+    /**
+     * Get if a block can be walked on, dropped into or neither.
+     *
+     * @param pos the position.
+     * @return the surface type.
+     */
+    @NotNull
+    public SurfaceType getSurfaceType(@NotNull final BlockPos pos)
+    {
+        return SurfaceType.values()[(get(pos) >> SURFACE_SHIFT) & SURFACE_MASK];
+    }
+
+    /**
+     * Is the block a liquid.
+     *
+     * @param pos the position.
+     * @return true if so.
+     */
+    public boolean isLiquid(@NotNull final BlockPos pos)
+    {
+        final int fluid = (get(pos) >> FLUID_SHIFT) & FLUID_MASK;
+        return fluid == FLUID_LIQUID || fluid == FLUID_WATER;
+    }
+
+    /**
+     * Is the block water.
+     *
+     * @param pos the position.
+     * @return true if so.
+     */
+    public boolean isWater(@NotNull final BlockPos pos)
+    {
+        return ((get(pos) >> FLUID_SHIFT) & FLUID_MASK) == FLUID_WATER;
+    }
+
+    /**
+     * Are the blocks leaves.
+     *
+     * @param pos the position.
+     * @return true if so.
+     */
+    public boolean isLeaves(@NotNull final BlockPos pos)
+    {
+        return ((get(pos) >> FLUID_SHIFT) & FLUID_MASK) == FLUID_LEAVES;
+    }
+
+    /**
+     * Is the block a log, wood as far as trees are concerned.
+     *
+     * @param pos the position.
+     * @return true if so.
+     */
+    public boolean isLog(@NotNull final BlockPos pos)
+    {
+        return ((get(pos) & 0xFF) >> KIND_SHIFT) == KIND_LOG;
+    }
+
+    /**
+     * Is the block a ladder.
+     *
+     * @param pos the position.
+     * @return true if so.
+     */
+    public boolean isLadder(@NotNull final BlockPos pos)
+    {
+        final int kind = (get(pos) & 0xFF) >> KIND_SHIFT;
+        return kind >= KIND_LADDER && kind < KIND_LOG;
+    }
+
+    /**
+     * Is the block one which citizens prefer to walk over.
+     *
+     * @param pos the position.
+     * @return true if so.
+     */
+    public boolean isPathBlock(@NotNull final BlockPos pos)
+    {
+        return ((get(pos) & 0xFF) >> KIND_SHIFT) == KIND_PATH;
+    }
+
+    /**
+     * Get the direction where a ladder is facing.
+     *
+     * @param pos the position of the ladder.
+     * @return the facing or null if the block isn't a ladder or has no facing.
+     */
+    @Nullable
+    public EnumFacing getLadderFacing(@NotNull final BlockPos pos)
+    {
+        final int kind = (get(pos) & 0xFF) >> KIND_SHIFT;
+        return kind > KIND_LADDER && kind < KIND_LOG ? EnumFacing.getHorizontal(kind - KIND_LADDER - 1) : null;
+    }
+
+    /**
+     * Writes the snapshot, the sections of air and of unloaded chunks take a single byte.
+     *
+     * @param out the output.
+     * @throws IOException if writing failed.
+     */
+    void write(@NotNull final DataOutput out) throws IOException
+    {
+        out.writeInt(minChunkX);
+        out.writeInt(minChunkZ);
+        out.writeInt(chunksX);
+        out.writeInt(chunksZ);
+        for (int index = 0; index < sections.length; index++)
+        {
+            final byte[] section = getSection(index);
+            if (section == AIR_SECTION)
+            {
+                out.writeByte(TAG_AIR);
+            }
+            else if (section == UNLOADED_SECTION)
+            {
+                out.writeByte(TAG_UNLOADED);
+            }
+            else
+            {
+                out.writeByte(TAG_CELLS);
+                out.write(section);
+            }
+        }
+    }
+
+    /**
+     * Reads a snapshot which was written by {@link #write(DataOutput)}.
+     *
+     * @param in the input.
+     * @return the snapshot.
+     * @throws IOException if reading failed or the data is no snapshot.
+     */
+    @NotNull
+    static PassabilitySnapshot read(@NotNull final DataInput in) throws IOException
+    {
+        final int minChunkX = in.readInt();
+        final int minChunkZ = in.readInt();
+        final int chunksX = in.readInt();
+        final int chunksZ = in.readInt();
+        if (chunksX <= 0 || chunksZ <= 0)
+        {
+            throw new IOException("Invalid snapshot size " + chunksX + "x" + chunksZ);
+        }
+
+        @NotNull final byte[][] sections = new byte[chunksX * chunksZ * SECTIONS][];
+        for (int i = 0; i < sections.length; i++)
+        {
+            final int tag = in.readByte();
+            switch (tag)
+            {
+                case TAG_AIR:
+                    sections[i] = AIR_SECTION;
+                    break;
+                case TAG_UNLOADED:
+                    sections[i] = UNLOADED_SECTION;
+                    break;
+                case TAG_CELLS:
+                    sections[i] = new byte[SECTION_CELLS];
+                    in.readFully(sections[i]);
+                    break;
+                default:
+                    throw new IOException("Invalid section tag " + tag);
+            }
+        }
+        return new PassabilitySnapshot(minChunkX, minChunkZ, chunksX, chunksZ, sections);
+    }
+
+    /**
+     * Check if we can walk on a surface, drop into, or neither.
+     */
+    public enum SurfaceType
+    {
+        WALKABLE,
+        DROPABLE,
+        NOT_PASSABLE
+    }
+}
@@ -0,0 +1,341 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import net.minecraft.pathfinding.Path;
+import net.minecraft.pathfinding.PathPoint;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Paths of the citizens of a colony by start and end cell, so routes walked over and over are only searched once.
+ * <p>
+ * A path is dropped as soon as a block within its bounds changes, so only paths within the area whose block changes
+ * the colony watches are kept. Every citizen gets its own copy of the points, navigators change them.
+ * Paths computed while a block within their bounds changed are not stored, a job searches a snapshot of the world
+ * which may already be outdated when it finishes.
+ * Only used on the server thread.
+ */
+public final class PathCache
+{
+    /**
+     * Paths kept per colony, the least recently used one is dropped first.
+     */
+    private static final int MAX_PATHS = 256;
+
+    /**
+     * Block changes remembered to check paths which were computed meanwhile.
+     */
+    private static final int CHANGE_LOG_SIZE = 64;
+
+    /**
+     * Blocks around a path which affect it, the ground below and the headroom above.
+     */
+    private static final int MARGIN_HORIZONTAL = 1;
+    private static final int MARGIN_BELOW      = 2;
+    private static final int MARGIN_ABOVE      = 2;
+
+    @NotNull
+    private final Map<RouteKey, CachedPath> paths = new LinkedHashMap<RouteKey, CachedPath>(MAX_PATHS, 0.75F, true)
+    {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<RouteKey, CachedPath> eldest)
+        {
+            return size() > MAX_PATHS;
+        }
+    };
+
+    /**
+     * Ring buffer of the last block changes, the position of change n is at n % CHANGE_LOG_SIZE.
+     */
+    @NotNull
+    private final long[] changeLog = new long[CHANGE_LOG_SIZE];
+    private       long   changeCount;
+
+    private int hits;
+    private int misses;
+
+    /**
+     * The watched area, paths leaving it are not kept. No area means no limit.
+     */
+    @Nullable
+    private BlockPos areaCenter;
+    private int      areaDistance;
+
+    /**
+     * Sets the area in which block changes are reported to the cache.
+     * Paths already cached outside of a smaller area are dropped.
+     *
+     * @param center   the center of the area.
+     * @param distance the distance from the center in blocks.
+     */
+    public void setArea(@NotNull final BlockPos center, final int distance)
+    {
+        if (center.equals(areaCenter) && distance == areaDistance)
+        {
+            return;
+        }
+
+        areaCenter = center;
+        areaDistance = distance;
+        paths.values().removeIf(path -> !isInArea(path));
+    }
+
+    private boolean isInArea(@NotNull final CachedPath path)
+    {
+        return areaCenter == null
+                 || path.minX >= areaCenter.getX() - areaDistance && path.maxX <= areaCenter.getX() + areaDistance
+                 && path.minZ >= areaCenter.getZ() - areaDistance && path.maxZ <= areaCenter.getZ() + areaDistance;
+    }
+
+    /**
+     * Get a copy of the path between two cells.
+     *
+     * @param start the start cell.
+     * @param end   the end cell.
+     * @return the path or null if there is none cached.
+     */
+    @Nullable
+    public Path get(@NotNull final BlockPos start, @NotNull final BlockPos end)
+    {
+        @Nullable final CachedPath cached = paths.get(new RouteKey(start, end));
+        if (cached == null)
+        {
+            misses++;
+            return null;
+        }
+
+        hits++;
+        return new Path(copy(cached.points));
+    }
+
+    /**
+     * Copies the points of a path, so no navigator shares them with another one or the cache.
+     *
+     * @param points the points.
+     * @return the copies.
+     */
+    @NotNull
+    private static PathPoint[] copy(@NotNull final PathPoint[] points)
+    {
+        final PathPoint[] copies = new PathPoint[points.length];
+        for (int i = 0; i < points.length; i++)
+        {
+            final PathPoint point = points[i];
+            if (point instanceof PathPointExtended)
+            {
+                final PathPointExtended extended = new PathPointExtended(new BlockPos(point.xCoord, point.yCoord, point.zCoord));
+                extended.isOnLadder = ((PathPointExtended) point).isOnLadder;
+                extended.ladderFacing = ((PathPointExtended) point).ladderFacing;
+                copies[i] = extended;
+            }
+            else
+            {
+                copies[i] = new PathPoint(point.xCoord, point.yCoord, point.zCoord);
+            }
+        }
+        return copies;
+    }
+
+    /**
+     * Get the amount of block changes seen so far.
+     * Has to be taken when the search of a path starts, to store the path afterwards.
+     *
+     * @return the change count.
+     */
+    public long getChangeCount()
+    {
+        return changeCount;
+    }
+
+    /**
+     * Stores a path which reaches its destination.
+     *
+     * @param start       the start cell.
+     * @param end         the end cell.
+     * @param changeCount the change count when the search started.
+     * @param path        the path.
+     */
+    public void put(@NotNull final BlockPos start, @NotNull final BlockPos end, final long changeCount, @NotNull final Path path)
+    {
+        if (path.getCurrentPathLength() == 0)
+        {
+            return;
+        }
+
+        final PathPoint[] points = new PathPoint[path.getCurrentPathLength()];
+        for (int i = 0; i < points.length; i++)
+        {
+            points[i] = path.getPathPointFromIndex(i);
+        }
+
+        final CachedPath cached = new CachedPath(copy(points));
+        if (!isInArea(cached) || changedSince(changeCount, cached))
+        {
+            return;
+        }
+        paths.put(new RouteKey(start, end), cached);
+    }
+
+    /**
+     * Checks if a block in the bounds of a path changed after a change count.
+     *
+     * @param since the change count.
+     * @param path  the path.
+     * @return true if so, or if the change log doesn't go back far enough to tell.
+     */
+    private boolean changedSince(final long since, @NotNull final CachedPath path)
+    {
+        if (changeCount - since > CHANGE_LOG_SIZE)
+        {
+            return true;
+        }
+
+        for (long change = since; change < changeCount; change++)
+        {
+            if (path.contains(BlockPos.fromLong(changeLog[(int) (change % CHANGE_LOG_SIZE)])))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Drops the paths a changed block lies on.
+     *
+     * @param pos the position of the block.
+     */
+    public void onBlockChanged(@NotNull final BlockPos pos)
+    {
+        changeLog[(int) (changeCount % CHANGE_LOG_SIZE)] = pos.toLong();
+        changeCount++;
+
+        for (final Iterator<CachedPath> it = paths.values().iterator(); it.hasNext(); )
+        {
+            if (it.next().contains(pos))
+            {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Amount of paths which were served from the cache.
+     *
+     * @return the hits.
+     */
+    public int getHits()
+    {
+        return hits;
+    }
+
+    /**
+     * Amount of paths which had to be searched.
+     *
+     * @return the misses.
+     */
+    public int getMisses()
+    {
+        return misses;
+    }
+
+    /**
+     * Resets the hit and miss counters.
+     */
+    public void resetStatistics()
+    {
+        hits = 0;
+        misses = 0;
+    }
+
+    /**
+     * Start and end cell of a path.
+     */
+    private static final class RouteKey
+    {
+        private final long start;
+        private final long end;
+
+        private RouteKey(@NotNull final BlockPos start, @NotNull final BlockPos end)
+        {
+            this.start = start.toLong();
+            this.end = end.toLong();
+        }
+
+        @Override
+        public boolean equals(@Nullable final Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass())
+            {
+                return false;
+            }
+
+            final RouteKey other = (RouteKey) o;
+            return start == other.start && end == other.end;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31 * Long.hashCode(start) + Long.hashCode(end);
+        }
+    }
+
+    /**
+     * A cached path and the bounds of the blocks it depends on.
+     */
+    private static final class CachedPath
+    {
+        @NotNull
+        private final PathPoint[] points;
+        private final int         minX;
+        private final int         minY;
+        private final int         minZ;
+        private final int         maxX;
+        private final int         maxY;
+        private final int         maxZ;
+
+        private CachedPath(@NotNull final PathPoint[] points)
+        {
+            this.points = points;
+
+            int lowX = Integer.MAX_VALUE;
+            int lowY = Integer.MAX_VALUE;
+            int lowZ = Integer.MAX_VALUE;
+            int highX = Integer.MIN_VALUE;
+            int highY = Integer.MIN_VALUE;
+            int highZ = Integer.MIN_VALUE;
+            for (@NotNull final PathPoint point : points)
+            {
+                lowX = Math.min(lowX, point.xCoord);
+                lowY = Math.min(lowY, point.yCoord);
+                lowZ = Math.min(lowZ, point.zCoord);
+                highX = Math.max(highX, point.xCoord);
+                highY = Math.max(highY, point.yCoord);
+                highZ = Math.max(highZ, point.zCoord);
+            }
+
+            minX = lowX - MARGIN_HORIZONTAL;
+            minY = lowY - MARGIN_BELOW;
+            minZ = lowZ - MARGIN_HORIZONTAL;
+            maxX = highX + MARGIN_HORIZONTAL;
+            maxY = highY + MARGIN_ABOVE;
+            maxZ = highZ + MARGIN_HORIZONTAL;
+        }
+
+        private boolean contains(@NotNull final BlockPos pos)
+        {
+            return pos.getX() >= minX && pos.getX() <= maxX
+                     && pos.getY() >= minY && pos.getY() <= maxY
+                     && pos.getZ() >= minZ && pos.getZ() <= maxZ;
+        }
+    }
+}
@@ -1,33 +1,57 @@
 package com.minecolonies.coremod.entity.pathfinding;
 
-import com.minecolonies.coremod.entity.ai.citizen.lumberjack.Tree;
-import net.minecraft.block.material.Material;
-import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.*;
+
 /**
  * Find and return a path to the nearest tree.
+ * Lumberjacks only search this way until the tree index of their colony has scanned its area once.
+ * The trees are recognized in the snapshot, which can't tell the ground a tree stands on apart from other solid blocks,
+ * so the lumberjack checks the tree in the world again before taking it.
  * Created: May 21, 2015
  */
 public class PathJobFindTree extends AbstractPathJob
 {
+    /**
+     * Logs of a tree which are followed at most, like {@code Tree} does.
+     */
+    private static final int MAX_TREE_SIZE    = 256;
+    /**
+     * Leaves around the top log a tree needs at least, like {@code Tree} does.
+     */
+    private static final int NUMBER_OF_LEAVES = 3;
+
     private final BlockPos hutLocation;
 
+    /**
+     * The bases of the trees claimed by other citizens when the job was created, they aren't taken.
+     */
+    @NotNull
+    private final Set<BlockPos> claimedTrees;
+
     /**
      * AbstractPathJob constructor.
      *
-     * @param world the world within which to path.
-     * @param start the start position from which to path from.
-     * @param home  the position of the workers hut.
-     * @param range maximum path range.
+     * @param world        the world within which to path.
+     * @param start        the start position from which to path from.
+     * @param home         the position of the workers hut.
+     * @param range        maximum path range.
+     * @param claimedTrees the bases of the trees claimed by other citizens.
      */
-    public PathJobFindTree(final World world, @NotNull final BlockPos start, final BlockPos home, final int range)
+    public PathJobFindTree(
+                            final World world,
+                            @NotNull final BlockPos start,
+                            final BlockPos home,
+                            final int range,
+                            @NotNull final Set<BlockPos> claimedTrees)
     {
         super(world, start, start, range, new TreePathResult());
 
         hutLocation = home;
+        this.claimedTrees = claimedTrees;
     }
 
     /**
@@ -81,12 +105,64 @@ public class PathJobFindTree extends AbstractPathJob
 
     private boolean isTree(final BlockPos pos)
     {
-        if (Tree.checkTree(world, pos))
+        if (!snapshot.isLog(pos))
+        {
+            return false;
+        }
+
+        //  Follows the connected logs like Tree.checkTree, to the lowest and the highest one
+        @NotNull final Set<BlockPos> logs = new HashSet<>();
+        @NotNull final Deque<BlockPos> open = new ArrayDeque<>();
+        logs.add(pos);
+        open.add(pos);
+        BlockPos base = pos;
+        BlockPos top = pos;
+        while (!open.isEmpty() && logs.size() < MAX_TREE_SIZE)
+        {
+            final BlockPos log = open.poll();
+            if (log.getY() < base.getY())
+            {
+                base = log;
+            }
+            if (log.getY() > top.getY())
+            {
+                top = log;
+            }
+
+            for (@NotNull final BlockPos next : BlockPos.getAllInBox(log.add(-1, -1, -1), log.add(1, 1, 1)))
+            {
+                if (snapshot.isLog(next) && logs.add(next))
+                {
+                    open.add(next);
+                }
+            }
+        }
+
+        if (snapshot.getSurfaceType(base.down()) != PassabilitySnapshot.SurfaceType.WALKABLE
+              || !hasEnoughLeaves(top)
+              || claimedTrees.contains(base))
         {
-            getResult().treeLocation = pos;
-            return true;
+            return false;
         }
 
+        getResult().treeLocation = base;
+        return true;
+    }
+
+    private boolean hasEnoughLeaves(@NotNull final BlockPos top)
+    {
+        int leafCount = 0;
+        for (@NotNull final BlockPos pos : BlockPos.getAllInBox(top.add(-1, -1, -1), top.add(1, 1, 1)))
+        {
+            if (snapshot.isLeaves(pos))
+            {
+                leafCount++;
+                if (leafCount >= NUMBER_OF_LEAVES)
+                {
+                    return true;
+                }
+            }
+        }
         return false;
     }
 
@@ -97,8 +173,8 @@ public class PathJobFindTree extends AbstractPathJob
     }
 
     @Override
-    protected boolean isPassable(@NotNull final IBlockState block)
+    protected boolean isPassable(@NotNull final BlockPos pos)
     {
-        return super.isPassable(block) || block.getMaterial() == Material.LEAVES;
+        return super.isPassable(pos) || snapshot.isLeaves(pos);
     }
 }
@@ -47,7 +47,35 @@ public class PathJobMoveAwayFromLocation extends AbstractPathJob
 
         this.avoid = new BlockPos(avoid);
         this.avoidDistance = avoidDistance;
+        this.heuristicPoint = computeHeuristicPoint(start, avoid, avoidDistance);
+    }
+
+    /**
+     * Prepares a recorded PathJob for a replay.
+     *
+     * @param snapshot      the recorded blocks.
+     * @param start         starting location.
+     * @param avoid         location to avoid.
+     * @param avoidDistance how far to move away.
+     * @param range         max range to search.
+     */
+    PathJobMoveAwayFromLocation(
+                                 @NotNull final PassabilitySnapshot snapshot,
+                                 @NotNull final BlockPos start,
+                                 @NotNull final BlockPos avoid,
+                                 final int avoidDistance,
+                                 final int range)
+    {
+        super(snapshot, start, avoid, range, new PathResult());
+
+        this.avoid = new BlockPos(avoid);
+        this.avoidDistance = avoidDistance;
+        this.heuristicPoint = computeHeuristicPoint(start, avoid, avoidDistance);
+    }
 
+    @NotNull
+    private static BlockPos computeHeuristicPoint(@NotNull final BlockPos start, @NotNull final BlockPos avoid, final int avoidDistance)
+    {
         double dx = (double) (start.getX() - avoid.getX());
         double dz = (double) (start.getZ() - avoid.getZ());
 
@@ -55,7 +83,7 @@ public class PathJobMoveAwayFromLocation extends AbstractPathJob
         dx *= scalar;
         dz *= scalar;
 
-        heuristicPoint = new BlockPos(start.getX() + (int) dx, start.getY(), start.getZ() + (int) dz);
+        return new BlockPos(start.getX() + (int) dx, start.getY(), start.getZ() + (int) dz);
     }
 
     /**
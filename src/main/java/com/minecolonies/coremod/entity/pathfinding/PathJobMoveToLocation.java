@@ -37,6 +37,21 @@ public class PathJobMoveToLocation extends AbstractPathJob
         this.destination = new BlockPos(end);
     }
 
+    /**
+     * Prepares a recorded PathJob for a replay.
+     *
+     * @param snapshot the recorded blocks.
+     * @param start    starting location.
+     * @param end      target location.
+     * @param range    max search range.
+     */
+    PathJobMoveToLocation(@NotNull final PassabilitySnapshot snapshot, @NotNull final BlockPos start, @NotNull final BlockPos end, final int range)
+    {
+        super(snapshot, start, end, range, new PathResult());
+
+        this.destination = new BlockPos(end);
+    }
+
     /**
      * Perform the search.
      *
@@ -0,0 +1,204 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import com.minecolonies.coremod.util.Log;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A path job as it was enqueued: its type, end points, range and the snapshot of the blocks it searched.
+ * <p>
+ * Recordings are written when the pathfinding config asks for it, {@link PathJobReplay} runs them again without a
+ * world, to compare changes of the pathfinder on real searches.
+ */
+public final class PathJobRecording
+{
+    /**
+     * Suffix of the files of recordings.
+     */
+    public static final String FILE_SUFFIX = ".pathjob";
+
+    //  2: the cells tell leaves and logs apart
+    private static final int FORMAT_VERSION = 2;
+
+    /**
+     * Recordings written per world at most, so a forgotten config option doesn't fill the disk.
+     */
+    private static final int MAX_RECORDINGS = 1000;
+
+    @Nullable
+    private static volatile File          directory;
+    @NotNull
+    private static final    AtomicInteger recordings = new AtomicInteger();
+
+    @NotNull
+    private final String              type;
+    @NotNull
+    private final BlockPos            start;
+    @NotNull
+    private final BlockPos            end;
+    private final int                 range;
+    private final int                 avoidDistance;
+    @NotNull
+    private final PassabilitySnapshot snapshot;
+
+    private PathJobRecording(
+                              @NotNull final String type,
+                              @NotNull final BlockPos start,
+                              @NotNull final BlockPos end,
+                              final int range,
+                              final int avoidDistance,
+                              @NotNull final PassabilitySnapshot snapshot)
+    {
+        this.type = type;
+        this.start = start;
+        this.end = end;
+        this.range = range;
+        this.avoidDistance = avoidDistance;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Creates the recording of a job.
+     *
+     * @param job the job.
+     */
+    PathJobRecording(@NotNull final AbstractPathJob job)
+    {
+        this(job.getClass().getSimpleName(),
+          job.start,
+          job.getEnd(),
+          job.getMaxRange(),
+          job instanceof PathJobMoveAwayFromLocation ? ((PathJobMoveAwayFromLocation) job).avoidDistance : 0,
+          job.getSnapshot());
+    }
+
+    /**
+     * Set the directory the recordings are written to.
+     *
+     * @param dir the directory or null to write none.
+     */
+    public static void setDirectory(@Nullable final File dir)
+    {
+        directory = dir;
+        recordings.set(0);
+    }
+
+    /**
+     * Writes a job which ran, called on the pathfinding thread which ran it.
+     *
+     * @param job the job.
+     */
+    static void record(@NotNull final AbstractPathJob job)
+    {
+        @Nullable final File dir = directory;
+        if (dir == null)
+        {
+            return;
+        }
+
+        final int number = recordings.incrementAndGet();
+        if (number > MAX_RECORDINGS)
+        {
+            return;
+        }
+
+        @NotNull final PathJobRecording recording = new PathJobRecording(job);
+        try
+        {
+            if (!dir.isDirectory() && !dir.mkdirs())
+            {
+                throw new IOException("Can't create " + dir);
+            }
+            recording.write(new File(dir, String.format("%s-%04d%s", recording.type, number, FILE_SUFFIX)));
+        }
+        catch (final IOException e)
+        {
+            Log.getLogger().warn("Failed to record a path job", e);
+        }
+    }
+
+    /**
+     * Reads a recording.
+     *
+     * @param file the file of the recording.
+     * @return the recording.
+     * @throws IOException if reading failed or the file is no recording.
+     */
+    @NotNull
+    public static PathJobRecording read(@NotNull final File file) throws IOException
+    {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file)))))
+        {
+            final int version = in.readInt();
+            if (version != FORMAT_VERSION)
+            {
+                throw new IOException("Unknown recording version " + version);
+            }
+
+            final String type = in.readUTF();
+            final BlockPos start = BlockPos.fromLong(in.readLong());
+            final BlockPos end = BlockPos.fromLong(in.readLong());
+            final int range = in.readInt();
+            final int avoidDistance = in.readInt();
+            return new PathJobRecording(type, start, end, range, avoidDistance, PassabilitySnapshot.read(in));
+        }
+    }
+
+    /**
+     * Writes the recording.
+     *
+     * @param file the file to write to.
+     * @throws IOException if writing failed.
+     */
+    void write(@NotNull final File file) throws IOException
+    {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(file)))))
+        {
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(type);
+            out.writeLong(start.toLong());
+            out.writeLong(end.toLong());
+            out.writeInt(range);
+            out.writeInt(avoidDistance);
+            snapshot.write(out);
+        }
+    }
+
+    /**
+     * Creates a new job from the recording, to run it again.
+     * Jobs which need more than the recorded end points, like the search for trees with its hut and claimed trees,
+     * can't be replayed.
+     *
+     * @return the job or null if its type can't be replayed.
+     */
+    @Nullable
+    public AbstractPathJob createJob()
+    {
+        if (PathJobMoveToLocation.class.getSimpleName().equals(type))
+        {
+            return new PathJobMoveToLocation(snapshot, start, end, range);
+        }
+        if (PathJobMoveAwayFromLocation.class.getSimpleName().equals(type))
+        {
+            return new PathJobMoveAwayFromLocation(snapshot, start, end, avoidDistance, range);
+        }
+        return null;
+    }
+
+    /**
+     * Get the type of the recorded job.
+     *
+     * @return the simple class name of the job.
+     */
+    @NotNull
+    public String getType()
+    {
+        return type;
+    }
+}
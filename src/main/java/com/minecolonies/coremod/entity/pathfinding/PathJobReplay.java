@@ -0,0 +1,86 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import com.minecolonies.coremod.util.Log;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Runs recorded path jobs again without a world and logs how they did, to compare changes of the pathfinder.
+ * <p>
+ * Usage: {@code PathJobReplay <directory of recordings> [runs per recording]}.
+ * The first runs of each recording warm up the JIT, only the later ones are timed.
+ */
+public final class PathJobReplay
+{
+    private static final int DEFAULT_RUNS = 20;
+
+    private PathJobReplay()
+    {
+        //Hides default constructor.
+    }
+
+    /**
+     * Replays the recordings of a directory.
+     *
+     * @param args the directory and optionally the amount of runs per recording.
+     * @throws IOException if a recording can't be read.
+     */
+    public static void main(@NotNull final String[] args) throws IOException
+    {
+        if (args.length < 1)
+        {
+            Log.getLogger().error("Usage: PathJobReplay <directory of recordings> [runs per recording]");
+            return;
+        }
+
+        final int runs = args.length > 1 ? Math.max(1, Integer.parseInt(args[1])) : DEFAULT_RUNS;
+        @Nullable final File[] files = new File(args[0]).listFiles((dir, name) -> name.endsWith(PathJobRecording.FILE_SUFFIX));
+        if (files == null)
+        {
+            Log.getLogger().error("Not a directory: " + args[0]);
+            return;
+        }
+        Arrays.sort(files);
+
+        long totalTime = 0;
+        long totalNodes = 0;
+        int replayed = 0;
+        for (@NotNull final File file : files)
+        {
+            @NotNull final PathJobRecording recording = PathJobRecording.read(file);
+            if (recording.createJob() == null)
+            {
+                Log.getLogger().info(String.format("%s: %s can't be replayed", file.getName(), recording.getType()));
+                continue;
+            }
+
+            long time = 0;
+            @Nullable AbstractPathJob job = null;
+            for (int run = 0; run < runs; run++)
+            {
+                job = recording.createJob();
+                final long startTime = System.nanoTime();
+                job.call();
+                if (run >= runs / 2)
+                {
+                    time += System.nanoTime() - startTime;
+                }
+            }
+
+            final int timedRuns = runs - runs / 2;
+            Log.getLogger().info(String.format("%s: %.3f ms, %d nodes, path length %d, reached %b, out of budget %b",
+              file.getName(), time / 1.0E6 / timedRuns, job.getTotalNodesVisited(), job.getPathLength(),
+              job.getResult().getPathReachesDestination(), job.isOutOfBudget()));
+
+            totalTime += time / timedRuns;
+            totalNodes += job.getTotalNodesVisited();
+            replayed++;
+        }
+
+        Log.getLogger().info(String.format("Replayed %d of %d recordings: %.3f ms, %d nodes in total", replayed, files.length, totalTime / 1.0E6, totalNodes));
+    }
+}
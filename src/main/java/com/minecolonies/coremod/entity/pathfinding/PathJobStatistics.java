@@ -0,0 +1,165 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Statistics of the path jobs of one type within a time window.
+ * Filled by the pathfinding threads while the window is open, only read once it is over.
+ */
+public final class PathJobStatistics
+{
+    private int  jobs;
+    private int  reached;
+    private int  outOfBudget;
+    private int  noPath;
+    private long totalWaitTime;
+    private long maxWaitTime;
+    private long totalRunTime;
+    private long maxRunTime;
+    private long totalNodesVisited;
+    private long totalPathLength;
+
+    /**
+     * Records a job which ran.
+     *
+     * @param job      the job.
+     * @param waitTime nanoseconds the job waited in the queue.
+     * @param runTime  nanoseconds the job ran.
+     */
+    void record(@NotNull final AbstractPathJob job, final long waitTime, final long runTime)
+    {
+        jobs++;
+        if (job.getPathLength() < 0)
+        {
+            noPath++;
+        }
+        else
+        {
+            totalPathLength += job.getPathLength();
+            if (job.getResult().getPathReachesDestination())
+            {
+                reached++;
+            }
+        }
+        if (job.isOutOfBudget())
+        {
+            outOfBudget++;
+        }
+
+        totalWaitTime += waitTime;
+        maxWaitTime = Math.max(maxWaitTime, waitTime);
+        totalRunTime += runTime;
+        maxRunTime = Math.max(maxRunTime, runTime);
+        totalNodesVisited += job.getTotalNodesVisited();
+    }
+
+    /**
+     * Amount of jobs which ran.
+     *
+     * @return the amount.
+     */
+    public int getJobs()
+    {
+        return jobs;
+    }
+
+    /**
+     * Amount of jobs whose path reaches the destination.
+     *
+     * @return the amount.
+     */
+    public int getReached()
+    {
+        return reached;
+    }
+
+    /**
+     * Amount of jobs which ran out of nodes or time and returned the best path found until then.
+     *
+     * @return the amount.
+     */
+    public int getOutOfBudget()
+    {
+        return outOfBudget;
+    }
+
+    /**
+     * Amount of jobs which returned no path at all.
+     *
+     * @return the amount.
+     */
+    public int getNoPath()
+    {
+        return noPath;
+    }
+
+    /**
+     * Average time the jobs waited in the queue.
+     *
+     * @return the time in milliseconds.
+     */
+    public double getAverageWaitTime()
+    {
+        return jobs == 0 ? 0D : (totalWaitTime / 1.0E6 / jobs);
+    }
+
+    /**
+     * Longest time a job waited in the queue.
+     *
+     * @return the time in milliseconds.
+     */
+    public double getMaxWaitTime()
+    {
+        return maxWaitTime / 1.0E6;
+    }
+
+    /**
+     * Average time the jobs searched.
+     *
+     * @return the time in milliseconds.
+     */
+    public double getAverageRunTime()
+    {
+        return jobs == 0 ? 0D : (totalRunTime / 1.0E6 / jobs);
+    }
+
+    /**
+     * Longest time a job searched.
+     *
+     * @return the time in milliseconds.
+     */
+    public double getMaxRunTime()
+    {
+        return maxRunTime / 1.0E6;
+    }
+
+    /**
+     * Average amount of nodes the jobs visited.
+     *
+     * @return the amount.
+     */
+    public double getAverageNodesVisited()
+    {
+        return jobs == 0 ? 0D : ((double) totalNodesVisited / jobs);
+    }
+
+    /**
+     * Average length of the paths the jobs returned.
+     *
+     * @return the amount of points.
+     */
+    public double getAveragePathLength()
+    {
+        final int paths = jobs - noPath;
+        return paths == 0 ? 0D : ((double) totalPathLength / paths);
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format(
+          "%d jobs, %d reached, %d out of budget, %d without path, wait avg %.1f ms max %.1f ms, run avg %.1f ms max %.1f ms, %.0f nodes avg, path length avg %.1f",
+          jobs, reached, outOfBudget, noPath, getAverageWaitTime(), getMaxWaitTime(), getAverageRunTime(), getMaxRunTime(), getAverageNodesVisited(),
+          getAveragePathLength());
+    }
+}
@@ -0,0 +1,84 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import net.minecraft.pathfinding.Path;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A path job waiting in or running on the pathfinding executor.
+ * Ordered by priority, jobs of the same priority in the order they were enqueued.
+ */
+final class PathJobTask extends FutureTask<Path> implements Comparable<PathJobTask>
+{
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    @NotNull
+    private final AbstractPathJob job;
+    @NotNull
+    private final PathPriority    priority;
+    private final long            sequence;
+    private final long            enqueueTime;
+
+    /**
+     * Creates the task of a job.
+     *
+     * @param job the job.
+     */
+    PathJobTask(@NotNull final AbstractPathJob job)
+    {
+        super(job);
+        this.job = job;
+        this.priority = job.getPriority();
+        this.sequence = SEQUENCE.getAndIncrement();
+        this.enqueueTime = System.nanoTime();
+    }
+
+    @Override
+    public void run()
+    {
+        if (isCancelled())
+        {
+            return;
+        }
+
+        final long startTime = System.nanoTime();
+        super.run();
+        Pathfinding.onJobFinished(job, startTime - enqueueTime, System.nanoTime() - startTime);
+    }
+
+    @Override
+    public boolean cancel(final boolean mayInterruptIfRunning)
+    {
+        final boolean cancelled = super.cancel(mayInterruptIfRunning);
+        if (cancelled)
+        {
+            //  Don't let superseded jobs take up room in the queue
+            Pathfinding.removeFromQueue(this);
+        }
+        return cancelled;
+    }
+
+    @Override
+    public int compareTo(@NotNull final PathJobTask other)
+    {
+        if (priority != other.priority)
+        {
+            return priority.compareTo(other.priority);
+        }
+        return Long.compare(sequence, other.sequence);
+    }
+
+    @Override
+    public boolean equals(final Object o)
+    {
+        return this == o;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Long.hashCode(sequence);
+    }
+}
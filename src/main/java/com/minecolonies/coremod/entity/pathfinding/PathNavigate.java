@@ -1,6 +1,7 @@
 package com.minecolonies.coremod.entity.pathfinding;
 
 import com.minecolonies.coremod.entity.EntityCitizen;
+import com.minecolonies.coremod.entity.ai.util.AIWakeEvent;
 import com.minecolonies.coremod.util.BlockPosUtil;
 import com.minecolonies.coremod.util.BlockUtils;
 import com.minecolonies.coremod.util.Log;
@@ -15,7 +16,8 @@ import net.minecraft.world.World;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.List;
+import java.util.Collections;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
@@ -37,6 +39,15 @@ public class PathNavigate extends PathNavigateGround
     private       Future<Path> future;
     @Nullable
     private       PathResult   pathResult;
+    //  Route of the running job, stored in the path cache of the colony when the job reaches its destination
+    @Nullable
+    private       PathCache    routeCache;
+    @Nullable
+    private       BlockPos     routeStart;
+    private       long         routeChangeCount;
+    //  Priority of the jobs which don't ask for one
+    @NotNull
+    private       PathPriority pathPriority = PathPriority.NORMAL;
 
     /**
      * Instantiates the navigation of an entity.
@@ -111,6 +122,16 @@ public class PathNavigate extends PathNavigateGround
         return tryMoveToXYZ(e.posX, e.posY, e.posZ, speed);
     }
 
+    /**
+     * Set the priority of the path jobs which don't ask for one.
+     *
+     * @param priority the priority.
+     */
+    public void setPathPriority(@NotNull final PathPriority priority)
+    {
+        this.pathPriority = priority;
+    }
+
     /**
      * Try to move to a certain position.
      *
@@ -122,6 +143,22 @@ public class PathNavigate extends PathNavigateGround
      */
     @Nullable
     public PathResult moveToXYZ(final double x, final double y, final double z, final double speed)
+    {
+        return moveToXYZ(x, y, z, speed, pathPriority);
+    }
+
+    /**
+     * Try to move to a certain position.
+     *
+     * @param x        the x target.
+     * @param y        the y target.
+     * @param z        the z target.
+     * @param speed    the speed to walk.
+     * @param priority the priority of the path job.
+     * @return the PathResult.
+     */
+    @Nullable
+    public PathResult moveToXYZ(final double x, final double y, final double z, final double speed, @NotNull final PathPriority priority)
     {
         int newX = MathHelper.floor_double(x);
         int newY = (int) y;
@@ -152,9 +189,67 @@ public class PathNavigate extends PathNavigateGround
         @NotNull final BlockPos start = AbstractPathJob.prepareStart(entity);
         @NotNull final BlockPos dest = new BlockPos(newX, newY, newZ);
 
-        return setPathJob(
-          new PathJobMoveToLocation(entity.worldObj, start, dest, (int) getPathSearchRange()),
-          dest, speed);
+        @Nullable final PathCache cache = getPathCache();
+        if (cache != null)
+        {
+            @Nullable final Path cachedPath = cache.get(start, dest);
+            if (cachedPath != null)
+            {
+                return setCachedPath(cachedPath, dest, speed);
+            }
+        }
+
+        @NotNull final AbstractPathJob job = new PathJobMoveToLocation(entity.worldObj, start, dest, (int) getPathSearchRange());
+        job.setPriority(priority);
+        @Nullable final PathResult result = setPathJob(job, dest, speed);
+
+        if (cache != null)
+        {
+            routeCache = cache;
+            routeStart = start;
+            routeChangeCount = cache.getChangeCount();
+        }
+        return result;
+    }
+
+    /**
+     * Get the path cache of the colony of the entity.
+     *
+     * @return the cache or null if the entity is no citizen of a colony.
+     */
+    @Nullable
+    private PathCache getPathCache()
+    {
+        if (entity instanceof EntityCitizen && ((EntityCitizen) entity).getColony() != null)
+        {
+            return ((EntityCitizen) entity).getColony().getPathCache();
+        }
+        return null;
+    }
+
+    /**
+     * Follows a path from the path cache, without a search.
+     *
+     * @param path  the path.
+     * @param dest  the destination.
+     * @param speed the speed to walk.
+     * @return the result of the path, already following.
+     */
+    @NotNull
+    private PathResult setCachedPath(@NotNull final Path path, final BlockPos dest, final double speed)
+    {
+        clearPathEntity();
+
+        this.destination = dest;
+        this.walkSpeed = speed;
+
+        @NotNull final PathResult result = new PathResult();
+        setPath(path, speed);
+        result.setPathLength(path.getCurrentPathLength());
+        result.setPathReachesDestination(true);
+        result.setStatus(PathResult.Status.IN_PROGRESS_FOLLOWING);
+        pathResult = result;
+        return result;
     }
 
     public boolean isUnableToReachDestination()
@@ -162,9 +257,18 @@ public class PathNavigate extends PathNavigateGround
         return pathResult != null && pathResult.failedToReachDestination();
     }
 
+    /**
+     * Starts a path job, cancelling the previous job of the entity.
+     *
+     * @param job   the job.
+     * @param dest  the destination or null if the job finds it.
+     * @param speed the speed to walk.
+     * @return the result of the job.
+     */
     @Nullable
     private PathResult setPathJob(@NotNull final AbstractPathJob job, final BlockPos dest, final double speed)
     {
+        //  Interrupts the running job or removes it from the queue
         clearPathEntity();
 
         this.destination = dest;
@@ -210,6 +314,14 @@ public class PathNavigate extends PathNavigateGround
                 return;
             }
 
+            if (future.isCancelled())
+            {
+                //  Dropped from the full queue, the result reports it as not reaching the destination
+                future = null;
+                routeCache = null;
+                return;
+            }
+
             try
             {
                 if (future.get() == null)
@@ -218,6 +330,12 @@ public class PathNavigate extends PathNavigateGround
                     return;
                 }
 
+                if (routeCache != null && pathResult.getPathReachesDestination())
+                {
+                    routeCache.put(routeStart, destination, routeChangeCount, future.get());
+                }
+                routeCache = null;
+
                 setPath(future.get(), walkSpeed);
 
                 pathResult.setPathLength(getPath().getCurrentPathLength());
@@ -327,6 +445,18 @@ public class PathNavigate extends PathNavigateGround
         {
             pathResult.setStatus(PathResult.Status.COMPLETE);
             pathResult = null;
+            onPathFinished();
+        }
+    }
+
+    /**
+     * Wakes the ai of a citizen which sleeps until its path is walked or given up.
+     */
+    private void onPathFinished()
+    {
+        if (entity instanceof EntityCitizen)
+        {
+            ((EntityCitizen) entity).onWakeEvent(AIWakeEvent.PATH_FINISHED);
         }
     }
 
@@ -381,9 +511,12 @@ public class PathNavigate extends PathNavigateGround
         {
             pathResult.setStatus(PathResult.Status.CANCELLED);
             pathResult = null;
+            onPathFinished();
         }
 
         destination = null;
+        routeCache = null;
+        routeStart = null;
         super.clearPathEntity();
     }
 
@@ -397,24 +530,13 @@ public class PathNavigate extends PathNavigateGround
     public PathJobFindTree.TreePathResult moveToTree(final int range, final double speed)
     {
         @NotNull final BlockPos start = AbstractPathJob.prepareStart(entity);
-        return (PathJobFindTree.TreePathResult) setPathJob(
-          new PathJobFindTree(entity.worldObj, start, ((EntityCitizen) entity).getWorkBuilding().getLocation(), range), null, speed);
-    }
-
-    /**
-     * Used to find a water.
-     *
-     * @param range in the range.
-     * @param speed walking speed.
-     * @param ponds a list of ponds.
-     * @return the result of the search.
-     */
-    @Nullable
-    public PathJobFindWater.WaterPathResult moveToWater(final int range, final double speed, final List<BlockPos> ponds)
-    {
-        @NotNull final BlockPos start = AbstractPathJob.prepareStart(entity);
-        return (PathJobFindWater.WaterPathResult) setPathJob(
-          new PathJobFindWater(entity.worldObj, start, ((EntityCitizen) entity).getWorkBuilding().getLocation(), range, ponds), null, speed);
+        @NotNull final EntityCitizen citizen = (EntityCitizen) entity;
+        @NotNull final Set<BlockPos> claimedTrees = citizen.getColony() == null || citizen.getCitizenData() == null
+                                                      ? Collections.emptySet()
+                                                      : citizen.getColony().getTreeIndex().getClaimedByOthers(citizen.getCitizenData().getId(), entity.worldObj.getTotalWorldTime());
+        @NotNull final AbstractPathJob job = new PathJobFindTree(entity.worldObj, start, citizen.getWorkBuilding().getLocation(), range, claimedTrees);
+        job.setPriority(pathPriority);
+        return (PathJobFindTree.TreePathResult) setPathJob(job, null, speed);
     }
 
     /**
@@ -457,8 +579,8 @@ public class PathNavigate extends PathNavigateGround
     {
         @NotNull final BlockPos start = AbstractPathJob.prepareStart(entity);
 
-        return setPathJob(
-          new PathJobMoveAwayFromLocation(entity.worldObj, start, avoid, (int) range, (int) getPathSearchRange()),
-          null, speed);
+        @NotNull final AbstractPathJob job = new PathJobMoveAwayFromLocation(entity.worldObj, start, avoid, (int) range, (int) getPathSearchRange());
+        job.setPriority(PathPriority.URGENT);
+        return setPathJob(job, null, speed);
     }
 }
@@ -0,0 +1,23 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+/**
+ * Priority of a path job in the pathfinding queue, jobs of a higher priority are started first.
+ * Declared from the highest to the lowest priority.
+ */
+public enum PathPriority
+{
+    /**
+     * Paths which can't wait, like guards chasing a target or fleeing citizens.
+     */
+    URGENT,
+
+    /**
+     * Paths of the regular work.
+     */
+    NORMAL,
+
+    /**
+     * Paths nobody waits for, like wandering around.
+     */
+    IDLE
+}
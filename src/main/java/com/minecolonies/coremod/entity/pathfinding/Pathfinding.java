@@ -14,24 +14,60 @@ import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.lwjgl.opengl.GL11;
 
+import java.util.Collections;
 import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Static class the handles all the Pathfinding.
  */
 public final class Pathfinding
 {
-    private static final BlockingQueue<Runnable> jobQueue = new LinkedBlockingDeque<>();
-    private static final ResourceLocation        TEXTURE  = new ResourceLocation("textures/gui/widgets.png");
+    private static final PriorityBlockingQueue<Runnable> jobQueue = new PriorityBlockingQueue<>();
+    private static final ResourceLocation                TEXTURE  = new ResourceLocation("textures/gui/widgets.png");
+
+    /**
+     * Length of the window of the statistics, one minute.
+     */
+    private static final long STATS_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+
     private static ThreadPoolExecutor executor;
     static
     {
-        executor = new ThreadPoolExecutor(1, Configurations.pathfindingMaxThreadCount, 10, TimeUnit.SECONDS, jobQueue);
+        //  The queue is unbounded for the executor, so it never starts more than the core threads.
+        final int threads = Math.max(1, Configurations.pathfindingMaxThreadCount);
+        executor = new ThreadPoolExecutor(threads, threads, 10, TimeUnit.SECONDS, jobQueue, new PathfindingThreadFactory());
+        executor.allowCoreThreadTimeOut(true);
     }
+
+    /**
+     * Statistics of the current window, guarded by STATS_LOCK.
+     */
+    private static final Object STATS_LOCK = new Object();
+    private static long statsWindowStart = System.nanoTime();
+    private static int  jobsFinished;
+    private static int  jobsDropped;
+    private static int  maxQueueDepth;
+    private static long totalWaitTime;
+    private static long maxWaitTime;
+    private static long totalRunTime;
+    @NotNull
+    private static Map<String, PathJobStatistics> jobStatistics = new HashMap<>();
+
+    /**
+     * Statistics of the last full window.
+     */
+    private static volatile String                         lastStatistics    = "";
+    @NotNull
+    private static volatile Map<String, PathJobStatistics> lastJobStatistics = Collections.emptyMap();
+
     private Pathfinding()
     {
         //Hides default constructor.
@@ -39,13 +75,179 @@ public final class Pathfinding
 
     /**
      * Add a job to the queue for processing.
+     * If the queue is full the job with the lowest priority, which may be this one, is dropped and its future cancelled.
      *
      * @param job PathJob
      * @return a Future containing the Path
      */
     public static Future<Path> enqueue(@NotNull final AbstractPathJob job)
     {
-        return executor.submit(job);
+        @NotNull final PathJobTask task = new PathJobTask(job);
+
+        if (jobQueue.size() >= Configurations.pathfindingMaxQueuedJobs)
+        {
+            @Nullable final PathJobTask lowest = findLowestPriorityJob();
+            final PathJobTask dropped = (lowest == null || task.compareTo(lowest) >= 0) ? task : lowest;
+            dropped.cancel(false);
+            synchronized (STATS_LOCK)
+            {
+                jobsDropped++;
+            }
+
+            if (dropped == task)
+            {
+                return task;
+            }
+        }
+
+        executor.execute(task);
+
+        synchronized (STATS_LOCK)
+        {
+            maxQueueDepth = Math.max(maxQueueDepth, jobQueue.size());
+        }
+        rollStatistics();
+        return task;
+    }
+
+    /**
+     * Find the waiting job which would run last.
+     *
+     * @return the job or null if none is waiting.
+     */
+    @Nullable
+    private static PathJobTask findLowestPriorityJob()
+    {
+        @Nullable PathJobTask lowest = null;
+        for (@NotNull final Runnable runnable : jobQueue)
+        {
+            final PathJobTask task = (PathJobTask) runnable;
+            if (lowest == null || task.compareTo(lowest) > 0)
+            {
+                lowest = task;
+            }
+        }
+        return lowest;
+    }
+
+    /**
+     * Removes a cancelled job from the queue.
+     *
+     * @param task the job.
+     */
+    static void removeFromQueue(@NotNull final PathJobTask task)
+    {
+        jobQueue.remove(task);
+    }
+
+    /**
+     * Records the times and the outcome of a job which ran, and records the job itself if that is enabled.
+     * Called on the pathfinding thread which ran the job.
+     *
+     * @param job      the job.
+     * @param waitTime nanoseconds the job waited in the queue.
+     * @param runTime  nanoseconds the job ran.
+     */
+    static void onJobFinished(@NotNull final AbstractPathJob job, final long waitTime, final long runTime)
+    {
+        synchronized (STATS_LOCK)
+        {
+            jobsFinished++;
+            totalWaitTime += waitTime;
+            maxWaitTime = Math.max(maxWaitTime, waitTime);
+            totalRunTime += runTime;
+            jobStatistics.computeIfAbsent(job.getClass().getSimpleName(), type -> new PathJobStatistics()).record(job, waitTime, runTime);
+        }
+
+        if (Configurations.pathfindingRecordJobs)
+        {
+            PathJobRecording.record(job);
+        }
+    }
+
+    /**
+     * Logs and resets the statistics once the window is over.
+     */
+    private static void rollStatistics()
+    {
+        synchronized (STATS_LOCK)
+        {
+            final long now = System.nanoTime();
+            if (now - statsWindowStart < STATS_INTERVAL)
+            {
+                return;
+            }
+
+            lastStatistics = String.format(
+              "%d jobs, %d dropped, max queue depth %d, wait avg %.1f ms max %.1f ms, run avg %.1f ms",
+              jobsFinished, jobsDropped, maxQueueDepth,
+              jobsFinished == 0 ? 0D : (totalWaitTime / 1.0E6 / jobsFinished), maxWaitTime / 1.0E6,
+              jobsFinished == 0 ? 0D : (totalRunTime / 1.0E6 / jobsFinished));
+            Log.getLogger().debug("Pathfinding in the last minute: " + lastStatistics);
+            for (@NotNull final Map.Entry<String, PathJobStatistics> entry : jobStatistics.entrySet())
+            {
+                Log.getLogger().debug(String.format("  %s: %s", entry.getKey(), entry.getValue()));
+            }
+            lastJobStatistics = Collections.unmodifiableMap(jobStatistics);
+
+            statsWindowStart = now;
+            jobsFinished = 0;
+            jobsDropped = 0;
+            maxQueueDepth = jobQueue.size();
+            totalWaitTime = 0;
+            maxWaitTime = 0;
+            totalRunTime = 0;
+            jobStatistics = new HashMap<>();
+        }
+    }
+
+    /**
+     * Amount of jobs waiting for a thread.
+     *
+     * @return the queue depth.
+     */
+    public static int getQueueDepth()
+    {
+        return jobQueue.size();
+    }
+
+    /**
+     * Statistics of the last full minute: jobs, dropped jobs, queue depth, wait and run times.
+     *
+     * @return the statistics as text, empty during the first minute.
+     */
+    @NotNull
+    public static String getLastStatistics()
+    {
+        return lastStatistics;
+    }
+
+    /**
+     * Statistics of the last full minute per type of job, like PathJobMoveToLocation.
+     *
+     * @return the statistics by the simple class name of the jobs, empty during the first minute.
+     */
+    @NotNull
+    public static Map<String, PathJobStatistics> getLastJobStatistics()
+    {
+        return lastJobStatistics;
+    }
+
+    /**
+     * Creates the pathfinding threads, named so they can be told apart in thread dumps.
+     */
+    private static final class PathfindingThreadFactory implements ThreadFactory
+    {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(@NotNull final Runnable runnable)
+        {
+            final Thread thread = new Thread(runnable, "Minecolonies Pathfinding Worker #" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }
     }
 
     /**
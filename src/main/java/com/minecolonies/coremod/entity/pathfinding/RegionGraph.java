@@ -0,0 +1,771 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import com.minecolonies.coremod.blocks.BlockHutField;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockFence;
+import net.minecraft.block.BlockFenceGate;
+import net.minecraft.block.BlockWall;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Coarse graph of the walkable surface of a colony, to plan long routes before the block level search.
+ * <p>
+ * Every chunk of the colony area is a region. The surface of a region is the top walkable block of each column which
+ * is open to the sky, cells whose heights differ by at most one block are connected. Columns whose top block has room
+ * below it, like roofs, bridges and overhangs, have no surface, a waypoint there couldn't be reached from the ground. Runs of connected cells along the border of two
+ * regions are portals, the graph connects each portal with its twin on the other side and with the portals of its
+ * region which can be reached over the surface.
+ * A route is an A* search over the portals, its waypoints are then walked by the regular path jobs, which only have
+ * to bridge the short distances between them.
+ * <p>
+ * Block changes mark their region dirty, dirty regions are recomputed a few at a time during the colony maintenance.
+ * Only used on the server thread.
+ */
+public final class RegionGraph
+{
+    /**
+     * Regions recomputed per update.
+     */
+    private static final int REGIONS_PER_UPDATE = 4;
+
+    private static final int CHUNK_SIZE  = 16;
+    private static final int CHUNK_CELLS = CHUNK_SIZE * CHUNK_SIZE;
+    private static final int CHUNK_MASK  = CHUNK_SIZE - 1;
+
+    /**
+     * Height of a column without a walkable surface.
+     */
+    private static final int NO_SURFACE = -1;
+
+    /**
+     * Height difference between connected cells, a jump or a drop.
+     */
+    private static final int MAX_STEP = 1;
+
+    /**
+     * Blocks below the top block of a column which are checked for room to walk, a roof is at most this thick.
+     */
+    private static final int COVER_DEPTH = 6;
+
+    /**
+     * Free blocks on top of each other a citizen needs to walk.
+     */
+    private static final int WALKING_ROOM = 2;
+
+    /**
+     * Distance between two waypoints of a route, closer waypoints are skipped.
+     * Drops the twin of every crossed portal but keeps the detours within a region.
+     */
+    private static final int MIN_WAYPOINT_DISTANCE = 4;
+
+    /**
+     * Deltas of the 4 sides of a region, in the order north, east, south, west.
+     */
+    private static final int[] SIDE_DX = {0, 1, 0, -1};
+    private static final int[] SIDE_DZ = {-1, 0, 1, 0};
+
+    /**
+     * The regions by chunk.
+     */
+    @NotNull
+    private final Map<Long, Region> regions = new HashMap<>();
+
+    /**
+     * All portals by the position of their inside cell, a corner cell is inside of up to two portals.
+     */
+    @NotNull
+    private final Map<Long, List<Portal>> portals = new HashMap<>();
+
+    /**
+     * Regions whose surface has to be recomputed, and regions whose portals have to be relinked.
+     */
+    @NotNull
+    private final Set<Long> dirtySurfaces = new LinkedHashSet<>();
+    @NotNull
+    private final Set<Long> dirtyLinks    = new LinkedHashSet<>();
+
+    /**
+     * The chunks of the colony area.
+     */
+    private int minChunkX;
+    private int minChunkZ;
+    private int maxChunkX;
+    private int maxChunkZ;
+    private boolean hasArea;
+
+    /**
+     * Statistics of the route searches.
+     */
+    private int routeSearches;
+    private int routeExpansions;
+
+    /**
+     * Sets the area covered by the graph, regions outside are dropped and new ones queued.
+     *
+     * @param center the center of the colony.
+     * @param range  the distance from the center to cover.
+     */
+    public void setArea(@NotNull final BlockPos center, final int range)
+    {
+        final int newMinX = (center.getX() - range) >> 4;
+        final int newMinZ = (center.getZ() - range) >> 4;
+        final int newMaxX = (center.getX() + range) >> 4;
+        final int newMaxZ = (center.getZ() + range) >> 4;
+        if (hasArea && newMinX == minChunkX && newMinZ == minChunkZ && newMaxX == maxChunkX && newMaxZ == maxChunkZ)
+        {
+            return;
+        }
+
+        minChunkX = newMinX;
+        minChunkZ = newMinZ;
+        maxChunkX = newMaxX;
+        maxChunkZ = newMaxZ;
+        hasArea = true;
+
+        for (final Iterator<Region> it = regions.values().iterator(); it.hasNext(); )
+        {
+            final Region region = it.next();
+            if (!isInArea(region.chunkX, region.chunkZ))
+            {
+                removePortals(region);
+                it.remove();
+            }
+        }
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++)
+        {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++)
+            {
+                if (!regions.containsKey(ChunkPos.chunkXZ2Int(chunkX, chunkZ)))
+                {
+                    dirtySurfaces.add(ChunkPos.chunkXZ2Int(chunkX, chunkZ));
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks the region of a changed block dirty.
+     *
+     * @param pos the position of the block.
+     */
+    public void onBlockChanged(@NotNull final BlockPos pos)
+    {
+        final int chunkX = pos.getX() >> 4;
+        final int chunkZ = pos.getZ() >> 4;
+        if (hasArea && isInArea(chunkX, chunkZ))
+        {
+            dirtySurfaces.add(ChunkPos.chunkXZ2Int(chunkX, chunkZ));
+        }
+    }
+
+    /**
+     * Recomputes some dirty regions and relinks the affected portals.
+     * Regions in unloaded chunks stay dirty until the chunk is loaded.
+     *
+     * @param world the world of the colony.
+     */
+    public void update(@NotNull final World world)
+    {
+        int computed = 0;
+        int checked = dirtySurfaces.size();
+        for (final Iterator<Long> it = dirtySurfaces.iterator(); it.hasNext() && computed < REGIONS_PER_UPDATE && checked > 0; checked--)
+        {
+            final long key = it.next();
+            final int chunkX = (int) key;
+            final int chunkZ = (int) (key >> 32);
+            if (world.getChunkProvider().getLoadedChunk(chunkX, chunkZ) == null)
+            {
+                continue;
+            }
+
+            it.remove();
+            setSurface(chunkX, chunkZ, computeHeights(world, chunkX, chunkZ));
+            computed++;
+        }
+
+        relinkDirtyRegions();
+    }
+
+    /**
+     * Relinks the portals of the regions whose surface or neighbours changed.
+     */
+    void relinkDirtyRegions()
+    {
+        for (final long key : dirtyLinks)
+        {
+            @Nullable final Region region = regions.get(key);
+            if (region != null)
+            {
+                linkRegion(region);
+            }
+        }
+        dirtyLinks.clear();
+    }
+
+    /**
+     * Plans a route over the region graph.
+     *
+     * @param from the start position.
+     * @param to   the target position.
+     * @return the waypoints between start and target, without the target, or null if there is no route over the graph.
+     */
+    @Nullable
+    public List<BlockPos> findRoute(@NotNull final BlockPos from, @NotNull final BlockPos to)
+    {
+        @Nullable final Region startRegion = regions.get(ChunkPos.chunkXZ2Int(from.getX() >> 4, from.getZ() >> 4));
+        @Nullable final Region goalRegion = regions.get(ChunkPos.chunkXZ2Int(to.getX() >> 4, to.getZ() >> 4));
+        if (startRegion == null || goalRegion == null || startRegion == goalRegion
+              || startRegion.portals.isEmpty() || goalRegion.portals.isEmpty())
+        {
+            return null;
+        }
+
+        routeSearches++;
+
+        final Map<Portal, Integer> costs = new HashMap<>();
+        final Map<Portal, Portal> parents = new HashMap<>();
+        final PriorityQueue<RouteNode> open = new PriorityQueue<>();
+
+        //  The start connects to the portals of its surface component, or to every portal of its region if it isn't
+        //  on the surface, like inside of a building. The block level search finds the way out.
+        final int startComponent = startRegion.getComponent(from);
+        final int goalComponent = goalRegion.getComponent(to);
+        for (@NotNull final Portal portal : startRegion.portals)
+        {
+            if (startComponent != NO_SURFACE && startRegion.components[portal.cell] != startComponent)
+            {
+                continue;
+            }
+
+            final int cost = manhattan(from, portal.inside);
+            costs.put(portal, cost);
+            open.add(new RouteNode(portal, cost, cost + manhattan(portal.inside, to)));
+        }
+
+        @Nullable Portal last = null;
+        int bestGoalCost = Integer.MAX_VALUE;
+        while (!open.isEmpty())
+        {
+            final RouteNode current = open.poll();
+            if (current.score >= bestGoalCost)
+            {
+                break;
+            }
+            if (current.cost > costs.get(current.portal))
+            {
+                //  Outdated entry, the portal was reached cheaper meanwhile
+                continue;
+            }
+
+            routeExpansions++;
+            final Portal portal = current.portal;
+
+            if (portal.region == goalRegion && (goalComponent == NO_SURFACE || goalRegion.components[portal.cell] == goalComponent))
+            {
+                final int goalCost = current.cost + manhattan(portal.inside, to);
+                if (goalCost < bestGoalCost)
+                {
+                    bestGoalCost = goalCost;
+                    last = portal;
+                }
+            }
+
+            @Nullable final Portal twin = findTwin(portal);
+            if (twin != null)
+            {
+                relax(open, costs, parents, portal, twin, current.cost + 1, to);
+            }
+
+            for (int i = 0; i < portal.region.portals.size(); i++)
+            {
+                final int distance = portal.distances[i];
+                if (distance >= 0 && portal.region.portals.get(i) != portal)
+                {
+                    relax(open, costs, parents, portal, portal.region.portals.get(i), current.cost + distance, to);
+                }
+            }
+        }
+
+        if (last == null)
+        {
+            return null;
+        }
+
+        final LinkedList<BlockPos> route = new LinkedList<>();
+        for (@Nullable Portal portal = last; portal != null; portal = parents.get(portal))
+        {
+            route.addFirst(portal.inside);
+        }
+        return thinRoute(from, route);
+    }
+
+    /**
+     * Get the portal on the other side of a portal.
+     *
+     * @param portal the portal.
+     * @return the twin or null if the other side isn't linked yet.
+     */
+    @Nullable
+    private Portal findTwin(@NotNull final Portal portal)
+    {
+        @Nullable final List<Portal> candidates = portals.get(portal.outside.toLong());
+        if (candidates != null)
+        {
+            for (@NotNull final Portal candidate : candidates)
+            {
+                if (candidate.outside.equals(portal.inside))
+                {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Amount of routes searched over the graph.
+     *
+     * @return the searches.
+     */
+    public int getRouteSearches()
+    {
+        return routeSearches;
+    }
+
+    /**
+     * Amount of portals expanded by all route searches, compare to the nodes of the block level searches.
+     *
+     * @return the expansions.
+     */
+    public int getRouteExpansions()
+    {
+        return routeExpansions;
+    }
+
+    /**
+     * Updates the cost of a portal if it is reached cheaper.
+     */
+    private static void relax(
+                               @NotNull final PriorityQueue<RouteNode> open, @NotNull final Map<Portal, Integer> costs, @NotNull final Map<Portal, Portal> parents,
+                               @NotNull final Portal from, @NotNull final Portal to, final int cost, @NotNull final BlockPos target)
+    {
+        @Nullable final Integer known = costs.get(to);
+        if (known == null || cost < known)
+        {
+            costs.put(to, cost);
+            parents.put(to, from);
+            open.add(new RouteNode(to, cost, cost + manhattan(to.inside, target)));
+        }
+    }
+
+    /**
+     * Drops waypoints which are too close to the previous one.
+     *
+     * @param from  the start of the route.
+     * @param route the portals of the route.
+     * @return the waypoints.
+     */
+    @NotNull
+    private static List<BlockPos> thinRoute(@NotNull final BlockPos from, @NotNull final List<BlockPos> route)
+    {
+        final List<BlockPos> waypoints = new ArrayList<>();
+        BlockPos previous = from;
+        for (@NotNull final BlockPos pos : route)
+        {
+            if (manhattan(previous, pos) >= MIN_WAYPOINT_DISTANCE)
+            {
+                waypoints.add(pos);
+                previous = pos;
+            }
+        }
+        return waypoints;
+    }
+
+    private static int manhattan(@NotNull final BlockPos a, @NotNull final BlockPos b)
+    {
+        return Math.abs(a.getX() - b.getX()) + Math.abs(a.getY() - b.getY()) + Math.abs(a.getZ() - b.getZ());
+    }
+
+    private boolean isInArea(final int chunkX, final int chunkZ)
+    {
+        return chunkX >= minChunkX && chunkX <= maxChunkX && chunkZ >= minChunkZ && chunkZ <= maxChunkZ;
+    }
+
+    /**
+     * Computes the surface heights of a chunk.
+     *
+     * @return the height of the block above the surface of each cell, or NO_SURFACE.
+     */
+    @NotNull
+    private static int[] computeHeights(@NotNull final World world, final int chunkX, final int chunkZ)
+    {
+        final int[] heights = new int[CHUNK_CELLS];
+        for (int cell = 0; cell < CHUNK_CELLS; cell++)
+        {
+            final BlockPos top = world.getTopSolidOrLiquidBlock(new BlockPos((chunkX << 4) + (cell & CHUNK_MASK), 0, (chunkZ << 4) + (cell >> 4)));
+            heights[cell] = isWalkable(world.getBlockState(top.down())) && !isCovering(world, top.down()) ? top.getY() : NO_SURFACE;
+        }
+        return heights;
+    }
+
+    /**
+     * Checks if there is room to walk below the top block of a column, it is a roof, a bridge or an overhang.
+     */
+    private static boolean isCovering(@NotNull final World world, @NotNull final BlockPos surface)
+    {
+        @NotNull final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        int room = 0;
+        for (int depth = 1; depth <= COVER_DEPTH && surface.getY() - depth >= 0; depth++)
+        {
+            pos.setPos(surface.getX(), surface.getY() - depth, surface.getZ());
+            if (world.getBlockState(pos).getMaterial().blocksMovement())
+            {
+                if (room >= WALKING_ROOM)
+                {
+                    return true;
+                }
+                room = 0;
+            }
+            else
+            {
+                room++;
+            }
+        }
+        return room >= WALKING_ROOM;
+    }
+
+    /**
+     * Sets the surface heights of a region, computes its connected components and queues it and its neighbours for
+     * relinking.
+     *
+     * @param chunkX  the x coordinate of the chunk of the region.
+     * @param chunkZ  the z coordinate of the chunk of the region.
+     * @param heights the height of the block above the surface of each cell, or -1 if there is no surface.
+     */
+    void setSurface(final int chunkX, final int chunkZ, @NotNull final int[] heights)
+    {
+        final long key = ChunkPos.chunkXZ2Int(chunkX, chunkZ);
+        Region region = regions.get(key);
+        if (region == null)
+        {
+            region = new Region(chunkX, chunkZ);
+            regions.put(key, region);
+        }
+
+        System.arraycopy(heights, 0, region.heights, 0, CHUNK_CELLS);
+        Arrays.fill(region.components, NO_SURFACE);
+        int component = 0;
+        for (int cell = 0; cell < CHUNK_CELLS; cell++)
+        {
+            if (region.heights[cell] != NO_SURFACE && region.components[cell] == NO_SURFACE)
+            {
+                floodComponent(region, cell, component++);
+            }
+        }
+
+        dirtyLinks.add(key);
+        for (int side = 0; side < SIDE_DX.length; side++)
+        {
+            final long neighbour = ChunkPos.chunkXZ2Int(chunkX + SIDE_DX[side], chunkZ + SIDE_DZ[side]);
+            if (regions.containsKey(neighbour))
+            {
+                dirtyLinks.add(neighbour);
+            }
+        }
+    }
+
+    /**
+     * Checks if citizens can stand on a block, liquids, fences and walls are not walkable.
+     */
+    private static boolean isWalkable(@NotNull final IBlockState state)
+    {
+        final Block block = state.getBlock();
+        if (block instanceof BlockFence || block instanceof BlockFenceGate || block instanceof BlockWall || block instanceof BlockHutField)
+        {
+            return false;
+        }
+        return state.getMaterial().isSolid() && !state.getMaterial().isLiquid();
+    }
+
+    /**
+     * Assigns a component to all cells connected to a cell.
+     */
+    private static void floodComponent(@NotNull final Region region, final int startCell, final int component)
+    {
+        final int[] queue = new int[CHUNK_CELLS];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = startCell;
+        region.components[startCell] = component;
+
+        while (head < tail)
+        {
+            final int cell = queue[head++];
+            for (int side = 0; side < SIDE_DX.length; side++)
+            {
+                final int next = neighbourCell(cell, side);
+                if (next >= 0 && region.components[next] == NO_SURFACE && isStep(region.heights[cell], region.heights[next]))
+                {
+                    region.components[next] = component;
+                    queue[tail++] = next;
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the cell next to a cell within the same region.
+     *
+     * @return the cell or -1 if it lies in another region.
+     */
+    private static int neighbourCell(final int cell, final int side)
+    {
+        final int x = (cell & CHUNK_MASK) + SIDE_DX[side];
+        final int z = (cell >> 4) + SIDE_DZ[side];
+        if (x < 0 || x >= CHUNK_SIZE || z < 0 || z >= CHUNK_SIZE)
+        {
+            return -1;
+        }
+        return (z << 4) | x;
+    }
+
+    private static boolean isStep(final int height, final int nextHeight)
+    {
+        return height != NO_SURFACE && nextHeight != NO_SURFACE && Math.abs(height - nextHeight) <= MAX_STEP;
+    }
+
+    /**
+     * Recomputes the portals of a region to its neighbours and the distances between them.
+     * Portals are computed the same way from both sides, so every portal has a twin with swapped cells.
+     */
+    private void linkRegion(@NotNull final Region region)
+    {
+        removePortals(region);
+
+        for (int side = 0; side < SIDE_DX.length; side++)
+        {
+            @Nullable final Region neighbour = regions.get(ChunkPos.chunkXZ2Int(region.chunkX + SIDE_DX[side], region.chunkZ + SIDE_DZ[side]));
+            if (neighbour != null)
+            {
+                addSidePortals(region, neighbour, side);
+            }
+        }
+
+        for (@NotNull final Portal portal : region.portals)
+        {
+            portal.distances = computeDistances(region, portal);
+            portals.computeIfAbsent(portal.inside.toLong(), pos -> new ArrayList<>(2)).add(portal);
+        }
+    }
+
+    /**
+     * Adds a portal for every run of connected cells along one side of a region.
+     */
+    private static void addSidePortals(@NotNull final Region region, @NotNull final Region neighbour, final int side)
+    {
+        int runStart = -1;
+        for (int index = 0; index <= CHUNK_SIZE; index++)
+        {
+            final boolean connected = index < CHUNK_SIZE && isBorderConnected(region, neighbour, side, index);
+            final boolean continuesRun = connected && runStart >= 0
+                                           && region.components[borderCell(side, index)] == region.components[borderCell(side, runStart)]
+                                           && neighbour.components[borderCell(opposite(side), index)] == neighbour.components[borderCell(opposite(side), runStart)];
+            if (runStart >= 0 && !continuesRun)
+            {
+                final int middle = (runStart + index - 1) / 2;
+                region.portals.add(createPortal(region, neighbour, side, middle));
+                runStart = -1;
+            }
+            if (connected && runStart < 0)
+            {
+                runStart = index;
+            }
+        }
+    }
+
+    private static boolean isBorderConnected(@NotNull final Region region, @NotNull final Region neighbour, final int side, final int index)
+    {
+        return isStep(region.heights[borderCell(side, index)], neighbour.heights[borderCell(opposite(side), index)]);
+    }
+
+    @NotNull
+    private static Portal createPortal(@NotNull final Region region, @NotNull final Region neighbour, final int side, final int index)
+    {
+        final int inside = borderCell(side, index);
+        final int outside = borderCell(opposite(side), index);
+        return new Portal(region, inside, region.cellPos(inside), neighbour.cellPos(outside));
+    }
+
+    /**
+     * Get the cell at an index along a side of a region.
+     * The index runs along x for north and south, along z for east and west, so opposite sides line up.
+     */
+    private static int borderCell(final int side, final int index)
+    {
+        switch (side)
+        {
+            case 0:
+                return index;
+            case 1:
+                return (index << 4) | CHUNK_MASK;
+            case 2:
+                return (CHUNK_MASK << 4) | index;
+            default:
+                return index << 4;
+        }
+    }
+
+    private static int opposite(final int side)
+    {
+        return (side + 2) % SIDE_DX.length;
+    }
+
+    /**
+     * Computes the surface distance from a portal to the other portals of its region.
+     *
+     * @return the distances by portal index, -1 for unreachable portals.
+     */
+    @NotNull
+    private static int[] computeDistances(@NotNull final Region region, @NotNull final Portal from)
+    {
+        final int[] cellDistances = new int[CHUNK_CELLS];
+        final int[] queue = new int[CHUNK_CELLS];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = from.cell;
+        cellDistances[from.cell] = 1;
+
+        while (head < tail)
+        {
+            final int cell = queue[head++];
+            for (int side = 0; side < SIDE_DX.length; side++)
+            {
+                final int next = neighbourCell(cell, side);
+                if (next >= 0 && cellDistances[next] == 0 && isStep(region.heights[cell], region.heights[next]))
+                {
+                    cellDistances[next] = cellDistances[cell] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+
+        final int[] distances = new int[region.portals.size()];
+        for (int i = 0; i < distances.length; i++)
+        {
+            distances[i] = cellDistances[region.portals.get(i).cell] - 1;
+        }
+        return distances;
+    }
+
+    private void removePortals(@NotNull final Region region)
+    {
+        for (@NotNull final Portal portal : region.portals)
+        {
+            @Nullable final List<Portal> atCell = portals.get(portal.inside.toLong());
+            if (atCell != null)
+            {
+                atCell.remove(portal);
+                if (atCell.isEmpty())
+                {
+                    portals.remove(portal.inside.toLong());
+                }
+            }
+        }
+        region.portals.clear();
+    }
+
+    /**
+     * The surface of a chunk.
+     */
+    private static final class Region
+    {
+        private final int   chunkX;
+        private final int   chunkZ;
+        @NotNull
+        private final int[] heights    = new int[CHUNK_CELLS];
+        @NotNull
+        private final int[] components = new int[CHUNK_CELLS];
+        @NotNull
+        private final List<Portal> portals = new ArrayList<>();
+
+        private Region(final int chunkX, final int chunkZ)
+        {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+        }
+
+        @NotNull
+        private BlockPos cellPos(final int cell)
+        {
+            return new BlockPos((chunkX << 4) + (cell & CHUNK_MASK), heights[cell], (chunkZ << 4) + (cell >> 4));
+        }
+
+        /**
+         * Get the surface component a position stands on.
+         *
+         * @param pos the position, in the region.
+         * @return the component or NO_SURFACE if the position isn't on the surface.
+         */
+        private int getComponent(@NotNull final BlockPos pos)
+        {
+            final int cell = ((pos.getZ() & CHUNK_MASK) << 4) | (pos.getX() & CHUNK_MASK);
+            return Math.abs(heights[cell] - pos.getY()) <= MAX_STEP ? components[cell] : NO_SURFACE;
+        }
+    }
+
+    /**
+     * A connection from a region to its neighbour.
+     */
+    private static final class Portal
+    {
+        @NotNull
+        private final Region   region;
+        private final int      cell;
+        @NotNull
+        private final BlockPos inside;
+        @NotNull
+        private final BlockPos outside;
+        @NotNull
+        private       int[]    distances = new int[0];
+
+        private Portal(@NotNull final Region region, final int cell, @NotNull final BlockPos inside, @NotNull final BlockPos outside)
+        {
+            this.region = region;
+            this.cell = cell;
+            this.inside = inside;
+            this.outside = outside;
+        }
+    }
+
+    /**
+     * Entry of the open list of a route search.
+     */
+    private static final class RouteNode implements Comparable<RouteNode>
+    {
+        @NotNull
+        private final Portal portal;
+        private final int    cost;
+        private final int    score;
+
+        private RouteNode(@NotNull final Portal portal, final int cost, final int score)
+        {
+            this.portal = portal;
+            this.cost = cost;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(@NotNull final RouteNode other)
+        {
+            return Integer.compare(score, other.score);
+        }
+    }
+}
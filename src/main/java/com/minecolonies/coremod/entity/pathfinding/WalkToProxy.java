@@ -12,6 +12,7 @@ import net.minecraft.util.math.BlockPos;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Proxy handling walkToX tasks.
@@ -239,6 +240,7 @@ public class WalkToProxy
 
     /**
      * Returns a proxy point to the goal.
+     * Takes the route over the region graph of the colony if it has one, the waypoints and buildings otherwise.
      *
      * @param target         the target.
      * @param distanceToPath the total distance.
@@ -252,6 +254,13 @@ public class WalkToProxy
             return target;
         }
 
+        final List<BlockPos> route = worker.getColony().getRegionGraph().findRoute(position, target);
+        if (route != null && !route.isEmpty())
+        {
+            proxyList.addAll(route);
+            return proxyList.get(0);
+        }
+
         double weight = Double.MAX_VALUE;
         BlockPos proxyPoint = null;
 
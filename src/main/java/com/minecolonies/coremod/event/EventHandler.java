@@ -14,14 +14,17 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.client.entity.EntityPlayerSP;
 import net.minecraft.client.multiplayer.WorldClient;
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.util.EnumHand;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraftforge.client.event.RenderGameOverlayEvent;
+import net.minecraftforge.event.entity.EntityEvent;
 import net.minecraftforge.event.entity.EntityJoinWorldEvent;
 import net.minecraftforge.event.entity.living.LivingDeathEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
 import net.minecraftforge.event.world.BlockEvent;
+import net.minecraftforge.event.world.ChunkEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
@@ -353,6 +356,45 @@ public class EventHandler
         }
     }*/
 
+    /**
+     * Gets called when an entity moves to another chunk.
+     * Calls {@link ColonyManager#onPlayerEnteringChunk(EntityPlayerMP)} for players.
+     *
+     * @param event {@link net.minecraftforge.event.entity.EntityEvent.EnteringChunk}
+     */
+    @SubscribeEvent
+    public void onEnteringChunk(@NotNull final EntityEvent.EnteringChunk event)
+    {
+        if (event.getEntity() instanceof EntityPlayerMP)
+        {
+            ColonyManager.onPlayerEnteringChunk((EntityPlayerMP) event.getEntity());
+        }
+    }
+
+    /**
+     * Gets called when a chunk loads.
+     * Calls {@link ColonyManager#onChunkLoad(World, int, int)}
+     *
+     * @param event {@link net.minecraftforge.event.world.ChunkEvent.Load}
+     */
+    @SubscribeEvent
+    public void onChunkLoad(@NotNull final ChunkEvent.Load event)
+    {
+        ColonyManager.onChunkLoad(event.getWorld(), event.getChunk().xPosition, event.getChunk().zPosition);
+    }
+
+    /**
+     * Gets called when a chunk unloads.
+     * Calls {@link ColonyManager#onChunkUnload(World, int, int)}
+     *
+     * @param event {@link net.minecraftforge.event.world.ChunkEvent.Unload}
+     */
+    @SubscribeEvent
+    public void onChunkUnload(@NotNull final ChunkEvent.Unload event)
+    {
+        ColonyManager.onChunkUnload(event.getWorld(), event.getChunk().xPosition, event.getChunk().zPosition);
+    }
+
     /**
      * Gets called when world loads.
      * Calls {@link ColonyManager#onWorldLoad(World)}
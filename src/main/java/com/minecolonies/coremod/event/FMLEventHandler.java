@@ -63,6 +63,52 @@ public class FMLEventHandler
         {
             MineColonies.getNetwork().sendTo(new ColonyStylesMessage(), (EntityPlayerMP) event.player);
             ColonyManager.syncAllColoniesAchievements();
+            ColonyManager.onPlayerLoggedIn((EntityPlayerMP) event.player);
+        }
+    }
+
+    /**
+     * Called when a player logs out.
+     * Calls {@link ColonyManager#onPlayerLoggedOut(EntityPlayerMP)}.
+     *
+     * @param event {@link net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerLoggedOutEvent}
+     */
+    @SubscribeEvent
+    public void onPlayerLogout(@NotNull final PlayerEvent.PlayerLoggedOutEvent event)
+    {
+        if (event.player instanceof EntityPlayerMP)
+        {
+            ColonyManager.onPlayerLoggedOut((EntityPlayerMP) event.player);
+        }
+    }
+
+    /**
+     * Called when a player changes dimension.
+     * Calls {@link ColonyManager#onPlayerChangedDimension(EntityPlayerMP)}.
+     *
+     * @param event {@link net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerChangedDimensionEvent}
+     */
+    @SubscribeEvent
+    public void onPlayerChangedDimension(@NotNull final PlayerEvent.PlayerChangedDimensionEvent event)
+    {
+        if (event.player instanceof EntityPlayerMP)
+        {
+            ColonyManager.onPlayerChangedDimension((EntityPlayerMP) event.player);
+        }
+    }
+
+    /**
+     * Called when a player respawns, the player is a new entity afterwards.
+     * Calls {@link ColonyManager#onPlayerChangedDimension(EntityPlayerMP)}.
+     *
+     * @param event {@link net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerRespawnEvent}
+     */
+    @SubscribeEvent
+    public void onPlayerRespawn(@NotNull final PlayerEvent.PlayerRespawnEvent event)
+    {
+        if (event.player instanceof EntityPlayerMP)
+        {
+            ColonyManager.onPlayerChangedDimension((EntityPlayerMP) event.player);
         }
     }
 }
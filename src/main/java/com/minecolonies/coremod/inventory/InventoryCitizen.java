@@ -4,6 +4,7 @@ import com.minecolonies.coremod.colony.materials.MaterialStore;
 import com.minecolonies.coremod.colony.materials.MaterialSystem;
 import com.minecolonies.coremod.colony.permissions.Permissions;
 import com.minecolonies.coremod.entity.EntityCitizen;
+import com.minecolonies.coremod.entity.ai.util.AIWakeEvent;
 import net.minecraft.crash.CrashReport;
 import net.minecraft.crash.CrashReportCategory;
 import net.minecraft.entity.player.EntityPlayer;
@@ -20,8 +21,17 @@ import net.minecraftforge.common.util.Constants;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Basic inventory for the citizens.
+ * <p>
+ * Keeps an index of the slots each item is in and a bitmap of the free slots, updated whenever a slot gets another
+ * stack, so looking up an item or a free slot doesn't have to scan the inventory. Amounts are summed over the slots of
+ * an item when asked for, since the stacks in the slots are changed in place.
  */
 public class InventoryCitizen implements IInventory
 {
@@ -57,12 +67,30 @@ public class InventoryCitizen implements IInventory
      * Size of the hotbar.
      */
     private static final int    HOTBAR_SIZE     = 0;
+    /**
+     * Bitmap with a bit for every slot, the inventory has less than 64 slots.
+     */
+    private static final long   ALL_SLOTS       = (1L << INVENTORY_SIZE) - 1;
 
     /**
      * The inventory content.
      */
     @NotNull
     private ItemStack[] stacks = new ItemStack[INVENTORY_SIZE];
+    /**
+     * The item each slot is indexed under, null for empty slots.
+     */
+    @NotNull
+    private final Item[]          slotItems    = new Item[INVENTORY_SIZE];
+    /**
+     * Bitmap of the slots of each item in the inventory.
+     */
+    @NotNull
+    private final Map<Item, Long> itemSlots    = new HashMap<>();
+    /**
+     * Bitmap of the empty slots.
+     */
+    private       long            freeSlots    = ALL_SLOTS;
     /**
      * The inventories custom name. In our case the citizens name.
      */
@@ -188,7 +216,7 @@ public class InventoryCitizen implements IInventory
             --this.stacks[i].stackSize;
             if (this.stacks[i].stackSize <= 0)
             {
-                this.stacks[i] = null;
+                setSlot(i, null);
             }
 
             return true;
@@ -197,15 +225,140 @@ public class InventoryCitizen implements IInventory
 
     private int getInventorySlotContainItem(final Item itemIn)
     {
-        for (int i = 0; i < this.stacks.length; ++i)
+        return firstSlot(getSlotsOf(itemIn));
+    }
+
+    /**
+     * Puts a stack into a slot and updates the index.
+     * Every change of the stack in a slot has to go through here.
+     *
+     * @param index the slot.
+     * @param stack the stack or null to empty the slot.
+     */
+    private void setSlot(final int index, @Nullable final ItemStack stack)
+    {
+        final long bit = 1L << index;
+        final Item oldItem = slotItems[index];
+        if (oldItem != null)
         {
-            if (this.stacks[i] != null && this.stacks[i].getItem() == itemIn)
+            final long slots = itemSlots.get(oldItem) & ~bit;
+            if (slots == 0)
             {
-                return i;
+                itemSlots.remove(oldItem);
+            }
+            else
+            {
+                itemSlots.put(oldItem, slots);
             }
         }
 
-        return NO_SLOT;
+        this.stacks[index] = stack;
+        final Item newItem = stack == null ? null : stack.getItem();
+        slotItems[index] = newItem;
+        if (newItem != null)
+        {
+            itemSlots.put(newItem, getSlotsOf(newItem) | bit);
+        }
+
+        if (stack == null)
+        {
+            freeSlots |= bit;
+        }
+        else
+        {
+            freeSlots &= ~bit;
+        }
+
+        if (materialStore != null)
+        {
+            materialStore.onSlotChanged(index, stack);
+        }
+    }
+
+    /**
+     * Rebuilds the index after all stacks were replaced.
+     */
+    private void rebuildIndex()
+    {
+        final ItemStack[] newStacks = this.stacks;
+        this.stacks = new ItemStack[INVENTORY_SIZE];
+        itemSlots.clear();
+        freeSlots = ALL_SLOTS;
+        for (int i = 0; i < INVENTORY_SIZE; i++)
+        {
+            slotItems[i] = null;
+            setSlot(i, newStacks[i]);
+        }
+    }
+
+    private long getSlotsOf(@Nullable final Item item)
+    {
+        final Long slots = itemSlots.get(item);
+        return slots == null ? 0 : slots;
+    }
+
+    private static int firstSlot(final long slots)
+    {
+        return slots == 0 ? NO_SLOT : Long.numberOfTrailingZeros(slots);
+    }
+
+    /**
+     * Get the first slot which holds an item.
+     *
+     * @param item the item.
+     * @return the slot or -1 if there is none.
+     */
+    public int findFirstSlotWith(@Nullable final Item item)
+    {
+        return getInventorySlotContainItem(item);
+    }
+
+    /**
+     * Get the amount of an item in the inventory.
+     *
+     * @param item the item.
+     * @return the sum of the stack sizes of the item.
+     */
+    public int getItemCount(@Nullable final Item item)
+    {
+        int count = 0;
+        for (long slots = getSlotsOf(item); slots != 0; slots &= slots - 1)
+        {
+            count += this.stacks[Long.numberOfTrailingZeros(slots)].stackSize;
+        }
+        return count;
+    }
+
+    /**
+     * Get the stacks of an item, in the order of their slots.
+     *
+     * @param item the item.
+     * @return the stacks.
+     */
+    @NotNull
+    public List<ItemStack> getStacksWith(@Nullable final Item item)
+    {
+        @NotNull final List<ItemStack> found = new ArrayList<>();
+        for (long slots = getSlotsOf(item); slots != 0; slots &= slots - 1)
+        {
+            found.add(this.stacks[Long.numberOfTrailingZeros(slots)]);
+        }
+        return found;
+    }
+
+    /**
+     * Get the next slot which isn't empty, to loop over the stacks without looking at the empty slots.
+     *
+     * @param from the first slot to look at.
+     * @return the slot or -1 if there is none from there on.
+     */
+    public int getNextOccupiedSlot(final int from)
+    {
+        if (from >= INVENTORY_SIZE)
+        {
+            return NO_SLOT;
+        }
+        return firstSlot(~freeSlots & ALL_SLOTS & (-1L << from));
     }
 
     /**
@@ -228,7 +381,7 @@ public class InventoryCitizen implements IInventory
                     {
                         return false;
                     }
-                    this.stacks[j] = ItemStack.copyItemStack(itemStackIn);
+                    setSlot(j, ItemStack.copyItemStack(itemStackIn));
                     itemStackIn.stackSize = 0;
                     return true;
                 }
@@ -280,15 +433,7 @@ public class InventoryCitizen implements IInventory
      */
     public int getFirstEmptySlot()
     {
-        for (int i = 0; i < this.stacks.length; ++i)
-        {
-            if (this.stacks[i] == null)
-            {
-                return i;
-            }
-        }
-
-        return NO_SLOT;
+        return firstSlot(freeSlots);
     }
 
     /**
@@ -314,8 +459,9 @@ public class InventoryCitizen implements IInventory
             if (this.stacks[j] == null)
             {
                 // Forge: Replace Item clone above to preserve item capabilities when picking the item up.
-                this.stacks[j] = itemStackIn.copy();
-                this.stacks[j].stackSize = 0;
+                final ItemStack copy = itemStackIn.copy();
+                copy.stackSize = 0;
+                setSlot(j, copy);
             }
 
             int k = i;
@@ -348,9 +494,10 @@ public class InventoryCitizen implements IInventory
      */
     private int storeItemStack(@NotNull final ItemStack itemStackIn)
     {
-        for (int i = 0; i < this.stacks.length; ++i)
+        for (long slots = getSlotsOf(itemStackIn.getItem()); slots != 0; slots &= slots - 1)
         {
-            if (this.stacks[i] != null && this.stacks[i].getItem() == itemStackIn.getItem() && this.stacks[i].isStackable()
+            final int i = Long.numberOfTrailingZeros(slots);
+            if (this.stacks[i].isStackable()
                   && this.stacks[i].stackSize < this.stacks[i].getMaxStackSize() && this.stacks[i].stackSize < this.getInventoryStackLimit()
                   && (!this.stacks[i].getHasSubtypes() || this.stacks[i].getMetadata() == itemStackIn.getMetadata())
                   && ItemStack.areItemStackTagsEqual(this.stacks[i], itemStackIn))
@@ -396,15 +543,19 @@ public class InventoryCitizen implements IInventory
     }
 
     /**
-     * Create a material store.
+     * Create a material store and index the inventory in it.
+     * It replaces the store of an earlier inventory of the citizen.
      *
-     * @param system the system to use.
+     * @param system    the system to use.
+     * @param citizenId the id of the citizen.
      */
-    public void createMaterialStore(@NotNull final MaterialSystem system)
+    public void createMaterialStore(@NotNull final MaterialSystem system, final int citizenId)
     {
         if (materialStore == null)
         {
             materialStore = new MaterialStore(MaterialStore.Type.INVENTORY, system);
+            system.setCitizenStore(citizenId, materialStore);
+            materialStore.attach(this);
         }
     }
 
@@ -469,6 +620,7 @@ public class InventoryCitizen implements IInventory
                 this.stacks[j] = ItemStack.loadItemStackFromNBT(nbttagcompound);
             }
         }
+        rebuildIndex();
 
         if (compound.hasKey(TAG_CUSTOM_NAME, Constants.NBT.TAG_STRING))
         {
@@ -515,7 +667,7 @@ public class InventoryCitizen implements IInventory
             if (this.stacks[index].stackSize <= count)
             {
                 final ItemStack itemstack1 = this.stacks[index];
-                this.stacks[index] = null;
+                setSlot(index, null);
                 this.markDirty();
                 if (index == heldItem)
                 {
@@ -533,7 +685,7 @@ public class InventoryCitizen implements IInventory
 
                 if (this.stacks[index].stackSize == 0)
                 {
-                    this.stacks[index] = null;
+                    setSlot(index, null);
                 }
 
                 this.markDirty();
@@ -562,7 +714,7 @@ public class InventoryCitizen implements IInventory
         }
 
         final ItemStack itemstack = this.stacks[index];
-        this.stacks[index] = null;
+        setSlot(index, null);
         return itemstack;
     }
 
@@ -584,7 +736,7 @@ public class InventoryCitizen implements IInventory
             heldItem = 0;
         }
 
-        this.stacks[index] = stack;
+        setSlot(index, stack);
 
         if (stack != null && stack.stackSize > this.getInventoryStackLimit())
         {
@@ -617,11 +769,16 @@ public class InventoryCitizen implements IInventory
     /**
      * For tile entities, ensures the chunk containing the tile entity is saved to disk later - the game won't think it
      * hasn't changed and skip it.
+     * Also wakes the ai of the citizen if it waits for its inventory to change.
      */
     @Override
     public void markDirty()
     {
         this.inventoryChanged = true;
+        if (citizen != null)
+        {
+            citizen.onWakeEvent(AIWakeEvent.INVENTORY_CHANGED);
+        }
     }
 
     /**
@@ -728,7 +885,7 @@ public class InventoryCitizen implements IInventory
     {
         for (int i = 0; i < this.stacks.length; ++i)
         {
-            this.stacks[i] = null;
+            setSlot(i, null);
         }
     }
 
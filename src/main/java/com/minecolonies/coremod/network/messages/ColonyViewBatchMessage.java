@@ -0,0 +1,234 @@
+package com.minecolonies.coremod.network.messages;
+
+import com.minecolonies.coremod.colony.ColonyManager;
+import com.minecolonies.coremod.configuration.Configurations;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Carries all colony view updates of a tick for one player, so they go out as a single packet.
+ * The updates are applied on the client in the order they were added.
+ * Batches larger than {@link Configurations#viewBatchCompressionThreshold} are deflated.
+ */
+public class ColonyViewBatchMessage implements IMessage, IMessageHandler<ColonyViewBatchMessage, IMessage>
+{
+    /**
+     * The messages which can be batched, the index is written as the type of the message.
+     */
+    private static final List<Class<? extends IMessage>> MESSAGE_TYPES = Arrays.asList(
+      ColonyViewMessage.class,
+      PermissionsMessage.View.class,
+      ColonyViewCitizenViewMessage.class,
+      ColonyViewRemoveCitizenMessage.class,
+      ColonyViewBuildingViewMessage.class,
+      ColonyViewRemoveBuildingMessage.class,
+      ColonyViewWorkOrderMessage.class,
+      ColonyViewRemoveWorkOrderMessage.class);
+
+    @NotNull
+    private final List<IMessage> messages = new ArrayList<>();
+
+    /**
+     * Empty constructor used when registering the message, and to start a new batch.
+     */
+    public ColonyViewBatchMessage()
+    {
+        super();
+    }
+
+    /**
+     * Adds a view update to the batch.
+     *
+     * @param message the update, one of the colony view messages.
+     */
+    public void add(@NotNull final IMessage message)
+    {
+        if (!MESSAGE_TYPES.contains(message.getClass()))
+        {
+            throw new IllegalArgumentException("Message can't be batched: " + message.getClass().getName());
+        }
+        messages.add(message);
+    }
+
+    /**
+     * Get the batched updates in order.
+     *
+     * @return an unmodifiable list of the updates.
+     */
+    @NotNull
+    public List<IMessage> getMessages()
+    {
+        return Collections.unmodifiableList(messages);
+    }
+
+    @Override
+    public void fromBytes(@NotNull final ByteBuf buf)
+    {
+        final boolean isCompressed = buf.readBoolean();
+        final int size = buf.readInt();
+        if (size < 0)
+        {
+            throw new IllegalArgumentException("Corrupt colony view batch of size " + size);
+        }
+        final byte[] data = new byte[size];
+
+        if (isCompressed)
+        {
+            final byte[] compressed = new byte[buf.readableBytes()];
+            buf.readBytes(compressed);
+            inflate(compressed, data);
+        }
+        else
+        {
+            buf.readBytes(data);
+        }
+
+        final ByteBuf batch = Unpooled.wrappedBuffer(data);
+        final int count = batch.readInt();
+        for (int i = 0; i < count; i++)
+        {
+            final int type = batch.readUnsignedByte();
+            final byte[] messageData = new byte[batch.readInt()];
+            batch.readBytes(messageData);
+            messages.add(createMessage(type, messageData));
+        }
+    }
+
+    @Override
+    public void toBytes(@NotNull final ByteBuf buf)
+    {
+        final ByteBuf batch = Unpooled.buffer();
+        batch.writeInt(messages.size());
+        for (@NotNull final IMessage message : messages)
+        {
+            final ByteBuf messageData = Unpooled.buffer();
+            message.toBytes(messageData);
+
+            batch.writeByte(MESSAGE_TYPES.indexOf(message.getClass()));
+            batch.writeInt(messageData.readableBytes());
+            batch.writeBytes(messageData);
+        }
+
+        final byte[] data = new byte[batch.readableBytes()];
+        batch.readBytes(data);
+
+        final boolean isCompressed = Configurations.viewBatchCompressionThreshold > 0 && data.length > Configurations.viewBatchCompressionThreshold;
+        buf.writeBoolean(isCompressed);
+        buf.writeInt(data.length);
+        if (isCompressed)
+        {
+            deflate(data, buf);
+        }
+        else
+        {
+            buf.writeBytes(data);
+        }
+    }
+
+    @Nullable
+    @Override
+    public IMessage onMessage(@NotNull final ColonyViewBatchMessage message, final MessageContext ctx)
+    {
+        return ColonyManager.handleColonyViewBatchMessage(message.messages, ctx);
+    }
+
+    /**
+     * Creates a batched message from its data.
+     *
+     * @param type the index of the message type.
+     * @param data the data of the message.
+     * @return the message.
+     */
+    @NotNull
+    private static IMessage createMessage(final int type, @NotNull final byte[] data)
+    {
+        if (type >= MESSAGE_TYPES.size())
+        {
+            throw new IllegalArgumentException("Unknown batched message type " + type);
+        }
+
+        try
+        {
+            final IMessage message = MESSAGE_TYPES.get(type).newInstance();
+            message.fromBytes(Unpooled.wrappedBuffer(data));
+            return message;
+        }
+        catch (InstantiationException | IllegalAccessException e)
+        {
+            throw new IllegalStateException("Unable to create batched message of type " + MESSAGE_TYPES.get(type).getName(), e);
+        }
+    }
+
+    /**
+     * Deflates data into a buffer.
+     *
+     * @param data the data to compress.
+     * @param buf  the buffer to write to.
+     */
+    private static void deflate(@NotNull final byte[] data, @NotNull final ByteBuf buf)
+    {
+        final Deflater deflater = new Deflater();
+        try
+        {
+            deflater.setInput(data);
+            deflater.finish();
+
+            final byte[] chunk = new byte[data.length];
+            while (!deflater.finished())
+            {
+                buf.writeBytes(chunk, 0, deflater.deflate(chunk));
+            }
+        }
+        finally
+        {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Inflates compressed data.
+     *
+     * @param compressed the compressed data.
+     * @param data       the array to inflate into, has the size of the uncompressed data.
+     */
+    private static void inflate(@NotNull final byte[] compressed, @NotNull final byte[] data)
+    {
+        final Inflater inflater = new Inflater();
+        try
+        {
+            inflater.setInput(compressed);
+            int offset = 0;
+            while (offset < data.length)
+            {
+                //  Nothing inflated means the data ended early or wants a dictionary, it would never go on.
+                final int inflated = inflater.inflate(data, offset, data.length - offset);
+                if (inflated == 0)
+                {
+                    throw new DataFormatException(String.format("Batch ended after %d of %d bytes", offset, data.length));
+                }
+                offset += inflated;
+            }
+        }
+        catch (final DataFormatException e)
+        {
+            throw new IllegalArgumentException("Corrupt colony view batch", e);
+        }
+        finally
+        {
+            inflater.end();
+        }
+    }
+}
@@ -1,10 +1,10 @@
 package com.minecolonies.coremod.network.messages;
 
 import com.minecolonies.coremod.colony.ColonyManager;
+import com.minecolonies.coremod.colony.ViewDelta;
 import com.minecolonies.coremod.colony.buildings.AbstractBuilding;
 import com.minecolonies.coremod.util.BlockPosUtil;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
 import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
@@ -17,9 +17,9 @@ import org.jetbrains.annotations.Nullable;
  */
 public class ColonyViewBuildingViewMessage implements IMessage, IMessageHandler<ColonyViewBuildingViewMessage, IMessage>
 {
-    private int      colonyId;
-    private BlockPos buildingId;
-    private ByteBuf  buildingData;
+    private int       colonyId;
+    private BlockPos  buildingId;
+    private ViewDelta buildingDelta;
 
     /**
      * Empty constructor used when registering the message.
@@ -33,13 +33,13 @@ public class ColonyViewBuildingViewMessage implements IMessage, IMessageHandler<
      * Creates a message to handle colony views.
      *
      * @param building AbstractBuilding to add or update a view.
+     * @param delta    the update of the serialized building view.
      */
-    public ColonyViewBuildingViewMessage(@NotNull final AbstractBuilding building)
+    public ColonyViewBuildingViewMessage(@NotNull final AbstractBuilding building, @NotNull final ViewDelta delta)
     {
         this.colonyId = building.getColony().getID();
         this.buildingId = building.getID();
-        this.buildingData = Unpooled.buffer();
-        building.serializeToView(this.buildingData);
+        this.buildingDelta = delta;
     }
 
     @Override
@@ -47,8 +47,7 @@ public class ColonyViewBuildingViewMessage implements IMessage, IMessageHandler<
     {
         colonyId = buf.readInt();
         buildingId = BlockPosUtil.readFromByteBuf(buf);
-        buildingData = Unpooled.buffer(buf.readableBytes());
-        buf.readBytes(buildingData, buf.readableBytes());
+        buildingDelta = ViewDelta.readFromByteBuf(buf);
     }
 
     @Override
@@ -56,13 +55,13 @@ public class ColonyViewBuildingViewMessage implements IMessage, IMessageHandler<
     {
         buf.writeInt(colonyId);
         BlockPosUtil.writeToByteBuf(buf, buildingId);
-        buf.writeBytes(buildingData);
+        buildingDelta.writeToByteBuf(buf);
     }
 
     @Nullable
     @Override
     public IMessage onMessage(@NotNull final ColonyViewBuildingViewMessage message, final MessageContext ctx)
     {
-        return ColonyManager.handleColonyBuildingViewMessage(message.colonyId, message.buildingId, message.buildingData);
+        return ColonyManager.handleColonyBuildingViewMessage(message.colonyId, message.buildingId, message.buildingDelta);
     }
 }
@@ -1,10 +1,9 @@
 package com.minecolonies.coremod.network.messages;
 
-import com.minecolonies.coremod.colony.CitizenData;
 import com.minecolonies.coremod.colony.Colony;
 import com.minecolonies.coremod.colony.ColonyManager;
+import com.minecolonies.coremod.colony.ViewDelta;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -16,9 +15,9 @@ import org.jetbrains.annotations.Nullable;
  */
 public class ColonyViewCitizenViewMessage implements IMessage, IMessageHandler<ColonyViewCitizenViewMessage, IMessage>
 {
-    private int     colonyId;
-    private int     citizenId;
-    private ByteBuf citizenBuffer;
+    private int       colonyId;
+    private int       citizenId;
+    private ViewDelta citizenDelta;
 
     /**
      * Empty constructor used when registering the message.
@@ -31,15 +30,15 @@ public class ColonyViewCitizenViewMessage implements IMessage, IMessageHandler<C
     /**
      * Updates a {@link com.minecolonies.coremod.colony.CitizenDataView} of the citizens.
      *
-     * @param colony  Colony of the citizen
-     * @param citizen Citizen data of the citizen to update view
+     * @param colony    Colony of the citizen
+     * @param citizenId ID of the citizen to update view
+     * @param delta     the update of the serialized citizen view.
      */
-    public ColonyViewCitizenViewMessage(@NotNull final Colony colony, @NotNull final CitizenData citizen)
+    public ColonyViewCitizenViewMessage(@NotNull final Colony colony, final int citizenId, @NotNull final ViewDelta delta)
     {
         this.colonyId = colony.getID();
-        this.citizenId = citizen.getId();
-        this.citizenBuffer = Unpooled.buffer();
-        citizen.serializeViewNetworkData(citizenBuffer);
+        this.citizenId = citizenId;
+        this.citizenDelta = delta;
     }
 
     @Override
@@ -47,8 +46,7 @@ public class ColonyViewCitizenViewMessage implements IMessage, IMessageHandler<C
     {
         colonyId = buf.readInt();
         citizenId = buf.readInt();
-        this.citizenBuffer = Unpooled.buffer();
-        buf.readBytes(citizenBuffer, buf.readableBytes());
+        citizenDelta = ViewDelta.readFromByteBuf(buf);
     }
 
     @Override
@@ -56,13 +54,13 @@ public class ColonyViewCitizenViewMessage implements IMessage, IMessageHandler<C
     {
         buf.writeInt(colonyId);
         buf.writeInt(citizenId);
-        buf.writeBytes(citizenBuffer);
+        citizenDelta.writeToByteBuf(buf);
     }
 
     @Nullable
     @Override
     public IMessage onMessage(@NotNull final ColonyViewCitizenViewMessage message, final MessageContext ctx)
     {
-        return ColonyManager.handleColonyViewCitizensMessage(message.colonyId, message.citizenId, message.citizenBuffer);
+        return ColonyManager.handleColonyViewCitizensMessage(message.colonyId, message.citizenId, message.citizenDelta);
     }
 }
@@ -4,7 +4,6 @@ import com.minecolonies.coremod.colony.Colony;
 import com.minecolonies.coremod.colony.ColonyManager;
 import com.minecolonies.coremod.colony.ColonyView;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -33,13 +32,13 @@ public class ColonyViewMessage implements IMessage, IMessageHandler<ColonyViewMe
      *
      * @param colony            Colony of the view to update.
      * @param isNewSubscription Boolean whether or not this is a new subscription.
+     * @param colonyBuffer      the view serialized by {@link ColonyView#serializeNetworkData}, may be shared with other messages.
      */
-    public ColonyViewMessage(@NotNull final Colony colony, final boolean isNewSubscription)
+    public ColonyViewMessage(@NotNull final Colony colony, final boolean isNewSubscription, @NotNull final ByteBuf colonyBuffer)
     {
         this.colonyId = colony.getID();
         this.isNewSubscription = isNewSubscription;
-        this.colonyBuffer = Unpooled.buffer();
-        ColonyView.serializeNetworkData(colony, colonyBuffer, isNewSubscription);
+        this.colonyBuffer = colonyBuffer;
     }
 
     @Override
@@ -55,7 +54,7 @@ public class ColonyViewMessage implements IMessage, IMessageHandler<ColonyViewMe
     {
         buf.writeInt(colonyId);
         buf.writeBoolean(isNewSubscription);
-        buf.writeBytes(colonyBuffer);
+        buf.writeBytes(colonyBuffer, colonyBuffer.readerIndex(), colonyBuffer.readableBytes());
     }
 
     @Nullable
@@ -0,0 +1,58 @@
+package com.minecolonies.coremod.network.messages;
+
+import com.minecolonies.coremod.colony.Colony;
+import com.minecolonies.coremod.colony.ColonyManager;
+import com.minecolonies.coremod.colony.ColonyView;
+import io.netty.buffer.ByteBuf;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Asks the server to send the full views of a colony again, when a view update did not apply on the client.
+ */
+public class ColonyViewResyncMessage extends AbstractMessage<ColonyViewResyncMessage, IMessage>
+{
+    private int colonyId;
+
+    /**
+     * Empty constructor used when registering the message.
+     */
+    public ColonyViewResyncMessage()
+    {
+        super();
+    }
+
+    /**
+     * Creates a resync request for a colony.
+     *
+     * @param colony the view of the colony which is out of sync.
+     */
+    public ColonyViewResyncMessage(@NotNull final ColonyView colony)
+    {
+        super();
+        this.colonyId = colony.getID();
+    }
+
+    @Override
+    public void fromBytes(@NotNull final ByteBuf buf)
+    {
+        colonyId = buf.readInt();
+    }
+
+    @Override
+    public void toBytes(@NotNull final ByteBuf buf)
+    {
+        buf.writeInt(colonyId);
+    }
+
+    @Override
+    public void messageOnServerThread(final ColonyViewResyncMessage message, final EntityPlayerMP player)
+    {
+        final Colony colony = ColonyManager.getColony(message.colonyId);
+        if (colony != null)
+        {
+            colony.resyncSubscriber(player);
+        }
+    }
+}
@@ -2,9 +2,8 @@ package com.minecolonies.coremod.network.messages;
 
 import com.minecolonies.coremod.colony.Colony;
 import com.minecolonies.coremod.colony.ColonyManager;
-import com.minecolonies.coremod.colony.workorders.AbstractWorkOrder;
+import com.minecolonies.coremod.colony.ViewDelta;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -16,9 +15,9 @@ import org.jetbrains.annotations.Nullable;
  */
 public class ColonyViewWorkOrderMessage implements IMessage, IMessageHandler<ColonyViewWorkOrderMessage, IMessage>
 {
-    private int     colonyId;
-    private int     workOrderId;
-    private ByteBuf workOrderBuffer;
+    private int       colonyId;
+    private int       workOrderId;
+    private ViewDelta workOrderDelta;
 
     /**
      * Empty constructor used when registering the message.
@@ -31,15 +30,15 @@ public class ColonyViewWorkOrderMessage implements IMessage, IMessageHandler<Col
     /**
      * Updates a {@link com.minecolonies.coremod.colony.WorkOrderView} of the workOrders.
      *
-     * @param colony    colony of the workOrder.
-     * @param workOrder workOrder of the colony to update view.
+     * @param colony      colony of the workOrder.
+     * @param workOrderId id of the workOrder of the colony to update view.
+     * @param delta       the update of the serialized workOrder view.
      */
-    public ColonyViewWorkOrderMessage(@NotNull final Colony colony, @NotNull final AbstractWorkOrder workOrder)
+    public ColonyViewWorkOrderMessage(@NotNull final Colony colony, final int workOrderId, @NotNull final ViewDelta delta)
     {
         this.colonyId = colony.getID();
-        this.workOrderBuffer = Unpooled.buffer();
-        this.workOrderId = workOrder.getID();
-        workOrder.serializeViewNetworkData(workOrderBuffer);
+        this.workOrderId = workOrderId;
+        this.workOrderDelta = delta;
     }
 
     @Override
@@ -47,7 +46,7 @@ public class ColonyViewWorkOrderMessage implements IMessage, IMessageHandler<Col
     {
         colonyId = buf.readInt();
         workOrderId = buf.readInt();
-        workOrderBuffer = buf;
+        workOrderDelta = ViewDelta.readFromByteBuf(buf);
     }
 
     @Override
@@ -55,14 +54,14 @@ public class ColonyViewWorkOrderMessage implements IMessage, IMessageHandler<Col
     {
         buf.writeInt(colonyId);
         buf.writeInt(workOrderId);
-        buf.writeBytes(workOrderBuffer);
+        workOrderDelta.writeToByteBuf(buf);
     }
 
     @Nullable
     @Override
     public IMessage onMessage(@NotNull final ColonyViewWorkOrderMessage message, final MessageContext ctx)
     {
-        return ColonyManager.handleColonyViewWorkOrderMessage(message.colonyId, message.workOrderBuffer);
+        return ColonyManager.handleColonyViewWorkOrderMessage(message.colonyId, message.workOrderId, message.workOrderDelta);
     }
 }
 
@@ -7,7 +7,6 @@ import com.minecolonies.coremod.colony.permissions.Permissions;
 import com.minecolonies.coremod.network.PacketUtils;
 import com.minecolonies.coremod.util.Log;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
@@ -58,14 +57,13 @@ public class PermissionsMessage
         /**
          * Instantiate message.
          *
-         * @param colony     with the colony.
-         * @param viewerRank and viewer rank.
+         * @param colony with the colony.
+         * @param data   the permissions serialized for the rank of the viewer, may be shared with other messages.
          */
-        public View(@NotNull final Colony colony, @NotNull final Permissions.Rank viewerRank)
+        public View(@NotNull final Colony colony, @NotNull final ByteBuf data)
         {
             this.colonyID = colony.getID();
-            this.data = Unpooled.buffer();
-            colony.getPermissions().serializeViewNetworkData(this.data, viewerRank);
+            this.data = data;
         }
 
         @Override
@@ -86,7 +84,7 @@ public class PermissionsMessage
         public void toBytes(@NotNull final ByteBuf buf)
         {
             buf.writeInt(colonyID);
-            buf.writeBytes(data);
+            buf.writeBytes(data, data.readerIndex(), data.readableBytes());
         }
     }
 
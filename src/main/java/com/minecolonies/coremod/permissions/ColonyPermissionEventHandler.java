@@ -2,10 +2,10 @@ package com.minecolonies.coremod.permissions;
 
 import com.minecolonies.coremod.blocks.AbstractBlockHut;
 import com.minecolonies.coremod.colony.Colony;
+import com.minecolonies.coremod.colony.ColonyManager;
 import com.minecolonies.coremod.colony.permissions.Permissions;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
-import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
@@ -16,27 +16,75 @@ import net.minecraftforge.event.world.BlockEvent;
 import net.minecraftforge.event.world.ExplosionEvent;
 import net.minecraftforge.fml.common.eventhandler.Event;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 /**
  * This class handles all permission checks on events and cancels them if needed.
+ * <p>
+ * One handler serves all colonies: the colonies an event happens in are looked up in the spatial index of the
+ * colonies, so only their permissions are checked, however many colonies there are.
+ * Colonies only exist on the server, events of client worlds are ignored.
  */
 public class ColonyPermissionEventHandler
 {
+    /**
+     * Get the colonies a position is in, usually none or one.
+     *
+     * @param world the world of the position.
+     * @param pos   the position.
+     * @return the colonies.
+     */
+    @NotNull
+    private static List<Colony> getColoniesAt(@NotNull final World world, @NotNull final BlockPos pos)
+    {
+        if (world.isRemote)
+        {
+            return Collections.emptyList();
+        }
 
-    private final Colony colony;
+        final List<Colony> candidates = ColonyManager.getColonyCandidates(world, pos);
+        if (candidates.isEmpty())
+        {
+            return candidates;
+        }
+
+        final List<Colony> colonies = new ArrayList<>(1);
+        for (@NotNull final Colony colony : candidates)
+        {
+            if (colony.isCoordInColony(world, pos))
+            {
+                colonies.add(colony);
+            }
+        }
+        return colonies;
+    }
 
     /**
-     * Create this EventHandler.
+     * Checks if a position is in any colony.
      *
-     * @param colony the colony to check on.
+     * @param world the world of the position.
+     * @param pos   the position.
+     * @return true if so.
      */
-    public ColonyPermissionEventHandler(final Colony colony)
+    private static boolean isInAnyColony(@NotNull final World world, @NotNull final BlockPos pos)
     {
-        this.colony = colony;
+        if (world.isRemote)
+        {
+            return false;
+        }
+
+        for (@NotNull final Colony colony : ColonyManager.getColonyCandidates(world, pos))
+        {
+            if (colony.isCoordInColony(world, pos))
+            {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -62,9 +110,9 @@ public class ColonyPermissionEventHandler
      * @param blockState the state that block is in
      * @return true if canceled
      */
-    private boolean checkBlockEventDenied(final World worldIn, final BlockPos posIn, final EntityPlayer playerIn, final IBlockState blockState)
+    private static boolean checkBlockEventDenied(final World worldIn, final BlockPos posIn, final EntityPlayer playerIn, final IBlockState blockState)
     {
-        if (colony.isCoordInColony(worldIn, posIn))
+        for (@NotNull final Colony colony : getColoniesAt(worldIn, posIn))
         {
             if (!colony.getPermissions().isColonyMember(playerIn))
             {
@@ -121,19 +169,11 @@ public class ColonyPermissionEventHandler
     {
 
         final World eventWorld = event.getWorld();
-        final Predicate<BlockPos> getBlocksInColony = pos -> colony.isCoordInColony(eventWorld, pos);
-        final Predicate<Entity> getEntitiesInColony = entity -> colony.isCoordInColony(entity.getEntityWorld(), entity.getPosition());
         // if block is in colony -> remove from list
-        final List<BlockPos> blocksToRemove = event.getAffectedBlocks().stream()
-                                                .filter(getBlocksInColony)
-                                                .collect(Collectors.toList());
+        event.getAffectedBlocks().removeIf(pos -> isInAnyColony(eventWorld, pos));
 
         // if entity is in colony -> remove from list
-        final List<Entity> entitiesToRemove = event.getAffectedEntities().stream()
-                                                .filter(getEntitiesInColony)
-                                                .collect(Collectors.toList());
-        event.getAffectedBlocks().removeAll(blocksToRemove);
-        event.getAffectedEntities().removeAll(entitiesToRemove);
+        event.getAffectedEntities().removeIf(entity -> isInAnyColony(entity.getEntityWorld(), entity.getPosition()));
     }
 
     /**
@@ -144,7 +184,7 @@ public class ColonyPermissionEventHandler
     @SubscribeEvent
     public void on(final ExplosionEvent.Start event)
     {
-        if (colony.isCoordInColony(event.getWorld(), new BlockPos(event.getExplosion().getPosition())))
+        if (isInAnyColony(event.getWorld(), new BlockPos(event.getExplosion().getPosition())))
         {
             cancelEvent(event);
         }
@@ -164,7 +204,7 @@ public class ColonyPermissionEventHandler
     @SubscribeEvent
     public void on(final PlayerInteractEvent event)
     {
-        if (colony.isCoordInColony(event.getWorld(), event.getPos()))
+        for (@NotNull final Colony colony : getColoniesAt(event.getWorld(), event.getPos()))
         {
             final Block block = event.getWorld().getBlockState(event.getPos()).getBlock();
             // Huts
@@ -184,7 +224,7 @@ public class ColonyPermissionEventHandler
     @SubscribeEvent
     public void on(final PlayerContainerEvent.Open event)
     {
-        if (this.colony.isCoordInColony(event.getEntity().getEntityWorld(), event.getEntity().getPosition()))
+        for (@NotNull final Colony colony : getColoniesAt(event.getEntity().getEntityWorld(), event.getEntity().getPosition()))
         {
             final Permissions.Rank rank = colony.getPermissions().getRank(event.getEntityPlayer());
 
@@ -204,7 +244,7 @@ public class ColonyPermissionEventHandler
     public void on(final ItemTossEvent event)
     {
         final EntityPlayer playerIn = event.getPlayer();
-        if (colony.isCoordInColony(playerIn.getEntityWorld(), playerIn.getPosition()))
+        for (@NotNull final Colony colony : getColoniesAt(playerIn.getEntityWorld(), playerIn.getPosition()))
         {
             final Permissions.Rank rank = colony.getPermissions().getRank(playerIn);
 
@@ -287,6 +287,7 @@ public class TileEntityColonyBuilding extends TileEntityChest
         final ItemStack removed = super.decrStackSize(index, quantity);
 
         removeStackFromMaterialStore(removed);
+        indexSlot(index);
 
         return removed;
     }
@@ -297,6 +298,7 @@ public class TileEntityColonyBuilding extends TileEntityChest
         final ItemStack removed = super.removeStackFromSlot(index);
 
         removeStackFromMaterialStore(removed);
+        indexSlot(index);
 
         return removed;
     }
@@ -310,6 +312,30 @@ public class TileEntityColonyBuilding extends TileEntityChest
         super.setInventorySlotContents(index, stack);
 
         addStackToMaterialStore(stack);
+        indexSlot(index);
+    }
+
+    @Override
+    public void clear()
+    {
+        super.clear();
+        for (int i = 0; i < getSizeInventory(); i++)
+        {
+            indexSlot(i);
+        }
+    }
+
+    /**
+     * Tells the material store of the building what is in a slot now.
+     *
+     * @param index the slot.
+     */
+    private void indexSlot(final int index)
+    {
+        if (building != null)
+        {
+            building.getMaterialStore().onSlotChanged(index, super.getStackInSlot(index));
+        }
     }
 
     private void addStackToMaterialStore(final ItemStack stack)
@@ -135,6 +135,25 @@ public final class BlockUtils
                  || Objects.equals(iBlockState, Blocks.FLOWING_WATER.getDefaultState());
     }
 
+    /**
+     * Defines blocks that can be built for free.
+     *
+     * @param block    The block to check if it is free.
+     * @param metadata The metadata of the block.
+     * @return true or false.
+     */
+    public static boolean isBlockFree(@Nullable final Block block, final int metadata)
+    {
+        return block == null
+                 || BlockUtils.isWater(block.getDefaultState())
+                 || block.equals(Blocks.LEAVES)
+                 || block.equals(Blocks.LEAVES2)
+                 || (block.equals(Blocks.DOUBLE_PLANT) && Utils.testFlag(metadata, 0x08))
+                 || (block instanceof BlockDoor && Utils.testFlag(metadata, 0x08))
+                 || block.equals(Blocks.GRASS)
+                 || block.equals(Blocks.DIRT);
+    }
+
     /**
      * Checks if a certain block returns a seed as the item.
      *
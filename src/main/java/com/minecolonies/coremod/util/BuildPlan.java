@@ -0,0 +1,198 @@
+package com.minecolonies.coremod.util;
+
+import com.minecolonies.coremod.blocks.ModBlocks;
+import com.minecolonies.structures.helpers.StructureProxy;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockBed;
+import net.minecraft.block.BlockDoor;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * The blocks of a structure sorted into the phases they are built in, compiled once for a structure in a rotation.
+ * <p>
+ * Blocks are referred to by their cell, the index of their position in the order {@link StructureWrapper#incrementBlock()}
+ * walks through the structure, and every phase lists its cells in that order. Substitution blocks are in no phase,
+ * they never have to be built.
+ * The material bill lists the cells of all blocks a builder needs an item for.
+ */
+final class BuildPlan
+{
+    private final int width;
+    private final int length;
+
+    /**
+     * All cells which have to be built, cleared from the last one to the first.
+     */
+    @NotNull
+    private final int[] all;
+
+    /**
+     * Cells of blocks with a solid material, built first.
+     */
+    @NotNull
+    private final int[] solid;
+
+    /**
+     * Cells of the other blocks, air included, built after the solid ones.
+     */
+    @NotNull
+    private final int[] nonSolid;
+
+    /**
+     * Cells of the blocks which need an item.
+     */
+    @NotNull
+    private final int[] materials;
+
+    /**
+     * The tile entities by their position.
+     */
+    @NotNull
+    private final Map<BlockPos, TileEntity> tileEntities = new HashMap<>();
+
+    /**
+     * Compiles the plan of a structure.
+     *
+     * @param structure the structure, rotated.
+     */
+    BuildPlan(@NotNull final StructureProxy structure)
+    {
+        this.width = structure.getWidth();
+        this.length = structure.getLength();
+
+        final int cells = width * length * structure.getHeight();
+        final int[] allCells = new int[cells];
+        final int[] solidCells = new int[cells];
+        final int[] nonSolidCells = new int[cells];
+        final int[] materialCells = new int[cells];
+        int allCount = 0;
+        int solidCount = 0;
+        int nonSolidCount = 0;
+        int materialCount = 0;
+
+        for (int cell = 0; cell < cells; cell++)
+        {
+            @Nullable final IBlockState state = structure.getBlockState(toLocalPosition(cell));
+            if (state == null || state.getBlock() == ModBlocks.blockSubstitution)
+            {
+                continue;
+            }
+
+            allCells[allCount++] = cell;
+            if (state.getMaterial().isSolid())
+            {
+                solidCells[solidCount++] = cell;
+            }
+            else
+            {
+                nonSolidCells[nonSolidCount++] = cell;
+            }
+
+            if (needsItem(state))
+            {
+                materialCells[materialCount++] = cell;
+            }
+        }
+
+        this.all = Arrays.copyOf(allCells, allCount);
+        this.solid = Arrays.copyOf(solidCells, solidCount);
+        this.nonSolid = Arrays.copyOf(nonSolidCells, nonSolidCount);
+        this.materials = Arrays.copyOf(materialCells, materialCount);
+
+        for (@NotNull final TileEntity tileEntity : structure.getTileEntities())
+        {
+            tileEntities.put(tileEntity.getPos(), tileEntity);
+        }
+    }
+
+    /**
+     * Checks if a builder needs an item to place a block.
+     * Blocks of two parts, as beds and doors, are placed with one item for the head or the lower part.
+     *
+     * @param state the state of the block.
+     * @return true if so.
+     */
+    private static boolean needsItem(@NotNull final IBlockState state)
+    {
+        final Block block = state.getBlock();
+        if (block == Blocks.AIR || BlockUtils.isBlockFree(block, block.getMetaFromState(state)))
+        {
+            return false;
+        }
+        if (block instanceof BlockBed)
+        {
+            return state.getValue(BlockBed.PART) == BlockBed.EnumPartType.HEAD;
+        }
+        if (block instanceof BlockDoor)
+        {
+            return state.getValue(BlockDoor.HALF) == BlockDoor.EnumDoorHalf.LOWER;
+        }
+        return true;
+    }
+
+    /**
+     * Get the cell of a position in the structure.
+     *
+     * @param pos the position.
+     * @return the cell.
+     */
+    int toCell(@NotNull final BlockPos pos)
+    {
+        return (pos.getY() * length + pos.getZ()) * width + pos.getX();
+    }
+
+    /**
+     * Get the position of a cell in the structure.
+     *
+     * @param cell the cell.
+     * @return the position.
+     */
+    @NotNull
+    BlockPos toLocalPosition(final int cell)
+    {
+        return new BlockPos(cell % width, cell / (width * length), (cell / width) % length);
+    }
+
+    @NotNull
+    int[] getAll()
+    {
+        return all;
+    }
+
+    @NotNull
+    int[] getSolid()
+    {
+        return solid;
+    }
+
+    @NotNull
+    int[] getNonSolid()
+    {
+        return nonSolid;
+    }
+
+    @NotNull
+    int[] getMaterials()
+    {
+        return materials;
+    }
+
+    /**
+     * Get the tile entity at a position.
+     *
+     * @param pos the position in the structure.
+     * @return the tile entity or null if there is none.
+     */
+    @Nullable
+    TileEntity getTileEntity(@NotNull final BlockPos pos)
+    {
+        return tileEntities.get(pos);
+    }
+}
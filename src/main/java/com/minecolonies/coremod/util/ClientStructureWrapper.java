@@ -1,5 +1,6 @@
 package com.minecolonies.coremod.util;
 
+import com.minecolonies.structures.helpers.StructureCache;
 import net.minecraft.client.Minecraft;
 import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
@@ -49,6 +50,8 @@ public final class ClientStructureWrapper
             return;
         }
 
+        //An older scan with the same name may be cached
+        StructureCache.clear();
         LanguageHandler.sendPlayerLocalizedMessage(Minecraft.getMinecraft().thePlayer,
           LanguageHandler.format("item.scepterSteel.scanSuccess", storeLocation));
     }
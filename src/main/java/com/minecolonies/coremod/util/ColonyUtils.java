@@ -2,11 +2,8 @@ package com.minecolonies.coremod.util;
 
 import com.minecolonies.coremod.colony.CitizenData;
 import com.minecolonies.coremod.entity.EntityCitizen;
-import net.minecraft.entity.player.EntityPlayerMP;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Set;
-
 /**
  * Contains colony specific utility.
  */
@@ -24,23 +21,4 @@ public class ColonyUtils
 
         return entity != null && entity.worldObj.getEntityByID(entity.getEntityId()) != entity;
     }
-
-    /**
-     * Checks if the colony has new subscribers.
-     *
-     * @param oldSubscribers old subscribers.
-     * @param subscribers    all subscribers.
-     * @return true if so.
-     */
-    public static boolean hasNewSubscribers(@NotNull final Set<EntityPlayerMP> oldSubscribers, @NotNull final Set<EntityPlayerMP> subscribers)
-    {
-        for (final EntityPlayerMP player : subscribers)
-        {
-            if (!oldSubscribers.contains(player))
-            {
-                return true;
-            }
-        }
-        return false;
-    }
 }
@@ -1,5 +1,6 @@
 package com.minecolonies.coremod.util;
 
+import com.minecolonies.coremod.inventory.InventoryCitizen;
 import net.minecraft.block.Block;
 import net.minecraft.inventory.IInventory;
 import net.minecraft.item.Item;
@@ -12,6 +13,7 @@ import java.util.List;
 
 /**
  * Utility methods for the inventories.
+ * The lookups by item and of free slots use the index of citizen inventories instead of scanning them.
  */
 public class InventoryUtils
 {
@@ -74,6 +76,10 @@ public class InventoryUtils
         {
             return filtered;
         }
+        if (inventory instanceof InventoryCitizen)
+        {
+            return ((InventoryCitizen) inventory).getStacksWith(targetItem);
+        }
         //Check every inventory slot
         for (int slot = 0; slot < inventory.getSizeInventory(); slot++)
         {
@@ -130,6 +136,10 @@ public class InventoryUtils
      */
     public static int findFirstSlotInInventoryWith(@NotNull final IInventory inventory, final Item targetItem)
     {
+        if (inventory instanceof InventoryCitizen)
+        {
+            return ((InventoryCitizen) inventory).findFirstSlotWith(targetItem);
+        }
         for (int slot = 0; slot < inventory.getSizeInventory(); slot++)
         {
             if (compareItems(inventory.getStackInSlot(slot), targetItem))
@@ -163,6 +173,10 @@ public class InventoryUtils
      */
     public static int getItemCountInInventory(@NotNull final IInventory inventory, final Item targetitem)
     {
+        if (inventory instanceof InventoryCitizen)
+        {
+            return targetitem == null ? 0 : ((InventoryCitizen) inventory).getItemCount(targetitem);
+        }
         int count = 0;
         for (@NotNull final ItemStack is : filterInventory(inventory, targetitem))
         {
@@ -220,6 +234,10 @@ public class InventoryUtils
      */
     public static int getOpenSlot(@NotNull final IInventory inventory)
     {
+        if (inventory instanceof InventoryCitizen)
+        {
+            return ((InventoryCitizen) inventory).getFirstEmptySlot();
+        }
         for (int slot = 0; slot < inventory.getSizeInventory(); slot++)
         {
             if (inventory.getStackInSlot(slot) == null)
@@ -443,12 +461,22 @@ public class InventoryUtils
      */
     public static int getFirstSlotContainingTool(@NotNull final IInventory inventory, @NotNull final String tool)
     {
+        if (inventory instanceof InventoryCitizen)
+        {
+            final InventoryCitizen citizenInventory = (InventoryCitizen) inventory;
+            for (int i = citizenInventory.getNextOccupiedSlot(0); i >= 0; i = citizenInventory.getNextOccupiedSlot(i + 1))
+            {
+                if (isTool(citizenInventory.getStackInSlot(i), tool))
+                {
+                    return i;
+                }
+            }
+            return -1;
+        }
         for (int i = 0; i < inventory.getSizeInventory(); i++)
         {
             final ItemStack item = inventory.getStackInSlot(i);
-            //Only classic fishingRod recognized as a fishingTool
-            if (item != null && (item.getItem().getToolClasses(item).contains(tool) || ("hoe".equals(tool) && item.getUnlocalizedName().contains("hoe"))
-                                   || ("rod".equals(tool) && item.getUnlocalizedName().contains("fishingRod"))))
+            if (isTool(item, tool))
             {
                 return i;
             }
@@ -456,6 +484,20 @@ public class InventoryUtils
         return -1;
     }
 
+    /**
+     * Checks if a stack is a tool of a type.
+     *
+     * @param item the stack.
+     * @param tool the tool type.
+     * @return true if so.
+     */
+    private static boolean isTool(@Nullable final ItemStack item, @NotNull final String tool)
+    {
+        //Only classic fishingRod recognized as a fishingTool
+        return item != null && (item.getItem().getToolClasses(item).contains(tool) || ("hoe".equals(tool) && item.getUnlocalizedName().contains("hoe"))
+                                  || ("rod".equals(tool) && item.getUnlocalizedName().contains("fishingRod")));
+    }
+
     /**
      * Adapted from {@link net.minecraft.entity.player.InventoryPlayer#addItemStackToInventory(ItemStack)}.
      *
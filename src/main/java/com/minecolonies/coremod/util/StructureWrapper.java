@@ -2,6 +2,7 @@ package com.minecolonies.coremod.util;
 
 import com.minecolonies.coremod.blocks.ModBlocks;
 import com.minecolonies.coremod.configuration.Configurations;
+import com.minecolonies.structures.helpers.StructureCache;
 import com.minecolonies.structures.helpers.StructureProxy;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockDoor;
@@ -23,7 +24,10 @@ import org.jetbrains.annotations.Nullable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
+import java.util.function.BooleanSupplier;
 
 /**
  * Interface for using the structure codebase.
@@ -44,7 +48,7 @@ public final class StructureWrapper
      */
     private World          world;
     /**
-     * The structure this structure comes from.
+     * The structure this structure comes from, shared with other wrappers of the same structure and rotation.
      */
     private StructureProxy structure;
     /**
@@ -56,6 +60,23 @@ public final class StructureWrapper
      * The name this structure has.
      */
     private String         name;
+    /**
+     * The phases of the structure, compiled once per structure and rotation and shared through the structure cache.
+     */
+    @Nullable
+    private BuildPlan      plan;
+    /**
+     * Cells known to match the world, so they aren't compared again, null while block changes aren't tracked.
+     * A cell is set when the comparison finds it built and cleared when its block changes, see {@link #onBlockChanged(BlockPos)}.
+     */
+    @Nullable
+    private BitSet         built;
+    /**
+     * Index in the phase last walked through of the cell at progressPos, to continue without a search.
+     */
+    @Nullable
+    private int[]          cursorPhase;
+    private int            cursor;
 
     /**
      * Load a structure into this world.
@@ -65,7 +86,7 @@ public final class StructureWrapper
      */
     public StructureWrapper(final World worldObj, final String name)
     {
-        this(worldObj, new StructureProxy(worldObj, name), name);
+        this(worldObj, StructureCache.getProxy(name, 0), name);
     }
 
     /**
@@ -149,7 +170,156 @@ public final class StructureWrapper
      */
     public void rotate(final int times)
     {
-        structure.rotate(times);
+        structure = StructureCache.getProxy(name, times);
+        plan = null;
+        cursorPhase = null;
+        clearBuilt();
+    }
+
+    /**
+     * Get the build plan of the structure in its rotation.
+     *
+     * @return the plan.
+     */
+    @NotNull
+    private BuildPlan getPlan()
+    {
+        if (plan == null)
+        {
+            plan = structure.getCompiled(BuildPlan.class, BuildPlan::new);
+        }
+        return plan;
+    }
+
+    /**
+     * Starts remembering which blocks are built, the owner has to pass every change of a block in the structure on to
+     * {@link #onBlockChanged(BlockPos)} from then on.
+     */
+    public void trackBuiltBlocks()
+    {
+        if (built == null)
+        {
+            built = new BitSet();
+        }
+    }
+
+    private void clearBuilt()
+    {
+        if (built != null)
+        {
+            built.clear();
+        }
+    }
+
+    /**
+     * Forgets that the block at a position is built, it is compared with the structure again when it is reached.
+     *
+     * @param worldPos the position of the changed block.
+     */
+    public void onBlockChanged(@NotNull final BlockPos worldPos)
+    {
+        if (built == null || position == null)
+        {
+            return;
+        }
+
+        final BlockPos local = worldPos.subtract(getOffsetPosition());
+        if (local.getX() >= 0 && local.getX() < structure.getWidth()
+              && local.getY() >= 0 && local.getY() < structure.getHeight()
+              && local.getZ() >= 0 && local.getZ() < structure.getLength())
+        {
+            built.clear(getPlan().toCell(local));
+        }
+    }
+
+    /**
+     * Checks if the block at progressPos is built, remembers it if block changes are tracked.
+     *
+     * @return true if the world block equals the structure block.
+     */
+    private boolean isBuilt()
+    {
+        if (!doesStructureBlockEqualWorldBlock())
+        {
+            return false;
+        }
+        if (built != null)
+        {
+            built.set(getPlan().toCell(this.progressPos));
+        }
+        return true;
+    }
+
+    /**
+     * Moves progressPos through the cells of a phase which come after it, up to
+     * {@link Configurations#maxBlocksCheckedByBuilder} cells compared with the world per call.
+     * Cells known to be built are passed without looking at the world.
+     *
+     * @param phase    the cells of the phase.
+     * @param backward true to walk from the last cell to the first.
+     * @param skip     checks if the block at progressPos is to be skipped.
+     * @return false if the phase has no cell left, progressPos is reset then.
+     */
+    private boolean findNextInPhase(@NotNull final int[] phase, final boolean backward, @NotNull final BooleanSupplier skip)
+    {
+        final int step = backward ? -1 : 1;
+        int next = getCursor(phase, backward) + step;
+        int count = 0;
+        while (true)
+        {
+            if (next < 0 || next >= phase.length)
+            {
+                reset();
+                return false;
+            }
+
+            final int cell = phase[next];
+            BlockPosUtil.set(this.progressPos, getPlan().toLocalPosition(cell));
+            cursorPhase = phase;
+            cursor = next;
+            next += step;
+            if (built != null && built.get(cell))
+            {
+                continue;
+            }
+
+            count++;
+            if (!skip.getAsBoolean() || count >= Configurations.maxBlocksCheckedByBuilder)
+            {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Get the index in a phase to continue from, the cell of progressPos or the one before it in walking order.
+     *
+     * @param phase    the cells of the phase.
+     * @param backward true if the phase is walked from the last cell to the first.
+     * @return the index, may be one before the first or one after the last cell.
+     */
+    private int getCursor(@NotNull final int[] phase, final boolean backward)
+    {
+        if (this.progressPos.equals(NULL_POS))
+        {
+            return backward ? phase.length : -1;
+        }
+
+        final int cell = getPlan().toCell(this.progressPos);
+        if (cursorPhase == phase && cursor >= 0 && cursor < phase.length && phase[cursor] == cell)
+        {
+            return cursor;
+        }
+
+        final int found = Arrays.binarySearch(phase, cell);
+        if (found >= 0)
+        {
+            return found;
+        }
+
+        //The index of the first cell after progressPos
+        final int insertion = -found - 1;
+        return backward ? insertion : (insertion - 1);
     }
 
     /**
@@ -231,18 +401,17 @@ public final class StructureWrapper
      */
     public boolean findNextBlock()
     {
-        int count = 0;
-        do
-        {
-            count++;
-            if (!incrementBlock())
-            {
-                return false;
-            }
-        }
-        while (doesStructureBlockEqualWorldBlock() && count < Configurations.maxBlocksCheckedByBuilder);
+        return findNextInPhase(getPlan().getAll(), false, this::isBuilt);
+    }
 
-        return true;
+    /**
+     * Find the next block of the material bill which doesn't already exist in the world.
+     *
+     * @return true if a new block is found and false if there is no next block.
+     */
+    public boolean findNextMaterial()
+    {
+        return findNextInPhase(getPlan().getMaterials(), false, this::isBuilt);
     }
 
     /**
@@ -369,20 +538,9 @@ public final class StructureWrapper
      */
     public boolean findNextBlockToClear()
     {
-        int count = 0;
-        do
-        {
-            count++;
-            //decrement because we clear from top to bottom.
-            if (!decrementBlock())
-            {
-                return false;
-            }
-        }
+        //backward because we clear from top to bottom.
         //Check for air blocks and if blocks below the hut are different from the structure
-        while ((worldBlockAir() || doesStructureBlockEqualWorldBlock()) && count < Configurations.maxBlocksCheckedByBuilder);
-
-        return true;
+        return findNextInPhase(getPlan().getAll(), true, () -> worldBlockAir() || isBuilt());
     }
 
     /**
@@ -392,23 +550,7 @@ public final class StructureWrapper
      */
     public boolean findNextBlockSolid()
     {
-        int count = 0;
-        do
-        {
-            count++;
-            if (!incrementBlock())
-            {
-                return false;
-            }
-        }
-        while ((doesStructureBlockEqualWorldBlock() || isBlockNonSolid()) && count < Configurations.maxBlocksCheckedByBuilder);
-
-        return true;
-    }
-
-    private boolean isBlockNonSolid()
-    {
-        return getBlock() != null && !getBlockState().getMaterial().isSolid();
+        return findNextInPhase(getPlan().getSolid(), false, this::isBuilt);
     }
 
     /**
@@ -449,23 +591,7 @@ public final class StructureWrapper
      */
     public boolean findNextBlockNonSolid()
     {
-        int count = 0;
-        do
-        {
-            count++;
-            if (!incrementBlock())
-            {
-                return false;
-            }
-        }
-        while ((doesStructureBlockEqualWorldBlock() || isBlockSolid()) && count < Configurations.maxBlocksCheckedByBuilder);
-
-        return true;
-    }
-
-    private boolean isBlockSolid()
-    {
-        return getBlock() != null && (getBlockState().getMaterial().isSolid());
+        return findNextInPhase(getPlan().getNonSolid(), false, this::isBuilt);
     }
 
     /**
@@ -515,7 +641,7 @@ public final class StructureWrapper
         {
             return null;
         }
-        return this.structure.getTileEntity(this.progressPos);
+        return getPlan().getTileEntity(this.progressPos.toImmutable());
     }
 
     /**
@@ -549,6 +675,7 @@ public final class StructureWrapper
     public void setPosition(final BlockPos position)
     {
         this.position = position;
+        clearBuilt();
     }
 
     /**
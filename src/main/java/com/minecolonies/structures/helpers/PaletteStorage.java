@@ -0,0 +1,165 @@
+package com.minecolonies.structures.helpers;
+
+import com.minecolonies.coremod.blocks.AbstractBlockHut;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.gen.structure.template.Template;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The blocks of a structure as it is saved, unrotated.
+ * <p>
+ * Every different block state goes into a palette once, the blocks are indices into the palette in one flat array,
+ * a byte per block if there are at most 256 states and a short otherwise. Index 0 stands for no block.
+ * Never changed after it is created, shared by all rotations of the structure.
+ */
+final class PaletteStorage
+{
+    /**
+     * Most states a palette of byte indices holds, no block included.
+     */
+    private static final int MAX_BYTE_PALETTE = 256;
+
+    private final int           width;
+    private final int           height;
+    private final int           length;
+    /**
+     * The states, the first one is null.
+     */
+    private final IBlockState[] palette;
+    /**
+     * The palette indices by {@link #index(int, int, int)}, only one of both arrays is used.
+     */
+    @Nullable
+    private final byte[]        byteIndices;
+    @Nullable
+    private final short[]       shortIndices;
+    /**
+     * Position of the hut block or null if there is none.
+     */
+    @Nullable
+    private final BlockPos      hutPos;
+
+    /**
+     * Stores the blocks of a template.
+     *
+     * @param template the template.
+     */
+    PaletteStorage(@NotNull final Template template)
+    {
+        this(template.getSize(), template.blocks);
+    }
+
+    /**
+     * Stores blocks.
+     *
+     * @param size   the size of the structure.
+     * @param blocks the blocks, all within the size.
+     */
+    PaletteStorage(@NotNull final BlockPos size, @NotNull final List<Template.BlockInfo> blocks)
+    {
+        this.width = size.getX();
+        this.height = size.getY();
+        this.length = size.getZ();
+
+        final List<IBlockState> states = new ArrayList<>();
+        states.add(null);
+        final Map<IBlockState, Integer> paletteIndices = new HashMap<>();
+        final int[] indices = new int[width * height * length];
+        BlockPos hut = null;
+        for (@NotNull final Template.BlockInfo info : blocks)
+        {
+            Integer paletteIndex = paletteIndices.get(info.blockState);
+            if (paletteIndex == null)
+            {
+                paletteIndex = states.size();
+                paletteIndices.put(info.blockState, paletteIndex);
+                states.add(info.blockState);
+            }
+            indices[index(info.pos.getX(), info.pos.getY(), info.pos.getZ())] = paletteIndex;
+
+            if (info.blockState.getBlock() instanceof AbstractBlockHut)
+            {
+                hut = info.pos;
+            }
+        }
+
+        this.palette = states.toArray(new IBlockState[states.size()]);
+        this.hutPos = hut;
+        if (palette.length <= MAX_BYTE_PALETTE)
+        {
+            byteIndices = new byte[indices.length];
+            shortIndices = null;
+            for (int i = 0; i < indices.length; i++)
+            {
+                byteIndices[i] = (byte) indices[i];
+            }
+        }
+        else
+        {
+            byteIndices = null;
+            shortIndices = new short[indices.length];
+            for (int i = 0; i < indices.length; i++)
+            {
+                shortIndices[i] = (short) indices[i];
+            }
+        }
+    }
+
+    private int index(final int x, final int y, final int z)
+    {
+        return (y * length + z) * width + x;
+    }
+
+    /**
+     * Get the palette index of the block at a position.
+     *
+     * @param x the x coordinate, unrotated.
+     * @param y the y coordinate.
+     * @param z the z coordinate, unrotated.
+     * @return the index, 0 if there is no block.
+     */
+    int getPaletteIndex(final int x, final int y, final int z)
+    {
+        final int index = index(x, y, z);
+        return byteIndices == null ? (shortIndices[index] & 0xFFFF) : (byteIndices[index] & 0xFF);
+    }
+
+    /**
+     * Get the palette, the first entry is null.
+     *
+     * @return a copy of the palette.
+     */
+    @NotNull
+    IBlockState[] getPalette()
+    {
+        return palette.clone();
+    }
+
+    int getWidth()
+    {
+        return width;
+    }
+
+    int getHeight()
+    {
+        return height;
+    }
+
+    int getLength()
+    {
+        return length;
+    }
+
+    @Nullable
+    BlockPos getHutPos()
+    {
+        return hutPos;
+    }
+}
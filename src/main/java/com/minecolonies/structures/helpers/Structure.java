@@ -57,9 +57,9 @@ public class Structure
     private static final double SCALE = 1.001;
 
     /**
-     * Template of the structure.
+     * Template of the structure, shared through the {@link StructureCache}.
      */
-    private Template          template;
+    private final Template    template;
     private Minecraft         mc;
     private PlacementSettings settings;
 
@@ -72,14 +72,27 @@ public class Structure
      */
     public Structure(@Nullable final World world, final String structureName, final PlacementSettings settings)
     {
-        InputStream inputstream = MinecraftServer.class.getResourceAsStream("/assets/" + Constants.MOD_ID + "/schematics/" + structureName + ".nbt");
-
         if (world == null || world.isRemote)
         {
             this.settings = settings;
             this.mc = Minecraft.getMinecraft();
         }
 
+        this.template = StructureCache.getTemplate(structureName);
+    }
+
+    /**
+     * Loads the template of a structure from the mod resources, or from the minecolonies folder.
+     * Use {@link StructureCache#getTemplate(String)} instead, which only loads it once.
+     *
+     * @param structureName name of the structure (at stored location).
+     * @return the template or null if it couldn't be loaded.
+     */
+    @Nullable
+    static Template loadTemplate(final String structureName)
+    {
+        InputStream inputstream = MinecraftServer.class.getResourceAsStream("/assets/" + Constants.MOD_ID + "/schematics/" + structureName + ".nbt");
+
         //Might be at a different location!
         if (inputstream == null)
         {
@@ -105,16 +118,17 @@ public class Structure
 
         if (inputstream == null)
         {
-            return;
+            return null;
         }
 
         try
         {
-            this.template = readTemplateFromStream(inputstream);
+            return readTemplateFromStream(inputstream);
         }
         catch (final IOException e)
         {
             Log.getLogger().warn(String.format("Failed to load template %s", structureName), e);
+            return null;
         }
         finally
         {
@@ -0,0 +1,230 @@
+package com.minecolonies.structures.helpers;
+
+import net.minecraft.world.gen.structure.template.Template;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of the loaded structures, shared by builders, miners and the build tool.
+ * <p>
+ * Templates are kept by their name, the views of a structure by its name and rotation, all rotations of a structure
+ * share its blocks. They are never changed after they are created, so everyone who places or shows a structure uses
+ * the same instances and only keeps its own progress. The cache holds at most a few dozen of each, the least recently
+ * used are dropped first, and entries are soft referenced so the garbage collector can take them back when memory
+ * gets short.
+ * Used by the server and the client thread.
+ */
+public final class StructureCache
+{
+    /**
+     * Most templates kept.
+     */
+    private static final int MAX_TEMPLATES = 64;
+
+    /**
+     * Most rotated structures kept, a structure is used in up to 4 rotations.
+     */
+    private static final int MAX_PROXIES = 128;
+
+    /**
+     * Amount of different rotations of a structure.
+     */
+    private static final int ROTATIONS = 4;
+
+    /**
+     * The templates by structure name.
+     */
+    @NotNull
+    private static final Map<String, SoftReference<Template>> templates = new LruMap<>(MAX_TEMPLATES);
+
+    /**
+     * The structures by structure name and rotation.
+     */
+    @NotNull
+    private static final Map<String, SoftReference<StructureProxy>> proxies = new LruMap<>(MAX_PROXIES);
+
+    /**
+     * Lookups served from the cache and lookups which had to load the structure.
+     */
+    private static int hits;
+    private static int misses;
+
+    private StructureCache()
+    {
+        //Hides default constructor.
+    }
+
+    /**
+     * Get the template of a structure, loading it if it isn't cached.
+     *
+     * @param name the name of the structure.
+     * @return the template or null if it couldn't be loaded.
+     */
+    @Nullable
+    public static synchronized Template getTemplate(@NotNull final String name)
+    {
+        @Nullable final Template template = get(templates, name);
+        if (template != null)
+        {
+            hits++;
+            return template;
+        }
+
+        misses++;
+        return loadTemplate(name);
+    }
+
+    /**
+     * Get the view of a structure in a rotation, creating it if it isn't cached.
+     *
+     * @param name     the name of the structure.
+     * @param rotation the times the structure is rotated clockwise.
+     * @return the structure, shared and not to be changed.
+     * @throws IllegalStateException if the structure couldn't be loaded.
+     */
+    @NotNull
+    public static synchronized StructureProxy getProxy(@NotNull final String name, final int rotation)
+    {
+        final String key = name + '@' + (rotation >= 1 && rotation < ROTATIONS ? rotation : 0);
+        @Nullable final StructureProxy cached = get(proxies, key);
+        if (cached != null)
+        {
+            hits++;
+            return cached;
+        }
+
+        misses++;
+        @NotNull final StructureProxy proxy = new StructureProxy(getStorage(name), rotation);
+        proxies.put(key, new SoftReference<>(proxy));
+        return proxy;
+    }
+
+    /**
+     * Get the blocks of a structure, from a cached rotation of it or from its template.
+     *
+     * @param name the name of the structure.
+     * @return the blocks.
+     * @throws IllegalStateException if the structure couldn't be loaded.
+     */
+    @NotNull
+    private static PaletteStorage getStorage(@NotNull final String name)
+    {
+        for (int rotation = 0; rotation < ROTATIONS; rotation++)
+        {
+            @Nullable final StructureProxy sibling = get(proxies, name + '@' + rotation);
+            if (sibling != null)
+            {
+                return sibling.getStorage();
+            }
+        }
+
+        @Nullable Template template = get(templates, name);
+        if (template == null)
+        {
+            template = loadTemplate(name);
+        }
+        if (template == null)
+        {
+            throw new IllegalStateException(String.format("Structure %s couldn't be loaded", name));
+        }
+        return new PaletteStorage(template);
+    }
+
+    /**
+     * Loads a template and caches it, failures aren't cached.
+     *
+     * @param name the name of the structure.
+     * @return the template or null if it couldn't be loaded.
+     */
+    @Nullable
+    private static Template loadTemplate(@NotNull final String name)
+    {
+        @Nullable final Template template = Structure.loadTemplate(name);
+        if (template != null)
+        {
+            templates.put(name, new SoftReference<>(template));
+        }
+        return template;
+    }
+
+    @Nullable
+    private static <T> T get(@NotNull final Map<String, SoftReference<T>> cache, @NotNull final String key)
+    {
+        @Nullable final SoftReference<T> reference = cache.get(key);
+        if (reference == null)
+        {
+            return null;
+        }
+
+        @Nullable final T value = reference.get();
+        if (value == null)
+        {
+            cache.remove(key);
+        }
+        return value;
+    }
+
+    /**
+     * Drops everything cached, for example after a structure file was written.
+     */
+    public static synchronized void clear()
+    {
+        templates.clear();
+        proxies.clear();
+    }
+
+    /**
+     * Get the amount of lookups served from the cache since the last reset.
+     *
+     * @return the amount.
+     */
+    public static synchronized int getHits()
+    {
+        return hits;
+    }
+
+    /**
+     * Get the amount of lookups which had to load or rotate a structure since the last reset.
+     *
+     * @return the amount.
+     */
+    public static synchronized int getMisses()
+    {
+        return misses;
+    }
+
+    /**
+     * Resets the hit and miss counters.
+     */
+    public static synchronized void resetStatistics()
+    {
+        hits = 0;
+        misses = 0;
+    }
+
+    /**
+     * Map which drops the least recently used entry when it grows beyond its size.
+     */
+    private static final class LruMap<V> extends LinkedHashMap<String, V>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSize;
+
+        private LruMap(final int maxSize)
+        {
+            super(maxSize, 0.75F, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, V> eldest)
+        {
+            return size() > maxSize;
+        }
+    }
+}
@@ -1,85 +1,176 @@
 package com.minecolonies.structures.helpers;
 
-import com.minecolonies.coremod.blocks.AbstractBlockHut;
 import com.minecolonies.coremod.util.BlockPosUtil;
-import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
-import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.Rotation;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.world.World;
-import net.minecraft.world.gen.structure.template.PlacementSettings;
-import net.minecraft.world.gen.structure.template.Template;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Proxy class translating the structures method to something we can use.
+ * A view of the blocks of a structure in one rotation: positions are mapped back to the unrotated
+ * {@link PaletteStorage}, only the palette is rotated. Instances are shared through the {@link StructureCache} and
+ * never change.
  */
 public class StructureProxy
 {
-    private final Structure structure;
     private final List<TileEntity> tileEntities = new ArrayList<>();
     private final List<Entity>     entities     = new ArrayList<>();
-    private Block[][][]       blocks;
-    private IBlockState[][][] metadata;
-    private int               width;
-    private int               height;
-    private int               length;
-    private BlockPos          offset;
+    private final PaletteStorage    storage;
+    /**
+     * Times the structure is rotated clockwise, 0 to 3.
+     */
+    private final int               rotation;
+    /**
+     * The palette of the storage with every state rotated.
+     */
+    private final IBlockState[]     palette;
+    private final int               width;
+    private final int               height;
+    private final int               length;
+    private final BlockPos          offset;
+    /**
+     * Data compiled from the structure by its users, kept as long as the proxy is cached, by its type.
+     */
+    private final Map<Class<?>, Object> compiled = new ConcurrentHashMap<>();
 
     /**
-     * @param worldObj the world.
-     * @param name     the string where the structure is saved at.
+     * Creates the view of a structure, rotated depending on the direction it's facing.
+     *
+     * @param storage the blocks of the structure.
+     * @param times   times to rotate.
      */
-    public StructureProxy(final World worldObj, final String name)
+    StructureProxy(@NotNull final PaletteStorage storage, final int times)
     {
-        this.structure = new Structure(worldObj, name, new PlacementSettings());
-        final BlockPos size = structure.getSize(Rotation.NONE);
+        this.storage = storage;
+        this.rotation = times >= 1 && times <= 3 ? times : 0;
+        final Rotation mcRotation;
+        switch (rotation)
+        {
+            case 1:
+                mcRotation = Rotation.CLOCKWISE_90;
+                break;
+            case 2:
+                mcRotation = Rotation.CLOCKWISE_180;
+                break;
+            case 3:
+                mcRotation = Rotation.COUNTERCLOCKWISE_90;
+                break;
+            default:
+                mcRotation = Rotation.NONE;
+        }
 
-        this.width = size.getX();
-        this.height = size.getY();
-        this.length = size.getZ();
+        this.palette = storage.getPalette();
+        for (int i = 1; i < palette.length; i++)
+        {
+            palette[i] = palette[i].withRotation(mcRotation);
+        }
 
-        this.blocks = new Block[width][height][length];
-        this.metadata = new IBlockState[width][height][length];
+        final boolean quarterTurn = rotation == 1 || rotation == 3;
+        this.width = quarterTurn ? storage.getLength() : storage.getWidth();
+        this.height = storage.getHeight();
+        this.length = quarterTurn ? storage.getWidth() : storage.getLength();
 
-        for (final Template.BlockInfo info : structure.getBlockInfo())
+        @Nullable final BlockPos hutPos = storage.getHutPos();
+        if (hutPos == null)
         {
-            final BlockPos tempPos = info.pos;
-            blocks[tempPos.getX()][tempPos.getY()][tempPos.getZ()] = info.blockState.getBlock();
-            metadata[tempPos.getX()][tempPos.getY()][tempPos.getZ()] = info.blockState;
+            this.offset = getDecorationOffset();
+        }
+        else
+        {
+            this.offset = toRotated(hutPos);
+        }
+    }
 
-            if (info.blockState.getBlock() instanceof AbstractBlockHut)
-            {
-                offset = info.pos;
-            }
+    /**
+     * Get data compiled from the structure, compiles it the first time it is asked for.
+     * Proxies are shared, so everyone who uses the structure in this rotation gets the same instance.
+     *
+     * @param type    the type of the data, one instance per type is kept.
+     * @param compile compiles the data from the proxy.
+     * @param <T>     the type of the data.
+     * @return the data.
+     */
+    @NotNull
+    public <T> T getCompiled(@NotNull final Class<T> type, @NotNull final Function<StructureProxy, T> compile)
+    {
+        return type.cast(compiled.computeIfAbsent(type, key -> compile.apply(this)));
+    }
+
+    /**
+     * Get the shared storage of the blocks.
+     *
+     * @return the storage.
+     */
+    @NotNull
+    PaletteStorage getStorage()
+    {
+        return storage;
+    }
+
+    /**
+     * Maps an unrotated position to the position in this rotation.
+     *
+     * @param pos the unrotated position.
+     * @return the rotated position.
+     */
+    @NotNull
+    private BlockPos toRotated(@NotNull final BlockPos pos)
+    {
+        switch (rotation)
+        {
+            case 1:
+                return new BlockPos(storage.getLength() - 1 - pos.getZ(), pos.getY(), pos.getX());
+            case 2:
+                return new BlockPos(storage.getWidth() - 1 - pos.getX(), pos.getY(), storage.getLength() - 1 - pos.getZ());
+            case 3:
+                return new BlockPos(pos.getZ(), pos.getY(), storage.getWidth() - 1 - pos.getX());
+            default:
+                return pos;
         }
     }
 
     /**
-     * Getter of the offset.
+     * The offset of a decoration is its center, at the ground.
      *
-     * @return the blockPos of the offset.
+     * @return the offset.
      */
-    public BlockPos getOffset()
+    @NotNull
+    private BlockPos getDecorationOffset()
     {
-        return offset;
+        //Where the unrotated corner ends up
+        final BlockPos corner = toRotated(BlockPos.ORIGIN);
+        switch (rotation)
+        {
+            case 1:
+                return new BlockPos(-width / 2, 0, length / 2).add(corner);
+            case 2:
+                return new BlockPos(-width / 2, 0, -length / 2).add(corner);
+            case 3:
+                return new BlockPos(width / 2, 0, -length / 2).add(corner);
+            default:
+                return new BlockPos(width / 2, 0, length / 2);
+        }
     }
 
     /**
-     * Setter of the offset.
+     * Getter of the offset.
      *
-     * @param pos the new offset.
+     * @return the blockPos of the offset.
      */
-    public void setOffset(final BlockPos pos)
+    public BlockPos getOffset()
     {
-        offset = pos;
+        return offset;
     }
 
     /**
@@ -114,7 +205,20 @@ public class StructureProxy
      */
     public IBlockState getBlockState(@NotNull final BlockPos pos)
     {
-        return metadata[pos.getX()][pos.getY()][pos.getZ()];
+        final int x = pos.getX();
+        final int y = pos.getY();
+        final int z = pos.getZ();
+        switch (rotation)
+        {
+            case 1:
+                return palette[storage.getPaletteIndex(z, y, storage.getLength() - 1 - x)];
+            case 2:
+                return palette[storage.getPaletteIndex(storage.getWidth() - 1 - x, y, storage.getLength() - 1 - z)];
+            case 3:
+                return palette[storage.getPaletteIndex(storage.getWidth() - 1 - z, y, x)];
+            default:
+                return palette[storage.getPaletteIndex(x, y, z)];
+        }
     }
 
     /**
@@ -143,62 +247,7 @@ public class StructureProxy
      */
     public List<TileEntity> getTileEntities()
     {
-        return this.tileEntities;
-    }
-
-    /**
-     * Sets tileEntities.
-     *
-     * @param pos        at position.
-     * @param tileEntity the entity to set.
-     */
-    public void setTileEntity(final BlockPos pos, final TileEntity tileEntity)
-    {
-        if (isInvalid(pos))
-        {
-            return;
-        }
-
-        removeTileEntity(pos);
-
-        if (tileEntity != null)
-        {
-            this.tileEntities.add(tileEntity);
-        }
-    }
-
-    /**
-     * Checks if a position is inside the structure.
-     *
-     * @param pos the position.
-     * @return true if so.
-     */
-    private boolean isInvalid(final BlockPos pos)
-    {
-        final int x = pos.getX();
-        final int y = pos.getY();
-        final int z = pos.getZ();
-
-        return (x < 0 || y < 0 || z < 0 || x >= this.width || y >= this.height || z >= this.length);
-    }
-
-    /**
-     * Removes a tileEntity at a position.
-     *
-     * @param pos the position to remove it at.
-     */
-    private void removeTileEntity(final BlockPos pos)
-    {
-        final Iterator<TileEntity> iterator = this.tileEntities.iterator();
-
-        while (iterator.hasNext())
-        {
-            final TileEntity tileEntity = iterator.next();
-            if (tileEntity.getPos().equals(pos))
-            {
-                iterator.remove();
-            }
-        }
+        return Collections.unmodifiableList(this.tileEntities);
     }
 
     /**
@@ -209,53 +258,7 @@ public class StructureProxy
     @NotNull
     public List<Entity> getEntities()
     {
-        return this.entities;
-    }
-
-    /**
-     * Add an entitiy.
-     *
-     * @param entity the entity to add.
-     */
-    public void addEntity(final Entity entity)
-    {
-        if (entity == null || entity instanceof EntityPlayer)
-        {
-            return;
-        }
-
-        for (final Entity e : this.entities)
-        {
-            if (entity.getUniqueID().equals(e.getUniqueID()))
-            {
-                return;
-            }
-        }
-
-        this.entities.add(entity);
-    }
-
-    /**
-     * Remove a certain entitiy.
-     *
-     * @param entity that should be removed.
-     */
-    public void removeEntity(final Entity entity)
-    {
-        if (entity == null)
-        {
-            return;
-        }
-
-        final Iterator<Entity> iterator = this.entities.iterator();
-        while (iterator.hasNext())
-        {
-            final Entity e = iterator.next();
-            if (entity.getUniqueID().equals(e.getUniqueID()))
-            {
-                iterator.remove();
-            }
-        }
+        return Collections.unmodifiableList(this.entities);
     }
 
     /**
@@ -287,114 +290,4 @@ public class StructureProxy
     {
         return this.height;
     }
-
-    /**
-     * Rotate the structure depending on the direction it's facing.
-     *
-     * @param times times to rotate.
-     */
-    public void rotate(final int times)
-    {
-        final Rotation rotation;
-        switch (times)
-        {
-            case 1:
-                rotation = Rotation.CLOCKWISE_90;
-                break;
-            case 2:
-                rotation = Rotation.CLOCKWISE_180;
-                break;
-            case 3:
-                rotation = Rotation.COUNTERCLOCKWISE_90;
-                break;
-            default:
-                rotation = Rotation.NONE;
-        }
-        structure.setPlacementSettings(new PlacementSettings().setRotation(rotation));
-
-        final BlockPos size = structure.getSize(rotation);
-
-        this.width = size.getX();
-        this.height = size.getY();
-        this.length = size.getZ();
-
-        this.blocks = new Block[width][height][length];
-        this.metadata = new IBlockState[width][height][length];
-
-        int minX = 0;
-        int minY = 0;
-        int minZ = 0;
-
-        for (final Template.BlockInfo info : structure.getBlockInfoWithSettings(new PlacementSettings().setRotation(rotation)))
-        {
-            final BlockPos tempPos = info.pos;
-            final int x = tempPos.getX();
-            final int y = tempPos.getY();
-            final int z = tempPos.getZ();
-            if (x < minX)
-            {
-                minX = x;
-            }
-
-            if (y < minY)
-            {
-                minY = y;
-            }
-
-            if (z < minZ)
-            {
-                minZ = z;
-            }
-        }
-
-        minX = Math.abs(minX);
-        minY = Math.abs(minY);
-        minZ = Math.abs(minZ);
-        boolean foundHut = false;
-
-        for (final Template.BlockInfo info : structure.getBlockInfoWithSettings(new PlacementSettings().setRotation(rotation)))
-        {
-            final BlockPos tempPos = info.pos;
-            final int x = tempPos.getX() + minX;
-            final int y = tempPos.getY() + minY;
-            final int z = tempPos.getZ() + minZ;
-
-            this.blocks[x][y][z] = info.blockState.getBlock();
-            this.metadata[x][y][z] = info.blockState;
-
-            if (info.blockState.getBlock() instanceof AbstractBlockHut)
-            {
-                foundHut = true;
-                offset = info.pos.add(minX, minY, minZ);
-            }
-        }
-        updateOffSetIfDecoration(foundHut, size, times, minX, minY, minZ);
-    }
-
-    /**
-     * Updates the offset if the structure is a decoration.
-     *
-     * @param foundHut if false update.
-     */
-    private void updateOffSetIfDecoration(final boolean foundHut, final BlockPos size, int rotation, int minX, int minY, int minZ)
-    {
-        if (!foundHut)
-        {
-            BlockPos tempSize = size;
-            if (rotation == 1)
-            {
-                tempSize = new BlockPos(-size.getX(), size.getY(), size.getZ());
-            }
-            if (rotation == 2)
-            {
-                tempSize = new BlockPos(-size.getX(), size.getY(), -size.getZ());
-            }
-            if (rotation == 3)
-            {
-                tempSize = new BlockPos(size.getX(), size.getY(), -size.getZ());
-            }
-
-            offset = new BlockPos(tempSize.getX() / 2, 0, tempSize.getZ() / 2).add(minX, minY, minZ);
-        }
-    }
 }
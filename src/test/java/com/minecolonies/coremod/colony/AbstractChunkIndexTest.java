@@ -0,0 +1,152 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.coremod.test.AbstractTest;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IChunkProvider;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AbstractChunkIndexTest extends AbstractTest
+{
+    private static final BlockPos CENTER     = new BlockPos(8, 64, 8);
+    private static final long     CLAIM_TIME = 20L * 60 * 5;
+
+    private final Map<Long, Chunk>     loadedChunks   = new HashMap<>();
+    private final Map<Chunk, ChunkPos> chunkPositions = new HashMap<>();
+    private World      world;
+    private EntryIndex index;
+
+    @Override
+    public String getTestName()
+    {
+        return "AbstractChunkIndexTest";
+    }
+
+    @Before
+    public void setupWorld()
+    {
+        final IChunkProvider provider = mock(IChunkProvider.class);
+        when(provider.getLoadedChunk(anyInt(), anyInt()))
+          .thenAnswer(invocation -> loadedChunks.get(ChunkPos.chunkXZ2Int((int) invocation.getArguments()[0], (int) invocation.getArguments()[1])));
+        world = mock(World.class);
+        when(world.getChunkProvider()).thenReturn(provider);
+        index = new EntryIndex();
+    }
+
+    private void load(final int minChunkX, final int minChunkZ, final int maxChunkX, final int maxChunkZ)
+    {
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++)
+        {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++)
+            {
+                final Chunk chunk = mock(Chunk.class);
+                loadedChunks.put(ChunkPos.chunkXZ2Int(chunkX, chunkZ), chunk);
+                chunkPositions.put(chunk, new ChunkPos(chunkX, chunkZ));
+            }
+        }
+    }
+
+    @Test
+    public void chunkIsScannedOnceItsNeighboursAreLoadedTest()
+    {
+        index.setArea(CENTER, 0);
+        load(0, 0, 0, 0);
+
+        index.update(world);
+        assertThat(index.scans, is(0));
+        assertThat(index.isScanComplete(), is(true));
+
+        load(-1, -1, 1, 1);
+        index.update(world);
+        assertThat(index.scans, is(1));
+        assertThat(index.get(CENTER), is("entry"));
+    }
+
+    @Test
+    public void scanCompletesWhenEveryLoadedChunkIsScannedTest()
+    {
+        //  Chunks -2 to 3 on both axes
+        index.setArea(CENTER, 40);
+        load(-3, -3, 4, 4);
+        final int areaChunks = 6 * 6;
+
+        for (int update = 0; update < areaChunks / 2 - 1; update++)
+        {
+            index.update(world);
+            assertThat(index.isScanComplete(), is(false));
+        }
+        index.update(world);
+        assertThat(index.scans, is(areaChunks));
+        assertThat(index.isScanComplete(), is(true));
+
+        index.setArea(CENTER, 60);
+        assertThat(index.isScanComplete(), is(false));
+    }
+
+    @Test
+    public void claimedEntryIsNotHandedOutTest()
+    {
+        index.setArea(CENTER, 0);
+        load(-1, -1, 1, 1);
+        index.update(world);
+
+        index.claim(CENTER, 1, 0);
+        assertThat(index.getAvailable(CENTER, 10, 2, 0).isEmpty(), is(true));
+        assertThat(index.getAvailable(CENTER, 10, 1, 0).size(), is(1));
+        assertThat(index.getAvailable(CENTER, 10, 2, CLAIM_TIME + 1).size(), is(1));
+
+        index.claim(CENTER, 1, 0);
+        index.release(CENTER, 1);
+        assertThat(index.getAvailable(CENTER, 10, 2, 0).size(), is(1));
+    }
+
+    @Test
+    public void nearestEntriesComeFirstTest()
+    {
+        //  Chunks -2 to 3 on both axes
+        index.setArea(CENTER, 40);
+        load(-3, -3, 4, 4);
+        while (!index.isScanComplete())
+        {
+            index.update(world);
+        }
+
+        final BlockPos from = CENTER.add(20, 0, 0);
+        final List<BlockPos> nearest = index.getAvailable(from, 100, 1, 0, 2);
+        assertThat(nearest.size(), is(2));
+        assertThat(nearest.get(0), is(CENTER.add(16, 0, 0)));
+        assertThat(nearest.get(1), is(CENTER.add(32, 0, 0)));
+
+        assertThat(index.getAvailable(from, 100, 1, 0), is(index.getAvailable(from, 100, 1, 0, 36)));
+        assertThat(index.getAvailable(from, 100, 1, 0).size(), is(36));
+    }
+
+    /**
+     * Index with one entry at the center of every chunk.
+     */
+    private final class EntryIndex extends AbstractChunkIndex<String>
+    {
+        private int scans;
+
+        @NotNull
+        @Override
+        protected Map<BlockPos, String> scanChunk(@NotNull final World world, @NotNull final Chunk chunk)
+        {
+            scans++;
+            final ChunkPos chunkPos = chunkPositions.get(chunk);
+            return Collections.singletonMap(new BlockPos((chunkPos.chunkXPos << 4) + 8, CENTER.getY(), (chunkPos.chunkZPos << 4) + 8), "entry");
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.coremod.colony.permissions.IPermissions;
+import com.minecolonies.coremod.test.AbstractTest;
+import com.minecolonies.coremod.util.BlockPosUtil;
+import com.minecolonies.coremod.util.Log;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class ColonySpatialIndexTest extends AbstractTest
+{
+    /**
+     * Radius of the test colonies.
+     */
+    private static final int RADIUS = 100;
+
+    /**
+     * Amount of colonies in the test world.
+     */
+    private static final int COLONY_COUNT = 500;
+
+    /**
+     * Spread of the colony centers.
+     */
+    private static final int WORLD_SIZE = 20_000;
+
+    /**
+     * Amount of lookups per benchmark round.
+     */
+    private static final int LOOKUPS = 20_000;
+
+    private final List<TestColony>              colonies = new ArrayList<>();
+    private       ColonySpatialIndex<TestColony> index;
+
+    @Override
+    public String getTestName()
+    {
+        return "ColonySpatialIndexTest";
+    }
+
+    @Before
+    public void setupColonies()
+    {
+        index = new ColonySpatialIndex<>();
+        final Random random = getRandom();
+        for (int i = 0; i < COLONY_COUNT; i++)
+        {
+            final TestColony colony = new TestColony(i, new BlockPos(random.nextInt(WORLD_SIZE) - WORLD_SIZE / 2, 64, random.nextInt(WORLD_SIZE) - WORLD_SIZE / 2));
+            colonies.add(colony);
+            index.add(colony, RADIUS);
+        }
+    }
+
+    @Test
+    public void emptyIndexTest()
+    {
+        final ColonySpatialIndex<TestColony> emptyIndex = new ColonySpatialIndex<>();
+        assertThat(emptyIndex.getClosest(BlockPos.ORIGIN), is(nullValue()));
+        assertThat(emptyIndex.getCandidates(BlockPos.ORIGIN).isEmpty(), is(true));
+    }
+
+    @Test
+    public void containingColonyMatchesScanTest()
+    {
+        for (final BlockPos pos : randomPositions(LOOKUPS))
+        {
+            assertThat("Colony at " + pos, findContainingByIndex(pos), is(findContainingByScan(pos)));
+        }
+    }
+
+    @Test
+    public void closestColonyMatchesScanTest()
+    {
+        for (final BlockPos pos : randomPositions(LOOKUPS))
+        {
+            final TestColony expected = findClosestByScan(pos);
+            final TestColony actual = index.getClosest(pos);
+            assertThat("Closest distance to " + pos, actual.getDistanceSquared(pos), is(expected.getDistanceSquared(pos)));
+        }
+    }
+
+    @Test
+    public void removeAndExpandTest()
+    {
+        final TestColony colony = colonies.get(0);
+        final BlockPos outside = colony.getCenter().add(RADIUS * 3, 0, 0);
+
+        index.expand(colony, outside);
+        assertThat(index.getCandidates(outside).contains(colony), is(true));
+
+        index.remove(colony);
+        assertThat(index.getCandidates(colony.getCenter()).contains(colony), is(false));
+        assertThat(index.getCandidates(outside).contains(colony), is(false));
+        assertThat(index.size(), is(COLONY_COUNT - 1));
+    }
+
+    /**
+     * Microbenchmark of the index against the linear scan {@link ColonyManager} used before.
+     */
+    @Test
+    public void benchmarkIndexAgainstScan()
+    {
+        final List<BlockPos> positions = randomPositions(LOOKUPS);
+
+        //  Warm up both paths before measuring.
+        runScan(positions);
+        runIndex(positions);
+
+        final long scanStart = System.nanoTime();
+        final int scanHits = runScan(positions);
+        final long scanTime = System.nanoTime() - scanStart;
+
+        final long indexStart = System.nanoTime();
+        final int indexHits = runIndex(positions);
+        final long indexTime = System.nanoTime() - indexStart;
+
+        assertThat(indexHits, is(scanHits));
+        Log.getLogger().info(String.format("%d colonies, %d lookups: scan %d ns/op, index %d ns/op",
+          COLONY_COUNT, LOOKUPS, scanTime / LOOKUPS, indexTime / LOOKUPS));
+    }
+
+    private int runScan(final List<BlockPos> positions)
+    {
+        int hits = 0;
+        for (final BlockPos pos : positions)
+        {
+            hits += findContainingByScan(pos) == null ? 0 : 1;
+            hits += findClosestByScan(pos).getID() >= 0 ? 1 : 0;
+        }
+        return hits;
+    }
+
+    private int runIndex(final List<BlockPos> positions)
+    {
+        int hits = 0;
+        for (final BlockPos pos : positions)
+        {
+            hits += findContainingByIndex(pos) == null ? 0 : 1;
+            hits += index.getClosest(pos).getID() >= 0 ? 1 : 0;
+        }
+        return hits;
+    }
+
+    private List<BlockPos> randomPositions(final int count)
+    {
+        final Random random = getRandom();
+        final List<BlockPos> positions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+        {
+            positions.add(new BlockPos(random.nextInt(WORLD_SIZE) - WORLD_SIZE / 2, 64, random.nextInt(WORLD_SIZE) - WORLD_SIZE / 2));
+        }
+        return positions;
+    }
+
+    private TestColony findContainingByIndex(final BlockPos pos)
+    {
+        for (final TestColony colony : index.getCandidates(pos))
+        {
+            if (colony.isCoordInColony(null, pos))
+            {
+                return colony;
+            }
+        }
+        return null;
+    }
+
+    private TestColony findContainingByScan(final BlockPos pos)
+    {
+        for (final TestColony colony : colonies)
+        {
+            if (colony.isCoordInColony(null, pos))
+            {
+                return colony;
+            }
+        }
+        return null;
+    }
+
+    private TestColony findClosestByScan(final BlockPos pos)
+    {
+        TestColony closestColony = null;
+        long closestDist = Long.MAX_VALUE;
+        for (final TestColony colony : colonies)
+        {
+            final long dist = colony.getDistanceSquared(pos);
+            if (dist < closestDist)
+            {
+                closestColony = colony;
+                closestDist = dist;
+            }
+        }
+        return closestColony;
+    }
+
+    /**
+     * Minimal colony with a center and the default radius.
+     */
+    private static final class TestColony implements IColony
+    {
+        private final int      id;
+        private final BlockPos center;
+
+        private TestColony(final int id, final BlockPos center)
+        {
+            this.id = id;
+            this.center = center;
+        }
+
+        @Override
+        public BlockPos getCenter()
+        {
+            return center;
+        }
+
+        @Override
+        public String getName()
+        {
+            return "Test colony " + id;
+        }
+
+        @Override
+        public IPermissions getPermissions()
+        {
+            return null;
+        }
+
+        @Override
+        public boolean isCoordInColony(final World w, final BlockPos pos)
+        {
+            return getDistanceSquared(pos) <= (long) RADIUS * RADIUS;
+        }
+
+        @Override
+        public long getDistanceSquared(final BlockPos pos)
+        {
+            return BlockPosUtil.getDistanceSquared2D(center, pos);
+        }
+
+        @Override
+        public boolean hasTownHall()
+        {
+            return true;
+        }
+
+        @Override
+        public int getID()
+        {
+            return id;
+        }
+    }
+}
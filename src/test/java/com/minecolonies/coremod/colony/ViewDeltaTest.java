@@ -0,0 +1,101 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.coremod.test.AbstractTest;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ViewDeltaTest extends AbstractTest
+{
+    /**
+     * Size of the test payloads.
+     */
+    private static final int PAYLOAD_SIZE = 256;
+
+    @Override
+    public String getTestName()
+    {
+        return "ViewDeltaTest";
+    }
+
+    @Test
+    public void fullPayloadWithoutBaseTest()
+    {
+        final byte[] payload = randomPayload(PAYLOAD_SIZE);
+        final ViewDelta delta = ViewDelta.create(null, 1, payload);
+
+        assertThat(delta.isFullPayload(), is(true));
+        assertThat(Arrays.equals(transfer(delta).apply(null).getData(), payload), is(true));
+    }
+
+    @Test
+    public void smallChangeIsPatchedTest()
+    {
+        final byte[] base = randomPayload(PAYLOAD_SIZE);
+        final byte[] payload = base.clone();
+        payload[PAYLOAD_SIZE / 2]++;
+
+        final ViewDelta.ViewPayload basePayload = new ViewDelta.ViewPayload(1, base);
+        final ViewDelta delta = ViewDelta.create(basePayload, 2, payload);
+
+        assertThat(delta.isFullPayload(), is(false));
+        assertTrue(delta.getSize() < PAYLOAD_SIZE / 10);
+
+        final ViewDelta.ViewPayload result = transfer(delta).apply(basePayload);
+        assertThat(result.getVersion(), is(2));
+        assertThat(Arrays.equals(result.getData(), payload), is(true));
+    }
+
+    @Test
+    public void patchRoundTripTest()
+    {
+        final Random random = getRandom();
+        for (int i = 0; i < 1000; i++)
+        {
+            final byte[] base = randomPayload(random.nextInt(PAYLOAD_SIZE));
+            final byte[] payload = Arrays.copyOf(base, Math.max(0, base.length + random.nextInt(20) - 10));
+            for (int change = random.nextInt(5); change > 0 && payload.length > 0; change--)
+            {
+                payload[random.nextInt(payload.length)] ^= 1 + random.nextInt(Byte.MAX_VALUE);
+            }
+
+            final ViewDelta.ViewPayload basePayload = new ViewDelta.ViewPayload(1, base);
+            final ViewDelta.ViewPayload result = transfer(ViewDelta.create(basePayload, 2, payload)).apply(basePayload);
+            assertThat(Arrays.equals(result.getData(), payload), is(true));
+        }
+    }
+
+    @Test
+    public void patchOnWrongVersionTest()
+    {
+        final byte[] base = randomPayload(PAYLOAD_SIZE);
+        final byte[] payload = base.clone();
+        payload[0]++;
+
+        final ViewDelta delta = ViewDelta.create(new ViewDelta.ViewPayload(1, base), 2, payload);
+        assertThat(delta.apply(new ViewDelta.ViewPayload(3, base)), is(nullValue()));
+        assertThat(delta.apply(null), is(nullValue()));
+    }
+
+    private byte[] randomPayload(final int size)
+    {
+        final byte[] payload = new byte[size];
+        getRandom().nextBytes(payload);
+        return payload;
+    }
+
+    private static ViewDelta transfer(final ViewDelta delta)
+    {
+        final ByteBuf buf = Unpooled.buffer();
+        delta.writeToByteBuf(buf);
+        return ViewDelta.readFromByteBuf(buf);
+    }
+}
@@ -0,0 +1,154 @@
+package com.minecolonies.coremod.colony.materials;
+
+import com.minecolonies.coremod.test.AbstractTest;
+import net.minecraft.inventory.InventoryBasic;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.BlockPos;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class MaterialSystemTest extends AbstractTest
+{
+    private static final int SIZE = 9;
+
+    private MaterialSystem system;
+    private Item           log;
+    private Item           plank;
+
+    @Override
+    public String getTestName()
+    {
+        return "MaterialSystemTest";
+    }
+
+    @Before
+    public void setupSystem()
+    {
+        system = new MaterialSystem();
+        log = new Item();
+        plank = new Item();
+    }
+
+    private MaterialStore createStore(final InventoryBasic inventory, final BlockPos location)
+    {
+        final MaterialStore store = new MaterialStore(MaterialStore.Type.CHEST, system);
+        store.setLocation(location);
+        store.attach(inventory);
+        return store;
+    }
+
+    private static void set(final InventoryBasic inventory, final MaterialStore store, final int slot, final ItemStack stack)
+    {
+        inventory.setInventorySlotContents(slot, stack);
+        store.onSlotChanged(slot, stack);
+    }
+
+    @Test
+    public void attachIndexesInventoryTest()
+    {
+        final InventoryBasic inventory = new InventoryBasic("chest", false, SIZE);
+        inventory.setInventorySlotContents(3, new ItemStack(log, 5));
+        inventory.setInventorySlotContents(7, new ItemStack(log, 2));
+        final MaterialStore store = createStore(inventory, BlockPos.ORIGIN);
+
+        assertThat(system.getStoresWith(log).contains(store), is(true));
+        assertThat(system.getStoresWith(plank).isEmpty(), is(true));
+        assertThat(store.findSlot(log, stack -> true), is(3));
+        assertThat(store.findSlot(log, stack -> stack.stackSize < 5), is(7));
+        assertThat(system.getItemCount(log), is(7));
+    }
+
+    @Test
+    public void slotChangesUpdateIndexTest()
+    {
+        final InventoryBasic inventory = new InventoryBasic("chest", false, SIZE);
+        final MaterialStore store = createStore(inventory, BlockPos.ORIGIN);
+
+        set(inventory, store, 0, new ItemStack(plank, 4));
+        assertThat(system.getStoresWith(plank).contains(store), is(true));
+
+        set(inventory, store, 0, new ItemStack(log, 1));
+        assertThat(system.getStoresWith(plank).isEmpty(), is(true));
+        assertThat(store.findSlot(log, stack -> true), is(0));
+
+        set(inventory, store, 0, null);
+        assertThat(system.getStoresWith(log).isEmpty(), is(true));
+        assertThat(store.findSlot(log, stack -> true), is(-1));
+    }
+
+    @Test
+    public void nearestStoreTest()
+    {
+        final InventoryBasic near = new InventoryBasic("near", false, SIZE);
+        final InventoryBasic far = new InventoryBasic("far", false, SIZE);
+        near.setInventorySlotContents(0, new ItemStack(log, 1));
+        far.setInventorySlotContents(0, new ItemStack(log, 1));
+        final MaterialStore nearStore = createStore(near, new BlockPos(10, 64, 0));
+        createStore(far, new BlockPos(100, 64, 0));
+
+        assertThat(system.getNearestStoreWith(log, new BlockPos(0, 64, 0)), is(sameInstance(nearStore)));
+        assertThat(system.getNearestStoreWith(plank, new BlockPos(0, 64, 0)), is(nullValue()));
+
+        nearStore.attach(null);
+        assertThat(system.getNearestStoreWith(log, new BlockPos(0, 64, 0)).getInventory(), is(sameInstance(far)));
+    }
+
+    @Test
+    public void consistencyCheckRepairsIndexTest()
+    {
+        final InventoryBasic inventory = new InventoryBasic("chest", false, SIZE);
+        final MaterialStore store = createStore(inventory, BlockPos.ORIGIN);
+
+        //Changes which the store isn't told about.
+        inventory.setInventorySlotContents(2, new ItemStack(plank, 8));
+        assertThat(system.getStoresWith(plank).isEmpty(), is(true));
+
+        assertThat(system.checkConsistency(SIZE), is(1));
+        assertThat(system.getStoresWith(plank).contains(store), is(true));
+        assertThat(system.getRepairedSlots(), is(1));
+        assertThat(system.checkConsistency(SIZE), is(0));
+    }
+
+    @Test
+    public void consistencyCheckVisitsEveryStoreTest()
+    {
+        final InventoryBasic[] inventories = new InventoryBasic[3];
+        for (int i = 0; i < inventories.length; i++)
+        {
+            inventories[i] = new InventoryBasic("chest" + i, false, SIZE);
+            createStore(inventories[i], BlockPos.ORIGIN);
+            inventories[i].setInventorySlotContents(0, new ItemStack(plank, 1));
+        }
+
+        createStore(new InventoryBasic("removed", false, SIZE), BlockPos.ORIGIN).destroy();
+        for (int i = 0; i < inventories.length; i++)
+        {
+            assertThat(system.checkConsistency(1), is(1));
+        }
+        assertThat(system.getStoresWith(plank).size(), is(inventories.length));
+        assertThat(system.checkConsistency(inventories.length), is(0));
+    }
+
+    @Test
+    public void destroyedStoresLeaveIndexTest()
+    {
+        final InventoryBasic first = new InventoryBasic("first", false, SIZE);
+        first.setInventorySlotContents(0, new ItemStack(log, 1));
+        final MaterialStore firstStore = createStore(first, null);
+        system.setCitizenStore(1, firstStore);
+
+        final MaterialStore secondStore = createStore(new InventoryBasic("second", false, SIZE), null);
+        system.setCitizenStore(1, secondStore);
+        assertThat(system.getStoresWith(log).isEmpty(), is(true));
+        assertThat(system.getStores().contains(firstStore), is(false));
+
+        system.removeCitizenStore(1);
+        assertThat(system.getStores().isEmpty(), is(true));
+    }
+}
@@ -0,0 +1,171 @@
+package com.minecolonies.coremod.entity.ai.basic;
+
+import com.minecolonies.coremod.colony.CitizenData;
+import com.minecolonies.coremod.colony.jobs.AbstractJob;
+import com.minecolonies.coremod.entity.EntityCitizen;
+import com.minecolonies.coremod.entity.ai.util.AIState;
+import com.minecolonies.coremod.entity.ai.util.AITarget;
+import com.minecolonies.coremod.entity.ai.util.AIWakeEvent;
+import com.minecolonies.coremod.test.AbstractTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
+
+public class AbstractAISkeletonTest extends AbstractTest
+{
+    private static final int SLEEP_TICKS = 3;
+    private static final int TICK_RATE   = 4;
+
+    @Mock
+    private AbstractJob   job;
+    @Mock
+    private CitizenData   citizenData;
+    @Mock
+    private EntityCitizen citizen;
+
+    @Override
+    public String getTestName()
+    {
+        return "AbstractAISkeletonTest";
+    }
+
+    @Before
+    public void setupJob()
+    {
+        when(job.getCitizen()).thenReturn(citizenData);
+        when(citizenData.getCitizenEntity()).thenReturn(citizen);
+    }
+
+    @Test
+    public void targetsRunInRegistrationOrderTest()
+    {
+        final TestAI ai = new TestAI(job);
+        ai.updateTask();
+        ai.updateTask();
+        ai.updateTask();
+
+        assertThat(ai.log, is(listOf("global", "init", "global", "idle", "global", "idle")));
+        assertThat(ai.getState(), is(AIState.IDLE));
+    }
+
+    @Test
+    public void sleepSkipsTicksTest()
+    {
+        final TestAI ai = new TestAI(job);
+        ai.sleepInIdle = true;
+        ai.updateTask();
+        ai.updateTask();
+        ai.log.clear();
+
+        for (int i = 0; i < SLEEP_TICKS; i++)
+        {
+            assertThat(ai.isAsleep(), is(true));
+            ai.updateTask();
+        }
+        assertThat(ai.log.isEmpty(), is(true));
+        assertThat(ai.isAsleep(), is(false));
+
+        ai.sleepInIdle = false;
+        ai.updateTask();
+        assertThat(ai.log, is(listOf("global", "idle")));
+    }
+
+    @Test
+    public void wakeEventEndsSleepTest()
+    {
+        final TestAI ai = new TestAI(job);
+        ai.sleepInIdle = true;
+        ai.updateTask();
+        ai.updateTask();
+
+        assertThat(ai.isAsleep(), is(true));
+        ai.wakeUp(AIWakeEvent.INVENTORY_CHANGED);
+        assertThat(ai.isAsleep(), is(false));
+    }
+
+    @Test
+    public void eventNotSleptOnDoesNotWakeTest()
+    {
+        final TestAI ai = new TestAI(job);
+        ai.sleepInIdle = true;
+        ai.wakeOn = new AIWakeEvent[0];
+        ai.updateTask();
+        ai.updateTask();
+
+        ai.wakeUp(AIWakeEvent.INVENTORY_CHANGED);
+        assertThat(ai.isAsleep(), is(true));
+    }
+
+    @Test
+    public void globalTargetWithTickRateRunsOnItsCadenceTest()
+    {
+        final TestAI ai = new TestAI(job);
+        ai.addGlobalTarget(TICK_RATE);
+        for (int i = 0; i < TICK_RATE * 2; i++)
+        {
+            ai.updateTask();
+        }
+
+        assertThat(ai.log.stream().filter("cadence"::equals).count(), is(2L));
+        assertThat(ai.log.stream().filter("global"::equals).count(), is((long) TICK_RATE * 2));
+    }
+
+    private static List<String> listOf(final String... entries)
+    {
+        final List<String> list = new ArrayList<>();
+        for (final String entry : entries)
+        {
+            list.add(entry);
+        }
+        return list;
+    }
+
+    private static final class TestAI extends AbstractAISkeleton<AbstractJob>
+    {
+        private final List<String> log = new ArrayList<>();
+        private boolean sleepInIdle;
+        private AIWakeEvent[] wakeOn = {AIWakeEvent.INVENTORY_CHANGED};
+
+        private TestAI(final AbstractJob job)
+        {
+            super(job);
+            registerTargets(
+              new AITarget(() ->
+              {
+                  log.add("global");
+                  return null;
+              }),
+              new AITarget(AIState.INIT, () ->
+              {
+                  log.add("init");
+                  return AIState.IDLE;
+              }),
+              new AITarget(AIState.IDLE, () ->
+              {
+                  log.add("idle");
+                  if (sleepInIdle)
+                  {
+                      sleep(SLEEP_TICKS, wakeOn);
+                  }
+                  return AIState.IDLE;
+              })
+            );
+        }
+
+        private void addGlobalTarget(final int tickRate)
+        {
+            registerTargets(new AITarget(() ->
+            {
+                log.add("cadence");
+                return null;
+            }, tickRate));
+        }
+    }
+}
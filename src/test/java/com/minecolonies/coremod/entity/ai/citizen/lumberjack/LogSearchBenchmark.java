@@ -0,0 +1,181 @@
+package com.minecolonies.coremod.entity.ai.citizen.lumberjack;
+
+import com.minecolonies.coremod.util.Log;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+
+/**
+ * Compares the log search of trees with the recursive search it replaced, on big generated trees like those of mods.
+ * Logs the time and the bytes allocated per tree.
+ * <p>
+ * Usage: {@code LogSearchBenchmark [runs per tree]}.
+ * The first half of the runs warm up the JIT, only the second half is measured.
+ */
+public final class LogSearchBenchmark
+{
+    private static final int DEFAULT_RUNS  = 2000;
+    private static final int MAX_TREE_SIZE = 256;
+    private static final int SEED          = 42;
+
+    private LogSearchBenchmark()
+    {
+        //Hides default constructor.
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optionally the amount of runs per tree.
+     */
+    public static void main(@NotNull final String[] args)
+    {
+        final int runs = args.length > 0 ? Math.max(2, Integer.parseInt(args[0])) : DEFAULT_RUNS;
+        final Random random = new Random(SEED);
+
+        final Map<String, Set<BlockPos>> trees = new LinkedHashMap<>();
+        trees.put("jungle 2x2, height 30", generateTree(random, 2, 30, 6, 5));
+        trees.put("dark oak 2x2, height 12", generateTree(random, 2, 12, 10, 4));
+        trees.put("modded 3x3, height 40", generateTree(random, 3, 40, 12, 8));
+        trees.put("modded 5x5, height 60", generateTree(random, 5, 60, 16, 10));
+
+        for (@NotNull final Map.Entry<String, Set<BlockPos>> tree : trees.entrySet())
+        {
+            final Set<BlockPos> logs = tree.getValue();
+            final LogSearch.LogCheck check = (x, y, z) -> logs.contains(new BlockPos(x, y, z));
+
+            final Result recursive = measure(runs, () -> searchRecursive(check));
+            final Result iterative = measure(runs, () -> searchIterative(check));
+            Log.getLogger().info(String.format("%s (%d logs): recursive %.1f us %d bytes, iterative %.1f us %d bytes",
+              tree.getKey(), logs.size(), recursive.micros, recursive.bytes, iterative.micros, iterative.bytes));
+        }
+    }
+
+    /**
+     * Generates a tree: a square trunk with branches which wander upwards and outwards.
+     *
+     * @param random       the random to use.
+     * @param trunkWidth   the width of the trunk.
+     * @param height       the height of the trunk.
+     * @param branches     the amount of branches.
+     * @param branchLength the length of the branches.
+     * @return the logs of the tree, its base is at the origin.
+     */
+    @NotNull
+    private static Set<BlockPos> generateTree(@NotNull final Random random, final int trunkWidth, final int height, final int branches, final int branchLength)
+    {
+        final Set<BlockPos> logs = new HashSet<>();
+        for (int y = 0; y < height; y++)
+        {
+            for (int x = 0; x < trunkWidth; x++)
+            {
+                for (int z = 0; z < trunkWidth; z++)
+                {
+                    logs.add(new BlockPos(x, y, z));
+                }
+            }
+        }
+
+        for (int branch = 0; branch < branches; branch++)
+        {
+            BlockPos pos = new BlockPos(random.nextInt(trunkWidth), height / 2 + random.nextInt(height / 2), random.nextInt(trunkWidth));
+            final int dirX = random.nextInt(3) - 1;
+            final int dirZ = random.nextInt(3) - 1;
+            for (int step = 0; step < branchLength; step++)
+            {
+                pos = pos.add(dirX == 0 ? random.nextInt(3) - 1 : dirX, random.nextInt(2), dirZ == 0 ? random.nextInt(3) - 1 : dirZ);
+                logs.add(pos);
+            }
+        }
+        return logs;
+    }
+
+    @NotNull
+    private static Result measure(final int runs, @NotNull final Runnable search)
+    {
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        final boolean countAllocations = threads instanceof com.sun.management.ThreadMXBean;
+        final long threadId = Thread.currentThread().getId();
+
+        long time = 0;
+        long bytes = 0;
+        for (int run = 0; run < runs; run++)
+        {
+            final long startBytes = countAllocations ? ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(threadId) : 0;
+            final long startTime = System.nanoTime();
+            search.run();
+            final long endTime = System.nanoTime();
+            final long endBytes = countAllocations ? ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(threadId) : 0;
+            if (run >= runs / 2)
+            {
+                time += endTime - startTime;
+                bytes += endBytes - startBytes;
+            }
+        }
+
+        final int measuredRuns = runs - runs / 2;
+        return new Result(time / 1.0E3 / measuredRuns, bytes / measuredRuns);
+    }
+
+    /**
+     * The search as in {@link Tree#findLogs(net.minecraft.world.World)}.
+     */
+    private static void searchIterative(@NotNull final LogSearch.LogCheck check)
+    {
+        final LogSearch search = new LogSearch(BlockPos.ORIGIN, MAX_TREE_SIZE);
+        search.run(check);
+        search.getLogsByDistance(search.getBase());
+    }
+
+    /**
+     * The search which was replaced: recursion over all neighbours, a linear lookup in the found logs and a sort.
+     */
+    private static void searchRecursive(@NotNull final LogSearch.LogCheck check)
+    {
+        final LinkedList<BlockPos> woodBlocks = new LinkedList<>();
+        addAndSearch(check, BlockPos.ORIGIN, woodBlocks);
+        Collections.sort(woodBlocks, (c1, c2) -> (int) (c1.distanceSq(BlockPos.ORIGIN) - c2.distanceSq(BlockPos.ORIGIN)));
+    }
+
+    private static void addAndSearch(@NotNull final LogSearch.LogCheck check, @NotNull final BlockPos log, @NotNull final LinkedList<BlockPos> woodBlocks)
+    {
+        if (woodBlocks.size() >= MAX_TREE_SIZE)
+        {
+            return;
+        }
+
+        woodBlocks.add(log);
+        for (int y = -1; y <= 1; y++)
+        {
+            for (int x = -1; x <= 1; x++)
+            {
+                for (int z = -1; z <= 1; z++)
+                {
+                    final BlockPos temp = log.add(x, y, z);
+                    if (check.isLog(temp.getX(), temp.getY(), temp.getZ()) && !woodBlocks.contains(temp))
+                    {
+                        addAndSearch(check, temp, woodBlocks);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Average time and allocations of a search.
+     */
+    private static final class Result
+    {
+        private final double micros;
+        private final long   bytes;
+
+        private Result(final double micros, final long bytes)
+        {
+            this.micros = micros;
+            this.bytes = bytes;
+        }
+    }
+}
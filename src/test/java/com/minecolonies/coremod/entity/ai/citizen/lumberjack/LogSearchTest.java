@@ -0,0 +1,91 @@
+package com.minecolonies.coremod.entity.ai.citizen.lumberjack;
+
+import com.minecolonies.coremod.test.AbstractTest;
+import net.minecraft.util.math.BlockPos;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class LogSearchTest extends AbstractTest
+{
+    private static final BlockPos BASE = new BlockPos(100, 64, -100);
+
+    @Override
+    public String getTestName()
+    {
+        return "LogSearchTest";
+    }
+
+    /**
+     * A trunk with a diagonal branch, and a log next to it which only touches the ground.
+     *
+     * @return the logs.
+     */
+    private static Set<BlockPos> smallTree()
+    {
+        final Set<BlockPos> logs = new HashSet<>();
+        for (int y = 0; y < 6; y++)
+        {
+            logs.add(BASE.up(y));
+        }
+        logs.add(BASE.add(1, 6, 1));
+        logs.add(BASE.add(2, 7, 2));
+        logs.add(BASE.add(3, -1, 0));
+        return logs;
+    }
+
+    @Test
+    public void findsConnectedLogsTest()
+    {
+        final Set<BlockPos> logs = smallTree();
+        final LogSearch search = new LogSearch(BASE.up(3), LogSearch.MAX_LOGS);
+        search.run((x, y, z) -> logs.contains(new BlockPos(x, y, z)));
+
+        assertThat(search.getLogCount(), is(8));
+        assertThat(search.getBase(), is(BASE));
+        assertThat(search.getTop(), is(BASE.add(2, 7, 2)));
+
+        final Set<BlockPos> found = new HashSet<>(Arrays.asList(search.getLogsByDistance(BASE)));
+        assertThat(found.contains(BASE.add(3, -1, 0)), is(false));
+        assertThat(found.size(), is(8));
+    }
+
+    @Test
+    public void stopsAtMaxLogsTest()
+    {
+        final LogSearch search = new LogSearch(BASE, 10);
+        search.run((x, y, z) -> true);
+
+        assertThat(search.getLogCount(), is(10));
+    }
+
+    @Test
+    public void logsAreOrderedByDistanceTest()
+    {
+        final Set<BlockPos> logs = new HashSet<>();
+        for (int x = -4; x <= 4; x++)
+        {
+            for (int y = 0; y < 12; y++)
+            {
+                logs.add(BASE.add(x, y, getRandom().nextInt(3) - 1));
+            }
+        }
+
+        final LogSearch search = new LogSearch(BASE.up(11), LogSearch.MAX_LOGS);
+        search.run((x, y, z) -> logs.contains(new BlockPos(x, y, z)));
+
+        int lastBucket = 0;
+        for (final BlockPos log : search.getLogsByDistance(BASE))
+        {
+            final int bucket = (int) Math.sqrt(log.distanceSq(BASE));
+            assertTrue(bucket >= lastBucket);
+            lastBucket = bucket;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.minecolonies.coremod.entity.ai.citizen.lumberjack;
+
+import com.minecolonies.coremod.test.AbstractTest;
+import net.minecraft.block.Block;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IChunkProvider;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.*;
+
+public class TreeIndexTest extends AbstractTest
+{
+    private static final BlockPos CENTER  = new BlockPos(8, 64, 8);
+    private static final int      COLUMNS = 16 * 16;
+
+    private World       world;
+    private Chunk       chunk;
+    private IBlockState log;
+    private IBlockState air;
+    private TreeIndex   index;
+
+    @Override
+    public String getTestName()
+    {
+        return "TreeIndexTest";
+    }
+
+    @Before
+    public void setupWorld()
+    {
+        air = mockState(false);
+        log = mockState(true);
+
+        chunk = mock(Chunk.class);
+        when(chunk.getBlockState(any(BlockPos.class))).thenReturn(air);
+        final IChunkProvider provider = mock(IChunkProvider.class);
+        when(provider.getLoadedChunk(anyInt(), anyInt())).thenReturn(chunk);
+        world = mock(World.class);
+        when(world.getChunkProvider()).thenReturn(provider);
+
+        index = new TreeIndex();
+        index.setArea(CENTER, 0);
+        index.update(world);
+    }
+
+    private static IBlockState mockState(final boolean isWood)
+    {
+        final Block block = mock(Block.class);
+        when(block.isWood(any(), any())).thenReturn(isWood);
+        final IBlockState state = mock(IBlockState.class);
+        when(state.getBlock()).thenReturn(block);
+        when(state.getMaterial()).thenReturn(isWood ? Material.WOOD : Material.AIR);
+        return state;
+    }
+
+    @Test
+    public void firstScanCoversAreaTest()
+    {
+        assertThat(index.isScanComplete(), is(true));
+        verify(chunk, times(COLUMNS)).getHeightValue(anyInt(), anyInt());
+    }
+
+    @Test
+    public void changedLogQueuesChunkTest()
+    {
+        index.onBlockChanged(world, CENTER, log, air);
+        verify(log.getBlock()).isWood(world, CENTER);
+
+        index.update(world);
+        verify(chunk, times(2 * COLUMNS)).getHeightValue(anyInt(), anyInt());
+    }
+
+    @Test
+    public void otherChangeIsIgnoredTest()
+    {
+        index.onBlockChanged(world, CENTER, air, air);
+
+        index.update(world);
+        verify(chunk, times(COLUMNS)).getHeightValue(anyInt(), anyInt());
+    }
+}
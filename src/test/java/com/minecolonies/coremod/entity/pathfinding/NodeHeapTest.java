@@ -0,0 +1,101 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import com.minecolonies.coremod.test.AbstractTest;
+import net.minecraft.util.math.BlockPos;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class NodeHeapTest extends AbstractTest
+{
+    private static final int NODE_COUNT = 2000;
+
+    @Override
+    public String getTestName()
+    {
+        return "NodeHeapTest";
+    }
+
+    private static Node createNode(final BlockPos pos, final double score)
+    {
+        return new Node(null, pos, score, 0, score);
+    }
+
+    @Test
+    public void pollReturnsNodesInScoreOrderTest()
+    {
+        final Random random = getRandom();
+        final NodeHeap heap = new NodeHeap();
+        for (int i = 0; i < NODE_COUNT; i++)
+        {
+            heap.offer(createNode(new BlockPos(i, 64, 0), random.nextDouble() * 100));
+        }
+
+        double last = Double.NEGATIVE_INFINITY;
+        while (!heap.isEmpty())
+        {
+            final Node node = heap.poll();
+            assertTrue(node.score >= last);
+            assertThat(heap.contains(node), is(false));
+            last = node.score;
+        }
+        assertThat(heap.poll(), is(nullValue()));
+    }
+
+    @Test
+    public void decreaseKeyMovesNodeUpTest()
+    {
+        final Random random = getRandom();
+        final NodeHeap heap = new NodeHeap();
+        final List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < NODE_COUNT; i++)
+        {
+            final Node node = createNode(new BlockPos(i, 64, 0), 10 + random.nextDouble() * 100);
+            nodes.add(node);
+            heap.offer(node);
+        }
+
+        final Node improved = nodes.get(random.nextInt(NODE_COUNT));
+        improved.score = 1;
+        heap.decreaseKey(improved);
+
+        assertThat(heap.size(), is(NODE_COUNT));
+        assertThat(heap.poll(), is(sameInstance(improved)));
+    }
+
+    @Test
+    public void mapFindsNodesByKeyTest()
+    {
+        final NodeMap map = new NodeMap();
+        final List<Node> nodes = new ArrayList<>();
+        for (int x = -50; x < 50; x++)
+        {
+            for (int z = -50; z < 50; z++)
+            {
+                final BlockPos pos = new BlockPos(x, 64 + (x & 3), z);
+                final Node node = createNode(pos, 0);
+                nodes.add(node);
+                map.put(pos.toLong(), node);
+            }
+        }
+
+        assertThat(map.size(), is(nodes.size()));
+        for (final Node node : nodes)
+        {
+            assertThat(map.get(node.pos.toLong()), is(sameInstance(node)));
+        }
+        assertThat(map.get(new BlockPos(0, 200, 0).toLong()), is(nullValue()));
+
+        map.clear();
+        assertThat(map.size(), is(0));
+        assertThat(map.get(nodes.get(0).pos.toLong()), is(nullValue()));
+    }
+}
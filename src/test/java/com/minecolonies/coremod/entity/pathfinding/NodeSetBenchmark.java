@@ -0,0 +1,341 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import com.minecolonies.coremod.util.Log;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Compares the open and visited sets of the path jobs with the ones they replaced, a {@link PriorityQueue} whose
+ * improved nodes were removed and added again and a {@link HashMap} on boxed 12 bit keys.
+ * Every recorded job is run once to trace the operations on its sets, the trace is then replayed on both.
+ * <p>
+ * Usage: {@code NodeSetBenchmark <directory of recordings> [runs per recording]}.
+ * The first runs of each recording warm up the JIT, only the later ones are timed.
+ */
+public final class NodeSetBenchmark
+{
+    private static final int DEFAULT_RUNS = 20;
+    private static final int OLD_CAPACITY = 500;
+
+    private static final int OFFER    = 0;
+    private static final int POLL     = 1;
+    private static final int CONTAINS = 2;
+    private static final int DECREASE = 3;
+    private static final int GET      = 4;
+    private static final int PUT      = 5;
+
+    private NodeSetBenchmark()
+    {
+        //Hides default constructor.
+    }
+
+    /**
+     * Traces and replays the recordings of a directory.
+     *
+     * @param args the directory and optionally the amount of runs per recording.
+     * @throws IOException if a recording can't be read.
+     */
+    public static void main(@NotNull final String[] args) throws IOException
+    {
+        if (args.length < 1)
+        {
+            Log.getLogger().error("Usage: NodeSetBenchmark <directory of recordings> [runs per recording]");
+            return;
+        }
+
+        final int runs = args.length > 1 ? Math.max(1, Integer.parseInt(args[1])) : DEFAULT_RUNS;
+        @Nullable final File[] files = new File(args[0]).listFiles((dir, name) -> name.endsWith(PathJobRecording.FILE_SUFFIX));
+        if (files == null)
+        {
+            Log.getLogger().error("Not a directory: " + args[0]);
+            return;
+        }
+        Arrays.sort(files);
+
+        long totalOld = 0;
+        long totalNew = 0;
+        for (@NotNull final File file : files)
+        {
+            @Nullable final AbstractPathJob job = PathJobRecording.read(file).createJob();
+            if (job == null)
+            {
+                continue;
+            }
+
+            final Trace trace = new Trace();
+            NodePool.setThreadPool(new NodePool(new TracingMap(trace), new TracingHeap(trace)));
+            job.call();
+
+            long oldTime = 0;
+            long newTime = 0;
+            final NodeMap visited = new NodeMap();
+            final NodeHeap open = new NodeHeap();
+            for (int run = 0; run < runs; run++)
+            {
+                final long oldStart = System.nanoTime();
+                trace.replayOld();
+                final long newStart = System.nanoTime();
+                trace.replayNew(visited, open);
+                if (run >= runs / 2)
+                {
+                    oldTime += newStart - oldStart;
+                    newTime += System.nanoTime() - newStart;
+                }
+            }
+
+            final int timedRuns = runs - runs / 2;
+            Log.getLogger().info(String.format("%s: %d nodes, %d operations, old sets %.3f ms, new sets %.3f ms",
+              file.getName(), trace.nodes, trace.size, oldTime / 1.0E6 / timedRuns, newTime / 1.0E6 / timedRuns));
+            totalOld += oldTime / timedRuns;
+            totalNew += newTime / timedRuns;
+        }
+
+        Log.getLogger().info(String.format("Old sets %.3f ms, new sets %.3f ms in total", totalOld / 1.0E6, totalNew / 1.0E6));
+    }
+
+    /**
+     * The key the old visited map used, the lowest 12 bits of x and z and 8 bits of y.
+     */
+    private static int computeOldKey(final long key)
+    {
+        final BlockPos pos = BlockPos.fromLong(key);
+        return ((pos.getX() & 0xFFF) << 20)
+                 | ((pos.getY() & 0xFF) << 12)
+                 | (pos.getZ() & 0xFFF);
+    }
+
+    /**
+     * Operations of a job on its sets, with the state of the nodes when they entered the open set.
+     */
+    private static final class Trace
+    {
+        private final Map<Node, Integer> ids = new IdentityHashMap<>();
+        private long[]   positions  = new long[1];
+        private int      nodes;
+        private int[]    ops        = new int[1];
+        private int[]    args       = new int[1];
+        private long[]   keys       = new long[1];
+        private int[]    oldKeys    = new int[1];
+        private double[] scores     = new double[1];
+        private double[] heuristics = new double[1];
+        private int[]    counters   = new int[1];
+        private int      size;
+
+        private int getId(@NotNull final Node node)
+        {
+            final Integer id = ids.get(node);
+            if (id != null)
+            {
+                return id;
+            }
+            if (nodes == positions.length)
+            {
+                positions = Arrays.copyOf(positions, nodes * 2);
+            }
+            positions[nodes] = node.pos.toLong();
+            ids.put(node, nodes);
+            return nodes++;
+        }
+
+        private void add(final int op, @Nullable final Node node, final long key)
+        {
+            if (size == ops.length)
+            {
+                final int capacity = size * 2;
+                ops = Arrays.copyOf(ops, capacity);
+                args = Arrays.copyOf(args, capacity);
+                keys = Arrays.copyOf(keys, capacity);
+                oldKeys = Arrays.copyOf(oldKeys, capacity);
+                scores = Arrays.copyOf(scores, capacity);
+                heuristics = Arrays.copyOf(heuristics, capacity);
+                counters = Arrays.copyOf(counters, capacity);
+            }
+
+            ops[size] = op;
+            if (node != null)
+            {
+                args[size] = getId(node);
+                scores[size] = node.score;
+                heuristics[size] = node.heuristic;
+                counters[size] = node.counterAdded;
+            }
+            else
+            {
+                args[size] = 0;
+            }
+            keys[size] = key;
+            oldKeys[size] = computeOldKey(key);
+            size++;
+        }
+
+        @NotNull
+        private Node[] createNodes()
+        {
+            final Node[] created = new Node[nodes];
+            for (int id = 0; id < nodes; id++)
+            {
+                created[id] = new Node(BlockPos.fromLong(positions[id]), 0);
+            }
+            return created;
+        }
+
+        /**
+         * Replays the trace on the sets the jobs used before, an improved node is removed and added again.
+         */
+        private void replayOld()
+        {
+            final Node[] replayed = createNodes();
+            final Queue<Node> open = new PriorityQueue<>(OLD_CAPACITY);
+            final Map<Integer, Node> visited = new HashMap<>();
+            for (int i = 0; i < size; i++)
+            {
+                final Node node = replayed[args[i]];
+                switch (ops[i])
+                {
+                    case OFFER:
+                        node.score = scores[i];
+                        node.heuristic = heuristics[i];
+                        node.counterAdded = counters[i];
+                        open.offer(node);
+                        break;
+                    case POLL:
+                        open.poll();
+                        break;
+                    case CONTAINS:
+                        open.remove(node);
+                        break;
+                    case DECREASE:
+                        node.score = scores[i];
+                        node.heuristic = heuristics[i];
+                        open.offer(node);
+                        break;
+                    case GET:
+                        visited.get(oldKeys[i]);
+                        break;
+                    default:
+                        visited.put(oldKeys[i], node);
+                        break;
+                }
+            }
+        }
+
+        /**
+         * Replays the trace on the sets the jobs use now, reused like the pool of a worker thread does.
+         */
+        private void replayNew(@NotNull final NodeMap visited, @NotNull final NodeHeap open)
+        {
+            final Node[] replayed = createNodes();
+            for (int i = 0; i < size; i++)
+            {
+                final Node node = replayed[args[i]];
+                switch (ops[i])
+                {
+                    case OFFER:
+                        node.score = scores[i];
+                        node.heuristic = heuristics[i];
+                        node.counterAdded = counters[i];
+                        open.offer(node);
+                        break;
+                    case POLL:
+                        open.poll();
+                        break;
+                    case CONTAINS:
+                        open.contains(node);
+                        break;
+                    case DECREASE:
+                        node.score = scores[i];
+                        node.heuristic = heuristics[i];
+                        open.decreaseKey(node);
+                        break;
+                    case GET:
+                        visited.get(keys[i]);
+                        break;
+                    default:
+                        visited.put(keys[i], node);
+                        break;
+                }
+            }
+            open.clear();
+            visited.clear();
+        }
+    }
+
+    /**
+     * Open heap which traces its operations.
+     */
+    private static final class TracingHeap extends NodeHeap
+    {
+        private final Trace trace;
+
+        private TracingHeap(@NotNull final Trace trace)
+        {
+            this.trace = trace;
+        }
+
+        @Override
+        public void offer(@NotNull final Node node)
+        {
+            trace.add(OFFER, node, node.pos.toLong());
+            super.offer(node);
+        }
+
+        @Nullable
+        @Override
+        public Node poll()
+        {
+            @Nullable final Node node = super.poll();
+            if (node != null)
+            {
+                trace.add(POLL, node, node.pos.toLong());
+            }
+            return node;
+        }
+
+        @Override
+        public boolean contains(@NotNull final Node node)
+        {
+            trace.add(CONTAINS, node, node.pos.toLong());
+            return super.contains(node);
+        }
+
+        @Override
+        public void decreaseKey(@NotNull final Node node)
+        {
+            trace.add(DECREASE, node, node.pos.toLong());
+            super.decreaseKey(node);
+        }
+    }
+
+    /**
+     * Visited map which traces its operations.
+     */
+    private static final class TracingMap extends NodeMap
+    {
+        private final Trace trace;
+
+        private TracingMap(@NotNull final Trace trace)
+        {
+            this.trace = trace;
+        }
+
+        @Nullable
+        @Override
+        public Node get(final long key)
+        {
+            trace.add(GET, null, key);
+            return super.get(key);
+        }
+
+        @Override
+        public void put(final long key, @NotNull final Node node)
+        {
+            trace.add(PUT, node, key);
+            super.put(key, node);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import com.minecolonies.coremod.test.AbstractTest;
+import net.minecraft.pathfinding.Path;
+import net.minecraft.pathfinding.PathPoint;
+import net.minecraft.util.math.BlockPos;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class PathCacheTest extends AbstractTest
+{
+    private static final BlockPos START = new BlockPos(0, 64, 0);
+    private static final BlockPos END   = new BlockPos(10, 64, 0);
+
+    @Override
+    public String getTestName()
+    {
+        return "PathCacheTest";
+    }
+
+    private static Path straightPath()
+    {
+        final PathPoint[] points = new PathPoint[END.getX() - START.getX() + 1];
+        for (int i = 0; i < points.length; i++)
+        {
+            points[i] = new PathPointExtended(START.east(i));
+        }
+        return new Path(points);
+    }
+
+    @Test
+    public void storedPathIsServedTest()
+    {
+        final PathCache cache = new PathCache();
+        assertThat(cache.get(START, END), is(nullValue()));
+
+        cache.put(START, END, cache.getChangeCount(), straightPath());
+
+        final Path path = cache.get(START, END);
+        assertThat(path, is(notNullValue()));
+        assertThat(path.getCurrentPathLength(), is(END.getX() - START.getX() + 1));
+        assertThat(cache.getHits(), is(1));
+        assertThat(cache.getMisses(), is(1));
+    }
+
+    @Test
+    public void blockChangeOnPathDropsItTest()
+    {
+        final PathCache cache = new PathCache();
+        cache.put(START, END, cache.getChangeCount(), straightPath());
+
+        cache.onBlockChanged(START.east(5).up(20));
+        assertThat(cache.get(START, END), is(notNullValue()));
+
+        cache.onBlockChanged(START.east(5).down());
+        assertThat(cache.get(START, END), is(nullValue()));
+    }
+
+    @Test
+    public void everyCitizenGetsItsOwnPointsTest()
+    {
+        final PathCache cache = new PathCache();
+        final Path stored = straightPath();
+        cache.put(START, END, cache.getChangeCount(), stored);
+
+        final Path first = cache.get(START, END);
+        final Path second = cache.get(START, END);
+        assertThat(first.getPathPointFromIndex(0), is(not(sameInstance(second.getPathPointFromIndex(0)))));
+        assertThat(first.getPathPointFromIndex(0), is(not(sameInstance(stored.getPathPointFromIndex(0)))));
+        assertThat(first.getPathPointFromIndex(0) instanceof PathPointExtended, is(true));
+    }
+
+    @Test
+    public void pathLeavingAreaIsNotStoredTest()
+    {
+        final PathCache cache = new PathCache();
+        cache.setArea(START, END.getX() - START.getX() - 1);
+        cache.put(START, END, cache.getChangeCount(), straightPath());
+        assertThat(cache.get(START, END), is(nullValue()));
+
+        cache.setArea(START, END.getX() - START.getX() + 2);
+        cache.put(START, END, cache.getChangeCount(), straightPath());
+        assertThat(cache.get(START, END), is(notNullValue()));
+    }
+
+    @Test
+    public void pathSearchedDuringChangeIsNotStoredTest()
+    {
+        final PathCache cache = new PathCache();
+        final long changeCount = cache.getChangeCount();
+
+        cache.onBlockChanged(START.east(3));
+        cache.put(START, END, changeCount, straightPath());
+
+        assertThat(cache.get(START, END), is(nullValue()));
+    }
+}
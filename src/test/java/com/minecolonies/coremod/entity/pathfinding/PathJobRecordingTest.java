@@ -0,0 +1,94 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import com.minecolonies.coremod.test.AbstractTest;
+import net.minecraft.util.math.BlockPos;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class PathJobRecordingTest extends AbstractTest
+{
+    private static final int      FLOOR_SECTION = 4;
+    private static final int      FLOOR_Y       = FLOOR_SECTION * PassabilitySnapshot.SECTION_SIZE;
+    private static final BlockPos START         = new BlockPos(1, FLOOR_Y + 1, 1);
+    private static final BlockPos END           = new BlockPos(14, FLOOR_Y + 1, 14);
+    private static final int      RANGE         = 32;
+
+    @Override
+    public String getTestName()
+    {
+        return "PathJobRecordingTest";
+    }
+
+    /**
+     * A single chunk of air with a solid floor, surrounded by unloaded chunks.
+     *
+     * @return the snapshot.
+     */
+    private static PassabilitySnapshot flatChunk()
+    {
+        final byte[][] sections = new byte[PassabilitySnapshot.SECTIONS][];
+        for (int y = 0; y < sections.length; y++)
+        {
+            sections[y] = PassabilitySnapshot.AIR_SECTION;
+        }
+
+        final byte[] floor = PassabilitySnapshot.AIR_SECTION.clone();
+        for (int x = 0; x < PassabilitySnapshot.SECTION_SIZE; x++)
+        {
+            for (int z = 0; z < PassabilitySnapshot.SECTION_SIZE; z++)
+            {
+                floor[PassabilitySnapshot.cellIndex(x, 0, z)] = PassabilitySnapshot.UNLOADED_SECTION[0];
+            }
+        }
+        sections[FLOOR_SECTION] = floor;
+
+        return new PassabilitySnapshot(0, 0, 1, 1, sections);
+    }
+
+    @Test
+    public void snapshotSurvivesWriteAndReadTest() throws IOException
+    {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        flatChunk().write(new DataOutputStream(bytes));
+
+        final PassabilitySnapshot snapshot = PassabilitySnapshot.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertThat(snapshot.isPassable(START), is(true));
+        assertThat(snapshot.isPassable(START.down()), is(false));
+        assertThat(snapshot.getSurfaceType(START.down()), is(PassabilitySnapshot.SurfaceType.WALKABLE));
+        assertThat(snapshot.isPassable(START.up(100)), is(true));
+        assertThat(snapshot.isPassable(new BlockPos(-1, FLOOR_Y + 1, 0)), is(false));
+    }
+
+    @Test
+    public void recordedJobReplaysTest() throws IOException
+    {
+        final File file = File.createTempFile(getTestName(), PathJobRecording.FILE_SUFFIX);
+        file.deleteOnExit();
+
+        final PathJobMoveToLocation original = new PathJobMoveToLocation(flatChunk(), START, END, RANGE);
+        original.call();
+        assertThat(original.getResult().getPathReachesDestination(), is(true));
+
+        final PathJobRecording recording = new PathJobRecording(original);
+        recording.write(file);
+
+        final AbstractPathJob replay = PathJobRecording.read(file).createJob();
+        assertThat(replay, is(notNullValue()));
+
+        replay.call();
+        assertThat(replay.getResult().getPathReachesDestination(), is(true));
+        assertThat(replay.getPathLength(), is(original.getPathLength()));
+        assertThat(replay.getTotalNodesVisited(), is(original.getTotalNodesVisited()));
+    }
+}
@@ -0,0 +1,188 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import com.minecolonies.coremod.util.Log;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares a long walk searched by a single block level path job with the same walk planned over the region graph
+ * first, whose legs between the waypoints are then searched by short path jobs.
+ * The terrain is a maze of chunk sized rooms, walled along the chunk borders with a gap in every wall.
+ * Logs the nodes visited by the path jobs and the portals expanded by the route search.
+ * <p>
+ * Usage: {@code RegionGraphBenchmark [chunks per side]}.
+ */
+public final class RegionGraphBenchmark
+{
+    private static final int DEFAULT_CHUNKS = 8;
+    private static final int SEED           = 42;
+    private static final int SECTION        = 4;
+    private static final int GROUND         = SECTION * PassabilitySnapshot.SECTION_SIZE;
+    private static final int WALL_HEIGHT    = 4;
+    private static final int GAP_WIDTH      = 2;
+    private static final int RANGE          = 400;
+
+    private RegionGraphBenchmark()
+    {
+        //Hides default constructor.
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optionally the amount of chunks per side of the maze.
+     */
+    public static void main(@NotNull final String[] args)
+    {
+        final int chunks = args.length > 0 ? Math.max(2, Integer.parseInt(args[0])) : DEFAULT_CHUNKS;
+        final int size = chunks * PassabilitySnapshot.SECTION_SIZE;
+        final int[][] solidTops = generateMaze(new Random(SEED), chunks);
+        final PassabilitySnapshot snapshot = createSnapshot(solidTops, chunks);
+
+        final RegionGraph graph = new RegionGraph();
+        graph.setArea(new BlockPos(size / 2, GROUND, size / 2), size / 2);
+        for (int chunkX = 0; chunkX < chunks; chunkX++)
+        {
+            for (int chunkZ = 0; chunkZ < chunks; chunkZ++)
+            {
+                graph.setSurface(chunkX, chunkZ, getHeights(solidTops, chunkX, chunkZ));
+            }
+        }
+        graph.relinkDirtyRegions();
+
+        final BlockPos start = new BlockPos(3, GROUND + 1, 3);
+        final BlockPos target = new BlockPos(size - 4, GROUND + 1, size - 4);
+
+        final long directStart = System.nanoTime();
+        final PathJobMoveToLocation direct = new PathJobMoveToLocation(snapshot, start, target, RANGE);
+        direct.call();
+        final long directTime = System.nanoTime() - directStart;
+
+        final long routeStart = System.nanoTime();
+        @Nullable final List<BlockPos> route = graph.findRoute(start, target);
+        if (route == null)
+        {
+            Log.getLogger().error("No route over the region graph");
+            return;
+        }
+
+        final List<BlockPos> legs = new ArrayList<>(route);
+        legs.add(target);
+        int legNodes = 0;
+        boolean reached = true;
+        BlockPos from = start;
+        for (@NotNull final BlockPos to : legs)
+        {
+            final PathJobMoveToLocation leg = new PathJobMoveToLocation(snapshot, from, to, RANGE);
+            leg.call();
+            legNodes += leg.getTotalNodesVisited();
+            reached &= leg.getResult().getPathReachesDestination();
+            from = to;
+        }
+        final long routeTime = System.nanoTime() - routeStart;
+
+        Log.getLogger().info(String.format("Direct: %d nodes, %.3f ms, reached %b",
+          direct.getTotalNodesVisited(), directTime / 1.0E6, direct.getResult().getPathReachesDestination()));
+        Log.getLogger().info(String.format("Region graph: %d portals expanded, %d waypoints, %d nodes in the legs, %.3f ms, reached %b",
+          graph.getRouteExpansions(), route.size(), legNodes, routeTime / 1.0E6, reached));
+    }
+
+    /**
+     * Generates the maze: flat ground with a wall along the first row and column of every chunk but the outer ones,
+     * each wall segment of a chunk has a gap at a random position.
+     *
+     * @return the highest solid block of each column, by x and z.
+     */
+    @NotNull
+    private static int[][] generateMaze(@NotNull final Random random, final int chunks)
+    {
+        final int size = chunks * PassabilitySnapshot.SECTION_SIZE;
+        final int[][] solidTops = new int[size][size];
+        for (int x = 0; x < size; x++)
+        {
+            for (int z = 0; z < size; z++)
+            {
+                solidTops[x][z] = GROUND;
+            }
+        }
+
+        for (int line = 1; line < chunks; line++)
+        {
+            for (int segment = 0; segment < chunks; segment++)
+            {
+                final int gapX = random.nextInt(PassabilitySnapshot.SECTION_SIZE - GAP_WIDTH - 1) + 1;
+                final int gapZ = random.nextInt(PassabilitySnapshot.SECTION_SIZE - GAP_WIDTH - 1) + 1;
+                for (int offset = 0; offset < PassabilitySnapshot.SECTION_SIZE; offset++)
+                {
+                    final int along = segment * PassabilitySnapshot.SECTION_SIZE + offset;
+                    final int across = line * PassabilitySnapshot.SECTION_SIZE;
+                    if (offset < gapZ || offset >= gapZ + GAP_WIDTH)
+                    {
+                        solidTops[across][along] = GROUND + WALL_HEIGHT;
+                    }
+                    if (offset < gapX || offset >= gapX + GAP_WIDTH)
+                    {
+                        solidTops[along][across] = GROUND + WALL_HEIGHT;
+                    }
+                }
+            }
+        }
+        return solidTops;
+    }
+
+    /**
+     * Creates the snapshot of the maze, solid up to the top of each column and air above.
+     */
+    @NotNull
+    private static PassabilitySnapshot createSnapshot(@NotNull final int[][] solidTops, final int chunks)
+    {
+        final byte solid = PassabilitySnapshot.UNLOADED_SECTION[0];
+        final byte air = PassabilitySnapshot.AIR_SECTION[0];
+        final byte[][] sections = new byte[chunks * chunks * PassabilitySnapshot.SECTIONS][];
+        for (int chunkX = 0; chunkX < chunks; chunkX++)
+        {
+            for (int chunkZ = 0; chunkZ < chunks; chunkZ++)
+            {
+                final int index = (chunkX * chunks + chunkZ) * PassabilitySnapshot.SECTIONS;
+                for (int y = 0; y < PassabilitySnapshot.SECTIONS; y++)
+                {
+                    sections[index + y] = y < SECTION ? PassabilitySnapshot.UNLOADED_SECTION : PassabilitySnapshot.AIR_SECTION;
+                }
+
+                final byte[] section = new byte[PassabilitySnapshot.SECTION_CELLS];
+                for (int x = 0; x < PassabilitySnapshot.SECTION_SIZE; x++)
+                {
+                    for (int z = 0; z < PassabilitySnapshot.SECTION_SIZE; z++)
+                    {
+                        final int solidTop = solidTops[(chunkX << 4) + x][(chunkZ << 4) + z];
+                        for (int y = 0; y < PassabilitySnapshot.SECTION_SIZE; y++)
+                        {
+                            section[PassabilitySnapshot.cellIndex(x, y, z)] = GROUND + y <= solidTop ? solid : air;
+                        }
+                    }
+                }
+                sections[index + SECTION] = section;
+            }
+        }
+        return new PassabilitySnapshot(0, 0, chunks, chunks, sections);
+    }
+
+    /**
+     * Get the surface heights of a chunk of the maze for the region graph, the block above the top of each column.
+     */
+    @NotNull
+    private static int[] getHeights(@NotNull final int[][] solidTops, final int chunkX, final int chunkZ)
+    {
+        final int[] heights = new int[PassabilitySnapshot.SECTION_SIZE * PassabilitySnapshot.SECTION_SIZE];
+        for (int cell = 0; cell < heights.length; cell++)
+        {
+            heights[cell] = solidTops[(chunkX << 4) + (cell & (PassabilitySnapshot.SECTION_SIZE - 1))][(chunkZ << 4) + (cell >> 4)] + 1;
+        }
+        return heights;
+    }
+}
@@ -0,0 +1,88 @@
+package com.minecolonies.coremod.inventory;
+
+import com.minecolonies.coremod.test.AbstractTest;
+import com.minecolonies.coremod.util.InventoryUtils;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class InventoryCitizenTest extends AbstractTest
+{
+    private InventoryCitizen inventory;
+    private Item             stone;
+    private Item             dirt;
+
+    @Override
+    public String getTestName()
+    {
+        return "InventoryCitizenTest";
+    }
+
+    @Before
+    public void setupInventory()
+    {
+        inventory = new InventoryCitizen("test", false);
+        stone = new Item();
+        dirt = new Item();
+    }
+
+    @Test
+    public void emptyInventoryTest()
+    {
+        assertThat(inventory.getFirstEmptySlot(), is(0));
+        assertThat(inventory.getNextOccupiedSlot(0), is(-1));
+        assertThat(inventory.findFirstSlotWith(stone), is(-1));
+        assertThat(inventory.getItemCount(stone), is(0));
+    }
+
+    @Test
+    public void indexFollowsSlotChangesTest()
+    {
+        inventory.setInventorySlotContents(0, new ItemStack(dirt, 1));
+        inventory.setInventorySlotContents(3, new ItemStack(stone, 5));
+        inventory.setInventorySlotContents(7, new ItemStack(stone, 2));
+
+        assertThat(InventoryUtils.findFirstSlotInInventoryWith(inventory, stone), is(3));
+        assertThat(InventoryUtils.getItemCountInInventory(inventory, stone), is(7));
+        assertThat(InventoryUtils.filterInventory(inventory, stone).size(), is(2));
+        assertThat(InventoryUtils.getOpenSlot(inventory), is(1));
+        assertThat(inventory.getNextOccupiedSlot(1), is(3));
+        assertThat(inventory.getNextOccupiedSlot(8), is(-1));
+
+        inventory.setInventorySlotContents(3, new ItemStack(dirt, 1));
+        assertThat(inventory.findFirstSlotWith(stone), is(7));
+        assertThat(inventory.getItemCount(dirt), is(2));
+
+        inventory.decrStackSize(0, 1);
+        assertThat(inventory.getFirstEmptySlot(), is(0));
+        assertThat(inventory.findFirstSlotWith(dirt), is(3));
+
+        inventory.clear();
+        assertThat(inventory.getNextOccupiedSlot(0), is(-1));
+        assertThat(inventory.getItemCount(dirt), is(0));
+    }
+
+    @Test
+    public void countFollowsStackSizeTest()
+    {
+        final ItemStack stack = new ItemStack(stone, 5);
+        inventory.setInventorySlotContents(2, stack);
+        stack.stackSize = 9;
+        assertThat(inventory.getItemCount(stone), is(9));
+    }
+
+    @Test
+    public void fullInventoryTest()
+    {
+        for (int i = 0; i < inventory.getSizeInventory(); i++)
+        {
+            inventory.setInventorySlotContents(i, new ItemStack(stone, 1));
+        }
+        assertThat(InventoryUtils.isInventoryFull(inventory), is(true));
+        assertThat(inventory.getItemCount(stone), is(inventory.getSizeInventory()));
+    }
+}
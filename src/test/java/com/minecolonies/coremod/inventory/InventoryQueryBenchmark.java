@@ -0,0 +1,122 @@
+package com.minecolonies.coremod.inventory;
+
+import com.minecolonies.coremod.util.InventoryUtils;
+import com.minecolonies.coremod.util.Log;
+import net.minecraft.inventory.IInventory;
+import net.minecraft.inventory.InventoryBasic;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Random;
+
+/**
+ * Compares the item and free slot lookups of {@link InventoryUtils} on a citizen inventory, which uses its index, with
+ * the same lookups on a plain inventory with the same stacks, which are scanned.
+ * Logs the time per lookup.
+ * <p>
+ * Usage: {@code InventoryQueryBenchmark [lookups]}.
+ * The first half of the lookups warm up the JIT, only the second half is measured.
+ */
+public final class InventoryQueryBenchmark
+{
+    private static final int DEFAULT_LOOKUPS = 2_000_000;
+    private static final int ITEM_TYPES      = 12;
+    private static final int FREE_SLOTS      = 2;
+    private static final int SEED            = 42;
+
+    /**
+     * Sink for the results so the lookups aren't optimized away.
+     */
+    private static long sink;
+
+    private InventoryQueryBenchmark()
+    {
+        //Hides default constructor.
+    }
+
+    /**
+     * A lookup on an inventory.
+     */
+    @FunctionalInterface
+    private interface Lookup
+    {
+        int run(@NotNull IInventory inventory, @NotNull Item item);
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optionally the amount of lookups.
+     */
+    public static void main(@NotNull final String[] args)
+    {
+        final int lookups = args.length > 0 ? Math.max(2, Integer.parseInt(args[0])) : DEFAULT_LOOKUPS;
+        final Random random = new Random(SEED);
+
+        final Item[] items = new Item[ITEM_TYPES];
+        for (int i = 0; i < items.length; i++)
+        {
+            items[i] = new Item();
+        }
+
+        //A nearly full inventory, the usual case before a worker dumps it.
+        final InventoryCitizen indexed = new InventoryCitizen("benchmark", false);
+        final InventoryBasic scanned = new InventoryBasic("benchmark", false, indexed.getSizeInventory());
+        for (int slot = 0; slot < indexed.getSizeInventory() - FREE_SLOTS; slot++)
+        {
+            final Item item = items[random.nextInt(ITEM_TYPES - 1)];
+            final int size = 1 + random.nextInt(64);
+            indexed.setInventorySlotContents(slot, new ItemStack(item, size));
+            scanned.setInventorySlotContents(slot, new ItemStack(item, size));
+        }
+
+        final Item[] queries = new Item[lookups];
+        for (int i = 0; i < lookups; i++)
+        {
+            queries[i] = items[random.nextInt(ITEM_TYPES)];
+        }
+
+        report("findFirstSlotInInventoryWith", queries, indexed, scanned, InventoryUtils::findFirstSlotInInventoryWith);
+        report("getItemCountInInventory", queries, indexed, scanned, InventoryUtils::getItemCountInInventory);
+        report("hasitemInInventory", queries, indexed, scanned, (inventory, item) -> InventoryUtils.hasitemInInventory(inventory, item) ? 1 : 0);
+        report("getOpenSlot", queries, indexed, scanned, (inventory, item) -> InventoryUtils.getOpenSlot(inventory));
+        Log.getLogger().info("Checksum " + sink);
+    }
+
+    private static void report(
+                                @NotNull final String name,
+                                @NotNull final Item[] queries,
+                                @NotNull final IInventory indexed,
+                                @NotNull final IInventory scanned,
+                                @NotNull final Lookup lookup)
+    {
+        final double scan = measure(queries, scanned, lookup);
+        final double index = measure(queries, indexed, lookup);
+        Log.getLogger().info(String.format("%s: scan %.1f ns, index %.1f ns per lookup", name, scan, index));
+    }
+
+    /**
+     * Runs a lookup for every query.
+     *
+     * @param queries   the items to look up.
+     * @param inventory the inventory.
+     * @param lookup    the lookup.
+     * @return the average nanoseconds per measured lookup.
+     */
+    private static double measure(@NotNull final Item[] queries, @NotNull final IInventory inventory, @NotNull final Lookup lookup)
+    {
+        final int warmup = queries.length / 2;
+        for (int i = 0; i < warmup; i++)
+        {
+            sink += lookup.run(inventory, queries[i]);
+        }
+
+        final long start = System.nanoTime();
+        for (int i = warmup; i < queries.length; i++)
+        {
+            sink += lookup.run(inventory, queries[i]);
+        }
+        return (double) (System.nanoTime() - start) / (queries.length - warmup);
+    }
+}
@@ -0,0 +1,212 @@
+package com.minecolonies.coremod.permissions;
+
+import com.minecolonies.coremod.colony.ColonySpatialIndex;
+import com.minecolonies.coremod.colony.IColony;
+import com.minecolonies.coremod.colony.permissions.IPermissions;
+import com.minecolonies.coremod.util.BlockPosUtil;
+import com.minecolonies.coremod.util.Log;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the explosion handling of one permission event handler per colony with the single handler which looks
+ * the colonies up in the spatial index, for 500 colonies.
+ * Logs the time per explosion.
+ * <p>
+ * Usage: {@code PermissionEventBenchmark [explosions]}.
+ * The first half of the explosions warm up the JIT, only the second half is measured.
+ */
+public final class PermissionEventBenchmark
+{
+    private static final int DEFAULT_EXPLOSIONS = 20000;
+    private static final int COLONIES           = 500;
+    private static final int COLONIES_PER_ROW   = 25;
+    private static final int RADIUS             = 200;
+    private static final int SPACING            = 2 * RADIUS + 100;
+    private static final int EXPLOSION_RADIUS   = 4;
+    private static final int SEED               = 42;
+
+    private PermissionEventBenchmark()
+    {
+        //Hides default constructor.
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optionally the amount of explosions.
+     */
+    public static void main(@NotNull final String[] args)
+    {
+        final int explosions = args.length > 0 ? Math.max(2, Integer.parseInt(args[0])) : DEFAULT_EXPLOSIONS;
+        final Random random = new Random(SEED);
+
+        final List<BenchmarkColony> colonies = new ArrayList<>();
+        final ColonySpatialIndex<BenchmarkColony> index = new ColonySpatialIndex<>();
+        for (int id = 0; id < COLONIES; id++)
+        {
+            final BenchmarkColony colony = new BenchmarkColony(id, new BlockPos((id % COLONIES_PER_ROW) * SPACING, 64, (id / COLONIES_PER_ROW) * SPACING));
+            colonies.add(colony);
+            index.add(colony, RADIUS);
+        }
+
+        final int maxX = COLONIES_PER_ROW * SPACING;
+        final int maxZ = (COLONIES / COLONIES_PER_ROW) * SPACING;
+        final List<List<BlockPos>> blasts = new ArrayList<>();
+        for (int i = 0; i < explosions; i++)
+        {
+            blasts.add(getAffectedBlocks(new BlockPos(random.nextInt(maxX), 64, random.nextInt(maxZ))));
+        }
+
+        final double perColony = measure(blasts, affected -> handlePerColony(colonies, affected));
+        final double dispatched = measure(blasts, affected -> handleDispatched(index, affected));
+        Log.getLogger().info(String.format("%d colonies, %d blocks per explosion: per colony handlers %.2f us, dispatcher %.2f us per explosion",
+          COLONIES, blasts.get(0).size(), perColony, dispatched));
+    }
+
+    /**
+     * The blocks of a sphere around an explosion.
+     *
+     * @param center the center of the explosion.
+     * @return the blocks.
+     */
+    @NotNull
+    private static List<BlockPos> getAffectedBlocks(@NotNull final BlockPos center)
+    {
+        final List<BlockPos> blocks = new ArrayList<>();
+        for (int x = -EXPLOSION_RADIUS; x <= EXPLOSION_RADIUS; x++)
+        {
+            for (int y = -EXPLOSION_RADIUS; y <= EXPLOSION_RADIUS; y++)
+            {
+                for (int z = -EXPLOSION_RADIUS; z <= EXPLOSION_RADIUS; z++)
+                {
+                    if (x * x + y * y + z * z <= EXPLOSION_RADIUS * EXPLOSION_RADIUS)
+                    {
+                        blocks.add(center.add(x, y, z));
+                    }
+                }
+            }
+        }
+        return blocks;
+    }
+
+    /**
+     * Runs a handler on a copy of every explosion.
+     *
+     * @param blasts  the blocks of the explosions.
+     * @param handler the handler.
+     * @return the average microseconds per measured explosion.
+     */
+    private static double measure(@NotNull final List<List<BlockPos>> blasts, @NotNull final Consumer<List<BlockPos>> handler)
+    {
+        long time = 0;
+        for (int i = 0; i < blasts.size(); i++)
+        {
+            final List<BlockPos> affected = new ArrayList<>(blasts.get(i));
+            final long start = System.nanoTime();
+            handler.accept(affected);
+            final long end = System.nanoTime();
+            if (i >= blasts.size() / 2)
+            {
+                time += end - start;
+            }
+        }
+        return time / 1.0E3 / (blasts.size() - blasts.size() / 2);
+    }
+
+    /**
+     * The handling which was replaced: every colony has its own handler which filters all blocks.
+     */
+    private static void handlePerColony(@NotNull final List<BenchmarkColony> colonies, @NotNull final List<BlockPos> affected)
+    {
+        for (@NotNull final BenchmarkColony colony : colonies)
+        {
+            final List<BlockPos> blocksToRemove = affected.stream()
+                                                    .filter(pos -> colony.isCoordInColony(null, pos))
+                                                    .collect(Collectors.toList());
+            affected.removeAll(blocksToRemove);
+        }
+    }
+
+    /**
+     * The handling as in {@link ColonyPermissionEventHandler}: the colonies of every block come from the index.
+     */
+    private static void handleDispatched(@NotNull final ColonySpatialIndex<BenchmarkColony> index, @NotNull final List<BlockPos> affected)
+    {
+        affected.removeIf(pos ->
+        {
+            for (@NotNull final BenchmarkColony colony : index.getCandidates(pos))
+            {
+                if (colony.isCoordInColony(null, pos))
+                {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Colony with a center and a radius.
+     */
+    private static final class BenchmarkColony implements IColony
+    {
+        private final int      id;
+        private final BlockPos center;
+
+        private BenchmarkColony(final int id, final BlockPos center)
+        {
+            this.id = id;
+            this.center = center;
+        }
+
+        @Override
+        public BlockPos getCenter()
+        {
+            return center;
+        }
+
+        @Override
+        public String getName()
+        {
+            return "Benchmark colony " + id;
+        }
+
+        @Override
+        public IPermissions getPermissions()
+        {
+            return null;
+        }
+
+        @Override
+        public boolean isCoordInColony(final World w, final BlockPos pos)
+        {
+            return getDistanceSquared(pos) <= (long) RADIUS * RADIUS;
+        }
+
+        @Override
+        public long getDistanceSquared(final BlockPos pos)
+        {
+            return BlockPosUtil.getDistanceSquared2D(center, pos);
+        }
+
+        @Override
+        public boolean hasTownHall()
+        {
+            return true;
+        }
+
+        @Override
+        public int getID()
+        {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.minecolonies.structures.helpers;
+
+import com.minecolonies.coremod.test.AbstractTest;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.Rotation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.gen.structure.template.PlacementSettings;
+import net.minecraft.world.gen.structure.template.Template;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class StructureProxyTest extends AbstractTest
+{
+    private static final BlockPos   SIZE      = new BlockPos(9, 4, 11);
+    private static final Rotation[] ROTATIONS = {Rotation.NONE, Rotation.CLOCKWISE_90, Rotation.CLOCKWISE_180, Rotation.COUNTERCLOCKWISE_90};
+
+    @Override
+    public String getTestName()
+    {
+        return "StructureProxyTest";
+    }
+
+    private static IBlockState mockState()
+    {
+        final IBlockState state = mock(IBlockState.class);
+        when(state.withRotation(any(Rotation.class))).thenReturn(state);
+        return state;
+    }
+
+    private static List<Template.BlockInfo> fill(final IBlockState[] states)
+    {
+        final List<Template.BlockInfo> blocks = new ArrayList<>();
+        int i = 0;
+        for (int y = 0; y < SIZE.getY(); y++)
+        {
+            for (int z = 0; z < SIZE.getZ(); z++)
+            {
+                for (int x = 0; x < SIZE.getX(); x++)
+                {
+                    blocks.add(new Template.BlockInfo(new BlockPos(x, y, z), states[i++ % states.length], null));
+                }
+            }
+        }
+        return blocks;
+    }
+
+    /**
+     * Checks every rotation against the physical rotation of the template, moved to positive coordinates.
+     *
+     * @param states the states to fill the structure with.
+     */
+    private static void checkRotations(final IBlockState[] states)
+    {
+        final List<Template.BlockInfo> blocks = fill(states);
+        final PaletteStorage storage = new PaletteStorage(SIZE, blocks);
+        for (int times = 0; times < ROTATIONS.length; times++)
+        {
+            final PlacementSettings settings = new PlacementSettings().setRotation(ROTATIONS[times]);
+            final BlockPos min = Template.transformedBlockPos(settings, new BlockPos(SIZE.getX() - 1, 0, SIZE.getZ() - 1));
+            final BlockPos shift = new BlockPos(Math.max(0, -min.getX()), 0, Math.max(0, -min.getZ()));
+
+            final StructureProxy proxy = new StructureProxy(storage, times);
+            final BlockPos rotatedSize = Template.transformedBlockPos(settings, SIZE);
+            assertThat(proxy.getWidth(), is(Math.abs(rotatedSize.getX())));
+            assertThat(proxy.getHeight(), is(SIZE.getY()));
+            assertThat(proxy.getLength(), is(Math.abs(rotatedSize.getZ())));
+
+            for (final Template.BlockInfo info : blocks)
+            {
+                final BlockPos rotated = Template.transformedBlockPos(settings, info.pos).add(shift);
+                assertThat(proxy.getBlockState(rotated), is(sameInstance(info.blockState)));
+            }
+        }
+    }
+
+    @Test
+    public void rotatedPositionsMatchTemplateTest()
+    {
+        checkRotations(new IBlockState[] {mockState(), mockState(), mockState()});
+    }
+
+    @Test
+    public void largePaletteTest()
+    {
+        final IBlockState[] states = new IBlockState[SIZE.getX() * SIZE.getY() * SIZE.getZ()];
+        for (int i = 0; i < states.length; i++)
+        {
+            states[i] = mockState();
+        }
+        checkRotations(states);
+    }
+}